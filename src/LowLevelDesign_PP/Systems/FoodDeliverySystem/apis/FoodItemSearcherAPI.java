@@ -1,16 +1,16 @@
 package FoodDeliverySystem.apis;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import FoodDeliverySystem.Data.CuisineType;
 import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Location;
 import FoodDeliverySystem.Data.MealType;
 import FoodDeliverySystem.Data.StarRating;
-import FoodDeliverySystem.Filter.CusineTypeFilter;
-import FoodDeliverySystem.Filter.FoodItemFilter;
-import FoodDeliverySystem.Filter.MealTypeFilter;
-import FoodDeliverySystem.Filter.StarRatingFilter;
+import FoodDeliverySystem.catalog.FoodItemColumnFilter;
+import FoodDeliverySystem.ranking.FoodItemRanker;
+import FoodDeliverySystem.ranking.RankingQuery;
 import FoodDeliverySystem.searcher.FoodItemSearcher;
 
 public class FoodItemSearcherAPI {
@@ -18,20 +18,34 @@ public class FoodItemSearcherAPI {
 	
 	public List<FoodItem> searchFoodItems(String foodItemName, MealType mealType, List<CuisineType> cuisineType, StarRating starRating){
 		
-		List<FoodItemFilter> foodItemFilters = new ArrayList<>();
-		if(mealType != null)
-			foodItemFilters.add(new MealTypeFilter(mealType));
-		if(cuisineType != null)
-			foodItemFilters.add(new CusineTypeFilter(cuisineType));
-		if(starRating != null)
-			foodItemFilters.add(new StarRatingFilter(starRating));
+		FoodItemColumnFilter.Builder builder = new FoodItemColumnFilter.Builder();
+		builder.setItemName(foodItemName);
+		builder.setMealType(mealType);
+		builder.setCuisineTypes(cuisineType);
+		builder.setStarRating(starRating);
 		
 		FoodItemSearcher foodItemSearcher = new FoodItemSearcher();
-		List<FoodItem> foodItems = foodItemSearcher.search(foodItemName, foodItemFilters);
+		List<FoodItem> foodItems = foodItemSearcher.search(new FoodItemColumnFilter(builder));
 		
 		return foodItems;
 		
 	}
+	
+	// best k matches by rating, restaurant distance, name relevance and availability at openAt
+	public List<FoodItem> searchTopFoodItems(String foodItemName, MealType mealType, List<CuisineType> cuisineType, StarRating minStarRating, Location userLocation, LocalDateTime openAt, int k){
+		if(k <= 0) {
+			throw new IllegalArgumentException("k must be positive");
+		}
+		// the rating floor is applied on the columns so fewer candidates get materialized
+		FoodItemColumnFilter.Builder builder = new FoodItemColumnFilter.Builder();
+		builder.setItemName(foodItemName);
+		builder.setMealType(mealType);
+		builder.setCuisineTypes(cuisineType);
+		builder.setMinStarRating(minStarRating);
+		List<FoodItem> candidates = new FoodItemSearcher().search(new FoodItemColumnFilter(builder));
+		RankingQuery rankingQuery = new RankingQuery(foodItemName, userLocation, openAt, minStarRating);
+		return new FoodItemRanker().topK(candidates, rankingQuery, k);
+	}
 }
 
 // Searcher : Generic
@@ -2,17 +2,14 @@ package FoodDeliverySystem.apis;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 import FoodDeliverySystem.Data.CartItem;
 import FoodDeliverySystem.Data.Order;
 import FoodDeliverySystem.Data.PaymentMode;
-import FoodDeliverySystem.Data.PaymentResponse;
-import FoodDeliverySystem.Data.PaymentStatus;
 import FoodDeliverySystem.Data.User;
-import FoodDeliverySystem.Factory.PaymentManagerFactory;
 import FoodDeliverySystem.Managers.CartManager;
 import FoodDeliverySystem.Managers.OrderManager;
-import FoodDeliverySystem.Managers.PaymentManager;
 import FoodDeliverySystem.Managers.UserManager;
 
 public class PlaceOrderAPI {
@@ -20,8 +17,9 @@ public class PlaceOrderAPI {
 	private final CartManager cartManager = new CartManager();
 	private final OrderManager orderManager = new OrderManager();
 	
+	// a double submit of the same cart shares one order; after an unknown payment outcome the same
+	// cart stays blocked until the key expires, so it can not be charged twice
 	public Order placeOrder(String userToken, Map<String, String> paymentInfo, PaymentMode paymentMode) throws Exception {
-		
 		if(userToken == null || userToken.length() == 0) {
 			throw new IllegalArgumentException("Params missing");
 		}
@@ -29,16 +27,28 @@ public class PlaceOrderAPI {
 		if(user == null) {
 			throw new IllegalArgumentException("User token is invalid");
 		}
+		return placeOrder(userToken, paymentInfo, paymentMode, cartManager.getIdempotencyKey(user));
+	}
+	
+	public Order placeOrder(String userToken, Map<String, String> paymentInfo, PaymentMode paymentMode, String idempotencyKey) throws Exception {
 		
-		PaymentManager paymentManager = PaymentManagerFactory.getPaymentManager(paymentInfo, paymentMode);
-		PaymentResponse paymentResponse = paymentManager.executePayment();
-		
-		if(paymentResponse == null || paymentResponse.getPaymentStatus()== null || paymentResponse.getPaymentStatus().equals(PaymentStatus.FAILURE)) {
-			throw new RuntimeException("payment Failed");
+		if(userToken == null || userToken.length() == 0 || idempotencyKey == null || idempotencyKey.length() == 0) {
+			throw new IllegalArgumentException("Params missing");
+		}
+		User user = userManager.getUserByToken(userToken);
+		if(user == null) {
+			throw new IllegalArgumentException("User token is invalid");
 		}
 		
-		
-		return orderManager.placeOrder(user);
+		try {
+			return orderManager.placeOrder(user, paymentInfo, paymentMode, idempotencyKey).join();
+		}
+		catch(CompletionException e) {
+			if(e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
 		
 	}
 }
@@ -1,9 +1,11 @@
 package FoodDeliverySystem.apis;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import FoodDeliverySystem.Data.CuisineType;
+import FoodDeliverySystem.Data.Location;
 import FoodDeliverySystem.Data.MealType;
 import FoodDeliverySystem.Data.Restaurant;
 import FoodDeliverySystem.Data.StarRating;
@@ -11,12 +13,19 @@ import FoodDeliverySystem.Filter.CusineTypeFilter;
 import FoodDeliverySystem.Filter.MealTypeFilter;
 import FoodDeliverySystem.Filter.RestaurantFilter;
 import FoodDeliverySystem.Filter.StarRatingFilter;
+import FoodDeliverySystem.ranking.RankingQuery;
+import FoodDeliverySystem.ranking.RestaurantRanker;
 import FoodDeliverySystem.searcher.RestaurantSearcher;
 
 public class RestaurantSearcherAPI {
 
 	
 	public List<Restaurant> searchRestaurant(String restaurantName, MealType mealType, List<CuisineType> cusineType, StarRating starRating){
+		return searchRestaurant(restaurantName, mealType, cusineType, starRating, null);
+	}
+	
+	// openAt == null searches regardless of business hours
+	public List<Restaurant> searchRestaurant(String restaurantName, MealType mealType, List<CuisineType> cusineType, StarRating starRating, LocalDateTime openAt){
 		//validation
 		
 		List<RestaurantFilter> restaurantFilter = new ArrayList<>();
@@ -30,7 +39,20 @@ public class RestaurantSearcherAPI {
 			restaurantFilter.add(new StarRatingFilter(starRating));
 		}
 		RestaurantSearcher restaurantSearcher = new RestaurantSearcher();
+		if(openAt != null) {
+			return restaurantSearcher.searchOpenAt(restaurantName, restaurantFilter, openAt);
+		}
 		List<Restaurant> restaurants = restaurantSearcher.search(restaurantName, restaurantFilter);
 		return restaurants;
 	}
+	
+	// best k matches by rating, distance, name relevance and whether they are open at openAt
+	public List<Restaurant> searchTopRestaurants(String restaurantName, MealType mealType, List<CuisineType> cusineType, StarRating minStarRating, Location userLocation, LocalDateTime openAt, int k){
+		if(k <= 0) {
+			throw new IllegalArgumentException("k must be positive");
+		}
+		List<Restaurant> candidates = searchRestaurant(restaurantName, mealType, cusineType, null);
+		RankingQuery rankingQuery = new RankingQuery(restaurantName, userLocation, openAt, minStarRating);
+		return new RestaurantRanker().topK(candidates, rankingQuery, k);
+	}
 }
@@ -11,14 +11,19 @@ public class UpdateOrderAPI {
 	UserManager userManager = new UserManager();
 	OrderManager orderManager = new OrderManager();
 	
-	public void updateOrder(int orderId, OrderStatus orderStatus,String userToken) {
-		//..
+	// orderStatus is the status to move the order to
+	public Order updateOrder(int orderId, OrderStatus orderStatus,String userToken) {
+		if(userToken == null || userToken.length() == 0 || orderStatus == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
 		User user = userManager.getUserByToken(userToken);
-		//..
+		if(user == null) {
+			throw new IllegalArgumentException("User token is invalid");
+		}
 		Order order = orderManager.getOrder(orderId);
-		//..
-		if(orderStatus.equals(OrderStatus.COOKING)) {
-			orderManager.setOrderToReadyForDelivery(user, order);
+		if(order == null) {
+			throw new IllegalArgumentException("No order with id " + orderId);
 		}
+		return orderManager.updateOrderStatus(user, order, orderStatus);
 	}
 }
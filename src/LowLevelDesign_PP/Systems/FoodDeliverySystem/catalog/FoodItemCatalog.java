@@ -0,0 +1,343 @@
+package FoodDeliverySystem.catalog;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import FoodDeliverySystem.Data.CuisineType;
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.MealType;
+import FoodDeliverySystem.Data.StarRating;
+
+/**
+ * Column store for the food item catalog. Each attribute lives in its own primitive array indexed
+ * by row, names and descriptions are dictionary encoded, so filters and aggregations are tight
+ * loops over a few arrays instead of walking FoodItem objects. FoodItems are only built for the
+ * rows a caller actually reads from a result.
+ *
+ * Rows are appended and updated in place, never moved, so a row number stays valid for the life
+ * of the catalog. Scans share a read lock; writes take the write lock.
+ */
+public class FoodItemCatalog {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final CuisineType[] CUISINE_TYPES = CuisineType.values();
+	private static final MealType[] MEAL_TYPES = MealType.values();
+	private static final StarRating[] STAR_RATINGS = StarRating.values();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final StringDictionary names = new StringDictionary();
+	private final StringDictionary descriptions = new StringDictionary();
+
+	private int[] ids;
+	private double[] price;
+	private byte[] cuisineOrdinal;
+	private byte[] mealType;
+	// StarRating value 1-5, 0 when unrated
+	private byte[] rating;
+	private int[] restaurantId;
+	private boolean[] available;
+	private int[] nameCode;
+	private int[] descriptionCode;
+	private int rowCount;
+
+	// id -> row + 1 by linear probing, 0 marks an empty slot
+	private int[] idSlots;
+	private int[] rowSlots;
+
+	private static class Holder {
+		private static final FoodItemCatalog INSTANCE = new FoodItemCatalog(INITIAL_CAPACITY);
+	}
+
+	public static FoodItemCatalog getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public FoodItemCatalog(int expectedItems) {
+		int capacity = Math.max(16, expectedItems);
+		ids = new int[capacity];
+		price = new double[capacity];
+		cuisineOrdinal = new byte[capacity];
+		mealType = new byte[capacity];
+		rating = new byte[capacity];
+		restaurantId = new int[capacity];
+		available = new boolean[capacity];
+		nameCode = new int[capacity];
+		descriptionCode = new int[capacity];
+		int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+		idSlots = new int[slots];
+		rowSlots = new int[slots];
+	}
+
+	public void upsert(List<FoodItem> foodItems) {
+		lock.writeLock().lock();
+		try {
+			for(FoodItem foodItem : foodItems) {
+				int row = findRow(foodItem.getId());
+				if(row < 0) {
+					row = appendRow(foodItem.getId());
+				}
+				writeRow(row, foodItem);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void upsert(FoodItem foodItem) {
+		upsert(Collections.singletonList(foodItem));
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return rowCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public FoodItem get(int foodItemId) {
+		lock.readLock().lock();
+		try {
+			int row = findRow(foodItemId);
+			return row < 0 ? null : materialize(row);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// matching items in row order, each FoodItem is built when the list element is read
+	public List<FoodItem> search(FoodItemColumnFilter filter) {
+		return new RowView(select(filter));
+	}
+
+	public int[] searchIds(FoodItemColumnFilter filter) {
+		lock.readLock().lock();
+		try {
+			int[] rows = selectRows(filter);
+			int[] result = new int[rows.length];
+			for(int i = 0; i < rows.length; i++) {
+				result[i] = ids[rows[i]];
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int count(FoodItemColumnFilter filter) {
+		lock.readLock().lock();
+		try {
+			return selectRows(filter).length;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// NaN when nothing matches
+	public double averagePriceINR(FoodItemColumnFilter filter) {
+		lock.readLock().lock();
+		try {
+			int[] rows = selectRows(filter);
+			double sum = 0;
+			for(int row : rows) {
+				sum += price[row];
+			}
+			return rows.length == 0 ? Double.NaN : sum / rows.length;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Map<CuisineType, Integer> countByCuisineType(FoodItemColumnFilter filter) {
+		int[] counts = new int[CUISINE_TYPES.length];
+		lock.readLock().lock();
+		try {
+			for(int row : selectRows(filter)) {
+				int ordinal = cuisineOrdinal[row];
+				if(ordinal >= 0) {
+					counts[ordinal]++;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		Map<CuisineType, Integer> result = new EnumMap<>(CuisineType.class);
+		for(int i = 0; i < counts.length; i++) {
+			if(counts[i] > 0) {
+				result.put(CUISINE_TYPES[i], counts[i]);
+			}
+		}
+		return result;
+	}
+
+	private int[] select(FoodItemColumnFilter filter) {
+		lock.readLock().lock();
+		try {
+			return selectRows(filter);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// caller holds the read lock
+	private int[] selectRows(FoodItemColumnFilter filter) {
+		boolean[] nameMatches = filter.getItemName() == null ? null : names.matching(filter.getItemName());
+		int meal = filter.getMealTypeOrdinal();
+		int cuisineMask = filter.getCuisineMask();
+		int exactRating = filter.getStarRating();
+		int minRating = filter.getMinStarRating();
+		int restaurant = filter.getRestaurantId();
+		double maxPrice = filter.getMaxPriceINR();
+		boolean availableOnly = filter.isAvailableOnly();
+
+		int[] rows = new int[16];
+		int count = 0;
+		for(int row = 0; row < rowCount; row++) {
+			if(nameMatches != null && !nameMatches[nameCode[row]]) {
+				continue;
+			}
+			if(meal >= 0 && mealType[row] != meal) {
+				continue;
+			}
+			// an unset cuisine is stored as -1, whose shift lands on bit 31
+			if((cuisineMask & (1 << cuisineOrdinal[row])) == 0) {
+				continue;
+			}
+			if(exactRating > 0 && rating[row] != exactRating) {
+				continue;
+			}
+			if(rating[row] < minRating) {
+				continue;
+			}
+			if(restaurant >= 0 && restaurantId[row] != restaurant) {
+				continue;
+			}
+			if(price[row] > maxPrice || (availableOnly && !available[row])) {
+				continue;
+			}
+			if(count == rows.length) {
+				rows = Arrays.copyOf(rows, count * 2);
+			}
+			rows[count++] = row;
+		}
+		return Arrays.copyOf(rows, count);
+	}
+
+	private FoodItem materializeRow(int row) {
+		lock.readLock().lock();
+		try {
+			return materialize(row);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// caller holds a lock
+	private FoodItem materialize(int row) {
+		FoodItem.Builder builder = new FoodItem.Builder(ids[row], names.decode(nameCode[row]),
+				descriptions.decode(descriptionCode[row]), valueAt(CUISINE_TYPES, cuisineOrdinal[row]),
+				valueAt(MEAL_TYPES, mealType[row]));
+		builder.setPriceINR(price[row]);
+		builder.setStarRating(rating[row] == 0 ? null : STAR_RATINGS[rating[row] - 1]);
+		builder.setRestaurantId(restaurantId[row]);
+		builder.setAvailable(available[row]);
+		return new FoodItem(builder);
+	}
+
+	private void writeRow(int row, FoodItem foodItem) {
+		price[row] = foodItem.getPriceINR();
+		cuisineOrdinal[row] = ordinal(foodItem.getCusineType());
+		mealType[row] = ordinal(foodItem.getMealType());
+		rating[row] = (byte) (foodItem.getStarRating() == null ? 0 : foodItem.getStarRating().getVal());
+		restaurantId[row] = foodItem.getRestaurantId();
+		available[row] = foodItem.isAvailable();
+		nameCode[row] = names.encode(foodItem.getItemName());
+		descriptionCode[row] = descriptions.encode(foodItem.getDescription());
+	}
+
+	private int appendRow(int id) {
+		if(rowCount == ids.length) {
+			grow();
+		}
+		int row = rowCount++;
+		ids[row] = id;
+		insertSlot(id, row);
+		return row;
+	}
+
+	private void grow() {
+		int capacity = ids.length * 2;
+		ids = Arrays.copyOf(ids, capacity);
+		price = Arrays.copyOf(price, capacity);
+		cuisineOrdinal = Arrays.copyOf(cuisineOrdinal, capacity);
+		mealType = Arrays.copyOf(mealType, capacity);
+		rating = Arrays.copyOf(rating, capacity);
+		restaurantId = Arrays.copyOf(restaurantId, capacity);
+		available = Arrays.copyOf(available, capacity);
+		nameCode = Arrays.copyOf(nameCode, capacity);
+		descriptionCode = Arrays.copyOf(descriptionCode, capacity);
+		idSlots = new int[idSlots.length * 2];
+		rowSlots = new int[rowSlots.length * 2];
+		for(int row = 0; row < rowCount; row++) {
+			insertSlot(ids[row], row);
+		}
+	}
+
+	private int findRow(int id) {
+		int mask = idSlots.length - 1;
+		for(int slot = spread(id) & mask; rowSlots[slot] != 0; slot = (slot + 1) & mask) {
+			if(idSlots[slot] == id) {
+				return rowSlots[slot] - 1;
+			}
+		}
+		return -1;
+	}
+
+	private void insertSlot(int id, int row) {
+		int mask = idSlots.length - 1;
+		int slot = spread(id) & mask;
+		while(rowSlots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		idSlots[slot] = id;
+		rowSlots[slot] = row + 1;
+	}
+
+	private static int spread(int id) {
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static byte ordinal(Enum<?> value) {
+		return (byte) (value == null ? -1 : value.ordinal());
+	}
+
+	private static <T> T valueAt(T[] values, int ordinal) {
+		return ordinal < 0 ? null : values[ordinal];
+	}
+
+	private class RowView extends AbstractList<FoodItem> {
+
+		private final int[] rows;
+
+		private RowView(int[] rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		public FoodItem get(int index) {
+			return materializeRow(rows[index]);
+		}
+
+		@Override
+		public int size() {
+			return rows.length;
+		}
+	}
+}
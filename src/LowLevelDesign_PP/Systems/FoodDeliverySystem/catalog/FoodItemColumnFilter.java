@@ -0,0 +1,117 @@
+package FoodDeliverySystem.catalog;
+
+import java.util.List;
+
+import FoodDeliverySystem.Data.CuisineType;
+import FoodDeliverySystem.Data.MealType;
+import FoodDeliverySystem.Data.StarRating;
+
+/**
+ * Conditions evaluated against the catalog columns; unset conditions match every item.
+ */
+public class FoodItemColumnFilter {
+
+	private final String itemName;
+	private final int mealTypeOrdinal;
+	private final int cuisineMask;
+	private final int starRating;
+	private final int minStarRating;
+	private final int restaurantId;
+	private final double maxPriceINR;
+	private final boolean availableOnly;
+
+	public FoodItemColumnFilter(Builder builder) {
+		this.itemName = builder.itemName;
+		this.mealTypeOrdinal = builder.mealType == null ? -1 : builder.mealType.ordinal();
+		int mask = builder.cuisineTypes == null ? -1 : 0;
+		if(builder.cuisineTypes != null) {
+			for(CuisineType cuisineType : builder.cuisineTypes) {
+				mask |= 1 << cuisineType.ordinal();
+			}
+		}
+		this.cuisineMask = mask;
+		this.starRating = builder.starRating == null ? 0 : builder.starRating.getVal();
+		this.minStarRating = builder.minStarRating == null ? 0 : builder.minStarRating.getVal();
+		this.restaurantId = builder.restaurantId;
+		this.maxPriceINR = builder.maxPriceINR;
+		this.availableOnly = builder.availableOnly;
+	}
+
+	public String getItemName() {
+		return itemName;
+	}
+
+	int getMealTypeOrdinal() {
+		return mealTypeOrdinal;
+	}
+
+	// bit per CuisineType ordinal, all bits set when any cuisine matches
+	int getCuisineMask() {
+		return cuisineMask;
+	}
+
+	int getStarRating() {
+		return starRating;
+	}
+
+	int getMinStarRating() {
+		return minStarRating;
+	}
+
+	int getRestaurantId() {
+		return restaurantId;
+	}
+
+	double getMaxPriceINR() {
+		return maxPriceINR;
+	}
+
+	boolean isAvailableOnly() {
+		return availableOnly;
+	}
+
+	public static class Builder {
+
+		private String itemName;
+		private MealType mealType;
+		private List<CuisineType> cuisineTypes;
+		private StarRating starRating;
+		private StarRating minStarRating;
+		private int restaurantId = -1;
+		private double maxPriceINR = Double.POSITIVE_INFINITY;
+		private boolean availableOnly;
+
+		public void setItemName(String itemName) {
+			this.itemName = itemName;
+		}
+
+		public void setMealType(MealType mealType) {
+			this.mealType = mealType;
+		}
+
+		// an empty list matches nothing, like CusineTypeFilter
+		public void setCuisineTypes(List<CuisineType> cuisineTypes) {
+			this.cuisineTypes = cuisineTypes;
+		}
+
+		public void setStarRating(StarRating starRating) {
+			this.starRating = starRating;
+		}
+
+		public void setMinStarRating(StarRating minStarRating) {
+			this.minStarRating = minStarRating;
+		}
+
+		public void setRestaurantId(int restaurantId) {
+			this.restaurantId = restaurantId;
+		}
+
+		public void setMaxPriceINR(double maxPriceINR) {
+			this.maxPriceINR = maxPriceINR;
+		}
+
+		public void setAvailableOnly(boolean availableOnly) {
+			this.availableOnly = availableOnly;
+		}
+	}
+}
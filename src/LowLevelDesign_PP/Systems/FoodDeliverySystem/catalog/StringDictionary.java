@@ -0,0 +1,71 @@
+package FoodDeliverySystem.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import FoodDeliverySystem.index.TokenIndex;
+
+/**
+ * Dictionary encoding for a string column: each distinct value is stored once and rows keep
+ * its int code. The words of each value are kept so name matching runs once per distinct
+ * value instead of once per row. Not thread safe; FoodItemCatalog guards it.
+ */
+class StringDictionary {
+
+	private final Map<String, Integer> codes = new HashMap<>();
+	private String[] values = new String[64];
+	private String[][] tokens = new String[64][];
+	private int size;
+
+	int encode(String value) {
+		Integer code = codes.get(value);
+		if(code != null) {
+			return code;
+		}
+		if(size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+			tokens = Arrays.copyOf(tokens, size * 2);
+		}
+		List<String> valueTokens = TokenIndex.tokenize(value);
+		values[size] = value;
+		tokens[size] = valueTokens.toArray(new String[0]);
+		codes.put(value, size);
+		return size++;
+	}
+
+	String decode(int code) {
+		return values[code];
+	}
+
+	int size() {
+		return size;
+	}
+
+	// codes of the values containing every word of the query
+	boolean[] matching(String query) {
+		List<String> queryTokens = TokenIndex.tokenize(query);
+		boolean[] matches = new boolean[size];
+		for(int code = 0; code < size; code++) {
+			matches[code] = !queryTokens.isEmpty() && containsAll(tokens[code], queryTokens);
+		}
+		return matches;
+	}
+
+	private static boolean containsAll(String[] valueTokens, List<String> queryTokens) {
+		for(String queryToken : queryTokens) {
+			boolean found = false;
+			for(String valueToken : valueTokens) {
+				if(valueToken.equals(queryToken)) {
+					found = true;
+					break;
+				}
+			}
+			if(!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,152 @@
+package FoodDeliverySystem.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open addressing int -> V map with linear probing. Keys stay primitive, so there is no
+ * Integer boxing and no entry object per mapping. Not thread safe; see {@link StripedIntObjectMap}.
+ */
+public class IntObjectHashMap<V> {
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private int[] keys;
+	private Object[] values;
+	private int size;
+	private int mask;
+	private int resizeAt;
+
+	public IntObjectHashMap(int expectedSize) {
+		super();
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	public IntObjectHashMap() {
+		this(16);
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		int index = hash(key) & mask;
+		Object value;
+		while((value = values[index]) != null) {
+			if(keys[index] == key) {
+				return (V) value;
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	public boolean containsKey(int key) {
+		return get(key) != null;
+	}
+
+	// null values are not allowed, null marks a free slot
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+		if(value == null) {
+			throw new IllegalArgumentException("null values are not supported");
+		}
+		int index = hash(key) & mask;
+		Object existing;
+		while((existing = values[index]) != null) {
+			if(keys[index] == key) {
+				values[index] = value;
+				return (V) existing;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		values[index] = value;
+		if(++size >= resizeAt) {
+			rehash(keys.length << 1);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+		int index = hash(key) & mask;
+		Object existing;
+		while((existing = values[index]) != null) {
+			if(keys[index] == key) {
+				shiftBack(index);
+				size--;
+				return (V) existing;
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<V> values() {
+		List<V> result = new ArrayList<>(size);
+		for(Object value : values) {
+			if(value != null) {
+				result.add((V) value);
+			}
+		}
+		return result;
+	}
+
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	// backward shift deletion keeps probe chains intact without tombstones
+	private void shiftBack(int removed) {
+		int gap = removed;
+		int index = removed;
+		while(true) {
+			index = (index + 1) & mask;
+			if(values[index] == null) {
+				break;
+			}
+			int home = hash(keys[index]) & mask;
+			if(((index - home) & mask) >= ((index - gap) & mask)) {
+				keys[gap] = keys[index];
+				values[gap] = values[index];
+				gap = index;
+			}
+		}
+		values[gap] = null;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		for(int i = 0; i < oldValues.length; i++) {
+			if(oldValues[i] != null) {
+				int index = hash(oldKeys[i]) & mask;
+				while(values[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
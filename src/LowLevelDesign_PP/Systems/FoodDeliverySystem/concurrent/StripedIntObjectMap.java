@@ -0,0 +1,156 @@
+package FoodDeliverySystem.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+
+/**
+ * Thread safe int -> V map made of {@link IntObjectHashMap} stripes, each behind its own
+ * read/write lock. Readers of different keys rarely meet on the same lock.
+ */
+public class StripedIntObjectMap<V> {
+
+	private final IntObjectHashMap<V>[] stripes;
+	private final ReentrantReadWriteLock[] locks;
+	private final int mask;
+	private final int shift;
+
+	@SuppressWarnings("unchecked")
+	public StripedIntObjectMap(int stripeCount, int expectedSize) {
+		super();
+		if(stripeCount <= 0 || expectedSize < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+		this.stripes = (IntObjectHashMap<V>[]) new IntObjectHashMap<?>[size];
+		this.locks = new ReentrantReadWriteLock[size];
+		for(int i = 0; i < size; i++) {
+			stripes[i] = new IntObjectHashMap<>(expectedSize / size + 1);
+			locks[i] = new ReentrantReadWriteLock();
+		}
+		this.mask = size - 1;
+		// stripes use the high hash bits, the maps inside a stripe the low ones
+		this.shift = 32 - Integer.numberOfTrailingZeros(size);
+	}
+
+	public V get(int key) {
+		int stripe = stripeOf(key);
+		locks[stripe].readLock().lock();
+		try {
+			return stripes[stripe].get(key);
+		}
+		finally {
+			locks[stripe].readLock().unlock();
+		}
+	}
+
+	public V put(int key, V value) {
+		int stripe = stripeOf(key);
+		locks[stripe].writeLock().lock();
+		try {
+			return stripes[stripe].put(key, value);
+		}
+		finally {
+			locks[stripe].writeLock().unlock();
+		}
+	}
+
+	public V remove(int key) {
+		int stripe = stripeOf(key);
+		locks[stripe].writeLock().lock();
+		try {
+			return stripes[stripe].remove(key);
+		}
+		finally {
+			locks[stripe].writeLock().unlock();
+		}
+	}
+
+	// atomic for the key; a null result removes the mapping
+	public V compute(int key, BiFunction<Integer, V, V> remapping) {
+		int stripe = stripeOf(key);
+		locks[stripe].writeLock().lock();
+		try {
+			V updated = remapping.apply(key, stripes[stripe].get(key));
+			if(updated == null) {
+				stripes[stripe].remove(key);
+			}
+			else {
+				stripes[stripe].put(key, updated);
+			}
+			return updated;
+		}
+		finally {
+			locks[stripe].writeLock().unlock();
+		}
+	}
+
+	// one lock round trip per stripe instead of per entry
+	public void putAll(int[] keys, List<V> values) {
+		if(keys.length != values.size()) {
+			throw new IllegalArgumentException("keys and values differ in length");
+		}
+		int[] stripeStart = new int[stripes.length + 1];
+		for(int key : keys) {
+			stripeStart[stripeOf(key) + 1]++;
+		}
+		for(int stripe = 0; stripe < stripes.length; stripe++) {
+			stripeStart[stripe + 1] += stripeStart[stripe];
+		}
+		int[] next = stripeStart.clone();
+		int[] byStripe = new int[keys.length];
+		for(int i = 0; i < keys.length; i++) {
+			byStripe[next[stripeOf(keys[i])]++] = i;
+		}
+		for(int stripe = 0; stripe < stripes.length; stripe++) {
+			if(stripeStart[stripe] == stripeStart[stripe + 1]) {
+				continue;
+			}
+			locks[stripe].writeLock().lock();
+			try {
+				for(int j = stripeStart[stripe]; j < stripeStart[stripe + 1]; j++) {
+					int i = byStripe[j];
+					stripes[stripe].put(keys[i], values.get(i));
+				}
+			}
+			finally {
+				locks[stripe].writeLock().unlock();
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for(int stripe = 0; stripe < stripes.length; stripe++) {
+			locks[stripe].readLock().lock();
+			try {
+				size += stripes[stripe].size();
+			}
+			finally {
+				locks[stripe].readLock().unlock();
+			}
+		}
+		return size;
+	}
+
+	// weakly consistent: each stripe is copied under its own lock
+	public List<V> values() {
+		List<V> result = new ArrayList<>();
+		for(int stripe = 0; stripe < stripes.length; stripe++) {
+			locks[stripe].readLock().lock();
+			try {
+				result.addAll(stripes[stripe].values());
+			}
+			finally {
+				locks[stripe].readLock().unlock();
+			}
+		}
+		return result;
+	}
+
+	private int stripeOf(int key) {
+		int h = IntObjectHashMap.hash(key);
+		return (h >>> shift) & mask;
+	}
+}
@@ -0,0 +1,42 @@
+package FoodDeliverySystem.concurrent;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared by key hash, so that work for the same key is
+ * serialized without keeping one lock object per key alive.
+ */
+public class StripedLock {
+
+	private final ReentrantLock[] locks;
+	private final int mask;
+
+	public StripedLock(int stripes) {
+		super();
+		if(stripes <= 0) {
+			throw new IllegalArgumentException("stripes must be positive");
+		}
+		int size = Integer.highestOneBit(stripes - 1) << 1;
+		if(size == 0) {
+			size = 1;
+		}
+		this.locks = new ReentrantLock[size];
+		for(int i = 0; i < size; i++) {
+			this.locks[i] = new ReentrantLock();
+		}
+		this.mask = size - 1;
+	}
+
+	public ReentrantLock getLock(int key) {
+		return locks[spread(key) & mask];
+	}
+
+	public int getStripes() {
+		return locks.length;
+	}
+
+	private static int spread(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
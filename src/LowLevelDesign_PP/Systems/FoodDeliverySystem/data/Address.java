@@ -11,8 +11,13 @@ public class Address {
 	private final String State;
 	private final String zip;
 	private final String country;
+	private final Location location;
 	public Address(String addressLine1, String addressLine2, String addressLine3, String city, String state, String zip,
 			String country) {
+		this(addressLine1, addressLine2, addressLine3, city, state, zip, country, null);
+	}
+	public Address(String addressLine1, String addressLine2, String addressLine3, String city, String state, String zip,
+			String country, Location location) {
 		super();
 		this.addressLine1 = addressLine1;
 		this.addressLine2 = addressLine2;
@@ -21,6 +26,7 @@ public class Address {
 		State = state;
 		this.zip = zip;
 		this.country = country;
+		this.location = location;
 	}
 	public String getAddressLine1() {
 		return addressLine1;
@@ -43,5 +49,9 @@ public class Address {
 	public String getCountry() {
 		return country;
 	}
+	// null when the address was not geocoded
+	public Location getLocation() {
+		return location;
+	}
 	
 }
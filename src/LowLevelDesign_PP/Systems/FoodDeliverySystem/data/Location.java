@@ -0,0 +1,33 @@
+package FoodDeliverySystem.Data;
+
+public class Location {
+
+	private static final double EARTH_RADIUS_KM = 6371.0;
+
+	private final double latitude;
+	private final double longitude;
+	public Location(double latitude, double longitude) {
+		super();
+		if(latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+			throw new IllegalArgumentException("Invalid coordinates");
+		}
+		this.latitude = latitude;
+		this.longitude = longitude;
+	}
+	public double getLatitude() {
+		return latitude;
+	}
+	public double getLongitude() {
+		return longitude;
+	}
+	
+	// great circle distance
+	public double distanceKm(Location other) {
+		double dLat = Math.toRadians(other.latitude - latitude);
+		double dLon = Math.toRadians(other.longitude - longitude);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(latitude))
+				* Math.cos(Math.toRadians(other.latitude)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+	
+}
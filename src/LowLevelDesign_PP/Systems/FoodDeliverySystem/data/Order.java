@@ -27,6 +27,9 @@ public class Order {
 	public List<CartItem> getCartItems() {
 		return cartItems;
 	}
+	public Order withOrderStatus(OrderStatus newOrderStatus) {
+		return new Order(orderId, userId, newOrderStatus, cartItems);
+	}
 	
 	
 	
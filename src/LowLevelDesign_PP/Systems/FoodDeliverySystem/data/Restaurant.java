@@ -16,6 +16,11 @@ public class Restaurant {
 	public Restaurant(int restaurantId, String restaurantName, String restaurantDescription,
 			BusinessHours businessHours, MealType mealType, List<CuisineType> cuisineType, StarRating starRating,
 			Menu menu) {
+		this(restaurantId, restaurantName, restaurantDescription, businessHours, mealType, cuisineType, starRating, menu, null);
+	}
+	public Restaurant(int restaurantId, String restaurantName, String restaurantDescription,
+			BusinessHours businessHours, MealType mealType, List<CuisineType> cuisineType, StarRating starRating,
+			Menu menu, Address address) {
 		super();
 		this.restaurantId = restaurantId;
 		this.restaurantName = restaurantName;
@@ -25,7 +30,7 @@ public class Restaurant {
 		this.cuisineType = cuisineType;
 		this.starRating = starRating;
 		this.menu = menu;
-		this.address = null;
+		this.address = address;
 	}
 	public int getRestaurantId() {
 		return restaurantId;
@@ -0,0 +1,342 @@
+package FoodDeliverySystem.DataAccessor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import FoodDeliverySystem.Data.Address;
+import FoodDeliverySystem.Data.BusinessHours;
+import FoodDeliverySystem.Data.CuisineType;
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.MealType;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.Data.StarRating;
+import FoodDeliverySystem.Data.User;
+
+/**
+ * Loads food items, restaurants and users into {@link DataAccessor} in batches. Only storage is
+ * written; build the search indexes once after the load with RestaurantManager.reindex().
+ *
+ * CSV files are plain comma separated (no quoting), with an optional header line starting with "id":
+ *   food items : id,itemName,description,priceINR,cuisineType,mealType,starRating,restaurantId,isAvailable
+ *   restaurants: id,name,description,openTime(HH:mm),closeTime(HH:mm),mealType,cuisineTypes(;-separated),starRating,latitude,longitude
+ *   users      : id,userName,phoneNumber,emailId,token
+ * Binary files are the records written by the matching write method, which loads several times faster.
+ */
+public class BulkLoader {
+
+	private static final int BATCH_SIZE = 10_000;
+	private static final int FOOD_ITEMS_MAGIC = 0x46495431;
+	private static final int RESTAURANTS_MAGIC = 0x52535431;
+	private static final int USERS_MAGIC = 0x55535231;
+
+	private BulkLoader() {
+
+	}
+
+	public static int loadFoodItemsCsv(Path path) throws IOException {
+		List<FoodItem> batch = new ArrayList<>(BATCH_SIZE);
+		int loaded = 0;
+		try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(isSkipped(line)) {
+					continue;
+				}
+				String[] fields = line.split(",", -1);
+				batch.add(foodItem(Integer.parseInt(fields[0]), fields[1], fields[2], Double.parseDouble(fields[3]),
+						CuisineType.valueOf(fields[4]), MealType.valueOf(fields[5]), StarRating.valueOf(fields[6]),
+						Integer.parseInt(fields[7]), Boolean.parseBoolean(fields[8])));
+				if(batch.size() == BATCH_SIZE) {
+					loaded += flushFoodItems(batch);
+				}
+			}
+		}
+		return loaded + flushFoodItems(batch);
+	}
+
+	public static int loadRestaurantsCsv(Path path) throws IOException {
+		List<Restaurant> batch = new ArrayList<>(BATCH_SIZE);
+		int loaded = 0;
+		try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(isSkipped(line)) {
+					continue;
+				}
+				String[] fields = line.split(",", -1);
+				List<CuisineType> cuisineTypes = new ArrayList<>();
+				for(String cuisineType : fields[6].split(";")) {
+					if(!cuisineType.isEmpty()) {
+						cuisineTypes.add(CuisineType.valueOf(cuisineType));
+					}
+				}
+				Location location = fields[8].isEmpty() ? null
+						: new Location(Double.parseDouble(fields[8]), Double.parseDouble(fields[9]));
+				batch.add(restaurant(Integer.parseInt(fields[0]), fields[1], fields[2], LocalTime.parse(fields[3]),
+						LocalTime.parse(fields[4]), MealType.valueOf(fields[5]), cuisineTypes,
+						StarRating.valueOf(fields[7]), location));
+				if(batch.size() == BATCH_SIZE) {
+					loaded += flushRestaurants(batch);
+				}
+			}
+		}
+		return loaded + flushRestaurants(batch);
+	}
+
+	public static int loadUsersCsv(Path path) throws IOException {
+		List<User> batch = new ArrayList<>(BATCH_SIZE);
+		List<String> tokens = new ArrayList<>(BATCH_SIZE);
+		int loaded = 0;
+		try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(isSkipped(line)) {
+					continue;
+				}
+				String[] fields = line.split(",", -1);
+				batch.add(new User(Integer.parseInt(fields[0]), fields[1], null, fields[2], fields[3]));
+				tokens.add(fields[4].isEmpty() ? null : fields[4]);
+				if(batch.size() == BATCH_SIZE) {
+					loaded += flushUsers(batch, tokens);
+				}
+			}
+		}
+		return loaded + flushUsers(batch, tokens);
+	}
+
+	public static void writeFoodItemsBinary(Path path, List<FoodItem> foodItems) throws IOException {
+		try(DataOutputStream out = newOutput(path)) {
+			out.writeInt(FOOD_ITEMS_MAGIC);
+			out.writeInt(foodItems.size());
+			for(FoodItem foodItem : foodItems) {
+				out.writeInt(foodItem.getId());
+				out.writeUTF(foodItem.getItemName());
+				out.writeUTF(foodItem.getDescription() == null ? "" : foodItem.getDescription());
+				out.writeDouble(foodItem.getPriceINR());
+				out.writeByte(ordinal(foodItem.getCusineType()));
+				out.writeByte(ordinal(foodItem.getMealType()));
+				out.writeByte(ordinal(foodItem.getStarRating()));
+				out.writeInt(foodItem.getRestaurantId());
+				out.writeBoolean(foodItem.isAvailable());
+			}
+		}
+	}
+
+	public static int loadFoodItemsBinary(Path path) throws IOException {
+		CuisineType[] cuisineTypes = CuisineType.values();
+		MealType[] mealTypes = MealType.values();
+		StarRating[] starRatings = StarRating.values();
+		List<FoodItem> batch = new ArrayList<>(BATCH_SIZE);
+		int loaded = 0;
+		try(DataInputStream in = newInput(path)) {
+			int count = readHeader(in, FOOD_ITEMS_MAGIC);
+			for(int i = 0; i < count; i++) {
+				int id = in.readInt();
+				String itemName = in.readUTF();
+				String description = in.readUTF();
+				double priceINR = in.readDouble();
+				CuisineType cuisineType = valueAt(cuisineTypes, in.readByte());
+				MealType mealType = valueAt(mealTypes, in.readByte());
+				StarRating starRating = valueAt(starRatings, in.readByte());
+				int restaurantId = in.readInt();
+				boolean isAvailable = in.readBoolean();
+				batch.add(foodItem(id, itemName, description, priceINR, cuisineType, mealType, starRating,
+						restaurantId, isAvailable));
+				if(batch.size() == BATCH_SIZE) {
+					loaded += flushFoodItems(batch);
+				}
+			}
+		}
+		return loaded + flushFoodItems(batch);
+	}
+
+	public static void writeRestaurantsBinary(Path path, List<Restaurant> restaurants) throws IOException {
+		try(DataOutputStream out = newOutput(path)) {
+			out.writeInt(RESTAURANTS_MAGIC);
+			out.writeInt(restaurants.size());
+			for(Restaurant restaurant : restaurants) {
+				out.writeInt(restaurant.getRestaurantId());
+				out.writeUTF(restaurant.getRestaurantName());
+				out.writeUTF(restaurant.getRestaurantDescription() == null ? "" : restaurant.getRestaurantDescription());
+				BusinessHours businessHours = restaurant.getBusinessHours();
+				out.writeInt(businessHours == null ? -1 : businessHours.getStartTime().toLocalTime().toSecondOfDay());
+				out.writeInt(businessHours == null ? -1 : businessHours.getEndTime().toLocalTime().toSecondOfDay());
+				out.writeByte(ordinal(restaurant.getMealType()));
+				List<CuisineType> cuisineTypes = restaurant.getCuisineType();
+				out.writeByte(cuisineTypes == null ? 0 : cuisineTypes.size());
+				if(cuisineTypes != null) {
+					for(CuisineType cuisineType : cuisineTypes) {
+						out.writeByte(cuisineType.ordinal());
+					}
+				}
+				out.writeByte(ordinal(restaurant.getStarRating()));
+				Location location = restaurant.getAddress() == null ? null : restaurant.getAddress().getLocation();
+				out.writeBoolean(location != null);
+				if(location != null) {
+					out.writeDouble(location.getLatitude());
+					out.writeDouble(location.getLongitude());
+				}
+			}
+		}
+	}
+
+	public static int loadRestaurantsBinary(Path path) throws IOException {
+		CuisineType[] allCuisineTypes = CuisineType.values();
+		MealType[] mealTypes = MealType.values();
+		StarRating[] starRatings = StarRating.values();
+		List<Restaurant> batch = new ArrayList<>(BATCH_SIZE);
+		int loaded = 0;
+		try(DataInputStream in = newInput(path)) {
+			int count = readHeader(in, RESTAURANTS_MAGIC);
+			for(int i = 0; i < count; i++) {
+				int id = in.readInt();
+				String name = in.readUTF();
+				String description = in.readUTF();
+				int openSecond = in.readInt();
+				int closeSecond = in.readInt();
+				MealType mealType = valueAt(mealTypes, in.readByte());
+				int cuisineCount = in.readByte();
+				List<CuisineType> cuisineTypes = new ArrayList<>(cuisineCount);
+				for(int j = 0; j < cuisineCount; j++) {
+					cuisineTypes.add(allCuisineTypes[in.readByte()]);
+				}
+				StarRating starRating = valueAt(starRatings, in.readByte());
+				Location location = in.readBoolean() ? new Location(in.readDouble(), in.readDouble()) : null;
+				batch.add(restaurant(id, name, description, openSecond < 0 ? null : LocalTime.ofSecondOfDay(openSecond),
+						closeSecond < 0 ? null : LocalTime.ofSecondOfDay(closeSecond), mealType, cuisineTypes,
+						starRating, location));
+				if(batch.size() == BATCH_SIZE) {
+					loaded += flushRestaurants(batch);
+				}
+			}
+		}
+		return loaded + flushRestaurants(batch);
+	}
+
+	public static void writeUsersBinary(Path path, List<User> users, List<String> tokens) throws IOException {
+		try(DataOutputStream out = newOutput(path)) {
+			out.writeInt(USERS_MAGIC);
+			out.writeInt(users.size());
+			for(int i = 0; i < users.size(); i++) {
+				User user = users.get(i);
+				out.writeInt(user.getUserId());
+				out.writeUTF(nullToEmpty(user.getUserName()));
+				out.writeUTF(nullToEmpty(user.getUserPhoneNumber()));
+				out.writeUTF(nullToEmpty(user.getUserEmailId()));
+				out.writeUTF(tokens == null ? "" : nullToEmpty(tokens.get(i)));
+			}
+		}
+	}
+
+	public static int loadUsersBinary(Path path) throws IOException {
+		List<User> batch = new ArrayList<>(BATCH_SIZE);
+		List<String> tokens = new ArrayList<>(BATCH_SIZE);
+		int loaded = 0;
+		try(DataInputStream in = newInput(path)) {
+			int count = readHeader(in, USERS_MAGIC);
+			for(int i = 0; i < count; i++) {
+				batch.add(new User(in.readInt(), in.readUTF(), null, in.readUTF(), in.readUTF()));
+				String token = in.readUTF();
+				tokens.add(token.isEmpty() ? null : token);
+				if(batch.size() == BATCH_SIZE) {
+					loaded += flushUsers(batch, tokens);
+				}
+			}
+		}
+		return loaded + flushUsers(batch, tokens);
+	}
+
+	public static FoodItem foodItem(int id, String itemName, String description, double priceINR,
+			CuisineType cuisineType, MealType mealType, StarRating starRating, int restaurantId, boolean isAvailable) {
+		FoodItem.Builder builder = new FoodItem.Builder(id, itemName, description, cuisineType, mealType);
+		builder.setPriceINR(priceINR);
+		builder.setStarRating(starRating);
+		builder.setRestaurantId(restaurantId);
+		builder.setAvailable(isAvailable);
+		return new FoodItem(builder);
+	}
+
+	public static Restaurant restaurant(int id, String name, String description, LocalTime openTime,
+			LocalTime closeTime, MealType mealType, List<CuisineType> cuisineTypes, StarRating starRating,
+			Location location) {
+		BusinessHours businessHours = openTime == null || closeTime == null ? null
+				: new BusinessHours(LocalDate.EPOCH.atTime(openTime), LocalDate.EPOCH.atTime(closeTime));
+		Address address = location == null ? null : new Address(null, null, null, null, null, null, null, location);
+		return new Restaurant(id, name, description, businessHours, mealType, cuisineTypes, starRating, null, address);
+	}
+
+	private static int flushFoodItems(List<FoodItem> batch) {
+		int size = batch.size();
+		if(size > 0) {
+			DataAccessor.addFoodItems(new ArrayList<>(batch));
+			batch.clear();
+		}
+		return size;
+	}
+
+	private static int flushRestaurants(List<Restaurant> batch) {
+		int size = batch.size();
+		if(size > 0) {
+			DataAccessor.addRestaurants(new ArrayList<>(batch));
+			batch.clear();
+		}
+		return size;
+	}
+
+	private static int flushUsers(List<User> batch, List<String> tokens) {
+		int size = batch.size();
+		if(size > 0) {
+			DataAccessor.addUsers(new ArrayList<>(batch), new ArrayList<>(tokens));
+			batch.clear();
+			tokens.clear();
+		}
+		return size;
+	}
+
+	private static boolean isSkipped(String line) {
+		return line.isEmpty() || line.startsWith("id");
+	}
+
+	private static int readHeader(DataInputStream in, int expectedMagic) throws IOException {
+		if(in.readInt() != expectedMagic) {
+			throw new IOException("Unexpected file format");
+		}
+		return in.readInt();
+	}
+
+	private static DataOutputStream newOutput(Path path) throws IOException {
+		OutputStream out = Files.newOutputStream(path);
+		return new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+	}
+
+	private static DataInputStream newInput(Path path) throws IOException {
+		InputStream in = Files.newInputStream(path);
+		return new DataInputStream(new BufferedInputStream(in, 1 << 16));
+	}
+
+	private static int ordinal(Enum<?> value) {
+		return value == null ? -1 : value.ordinal();
+	}
+
+	private static <T> T valueAt(T[] values, int ordinal) {
+		return ordinal < 0 ? null : values[ordinal];
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -1,5 +1,6 @@
 package FoodDeliverySystem.DataAccessor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import FoodDeliverySystem.Data.CartItem;
@@ -14,28 +15,33 @@ public class DataAccessObjectConverter {
 	}
 
 	public static User convertToUser(DataAccessResult dataAccessResult) {
-		// TODO Auto-generated method stub
-		return null;
+		if(dataAccessResult == null || dataAccessResult.isEmpty()) {
+			return null;
+		}
+		return (User) dataAccessResult.getRecords().get(0);
 	}
 
 	public static List<CartItem> convertToCartItems(DataAccessResult dataAccessResult) {
-		// TODO Auto-generated method stub
-		return null;
+		return convert(dataAccessResult, CartItem.class);
 	}
 
 	public static List<FoodItem> convertToFoodItems(DataAccessResult dataAccessResult) {
-		// TODO Auto-generated method stub
-		return null;
+		return convert(dataAccessResult, FoodItem.class);
 	}
 
 	public static List<Restaurant> convertToRestaurant(DataAccessResult dataAccessResult) {
-		// TODO Auto-generated method stub
-		return null;
+		return convert(dataAccessResult, Restaurant.class);
 	}
 
-	
-
-	
-	
+	private static <T> List<T> convert(DataAccessResult dataAccessResult, Class<T> type) {
+		if(dataAccessResult == null) {
+			return null;
+		}
+		List<T> converted = new ArrayList<>(dataAccessResult.getRecords().size());
+		for(Object record : dataAccessResult.getRecords()) {
+			converted.add(type.cast(record));
+		}
+		return converted;
+	}
 
 }
@@ -1,5 +1,22 @@
 package FoodDeliverySystem.DataAccessor;
 
+import java.util.Collections;
+import java.util.List;
+
 public class DataAccessResult {
 
+	private final List<?> records;
+
+	public DataAccessResult(List<?> records) {
+		super();
+		this.records = records == null ? Collections.emptyList() : records;
+	}
+
+	public List<?> getRecords() {
+		return records;
+	}
+
+	public boolean isEmpty() {
+		return records.isEmpty();
+	}
 }
@@ -1,67 +1,110 @@
 package FoodDeliverySystem.DataAccessor;
 
+import java.util.Collections;
 import java.util.List;
 
 import FoodDeliverySystem.Data.CartItem;
 import FoodDeliverySystem.Data.FoodItem;
 import FoodDeliverySystem.Data.Order;
 import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.Restaurant;
 import FoodDeliverySystem.Data.User;
 
 public class DataAccessor {
+	
+	private static volatile Storage storage = new InMemoryStorage();
+	
+	public static Storage getStorage() {
+		return storage;
+	}
+	
+	public static void setStorage(Storage newStorage) {
+		if(newStorage == null) {
+			throw new IllegalArgumentException("Storage can not be null");
+		}
+		storage = newStorage;
+	}
 
 	public static void addItemToCart(User user, FoodItem foodItem) {
-		
+		storage.addItemToCart(user.getUserId(), foodItem);
 	}
 	
 	public static DataAccessResult getFoodItemWithName(String foodItemName) {
-		return null;
+		return new DataAccessResult(storage.findFoodItemsByName(foodItemName));
 		
 	}
 
 	public static DataAccessResult getFoodItemWithId(int foodItemId) {
-		// TODO Auto-generated method stub
-		return null;
+		return single(storage.getFoodItem(foodItemId));
 	}
 
 	public static DataAccessResult getRestaurantWithName(String restaurantName) {
-		// TODO Auto-generated method stub
-		return null;
+		return new DataAccessResult(storage.findRestaurantsByName(restaurantName));
 	}
 
 	public static DataAccessResult getRestaurantWithId(int restaurantId) {
-		// TODO Auto-generated method stub
-		return null;
+		return single(storage.getRestaurant(restaurantId));
 	}
 
 	public static DataAccessResult getCartForUser(User user) {
-		// TODO Auto-generated method stub
-		return null;
+		return new DataAccessResult(storage.getCart(user.getUserId()));
+	}
+
+	public static long getCartVersion(User user) {
+		return storage.getCartVersion(user.getUserId());
 	}
 
 	public static void deleteItemFromCart(User user, FoodItem foodItem) {
-		// TODO Auto-generated method stub
-		
+		storage.deleteItemFromCart(user.getUserId(), foodItem);
 	}
 
 	public DataAccessResult getUserById(int userId) {
-		// TODO Auto-generated method stub
-		return null;
+		return single(storage.getUser(userId));
+	}
+	
+	public static DataAccessResult getUserWithToken(String token) {
+		return single(storage.getUserByToken(token));
 	}
 
 	public static void checkOutUsersCart(User user) {
-		// TODO Auto-generated method stub
-		
+		storage.clearCart(user.getUserId());
 	}
 	public static int createOrder(User user, List<CartItem> cartItems) {
-		return 1;
+		return storage.createOrder(user.getUserId(), cartItems);
 	}
 	
 	public static void changeOrderStatus(User user, Order order, OrderStatus orderStatus) {
-		
+		changeOrderStatus(order.getOrderId(), orderStatus);
+	}
+	
+	public static void changeOrderStatus(int orderId, OrderStatus orderStatus) {
+		storage.changeOrderStatus(orderId, orderStatus);
 	}
-
 	
+	public static void addUsers(List<User> users, List<String> tokens) {
+		storage.putUsers(users, tokens);
+	}
 	
+	// returns the replaced items, in input order, null where the id was new
+	public static List<FoodItem> addFoodItems(List<FoodItem> foodItems) {
+		return storage.putFoodItems(foodItems);
+	}
+	
+	public static void addRestaurants(List<Restaurant> restaurants) {
+		storage.putRestaurants(restaurants);
+	}
+	
+	public static List<FoodItem> getFoodItems() {
+		return storage.getFoodItems();
+	}
+	
+	public static List<Restaurant> getRestaurants() {
+		return storage.getRestaurants();
+	}
+
+	// null when nothing was found, as the searchers expect
+	private static DataAccessResult single(Object record) {
+		return record == null ? null : new DataAccessResult(Collections.singletonList(record));
+	}
 	
 }
@@ -0,0 +1,226 @@
+package FoodDeliverySystem.DataAccessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import FoodDeliverySystem.Data.CartItem;
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.Data.User;
+import FoodDeliverySystem.concurrent.StripedIntObjectMap;
+import FoodDeliverySystem.index.TokenIndex;
+
+/**
+ * Storage kept in striped int-keyed maps, with word indexes on food item and restaurant names.
+ * Carts are immutable lists swapped under the user's stripe lock.
+ */
+public class InMemoryStorage implements Storage {
+
+	private static final int STRIPES = 64;
+
+	private final StripedIntObjectMap<User> users;
+	private final Map<String, Integer> userIdsByToken = new ConcurrentHashMap<>();
+	private final StripedIntObjectMap<FoodItem> foodItems;
+	private final StripedIntObjectMap<Restaurant> restaurants;
+	private final StripedIntObjectMap<List<CartItem>> carts;
+	private final StripedIntObjectMap<Order> orders;
+	private final TokenIndex foodItemNames = new TokenIndex();
+	private final TokenIndex restaurantNames = new TokenIndex();
+	private final AtomicInteger orderIdGenerator = new AtomicInteger();
+	// one sequence for all carts, so a cleared and refilled cart never reuses a version
+	private final AtomicLong cartVersionGenerator = new AtomicLong();
+	private final StripedIntObjectMap<Long> cartVersions;
+
+	public InMemoryStorage(int expectedFoodItems, int expectedRestaurants, int expectedUsers) {
+		super();
+		this.users = new StripedIntObjectMap<>(STRIPES, expectedUsers);
+		this.foodItems = new StripedIntObjectMap<>(STRIPES, expectedFoodItems);
+		this.restaurants = new StripedIntObjectMap<>(STRIPES, expectedRestaurants);
+		this.carts = new StripedIntObjectMap<>(STRIPES, expectedUsers);
+		this.cartVersions = new StripedIntObjectMap<>(STRIPES, expectedUsers);
+		this.orders = new StripedIntObjectMap<>(STRIPES, expectedUsers);
+	}
+
+	public InMemoryStorage() {
+		this(1024, 1024, 1024);
+	}
+
+	@Override
+	public User getUser(int userId) {
+		return users.get(userId);
+	}
+
+	@Override
+	public User getUserByToken(String token) {
+		Integer userId = token == null ? null : userIdsByToken.get(token);
+		return userId == null ? null : users.get(userId);
+	}
+
+	@Override
+	public void putUsers(List<User> newUsers, List<String> tokens) {
+		if(tokens != null && tokens.size() != newUsers.size()) {
+			throw new IllegalArgumentException("users and tokens differ in length");
+		}
+		int[] ids = new int[newUsers.size()];
+		for(int i = 0; i < ids.length; i++) {
+			ids[i] = newUsers.get(i).getUserId();
+		}
+		users.putAll(ids, newUsers);
+		if(tokens != null) {
+			for(int i = 0; i < ids.length; i++) {
+				if(tokens.get(i) != null) {
+					userIdsByToken.put(tokens.get(i), ids[i]);
+				}
+			}
+		}
+	}
+
+	@Override
+	public FoodItem getFoodItem(int foodItemId) {
+		return foodItems.get(foodItemId);
+	}
+
+	@Override
+	public List<FoodItem> findFoodItemsByName(String foodItemName) {
+		int[] ids = foodItemNames.search(foodItemName);
+		List<FoodItem> result = new ArrayList<>(ids.length);
+		for(int id : ids) {
+			FoodItem foodItem = foodItems.get(id);
+			if(foodItem != null) {
+				result.add(foodItem);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<FoodItem> putFoodItems(List<FoodItem> newFoodItems) {
+		List<FoodItem> replaced = new ArrayList<>(newFoodItems.size());
+		for(FoodItem foodItem : newFoodItems) {
+			FoodItem previous = foodItems.put(foodItem.getId(), foodItem);
+			if(previous != null) {
+				foodItemNames.remove(previous.getId(), previous.getItemName());
+			}
+			foodItemNames.add(foodItem.getId(), foodItem.getItemName());
+			replaced.add(previous);
+		}
+		return replaced;
+	}
+
+	@Override
+	public Restaurant getRestaurant(int restaurantId) {
+		return restaurants.get(restaurantId);
+	}
+
+	@Override
+	public List<Restaurant> findRestaurantsByName(String restaurantName) {
+		int[] ids = restaurantNames.search(restaurantName);
+		List<Restaurant> result = new ArrayList<>(ids.length);
+		for(int id : ids) {
+			Restaurant restaurant = restaurants.get(id);
+			if(restaurant != null) {
+				result.add(restaurant);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void putRestaurants(List<Restaurant> newRestaurants) {
+		for(Restaurant restaurant : newRestaurants) {
+			Restaurant previous = restaurants.put(restaurant.getRestaurantId(), restaurant);
+			if(previous != null) {
+				restaurantNames.remove(previous.getRestaurantId(), previous.getRestaurantName());
+			}
+			restaurantNames.add(restaurant.getRestaurantId(), restaurant.getRestaurantName());
+		}
+	}
+
+	@Override
+	public List<FoodItem> getFoodItems() {
+		return foodItems.values();
+	}
+
+	@Override
+	public List<Restaurant> getRestaurants() {
+		return restaurants.values();
+	}
+
+	@Override
+	public List<CartItem> getCart(int userId) {
+		List<CartItem> cartItems = carts.get(userId);
+		return cartItems == null ? Collections.emptyList() : cartItems;
+	}
+
+	@Override
+	public void addItemToCart(int userId, FoodItem foodItem) {
+		carts.compute(userId, (id, cartItems) -> {
+			List<CartItem> updated = cartItems == null ? new ArrayList<>() : new ArrayList<>(cartItems);
+			for(int i = 0; i < updated.size(); i++) {
+				if(updated.get(i).getFoodItem().getId() == foodItem.getId()) {
+					updated.set(i, new CartItem(foodItem, updated.get(i).getQuantity() + 1));
+					return Collections.unmodifiableList(updated);
+				}
+			}
+			updated.add(new CartItem(foodItem, 1));
+			return Collections.unmodifiableList(updated);
+		});
+		cartVersions.put(userId, cartVersionGenerator.incrementAndGet());
+	}
+
+	@Override
+	public void deleteItemFromCart(int userId, FoodItem foodItem) {
+		carts.compute(userId, (id, cartItems) -> {
+			if(cartItems == null) {
+				return null;
+			}
+			List<CartItem> updated = new ArrayList<>(cartItems);
+			for(int i = 0; i < updated.size(); i++) {
+				CartItem cartItem = updated.get(i);
+				if(cartItem.getFoodItem().getId() == foodItem.getId()) {
+					if(cartItem.getQuantity() > 1) {
+						updated.set(i, new CartItem(cartItem.getFoodItem(), cartItem.getQuantity() - 1));
+					}
+					else {
+						updated.remove(i);
+					}
+					break;
+				}
+			}
+			return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+		});
+		cartVersions.put(userId, cartVersionGenerator.incrementAndGet());
+	}
+
+	@Override
+	public void clearCart(int userId) {
+		carts.remove(userId);
+		cartVersions.put(userId, cartVersionGenerator.incrementAndGet());
+	}
+
+	@Override
+	public long getCartVersion(int userId) {
+		Long version = cartVersions.get(userId);
+		return version == null ? 0 : version;
+	}
+
+	@Override
+	public int createOrder(int userId, List<CartItem> cartItems) {
+		int orderId = orderIdGenerator.incrementAndGet();
+		orders.put(orderId, new Order(orderId, userId, OrderStatus.ORDER_PLACED, cartItems));
+		return orderId;
+	}
+
+	@Override
+	public void changeOrderStatus(int orderId, OrderStatus orderStatus) {
+		orders.compute(orderId, (id, order) -> order == null ? null : order.withOrderStatus(orderStatus));
+	}
+
+}
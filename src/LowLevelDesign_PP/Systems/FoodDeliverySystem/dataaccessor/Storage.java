@@ -0,0 +1,52 @@
+package FoodDeliverySystem.DataAccessor;
+
+import java.util.List;
+
+import FoodDeliverySystem.Data.CartItem;
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.Data.User;
+
+public interface Storage {
+
+	public User getUser(int userId);
+
+	public User getUserByToken(String token);
+
+	public void putUsers(List<User> users, List<String> tokens);
+
+	public FoodItem getFoodItem(int foodItemId);
+
+	// items whose name contains every word of the given name
+	public List<FoodItem> findFoodItemsByName(String foodItemName);
+
+	// returns the replaced items, in input order, null where the id was new
+	public List<FoodItem> putFoodItems(List<FoodItem> foodItems);
+
+	public Restaurant getRestaurant(int restaurantId);
+
+	public List<Restaurant> findRestaurantsByName(String restaurantName);
+
+	public void putRestaurants(List<Restaurant> restaurants);
+
+	// every stored item / restaurant, for rebuilding the search indexes after a bulk load
+	public List<FoodItem> getFoodItems();
+
+	public List<Restaurant> getRestaurants();
+
+	public List<CartItem> getCart(int userId);
+
+	public void addItemToCart(int userId, FoodItem foodItem);
+
+	public void deleteItemFromCart(int userId, FoodItem foodItem);
+
+	public void clearCart(int userId);
+
+	// changes on every change to the user's cart, including clearing it; never reused
+	public long getCartVersion(int userId);
+
+	public int createOrder(int userId, List<CartItem> cartItems);
+
+	public void changeOrderStatus(int orderId, OrderStatus orderStatus);
+}
@@ -0,0 +1,39 @@
+package FoodDeliverySystem.dispatch;
+
+public class Assignment {
+
+	private final int orderId;
+	private final int riderId;
+	private final double pickupDistanceKm;
+	private final long assignedAtMillis;
+
+	public Assignment(int orderId, int riderId, double pickupDistanceKm, long assignedAtMillis) {
+		super();
+		this.orderId = orderId;
+		this.riderId = riderId;
+		this.pickupDistanceKm = pickupDistanceKm;
+		this.assignedAtMillis = assignedAtMillis;
+	}
+
+	public int getOrderId() {
+		return orderId;
+	}
+
+	public int getRiderId() {
+		return riderId;
+	}
+
+	// NaN when the pickup location of the order is unknown
+	public double getPickupDistanceKm() {
+		return pickupDistanceKm;
+	}
+
+	public long getAssignedAtMillis() {
+		return assignedAtMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "Assignment [orderId=" + orderId + ", riderId=" + riderId + ", pickupDistanceKm=" + pickupDistanceKm + "]";
+	}
+}
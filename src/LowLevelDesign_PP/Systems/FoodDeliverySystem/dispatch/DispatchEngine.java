@@ -0,0 +1,588 @@
+package FoodDeliverySystem.dispatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import FoodDeliverySystem.Data.CartItem;
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.DataAccessor.DataAccessObjectConverter;
+import FoodDeliverySystem.DataAccessor.DataAccessor;
+import FoodDeliverySystem.metrics.LatencyHistogram;
+import FoodDeliverySystem.orders.OrderEvent;
+import FoodDeliverySystem.orders.OrderEventConsumer;
+import FoodDeliverySystem.orders.OrderEventLog;
+import FoodDeliverySystem.orders.OrderStore;
+import FoodDeliverySystem.permission.PermissionEngine;
+
+/**
+ * Assigns riders to READY_FOR_DELIVERY orders in periodic batches.
+ *
+ * Ready orders are picked up from the {@link OrderEventLog}. Every batch interval the pending
+ * orders and free riders are bucketed into grid cells by pickup and rider location, and cells are
+ * grouped into zones. Each zone is solved by its own worker, optimally (Hungarian) when it is small
+ * and greedily by shortest pickup distance otherwise, looking only at riders within a few rings of
+ * cells. Orders left over at zone borders get a second pass over all riders still free. An
+ * assignment is the order's move to OUT_FOR_DELIVERY, with the rider's user registered in the
+ * PermissionEngine as the one who may mark it DELIVERED; the rider is freed again once it is.
+ */
+public class DispatchEngine {
+
+	private static final int POLL_BATCH = 10_000;
+	private static final double INFEASIBLE = 1e9;
+	// outcomes of tryAssign
+	private static final int ASSIGNED = 0;
+	private static final int RIDER_GONE = 1;
+	private static final int ORDER_GONE = 2;
+
+	private final OrderStore orderStore;
+	private final OrderEventConsumer orderEventConsumer;
+	private final DispatchPolicy dispatchPolicy;
+	private final SpatialGrid grid;
+	private final ExecutorService zoneWorkers;
+	private final ScheduledExecutorService scheduler;
+	private final Map<Integer, RiderState> riders = new ConcurrentHashMap<>();
+	private final Map<Integer, Assignment> assignmentsByOrder = new ConcurrentHashMap<>();
+	// only touched inside dispatchNow
+	private final Map<Integer, PendingOrder> pendingOrders = new LinkedHashMap<>();
+	private final LatencyHistogram batchLatency = new LatencyHistogram();
+	// failed batches and zones; their orders stay pending for the next batch
+	private final AtomicLong failures = new AtomicLong();
+	private volatile Throwable lastFailure;
+	private ScheduledFuture<?> batchTask;
+
+	public DispatchEngine(OrderStore orderStore, OrderEventLog orderEventLog, DispatchPolicy dispatchPolicy) {
+		super();
+		if(orderStore == null || orderEventLog == null || dispatchPolicy == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.orderStore = orderStore;
+		// from the beginning so orders that became ready before the engine started are not missed
+		this.orderEventConsumer = orderEventLog.newConsumer(true);
+		this.dispatchPolicy = dispatchPolicy;
+		this.grid = new SpatialGrid(dispatchPolicy.getCellSizeKm());
+		this.zoneWorkers = Executors.newFixedThreadPool(dispatchPolicy.getZoneWorkers(), runnable -> {
+			Thread thread = new Thread(runnable, "dispatch-zone");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "dispatch-batch");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static DispatchEngine getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public synchronized void start() {
+		if(batchTask == null) {
+			long interval = dispatchPolicy.getBatchIntervalMillis();
+			batchTask = scheduler.scheduleWithFixedDelay(this::runBatch, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public synchronized void stop() {
+		if(batchTask != null) {
+			batchTask.cancel(false);
+			batchTask = null;
+		}
+	}
+
+	public void shutdown() {
+		stop();
+		// workers first, so a batch interrupted below sees them shut down and stops waiting
+		zoneWorkers.shutdownNow();
+		scheduler.shutdownNow();
+	}
+
+	// the rider logs in as the user with the same id
+	public void addRider(int riderId, Location location) {
+		addRider(riderId, riderId, location);
+	}
+
+	public void addRider(int riderId, int userId, Location location) {
+		RiderState rider = riders.computeIfAbsent(riderId, RiderState::new);
+		rider.userId = userId;
+		rider.location = location;
+	}
+
+	public void updateRiderLocation(int riderId, Location location) {
+		RiderState rider = riders.get(riderId);
+		if(rider == null) {
+			throw new IllegalArgumentException("No rider with id " + riderId);
+		}
+		rider.location = location;
+	}
+
+	public void removeRider(int riderId) {
+		RiderState rider = riders.remove(riderId);
+		if(rider != null) {
+			rider.available.set(false);
+		}
+	}
+
+	public boolean isRiderAvailable(int riderId) {
+		RiderState rider = riders.get(riderId);
+		return rider != null && rider.available.get();
+	}
+
+	public Assignment getAssignment(int orderId) {
+		return assignmentsByOrder.get(orderId);
+	}
+
+	public synchronized int getPendingOrderCount() {
+		return pendingOrders.size();
+	}
+
+	public LatencyHistogram getBatchLatency() {
+		return batchLatency;
+	}
+
+	public long getFailureCount() {
+		return failures.get();
+	}
+
+	// null until a batch or zone has failed
+	public Throwable getLastFailure() {
+		return lastFailure;
+	}
+
+	// one batch on the calling thread; the scheduled batches call this too
+	public synchronized List<Assignment> dispatchNow() {
+		long start = System.nanoTime();
+		drainOrderEvents();
+		if(pendingOrders.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		Map<Long, Zone> zones = new HashMap<>();
+		List<RiderSnapshot> freeRiders = new ArrayList<>();
+		int zoneSize = dispatchPolicy.getZoneSizeCells();
+		for(RiderState rider : riders.values()) {
+			Location location = rider.location;
+			if(location != null && rider.available.get()) {
+				RiderSnapshot snapshot = new RiderSnapshot(rider, location, grid.row(location), grid.column(location));
+				freeRiders.add(snapshot);
+				zoneOf(zones, snapshot.row, snapshot.column, zoneSize).addRider(snapshot);
+			}
+		}
+		List<PendingOrder> unlocated = new ArrayList<>();
+		for(PendingOrder pendingOrder : pendingOrders.values()) {
+			if(pendingOrder.pickup == null) {
+				unlocated.add(pendingOrder);
+			} else {
+				zoneOf(zones, pendingOrder.row, pendingOrder.column, zoneSize).orders.add(pendingOrder);
+			}
+		}
+
+		BatchResult batchResult = new BatchResult();
+		List<Callable<BatchResult>> zoneTasks = new ArrayList<>();
+		for(Zone zone : zones.values()) {
+			if(zone.orders.isEmpty()) {
+				continue;
+			}
+			if(zone.riderCount == 0) {
+				batchResult.leftovers.addAll(zone.orders);
+			} else {
+				zoneTasks.add(() -> solve(zone));
+			}
+		}
+		for(BatchResult zoneResult : runZones(zoneTasks)) {
+			batchResult.merge(zoneResult);
+		}
+
+		// orders near zone borders may have free riders in the next zone
+		if(!batchResult.leftovers.isEmpty()) {
+			Zone everywhere = new Zone();
+			for(RiderSnapshot snapshot : freeRiders) {
+				if(snapshot.rider.available.get()) {
+					everywhere.addRider(snapshot);
+				}
+			}
+			everywhere.orders.addAll(batchResult.leftovers);
+			batchResult.leftovers.clear();
+			batchResult.merge(solve(everywhere));
+		}
+		// no pickup location: any rider still free will do
+		for(PendingOrder pendingOrder : unlocated) {
+			for(RiderSnapshot snapshot : freeRiders) {
+				int outcome = tryAssign(pendingOrder, snapshot.rider, Double.NaN, batchResult);
+				if(outcome != RIDER_GONE) {
+					break;
+				}
+			}
+		}
+
+		for(Assignment assignment : batchResult.assignments) {
+			pendingOrders.remove(assignment.getOrderId());
+		}
+		for(int orderId : batchResult.droppedOrderIds) {
+			pendingOrders.remove(orderId);
+		}
+		batchLatency.record(System.nanoTime() - start);
+		return batchResult.assignments;
+	}
+
+	private void runBatch() {
+		try {
+			dispatchNow();
+		} catch(RuntimeException e) {
+			// keep the schedule alive; the next batch retries the pending orders
+			recordFailure(e);
+		}
+	}
+
+	// waits for every zone even when interrupted, since a finished zone has already moved its
+	// orders, and restores the interrupt afterwards; only a shutdown cancels the zones still
+	// queued. A failed zone is recorded and skipped.
+	private List<BatchResult> runZones(List<Callable<BatchResult>> zoneTasks) {
+		List<BatchResult> results = new ArrayList<>(zoneTasks.size());
+		if(zoneTasks.size() == 1) {
+			try {
+				results.add(zoneTasks.get(0).call());
+			} catch(Exception e) {
+				recordFailure(e);
+			}
+			return results;
+		}
+		List<Future<BatchResult>> futures = new ArrayList<>(zoneTasks.size());
+		for(Callable<BatchResult> zoneTask : zoneTasks) {
+			futures.add(zoneWorkers.submit(zoneTask));
+		}
+		boolean interrupted = false;
+		for(Future<BatchResult> future : futures) {
+			while(true) {
+				try {
+					results.add(future.get());
+					break;
+				} catch(InterruptedException e) {
+					interrupted = true;
+					if(zoneWorkers.isShutdown()) {
+						future.cancel(true);
+					}
+				} catch(CancellationException e) {
+					break;
+				} catch(ExecutionException e) {
+					recordFailure(e.getCause());
+					break;
+				}
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return results;
+	}
+
+	private void recordFailure(Throwable failure) {
+		failures.incrementAndGet();
+		lastFailure = failure;
+	}
+
+	private void drainOrderEvents() {
+		List<OrderEvent> orderEvents;
+		do {
+			orderEvents = orderEventConsumer.poll(POLL_BATCH);
+			for(OrderEvent orderEvent : orderEvents) {
+				onOrderEvent(orderEvent);
+			}
+		} while(orderEvents.size() == POLL_BATCH);
+	}
+
+	private void onOrderEvent(OrderEvent orderEvent) {
+		int orderId = orderEvent.getOrderId();
+		switch(orderEvent.getOrderStatus()) {
+		case READY_FOR_DELIVERY:
+			Order order = orderStore.getOrder(orderId);
+			// replayed events of orders that already moved on are skipped
+			if(order != null && order.getOrderStatus() == OrderStatus.READY_FOR_DELIVERY) {
+				pendingOrders.computeIfAbsent(orderId, id -> newPendingOrder(order));
+			}
+			break;
+		case CANCELED:
+			pendingOrders.remove(orderId);
+			PermissionEngine.getInstance().unassignRider(orderId);
+			break;
+		case DELIVERED:
+			PermissionEngine.getInstance().unassignRider(orderId);
+			Assignment assignment = assignmentsByOrder.remove(orderId);
+			if(assignment != null) {
+				RiderState rider = riders.get(assignment.getRiderId());
+				if(rider != null) {
+					rider.available.set(true);
+				}
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private PendingOrder newPendingOrder(Order order) {
+		Location pickup = pickupLocation(order);
+		return pickup == null ? new PendingOrder(order.getOrderId(), null, 0, 0)
+				: new PendingOrder(order.getOrderId(), pickup, grid.row(pickup), grid.column(pickup));
+	}
+
+	// the restaurant of the ordered items, null when it has no known location
+	private static Location pickupLocation(Order order) {
+		List<CartItem> cartItems = order.getCartItems();
+		if(cartItems == null || cartItems.isEmpty() || cartItems.get(0).getFoodItem() == null) {
+			return null;
+		}
+		int restaurantId = cartItems.get(0).getFoodItem().getRestaurantId();
+		List<Restaurant> restaurants = DataAccessObjectConverter.convertToRestaurant(DataAccessor.getRestaurantWithId(restaurantId));
+		if(restaurants == null || restaurants.isEmpty()) {
+			return null;
+		}
+		Restaurant restaurant = restaurants.get(0);
+		return restaurant.getAddress() == null ? null : restaurant.getAddress().getLocation();
+	}
+
+	private BatchResult solve(Zone zone) {
+		BatchResult result = new BatchResult();
+		List<PendingOrder> orders = zone.orders;
+		Edges edges = candidateEdges(zone);
+		boolean[] orderDone = new boolean[orders.size()];
+		if(orders.size() <= dispatchPolicy.getHungarianMaxOrders()) {
+			assignOptimal(zone, edges, orderDone, result);
+		} else {
+			assignGreedy(zone, edges, orderDone, result);
+		}
+		for(int i = 0; i < orders.size(); i++) {
+			if(!orderDone[i]) {
+				result.leftovers.add(orders.get(i));
+			}
+		}
+		return result;
+	}
+
+	private Edges candidateEdges(Zone zone) {
+		Edges edges = new Edges();
+		int rings = dispatchPolicy.getSearchRings();
+		double maxPickupKm = dispatchPolicy.getMaxPickupKm();
+		for(int i = 0; i < zone.orders.size(); i++) {
+			PendingOrder order = zone.orders.get(i);
+			for(int row = order.row - rings; row <= order.row + rings; row++) {
+				for(int column = order.column - rings; column <= order.column + rings; column++) {
+					List<RiderSnapshot> cellRiders = zone.ridersByCell.get(SpatialGrid.cellKey(row, column));
+					if(cellRiders == null) {
+						continue;
+					}
+					for(RiderSnapshot snapshot : cellRiders) {
+						double distanceKm = order.pickup.distanceKm(snapshot.location);
+						if(distanceKm <= maxPickupKm) {
+							edges.add(i, snapshot.index, distanceKm);
+						}
+					}
+				}
+			}
+		}
+		return edges;
+	}
+
+	// shortest pickups first; a rider who went away meanwhile leaves the order open for its next edge
+	private void assignGreedy(Zone zone, Edges edges, boolean[] orderDone, BatchResult result) {
+		Integer[] byDistance = new Integer[edges.size];
+		for(int e = 0; e < edges.size; e++) {
+			byDistance[e] = e;
+		}
+		Arrays.sort(byDistance, (a, b) -> Double.compare(edges.distanceKm[a], edges.distanceKm[b]));
+		boolean[] riderUsed = new boolean[zone.riderCount];
+		for(int e : byDistance) {
+			int order = edges.order[e];
+			int rider = edges.rider[e];
+			if(orderDone[order] || riderUsed[rider]) {
+				continue;
+			}
+			int outcome = tryAssign(zone.orders.get(order), zone.riders.get(rider).rider, edges.distanceKm[e], result);
+			orderDone[order] = outcome != RIDER_GONE;
+			// a rider whose order went away is still free for the next one
+			riderUsed[rider] = outcome != ORDER_GONE;
+		}
+	}
+
+	// minimum total pickup distance over the riders that have at least one candidate order
+	private void assignOptimal(Zone zone, Edges edges, boolean[] orderDone, BatchResult result) {
+		int[] column = new int[zone.riderCount];
+		Arrays.fill(column, -1);
+		List<Integer> candidateRiders = new ArrayList<>();
+		for(int e = 0; e < edges.size; e++) {
+			if(column[edges.rider[e]] < 0) {
+				column[edges.rider[e]] = candidateRiders.size();
+				candidateRiders.add(edges.rider[e]);
+			}
+		}
+		int orders = zone.orders.size();
+		int riderColumns = candidateRiders.size();
+		if(riderColumns == 0) {
+			return;
+		}
+		boolean transpose = orders > riderColumns;
+		double[][] cost = transpose ? new double[riderColumns][orders] : new double[orders][riderColumns];
+		for(double[] row : cost) {
+			Arrays.fill(row, INFEASIBLE);
+		}
+		for(int e = 0; e < edges.size; e++) {
+			if(transpose) {
+				cost[column[edges.rider[e]]][edges.order[e]] = edges.distanceKm[e];
+			} else {
+				cost[edges.order[e]][column[edges.rider[e]]] = edges.distanceKm[e];
+			}
+		}
+		int[] solution = HungarianAlgorithm.solve(cost);
+		for(int row = 0; row < solution.length; row++) {
+			double distanceKm = cost[row][solution[row]];
+			if(distanceKm >= INFEASIBLE) {
+				continue;
+			}
+			int order = transpose ? solution[row] : row;
+			int rider = candidateRiders.get(transpose ? row : solution[row]);
+			int outcome = tryAssign(zone.orders.get(order), zone.riders.get(rider).rider, distanceKm, result);
+			orderDone[order] = outcome != RIDER_GONE;
+		}
+	}
+
+	private int tryAssign(PendingOrder pendingOrder, RiderState rider, double distanceKm, BatchResult result) {
+		if(!rider.available.compareAndSet(true, false)) {
+			return RIDER_GONE;
+		}
+		// stored first, as in OrderManager, so the published event never runs ahead of storage
+		DataAccessor.changeOrderStatus(pendingOrder.orderId, OrderStatus.OUT_FOR_DELIVERY);
+		try {
+			orderStore.transition(pendingOrder.orderId, OrderStatus.OUT_FOR_DELIVERY);
+		} catch(IllegalStateException | IllegalArgumentException e) {
+			// cancelled or moved on by someone else
+			Order current = orderStore.getOrder(pendingOrder.orderId);
+			if(current != null) {
+				DataAccessor.changeOrderStatus(pendingOrder.orderId, current.getOrderStatus());
+			}
+			rider.available.set(true);
+			result.droppedOrderIds.add(pendingOrder.orderId);
+			return ORDER_GONE;
+		}
+		PermissionEngine.getInstance().assignRider(pendingOrder.orderId, rider.userId);
+		Assignment assignment = new Assignment(pendingOrder.orderId, rider.riderId, distanceKm, System.currentTimeMillis());
+		assignmentsByOrder.put(pendingOrder.orderId, assignment);
+		result.assignments.add(assignment);
+		return ASSIGNED;
+	}
+
+	private static Zone zoneOf(Map<Long, Zone> zones, int row, int column, int zoneSize) {
+		long zoneKey = SpatialGrid.cellKey(Math.floorDiv(row, zoneSize), Math.floorDiv(column, zoneSize));
+		return zones.computeIfAbsent(zoneKey, key -> new Zone());
+	}
+
+	private static class RiderState {
+		private final int riderId;
+		private final AtomicBoolean available = new AtomicBoolean(true);
+		private volatile int userId;
+		private volatile Location location;
+
+		private RiderState(int riderId) {
+			this.riderId = riderId;
+		}
+	}
+
+	private static class RiderSnapshot {
+		private final RiderState rider;
+		private final Location location;
+		private final int row;
+		private final int column;
+		private int index;
+
+		private RiderSnapshot(RiderState rider, Location location, int row, int column) {
+			this.rider = rider;
+			this.location = location;
+			this.row = row;
+			this.column = column;
+		}
+	}
+
+	private static class PendingOrder {
+		private final int orderId;
+		private final Location pickup;
+		private final int row;
+		private final int column;
+
+		private PendingOrder(int orderId, Location pickup, int row, int column) {
+			this.orderId = orderId;
+			this.pickup = pickup;
+			this.row = row;
+			this.column = column;
+		}
+	}
+
+	// snapshots are re-indexed per zone, so the same rider can sit in a zone and in the border pass
+	private static class Zone {
+		private final Map<Long, List<RiderSnapshot>> ridersByCell = new HashMap<>();
+		private final List<RiderSnapshot> riders = new ArrayList<>();
+		private final List<PendingOrder> orders = new ArrayList<>();
+		private int riderCount;
+
+		private void addRider(RiderSnapshot snapshot) {
+			RiderSnapshot local = new RiderSnapshot(snapshot.rider, snapshot.location, snapshot.row, snapshot.column);
+			local.index = riderCount++;
+			riders.add(local);
+			ridersByCell.computeIfAbsent(SpatialGrid.cellKey(local.row, local.column), key -> new ArrayList<>()).add(local);
+		}
+	}
+
+	private static class Edges {
+		private int[] order = new int[16];
+		private int[] rider = new int[16];
+		private double[] distanceKm = new double[16];
+		private int size;
+
+		private void add(int orderIndex, int riderIndex, double distance) {
+			if(size == order.length) {
+				order = Arrays.copyOf(order, size * 2);
+				rider = Arrays.copyOf(rider, size * 2);
+				distanceKm = Arrays.copyOf(distanceKm, size * 2);
+			}
+			order[size] = orderIndex;
+			rider[size] = riderIndex;
+			distanceKm[size] = distance;
+			size++;
+		}
+	}
+
+	private static class BatchResult {
+		private final List<Assignment> assignments = new ArrayList<>();
+		private final List<Integer> droppedOrderIds = new ArrayList<>();
+		private final List<PendingOrder> leftovers = new ArrayList<>();
+
+		private void merge(BatchResult other) {
+			assignments.addAll(other.assignments);
+			droppedOrderIds.addAll(other.droppedOrderIds);
+			leftovers.addAll(other.leftovers);
+		}
+	}
+
+	private static class Holder {
+		private static final DispatchEngine INSTANCE = new DispatchEngine(OrderStore.getInstance(),
+				OrderEventLog.getInstance(), DispatchPolicy.defaultPolicy());
+	}
+}
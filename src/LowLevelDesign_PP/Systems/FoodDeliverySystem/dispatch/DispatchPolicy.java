@@ -0,0 +1,72 @@
+package FoodDeliverySystem.dispatch;
+
+public class DispatchPolicy {
+
+	private final long batchIntervalMillis;
+	private final double cellSizeKm;
+	// rings of neighbouring cells searched around an order's pickup cell
+	private final int searchRings;
+	// a zone is zoneSizeCells x zoneSizeCells grid cells, solved by one worker
+	private final int zoneSizeCells;
+	private final double maxPickupKm;
+	// zones with at most this many orders are solved optimally, larger ones greedily
+	private final int hungarianMaxOrders;
+	private final int zoneWorkers;
+
+	public DispatchPolicy(long batchIntervalMillis, double cellSizeKm, int searchRings, int zoneSizeCells,
+			double maxPickupKm, int hungarianMaxOrders, int zoneWorkers) {
+		super();
+		if(batchIntervalMillis <= 0 || cellSizeKm <= 0 || searchRings < 0 || zoneSizeCells <= 0 || maxPickupKm <= 0
+				|| hungarianMaxOrders < 0 || zoneWorkers <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.batchIntervalMillis = batchIntervalMillis;
+		this.cellSizeKm = cellSizeKm;
+		this.searchRings = searchRings;
+		this.zoneSizeCells = zoneSizeCells;
+		this.maxPickupKm = maxPickupKm;
+		this.hungarianMaxOrders = hungarianMaxOrders;
+		this.zoneWorkers = zoneWorkers;
+	}
+
+	// enough rings that every rider within maxPickupKm is a candidate
+	public static DispatchPolicy defaultPolicy() {
+		double cellSizeKm = 1.0;
+		double maxPickupKm = 5.0;
+		return new DispatchPolicy(250, cellSizeKm, ringsFor(maxPickupKm, cellSizeKm), 8, maxPickupKm, 32,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	public static int ringsFor(double maxPickupKm, double cellSizeKm) {
+		return (int) Math.ceil(maxPickupKm / cellSizeKm);
+	}
+
+	public long getBatchIntervalMillis() {
+		return batchIntervalMillis;
+	}
+
+	public double getCellSizeKm() {
+		return cellSizeKm;
+	}
+
+	public int getSearchRings() {
+		return searchRings;
+	}
+
+	public int getZoneSizeCells() {
+		return zoneSizeCells;
+	}
+
+	public double getMaxPickupKm() {
+		return maxPickupKm;
+	}
+
+	public int getHungarianMaxOrders() {
+		return hungarianMaxOrders;
+	}
+
+	public int getZoneWorkers() {
+		return zoneWorkers;
+	}
+
+}
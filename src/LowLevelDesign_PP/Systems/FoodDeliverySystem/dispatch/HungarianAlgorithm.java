@@ -0,0 +1,78 @@
+package FoodDeliverySystem.dispatch;
+
+import java.util.Arrays;
+
+/**
+ * Minimum cost assignment of every row to a distinct column, O(rows^2 * columns) with
+ * potentials. Requires rows <= columns.
+ */
+class HungarianAlgorithm {
+
+	private HungarianAlgorithm() {
+
+	}
+
+	// column assigned to each row
+	static int[] solve(double[][] cost) {
+		int rows = cost.length;
+		int columns = rows == 0 ? 0 : cost[0].length;
+		if(rows > columns) {
+			throw new IllegalArgumentException("more rows than columns");
+		}
+		// 1-based arrays, index 0 is the virtual start column
+		double[] rowPotential = new double[rows + 1];
+		double[] columnPotential = new double[columns + 1];
+		int[] rowOfColumn = new int[columns + 1];
+		int[] way = new int[columns + 1];
+		double[] minSlack = new double[columns + 1];
+		boolean[] used = new boolean[columns + 1];
+
+		for(int row = 1; row <= rows; row++) {
+			rowOfColumn[0] = row;
+			int column = 0;
+			Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+			Arrays.fill(used, false);
+			do {
+				used[column] = true;
+				int currentRow = rowOfColumn[column];
+				double delta = Double.POSITIVE_INFINITY;
+				int nextColumn = 0;
+				for(int j = 1; j <= columns; j++) {
+					if(!used[j]) {
+						double slack = cost[currentRow - 1][j - 1] - rowPotential[currentRow] - columnPotential[j];
+						if(slack < minSlack[j]) {
+							minSlack[j] = slack;
+							way[j] = column;
+						}
+						if(minSlack[j] < delta) {
+							delta = minSlack[j];
+							nextColumn = j;
+						}
+					}
+				}
+				for(int j = 0; j <= columns; j++) {
+					if(used[j]) {
+						rowPotential[rowOfColumn[j]] += delta;
+						columnPotential[j] -= delta;
+					} else {
+						minSlack[j] -= delta;
+					}
+				}
+				column = nextColumn;
+			} while(rowOfColumn[column] != 0);
+			do {
+				int previousColumn = way[column];
+				rowOfColumn[column] = rowOfColumn[previousColumn];
+				column = previousColumn;
+			} while(column != 0);
+		}
+
+		int[] assignment = new int[rows];
+		for(int j = 1; j <= columns; j++) {
+			if(rowOfColumn[j] != 0) {
+				assignment[rowOfColumn[j] - 1] = j - 1;
+			}
+		}
+		return assignment;
+	}
+}
@@ -0,0 +1,38 @@
+package FoodDeliverySystem.dispatch;
+
+import FoodDeliverySystem.Data.Location;
+
+/**
+ * Square cells of roughly cellSizeKm, keyed by a packed (row, column) long. Cells are square in
+ * degrees, so they narrow east-west away from the equator; exact distances are always haversine.
+ */
+class SpatialGrid {
+
+	private static final double KM_PER_DEGREE = 111.32;
+
+	private final double cellDegrees;
+
+	SpatialGrid(double cellSizeKm) {
+		this.cellDegrees = cellSizeKm / KM_PER_DEGREE;
+	}
+
+	int row(Location location) {
+		return (int) Math.floor(location.getLatitude() / cellDegrees);
+	}
+
+	int column(Location location) {
+		return (int) Math.floor(location.getLongitude() / cellDegrees);
+	}
+
+	static long cellKey(int row, int column) {
+		return ((long) row << 32) | (column & 0xFFFFFFFFL);
+	}
+
+	static int rowOf(long cellKey) {
+		return (int) (cellKey >> 32);
+	}
+
+	static int columnOf(long cellKey) {
+		return (int) cellKey;
+	}
+}
@@ -0,0 +1,68 @@
+package FoodDeliverySystem.Factory;
+
+import java.util.Map;
+
+/**
+ * Parsed payment info for building one payment manager. Immutable and built per call, so
+ * credentials live only as long as the manager that copies them.
+ */
+public class PaymentContext {
+
+	private final String bankName;
+	private final String userName;
+	private final String passWord;
+	private final String cardNumber;
+	private final String cvv;
+	private final String pin;
+	private final double amount;
+
+	private PaymentContext(Map<String, String> paymentInfo, double amount) {
+		this.amount = amount;
+		this.bankName = paymentInfo.get("bankName");
+		this.userName = paymentInfo.get("userName");
+		this.passWord = paymentInfo.get("passWord");
+		this.cardNumber = paymentInfo.get("cardNumber");
+		this.cvv = paymentInfo.get("cvv");
+		this.pin = paymentInfo.get("pin");
+	}
+
+	static PaymentContext parse(Map<String, String> paymentInfo) {
+		if(paymentInfo == null) {
+			throw new IllegalArgumentException("Payment info missing");
+		}
+		String amountValue = paymentInfo.get("amount");
+		if(amountValue == null) {
+			throw new IllegalArgumentException("Payment amount missing");
+		}
+		return new PaymentContext(paymentInfo, Double.parseDouble(amountValue));
+	}
+
+	public String getBankName() {
+		return bankName;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public String getPassWord() {
+		return passWord;
+	}
+
+	public String getCardNumber() {
+		return cardNumber;
+	}
+
+	public String getCvv() {
+		return cvv;
+	}
+
+	public String getPin() {
+		return pin;
+	}
+
+	public double getAmount() {
+		return amount;
+	}
+
+}
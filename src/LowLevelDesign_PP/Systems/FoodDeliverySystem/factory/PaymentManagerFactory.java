@@ -1,57 +1,81 @@
 package FoodDeliverySystem.Factory;
 
+import java.util.EnumMap;
 import java.util.Map;
 
 import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Managers.CreditCardPaymentManager;
 import FoodDeliverySystem.Managers.DebitCardPaymentManager;
 import FoodDeliverySystem.Managers.NetBankingPaymentManager;
 import FoodDeliverySystem.Managers.PaymentManager;
+import FoodDeliverySystem.payment.PaymentGateway;
 
 public class PaymentManagerFactory {
 
+	private static volatile Map<PaymentMode, PaymentManagerProvider> providers = defaultProviders();
+	// the bank integration; must be set before the first payment
+	private static volatile PaymentGateway paymentGateway;
+
 	private PaymentManagerFactory() {
 		
 	}
 	
 	public static PaymentManager getPaymentManager(Map<String,String> paymentInfo, PaymentMode paymentMode) throws Exception {
-		if(paymentMode.equals("NETBANKING")) {
-			return getNetBankingPaymentManager(paymentInfo);
+		if(paymentMode == null) {
+			throw new IllegalArgumentException("Payment Mode missing");
 		}
-		
-		else if(paymentMode.equals("DEBITCARD")) {
-			return getDebitCardPaymentManager(paymentInfo);
+		PaymentManagerProvider provider = providers.get(paymentMode);
+		if(provider == null) {
+			throw new RuntimeException("Invalid Payment Mode");
 		}
-		else if(paymentMode.equals("CREDITCARD")) {
-			return getCreditCardPaymentManager(paymentInfo);
+		return provider.getPaymentManager(PaymentContext.parse(paymentInfo), getPaymentGateway());
+	}
+	
+	// replaces the provider of one mode; the registry is copied so lookups never lock
+	public static synchronized void registerProvider(PaymentMode paymentMode, PaymentManagerProvider provider) {
+		if(paymentMode == null || provider == null) {
+			throw new IllegalArgumentException("invalid params");
 		}
-		throw new RuntimeException("Invalid Payment Mode");
+		Map<PaymentMode, PaymentManagerProvider> updated = new EnumMap<>(providers);
+		updated.put(paymentMode, provider);
+		providers = updated;
 	}
 	
-	private static PaymentManager getNetBankingPaymentManager(Map<String, String> paymentInfo) {
-		String bankName = paymentInfo.get("bankName");
-		String userName = paymentInfo.get("userName");
-		String passWord = paymentInfo.get("passWord");
-		String pin = paymentInfo.get("pin");
-		String amount = paymentInfo.get("amount");
-		double totalAmount = Double.parseDouble(amount);
-		return new NetBankingPaymentManager(bankName, userName, passWord, pin, totalAmount);
-		
+	public static void setPaymentGateway(PaymentGateway gateway) {
+		if(gateway == null) {
+			throw new IllegalArgumentException("Payment gateway missing");
+		}
+		paymentGateway = gateway;
+	}
 	
-		
+	public static PaymentGateway getPaymentGateway() {
+		PaymentGateway gateway = paymentGateway;
+		if(gateway == null) {
+			throw new IllegalStateException("Payment gateway not set");
+		}
+		return gateway;
 	}
 	
-	private static PaymentManager getDebitCardPaymentManager(Map<String, String> paymentInfo) {
-		String bankName = paymentInfo.get("bankName");
-		String userName = paymentInfo.get("cardNumber");
-		String pin = paymentInfo.get("pin");
-		String amount = paymentInfo.get("amount");
-		double totalAmount = Double.parseDouble(amount);
-		return new DebitCardPaymentManager(bankName, userName,pin, totalAmount);
-		
+	private static Map<PaymentMode, PaymentManagerProvider> defaultProviders() {
+		Map<PaymentMode, PaymentManagerProvider> registry = new EnumMap<>(PaymentMode.class);
+		registry.put(PaymentMode.NETBANKING, PaymentManagerFactory::getNetBankingPaymentManager);
+		registry.put(PaymentMode.DEBITCARD, PaymentManagerFactory::getDebitCardPaymentManager);
+		registry.put(PaymentMode.CREDITCARD, PaymentManagerFactory::getCreditCardPaymentManager);
+		return registry;
 	}
 	
-	private static PaymentManager getCreditCardPaymentManager(Map<String, String> paymentInfo) {
-		return null;
-		
+	private static PaymentManager getNetBankingPaymentManager(PaymentContext paymentContext, PaymentGateway gateway) {
+		return new NetBankingPaymentManager(paymentContext.getBankName(), paymentContext.getUserName(),
+				paymentContext.getPassWord(), paymentContext.getPin(), paymentContext.getAmount(), gateway);
+	}
+	
+	private static PaymentManager getDebitCardPaymentManager(PaymentContext paymentContext, PaymentGateway gateway) {
+		return new DebitCardPaymentManager(paymentContext.getBankName(), paymentContext.getCardNumber(),
+				paymentContext.getPin(), paymentContext.getAmount(), gateway);
+	}
+	
+	private static PaymentManager getCreditCardPaymentManager(PaymentContext paymentContext, PaymentGateway gateway) {
+		return new CreditCardPaymentManager(paymentContext.getBankName(), paymentContext.getCardNumber(),
+				paymentContext.getCvv(), paymentContext.getAmount(), gateway);
 	}
 }
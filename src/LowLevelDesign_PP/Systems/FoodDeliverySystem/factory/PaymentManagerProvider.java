@@ -0,0 +1,9 @@
+package FoodDeliverySystem.Factory;
+
+import FoodDeliverySystem.Managers.PaymentManager;
+import FoodDeliverySystem.payment.PaymentGateway;
+
+public interface PaymentManagerProvider {
+
+	public PaymentManager getPaymentManager(PaymentContext paymentContext, PaymentGateway paymentGateway);
+}
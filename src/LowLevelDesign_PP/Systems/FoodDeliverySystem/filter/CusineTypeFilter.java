@@ -1,5 +1,6 @@
 package FoodDeliverySystem.Filter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import FoodDeliverySystem.Data.CuisineType;
@@ -13,7 +14,8 @@ public class CusineTypeFilter implements FoodItemFilter,RestaurantFilter {
 	
 	public CusineTypeFilter(List<CuisineType> cuisineType) {
 		super();
-		this.cuisineType = cuisineType;
+		// copied, since the filter is a stats key
+		this.cuisineType = new ArrayList<>(cuisineType);
 	}
 
 
@@ -36,7 +38,25 @@ public class CusineTypeFilter implements FoodItemFilter,RestaurantFilter {
 		return false ;
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof CusineTypeFilter)) {
+			return false;
+		}
+		return cuisineType.equals(((CusineTypeFilter) obj).cuisineType);
+	}
 
-	
+	@Override
+	public int hashCode() {
+		return cuisineType.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "CusineTypeFilter[" + cuisineType + "]";
+	}
 
 }
@@ -0,0 +1,165 @@
+package FoodDeliverySystem.Filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import FoodDeliverySystem.Data.Restaurant;
+
+/**
+ * AND-combines filters with short-circuiting, running them in the order that rejects items
+ * cheapest: ascending cost / (1 - selectivity), from statistics kept per filter value. Filters
+ * that define equals share statistics with equal filters; any other filter shares them with the
+ * rest of its class, so filters built per request do not pile up entries.
+ *
+ * About one item in SAMPLE_RATE runs every filter with timing, so the selectivities are not
+ * skewed by the filters ahead in the order. Large candidate lists are split over the common
+ * ForkJoin pool by a parallel stream, keeping candidate order.
+ *
+ * Restaurant search runs through here. Food item search filters on the catalog columns instead
+ * (FoodItemColumnFilter), where every condition is one array read.
+ */
+public class FilterEngine<T, F> {
+
+	private static final int SAMPLE_RATE = 64;
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 20_000;
+	private static final ClassValue<Boolean> HAS_VALUE_EQUALITY = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+			} catch(NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
+	private final BiPredicate<F, T> evaluator;
+	private final int parallelThreshold;
+	// keyed by the filter itself or by its class, see statsKey
+	private final Map<Object, Counters> counters = new ConcurrentHashMap<>();
+
+	public FilterEngine(BiPredicate<F, T> evaluator, int parallelThreshold) {
+		super();
+		if(evaluator == null || parallelThreshold <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.evaluator = evaluator;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	public static FilterEngine<Restaurant, RestaurantFilter> forRestaurants() {
+		return Holder.RESTAURANTS;
+	}
+
+	public List<T> filter(List<T> candidates, List<? extends F> filters) {
+		if(filters.isEmpty()) {
+			return new ArrayList<>(candidates);
+		}
+		Predicate<T> predicate = compile(filters);
+		if(candidates.size() < parallelThreshold) {
+			List<T> passed = new ArrayList<>();
+			for(T candidate : candidates) {
+				if(predicate.test(candidate)) {
+					passed.add(candidate);
+				}
+			}
+			return passed;
+		}
+		return candidates.parallelStream().filter(predicate).collect(Collectors.toList());
+	}
+
+	public List<FilterStats> getStats() {
+		List<FilterStats> stats = new ArrayList<>();
+		for(Map.Entry<Object, Counters> entry : counters.entrySet()) {
+			Object key = entry.getKey();
+			stats.add(entry.getValue().snapshot(key instanceof Class ? ((Class<?>) key).getSimpleName() : key.toString()));
+		}
+		stats.sort(Comparator.comparingDouble(FilterStats::getRank));
+		return stats;
+	}
+
+	public void resetStats() {
+		counters.clear();
+	}
+
+	private Predicate<T> compile(List<? extends F> filters) {
+		int size = filters.size();
+		@SuppressWarnings("unchecked")
+		F[] ordered = (F[]) filters.toArray();
+		Counters[] orderedCounters = new Counters[size];
+		double[] ranks = new double[size];
+		Integer[] order = new Integer[size];
+		for(int i = 0; i < size; i++) {
+			order[i] = i;
+			orderedCounters[i] = counters.computeIfAbsent(statsKey(ordered[i]), key -> new Counters());
+			ranks[i] = orderedCounters[i].snapshot(null).getRank();
+		}
+		// stable, so unmeasured filters keep the caller's order
+		Arrays.sort(order, Comparator.comparingDouble(i -> ranks[i]));
+		F[] sortedFilters = ordered.clone();
+		Counters[] sortedCounters = new Counters[size];
+		for(int i = 0; i < size; i++) {
+			sortedFilters[i] = ordered[order[i]];
+			sortedCounters[i] = orderedCounters[order[i]];
+		}
+		return candidate -> ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0
+				? testSampled(candidate, sortedFilters, sortedCounters)
+				: test(candidate, sortedFilters);
+	}
+
+	private static Object statsKey(Object filter) {
+		return HAS_VALUE_EQUALITY.get(filter.getClass()) ? filter : filter.getClass();
+	}
+
+	private boolean test(T candidate, F[] filters) {
+		for(F filter : filters) {
+			if(!evaluator.test(filter, candidate)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean testSampled(T candidate, F[] filters, Counters[] filterCounters) {
+		boolean passed = true;
+		for(int i = 0; i < filters.length; i++) {
+			long start = System.nanoTime();
+			boolean result = evaluator.test(filters[i], candidate);
+			filterCounters[i].record(result, System.nanoTime() - start);
+			passed &= result;
+		}
+		return passed;
+	}
+
+	private static class Counters {
+		private final LongAdder evaluations = new LongAdder();
+		private final LongAdder passes = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+
+		private void record(boolean passed, long elapsedNanos) {
+			evaluations.increment();
+			if(passed) {
+				passes.increment();
+			}
+			nanos.add(elapsedNanos);
+		}
+
+		private FilterStats snapshot(String filterName) {
+			return new FilterStats(filterName, evaluations.sum(), passes.sum(), nanos.sum());
+		}
+	}
+
+	private static class Holder {
+		private static final FilterEngine<Restaurant, RestaurantFilter> RESTAURANTS = new FilterEngine<>(
+				RestaurantFilter::filter, DEFAULT_PARALLEL_THRESHOLD);
+	}
+}
@@ -0,0 +1,49 @@
+package FoodDeliverySystem.Filter;
+
+/**
+ * Measured behaviour of one filter type, from sampled evaluations.
+ */
+public class FilterStats {
+
+	private final String filterName;
+	private final long sampledEvaluations;
+	private final long sampledPasses;
+	private final long sampledNanos;
+
+	public FilterStats(String filterName, long sampledEvaluations, long sampledPasses, long sampledNanos) {
+		super();
+		this.filterName = filterName;
+		this.sampledEvaluations = sampledEvaluations;
+		this.sampledPasses = sampledPasses;
+		this.sampledNanos = sampledNanos;
+	}
+
+	public String getFilterName() {
+		return filterName;
+	}
+
+	public long getSampledEvaluations() {
+		return sampledEvaluations;
+	}
+
+	// fraction of items passing, 0.5 until measured
+	public double getSelectivity() {
+		return sampledEvaluations == 0 ? 0.5 : (double) sampledPasses / sampledEvaluations;
+	}
+
+	// mean cost of one evaluation, 1 until measured
+	public double getNanosPerEvaluation() {
+		return sampledEvaluations == 0 ? 1 : (double) sampledNanos / sampledEvaluations;
+	}
+
+	// filters run in ascending rank: cheap ones that reject a lot come first
+	public double getRank() {
+		return getNanosPerEvaluation() / Math.max(1e-6, 1 - getSelectivity());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s selectivity=%.3f ns/eval=%.1f samples=%d", filterName, getSelectivity(),
+				getNanosPerEvaluation(), sampledEvaluations);
+	}
+}
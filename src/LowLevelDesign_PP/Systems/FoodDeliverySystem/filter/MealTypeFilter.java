@@ -27,4 +27,25 @@ public class MealTypeFilter implements FoodItemFilter, RestaurantFilter {
 		return restaurant.getMealType().equals(mealType);
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof MealTypeFilter)) {
+			return false;
+		}
+		return mealType.equals(((MealTypeFilter) obj).mealType);
+	}
+
+	@Override
+	public int hashCode() {
+		return mealType.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "MealTypeFilter[" + mealType + "]";
+	}
+
 }
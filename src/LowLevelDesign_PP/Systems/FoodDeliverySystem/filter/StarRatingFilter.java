@@ -25,4 +25,25 @@ public class StarRatingFilter implements FoodItemFilter, RestaurantFilter {
 		return restaurant.getStarRating().getVal() == rating.getVal();
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof StarRatingFilter)) {
+			return false;
+		}
+		return rating.equals(((StarRatingFilter) obj).rating);
+	}
+
+	@Override
+	public int hashCode() {
+		return rating.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "StarRatingFilter[" + rating + "]";
+	}
+
 }
@@ -0,0 +1,277 @@
+package FoodDeliverySystem.index;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import FoodDeliverySystem.Data.BusinessHours;
+import FoodDeliverySystem.Data.Restaurant;
+
+/**
+ * Which restaurants are open at a given time, as two bitsets per bucket of the day.
+ * Every restaurant owns one bit position (slot) and its exact daily window, so "open at T" is
+ * the restaurants open for all of T's bucket plus the ones open for part of it whose window
+ * covers T, and "open at T among these results" is an AND on top of that.
+ *
+ * BusinessHours are read as a daily window: open every day from the start time-of-day to the
+ * end time-of-day, past midnight when the end is earlier than the start, and all day when both
+ * are equal. Since the window repeats daily only the minutes of one day are bucketed, and a
+ * coarse bucket keeps the rows per restaurant small; answers are exact to the minute.
+ */
+public class RestaurantAvailabilityIndex {
+
+	public static final int MINUTES_PER_DAY = 24 * 60;
+	public static final int DEFAULT_BUCKET_MINUTES = 15;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final int bucketMinutes;
+	// restaurants open at some minute of the bucket / at every minute of the bucket
+	private final long[][] partlyOpenSlots;
+	private final long[][] fullyOpenSlots;
+	private final Map<Integer, Integer> slotByRestaurantId = new HashMap<>();
+	private final Deque<Integer> freeSlots = new ArrayDeque<>();
+	private int[] restaurantIdBySlot = new int[INITIAL_CAPACITY];
+	private int[] openMinuteBySlot = new int[INITIAL_CAPACITY];
+	private int[] openMinutesBySlot = new int[INITIAL_CAPACITY];
+	private int nextSlot;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public RestaurantAvailabilityIndex(int bucketMinutes) {
+		super();
+		if(bucketMinutes <= 0 || MINUTES_PER_DAY % bucketMinutes != 0) {
+			throw new IllegalArgumentException("bucketMinutes must divide the minutes of a day");
+		}
+		this.bucketMinutes = bucketMinutes;
+		this.partlyOpenSlots = new long[MINUTES_PER_DAY / bucketMinutes][INITIAL_CAPACITY / 64];
+		this.fullyOpenSlots = new long[MINUTES_PER_DAY / bucketMinutes][INITIAL_CAPACITY / 64];
+	}
+
+	public static RestaurantAvailabilityIndex getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	// adds the restaurant or replaces its hours
+	public void update(Restaurant restaurant) {
+		update(restaurant.getRestaurantId(), restaurant.getBusinessHours());
+	}
+
+	public void update(int restaurantId, BusinessHours businessHours) {
+		lock.writeLock().lock();
+		try {
+			write(restaurantId, businessHours);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// one write lock for the whole batch, as after a bulk load
+	public void updateAll(Collection<Restaurant> restaurants) {
+		lock.writeLock().lock();
+		try {
+			for(Restaurant restaurant : restaurants) {
+				write(restaurant.getRestaurantId(), restaurant.getBusinessHours());
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int restaurantId) {
+		lock.writeLock().lock();
+		try {
+			Integer slot = slotByRestaurantId.remove(restaurantId);
+			if(slot != null) {
+				clearSlot(slot);
+				freeSlots.push(slot);
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public boolean isOpen(int restaurantId, LocalDateTime time) {
+		lock.readLock().lock();
+		try {
+			Integer slot = slotByRestaurantId.get(restaurantId);
+			return slot != null && isOpenAt(slot, minuteOfDay(time.toLocalTime()));
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Integer> getOpenRestaurantIds(LocalDateTime time) {
+		lock.readLock().lock();
+		try {
+			long[] open = openSlotsAt(minuteOfDay(time.toLocalTime()));
+			List<Integer> restaurantIds = new ArrayList<>();
+			for(int word = 0; word < open.length; word++) {
+				long bits = open[word];
+				while(bits != 0) {
+					restaurantIds.add(restaurantIdBySlot[(word << 6) + Long.numberOfTrailingZeros(bits)]);
+					bits &= bits - 1;
+				}
+			}
+			return restaurantIds;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// bit i is set when the restaurant with id i is open
+	public BitSet getOpenRestaurantIdBits(LocalDateTime time) {
+		BitSet openIds = new BitSet();
+		for(int restaurantId : getOpenRestaurantIds(time)) {
+			if(restaurantId >= 0) {
+				openIds.set(restaurantId);
+			}
+		}
+		return openIds;
+	}
+
+	// keeps the order of the candidates; restaurants that were never indexed count as closed
+	public List<Restaurant> filterOpen(Collection<Restaurant> candidates, LocalDateTime time) {
+		lock.readLock().lock();
+		try {
+			BitSet candidateSlots = new BitSet(nextSlot);
+			for(Restaurant restaurant : candidates) {
+				Integer slot = slotByRestaurantId.get(restaurant.getRestaurantId());
+				if(slot != null) {
+					candidateSlots.set(slot);
+				}
+			}
+			candidateSlots.and(BitSet.valueOf(openSlotsAt(minuteOfDay(time.toLocalTime()))));
+
+			List<Restaurant> openRestaurants = new ArrayList<>(candidateSlots.cardinality());
+			for(Restaurant restaurant : candidates) {
+				Integer slot = slotByRestaurantId.get(restaurant.getRestaurantId());
+				if(slot != null && candidateSlots.get(slot)) {
+					openRestaurants.add(restaurant);
+				}
+			}
+			return openRestaurants;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int getBucketMinutes() {
+		return bucketMinutes;
+	}
+
+	// fully open restaurants as they are, partly open ones only when their window covers the minute
+	private long[] openSlotsAt(int minute) {
+		int bucket = minute / bucketMinutes;
+		long[] fully = fullyOpenSlots[bucket];
+		long[] partly = partlyOpenSlots[bucket];
+		long[] open = new long[(nextSlot + 63) >>> 6];
+		for(int word = 0; word < open.length; word++) {
+			long bits = partly[word] & ~fully[word];
+			long openBits = fully[word];
+			while(bits != 0) {
+				int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+				if(isOpenAt(slot, minute)) {
+					openBits |= 1L << slot;
+				}
+				bits &= bits - 1;
+			}
+			open[word] = openBits;
+		}
+		return open;
+	}
+
+	private boolean isOpenAt(int slot, int minute) {
+		return Math.floorMod(minute - openMinuteBySlot[slot], MINUTES_PER_DAY) < openMinutesBySlot[slot];
+	}
+
+	// caller holds the write lock
+	private void write(int restaurantId, BusinessHours businessHours) {
+		boolean known = slotByRestaurantId.containsKey(restaurantId);
+		int slot = slotFor(restaurantId);
+		if(known) {
+			clearSlot(slot);
+		}
+		openMinutesBySlot[slot] = 0;
+		if(businessHours == null || businessHours.getStartTime() == null || businessHours.getEndTime() == null) {
+			return;
+		}
+		int openMinute = minuteOfDay(businessHours.getStartTime().toLocalTime());
+		int closeMinute = minuteOfDay(businessHours.getEndTime().toLocalTime());
+		int openMinutes = Math.floorMod(closeMinute - openMinute, MINUTES_PER_DAY);
+		if(openMinutes == 0) {
+			openMinutes = MINUTES_PER_DAY;
+		}
+		openMinuteBySlot[slot] = openMinute;
+		openMinutesBySlot[slot] = openMinutes;
+		int word = slot >>> 6;
+		long bit = 1L << slot;
+		for(int bucket = 0; bucket < partlyOpenSlots.length; bucket++) {
+			// offset of the bucket's first minute into the window; the window may also start inside the bucket
+			int offset = Math.floorMod(bucket * bucketMinutes - openMinute, MINUTES_PER_DAY);
+			if(offset + bucketMinutes <= openMinutes) {
+				fullyOpenSlots[bucket][word] |= bit;
+				partlyOpenSlots[bucket][word] |= bit;
+			}
+			else if(offset < openMinutes || offset + bucketMinutes > MINUTES_PER_DAY) {
+				partlyOpenSlots[bucket][word] |= bit;
+			}
+		}
+	}
+
+	private static int minuteOfDay(LocalTime time) {
+		return time.getHour() * 60 + time.getMinute();
+	}
+
+	private int slotFor(int restaurantId) {
+		Integer slot = slotByRestaurantId.get(restaurantId);
+		if(slot != null) {
+			return slot;
+		}
+		int newSlot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+		if(newSlot >= restaurantIdBySlot.length) {
+			grow();
+		}
+		restaurantIdBySlot[newSlot] = restaurantId;
+		slotByRestaurantId.put(restaurantId, newSlot);
+		return newSlot;
+	}
+
+	private void grow() {
+		int capacity = restaurantIdBySlot.length * 2;
+		restaurantIdBySlot = Arrays.copyOf(restaurantIdBySlot, capacity);
+		openMinuteBySlot = Arrays.copyOf(openMinuteBySlot, capacity);
+		openMinutesBySlot = Arrays.copyOf(openMinutesBySlot, capacity);
+		for(int bucket = 0; bucket < partlyOpenSlots.length; bucket++) {
+			partlyOpenSlots[bucket] = Arrays.copyOf(partlyOpenSlots[bucket], capacity / 64);
+			fullyOpenSlots[bucket] = Arrays.copyOf(fullyOpenSlots[bucket], capacity / 64);
+		}
+	}
+
+	private void clearSlot(int slot) {
+		int word = slot >>> 6;
+		long mask = ~(1L << slot);
+		for(int bucket = 0; bucket < partlyOpenSlots.length; bucket++) {
+			partlyOpenSlots[bucket][word] &= mask;
+			fullyOpenSlots[bucket][word] &= mask;
+		}
+	}
+
+	private static class Holder {
+		private static final RestaurantAvailabilityIndex INSTANCE = new RestaurantAvailabilityIndex(DEFAULT_BUCKET_MINUTES);
+	}
+}
@@ -0,0 +1,108 @@
+package FoodDeliverySystem.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import FoodDeliverySystem.Data.StarRating;
+
+/**
+ * Ids (restaurant or food item) with a rating of at least N, kept as one bitset per N.
+ * A "rating >= N" filter is then one bitset instead of a predicate call per item.
+ */
+public class StarRatingIndex {
+
+	private static final StarRatingIndex RESTAURANTS = new StarRatingIndex();
+	private static final StarRatingIndex FOOD_ITEMS = new StarRatingIndex();
+
+	private final BitSet[] atLeast = new BitSet[StarRating.values().length];
+	private final Map<Integer, StarRating> ratings = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public StarRatingIndex() {
+		super();
+		for(int i = 0; i < atLeast.length; i++) {
+			atLeast[i] = new BitSet();
+		}
+	}
+
+	public static StarRatingIndex getRestaurantIndex() {
+		return RESTAURANTS;
+	}
+
+	public static StarRatingIndex getFoodItemIndex() {
+		return FOOD_ITEMS;
+	}
+
+	public void update(int id, StarRating starRating) {
+		if(id < 0) {
+			throw new IllegalArgumentException("id can not be negative");
+		}
+		lock.writeLock().lock();
+		try {
+			write(id, starRating);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// one write lock for the whole batch; negative ids are skipped
+	public void updateAll(int[] ids, StarRating[] starRatings) {
+		if(ids.length != starRatings.length) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		lock.writeLock().lock();
+		try {
+			for(int i = 0; i < ids.length; i++) {
+				if(ids[i] >= 0) {
+					write(ids[i], starRatings[i]);
+				}
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int id) {
+		update(id, null);
+	}
+
+	public boolean hasAtLeast(int id, StarRating minRating) {
+		lock.readLock().lock();
+		try {
+			return id >= 0 && atLeast[minRating.ordinal()].get(id);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// copy of the ids rated minRating or better
+	public BitSet getAtLeast(StarRating minRating) {
+		lock.readLock().lock();
+		try {
+			return (BitSet) atLeast[minRating.ordinal()].clone();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void write(int id, StarRating starRating) {
+		StarRating previous = starRating == null ? ratings.remove(id) : ratings.put(id, starRating);
+		if(previous != null) {
+			for(int i = 0; i <= previous.ordinal(); i++) {
+				atLeast[i].clear(id);
+			}
+		}
+		if(starRating != null) {
+			for(int i = 0; i <= starRating.ordinal(); i++) {
+				atLeast[i].set(id);
+			}
+		}
+	}
+}
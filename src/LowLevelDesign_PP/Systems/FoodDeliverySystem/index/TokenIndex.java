@@ -0,0 +1,123 @@
+package FoodDeliverySystem.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from lower-cased name words to ids. A query matches the ids
+ * whose name contains every word of the query.
+ */
+public class TokenIndex {
+
+	private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+
+	public void add(int id, String text) {
+		for(String token : tokenize(text)) {
+			postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+		}
+	}
+
+	public void remove(int id, String text) {
+		for(String token : tokenize(text)) {
+			PostingList postingList = postings.get(token);
+			if(postingList != null) {
+				postingList.remove(id);
+			}
+		}
+	}
+
+	public int[] search(String query) {
+		List<String> tokens = tokenize(query);
+		if(tokens.isEmpty()) {
+			return new int[0];
+		}
+		int[][] lists = new int[tokens.size()][];
+		for(int i = 0; i < tokens.size(); i++) {
+			PostingList postingList = postings.get(tokens.get(i));
+			if(postingList == null) {
+				return new int[0];
+			}
+			lists[i] = postingList.toSortedArray();
+		}
+		Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+		int[] result = lists[0];
+		for(int i = 1; i < lists.length && result.length > 0; i++) {
+			result = intersect(result, lists[i]);
+		}
+		return result;
+	}
+
+	public static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if(text == null) {
+			return tokens;
+		}
+		for(String token : text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+			if(!token.isEmpty() && !tokens.contains(token)) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	private static int[] intersect(int[] smaller, int[] larger) {
+		int[] result = new int[smaller.length];
+		int count = 0;
+		int j = 0;
+		for(int i = 0; i < smaller.length && j < larger.length; i++) {
+			// galloping would help for very skewed lengths; a merge is enough for name words
+			while(j < larger.length && larger[j] < smaller[i]) {
+				j++;
+			}
+			if(j < larger.length && larger[j] == smaller[i]) {
+				result[count++] = smaller[i];
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	private static class PostingList {
+		private int[] ids = new int[4];
+		private int size;
+		private boolean sorted = true;
+
+		private synchronized void add(int id) {
+			if(size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			if(size > 0 && ids[size - 1] >= id) {
+				sorted = false;
+			}
+			ids[size++] = id;
+		}
+
+		private synchronized void remove(int id) {
+			for(int i = 0; i < size; i++) {
+				if(ids[i] == id) {
+					System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+					size--;
+					return;
+				}
+			}
+		}
+
+		private synchronized int[] toSortedArray() {
+			if(!sorted) {
+				Arrays.sort(ids, 0, size);
+				int unique = 0;
+				for(int i = 0; i < size; i++) {
+					if(unique == 0 || ids[unique - 1] != ids[i]) {
+						ids[unique++] = ids[i];
+					}
+				}
+				size = unique;
+				sorted = true;
+			}
+			return Arrays.copyOf(ids, size);
+		}
+	}
+}
@@ -10,6 +10,7 @@ import FoodDeliverySystem.DataAccessor.DataAccessResult;
 import FoodDeliverySystem.DataAccessor.DataAccessor;
 import FoodDeliverySystem.Factory.PermissionFactory;
 import FoodDeliverySystem.permission.Permission;
+import FoodDeliverySystem.permission.PermissionEngine;
 
 public class CartManager {
 	
@@ -43,6 +44,7 @@ public class CartManager {
 		}
 		
 		DataAccessor.addItemToCart(user,foodItem);
+		PermissionEngine.getInstance().invalidateCart(user.getUserId());
 		
 	}
 	// remove 1 unit 
@@ -55,6 +57,7 @@ public class CartManager {
 			throw new RuntimeException("Cart does not contain food Item");
 		}
 		DataAccessor.deleteItemFromCart(user, foodItem);
+		PermissionEngine.getInstance().invalidateCart(user.getUserId());
 		
 	}
 	public void checkOutUsersCart(User user) {
@@ -67,8 +70,13 @@ public class CartManager {
 			throw new RuntimeException("Cart is Empty");
 		}
 		DataAccessor.checkOutUsersCart(user);
+		PermissionEngine.getInstance().invalidateCart(user.getUserId());
 		
 		
+	}
+	// the same for every checkout of one state of the cart
+	public String getIdempotencyKey(User user) {
+		return "cart-" + user.getUserId() + "-" + DataAccessor.getCartVersion(user);
 	}
 	private boolean isCartEmpty(User user) {
 		return getUserCart(user).isEmpty();
@@ -86,7 +94,8 @@ public class CartManager {
 	}
 	
 	private boolean isFoodItemFromSameRestaurant(User user, FoodItem foodItem) {
-		List<CartItem> cartItems = getUserCart(user);
+		// the cart may still be empty here, so getUserCart (which rejects that) is not used
+		List<CartItem> cartItems = DataAccessObjectConverter.convertToCartItems(DataAccessor.getCartForUser(user));
 		if(cartItems.isEmpty() || cartItems.get(0).getFoodItem().getRestaurantId() == foodItem.getRestaurantId()) {
 			return true;
 		}
@@ -0,0 +1,52 @@
+package FoodDeliverySystem.Managers;
+
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Data.PaymentResponse;
+import FoodDeliverySystem.payment.PaymentGateway;
+
+public class CreditCardPaymentManager implements PaymentManager {
+
+	private final String bankName;
+	private final String cardNumber;
+	private final String cvv;
+	private final double amount;
+	private final PaymentGateway paymentGateway;
+	
+	
+	public CreditCardPaymentManager(String bankName, String cardNumber, String cvv, double amount,
+			PaymentGateway paymentGateway) {
+		super();
+		this.bankName = bankName;
+		this.cardNumber = cardNumber;
+		this.cvv = cvv;
+		this.amount = amount;
+		this.paymentGateway = paymentGateway;
+	}
+
+
+	@Override
+	public PaymentResponse executePayment() {
+		return paymentGateway.charge(PaymentMode.CREDITCARD, bankName, cardNumber, amount);
+	}
+
+
+	public String getBankName() {
+		return bankName;
+	}
+
+
+	public String getCardNumber() {
+		return cardNumber;
+	}
+
+
+	public String getCvv() {
+		return cvv;
+	}
+
+
+	public double getAmount() {
+		return amount;
+	}
+	
+}
@@ -1,6 +1,9 @@
 package FoodDeliverySystem.Managers;
 
+import FoodDeliverySystem.Data.PaymentMode;
 import FoodDeliverySystem.Data.PaymentResponse;
+import FoodDeliverySystem.Factory.PaymentManagerFactory;
+import FoodDeliverySystem.payment.PaymentGateway;
 
 public class DebitCardPaymentManager implements PaymentManager{
 	
@@ -8,22 +11,28 @@ public class DebitCardPaymentManager implements PaymentManager{
 	private final String cardNumber;
 	private final String pin;
 	private final double amount;
+	private final PaymentGateway paymentGateway;
 	
 	
 	
 	public DebitCardPaymentManager(String bankName, String cardNumber, String pin, double amount) {
+		this(bankName, cardNumber, pin, amount, PaymentManagerFactory.getPaymentGateway());
+	}
+	
+	public DebitCardPaymentManager(String bankName, String cardNumber, String pin, double amount,
+			PaymentGateway paymentGateway) {
 		super();
 		this.bankName = bankName;
 		this.cardNumber = cardNumber;
 		this.pin = pin;
 		this.amount = amount;
+		this.paymentGateway = paymentGateway;
 	}
 
 	
 	@Override
 	public PaymentResponse executePayment() {
-		// TODO Auto-generated method stub
-		return null;
+		return paymentGateway.charge(PaymentMode.DEBITCARD, bankName, cardNumber, amount);
 	}
 
 	public String getBankName() {
@@ -1,6 +1,9 @@
 package FoodDeliverySystem.Managers;
 
+import FoodDeliverySystem.Data.PaymentMode;
 import FoodDeliverySystem.Data.PaymentResponse;
+import FoodDeliverySystem.Factory.PaymentManagerFactory;
+import FoodDeliverySystem.payment.PaymentGateway;
 
 public class NetBankingPaymentManager implements PaymentManager {
 
@@ -9,20 +12,27 @@ public class NetBankingPaymentManager implements PaymentManager {
 	private final String passWord;
 	private final String pin;
 	private final double amount;
+	private final PaymentGateway paymentGateway;
 	
 	
 	public NetBankingPaymentManager(String bankName, String userName, String passWord, String pin, double amount) {
+		this(bankName, userName, passWord, pin, amount, PaymentManagerFactory.getPaymentGateway());
+	}
+	
+	public NetBankingPaymentManager(String bankName, String userName, String passWord, String pin, double amount,
+			PaymentGateway paymentGateway) {
 		super();
 		this.bankName = bankName;
 		this.userName = userName;
 		this.passWord = passWord;
 		this.pin = pin;
 		this.amount = amount;
+		this.paymentGateway = paymentGateway;
 	}
 
 
 	public PaymentResponse executePayment() {
-		return null;
+		return paymentGateway.charge(PaymentMode.NETBANKING, bankName, userName, amount);
 	}
 
 
@@ -1,17 +1,27 @@
 package FoodDeliverySystem.Managers;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import FoodDeliverySystem.Data.CartItem;
 import FoodDeliverySystem.Data.Order;
 import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.PaymentMode;
 import FoodDeliverySystem.Data.User;
 import FoodDeliverySystem.DataAccessor.DataAccessor;
 import FoodDeliverySystem.Factory.PermissionFactory;
+import FoodDeliverySystem.orders.OrderStore;
+import FoodDeliverySystem.permission.Operation;
 import FoodDeliverySystem.permission.Permission;
+import FoodDeliverySystem.permission.PermissionEngine;
+import FoodDeliverySystem.pipeline.OrderPipeline;
+import FoodDeliverySystem.pipeline.OrderRequest;
 
 public class OrderManager {
 	
+	private final OrderStore orderStore = OrderStore.getInstance();
+	
 	public Order placeOrder(User user) {
 		Permission permission = PermissionFactory.getPlaceOrderPermission(user);
 		if(!permission.isPermitted()) {
@@ -22,40 +32,56 @@ public class OrderManager {
 	  
 	  int orderId = DataAccessor.createOrder(user, cartItems);
 	  cartManager.checkOutUsersCart(user);
-	  return new Order(orderId, user.getUserId(),OrderStatus.ORDER_PLACED, cartItems);
+	  Order order = new Order(orderId, user.getUserId(),OrderStatus.ORDER_PLACED, cartItems);
+	  orderStore.addOrder(order);
+	  return order;
 		
 		
 	}
 	
+	// pays and places the order through the shared pipeline; same idempotencyKey returns the same order
+	public CompletableFuture<Order> placeOrder(User user, Map<String, String> paymentInfo, PaymentMode paymentMode,
+			String idempotencyKey) {
+		return OrderPipeline.getInstance().submit(new OrderRequest(user, paymentInfo, paymentMode, idempotencyKey));
+	}
+	
 	public Order getOrder(int orderId)
 	{
-		return null;
+		return orderStore.getOrder(orderId);
 		
 	}
 	public List<Order> getOrder(User user){
-		return null;
+		return orderStore.getOrders(user.getUserId());
 	}
 	
 	public void setOrderToCooking(User user, Order order) {
-		Permission permission = PermissionFactory.updateOrderPermission(user, order, OrderStatus.COOKING);
-		if(!permission.isPermitted()) {
-			throw new RuntimeException("Permission Denied");
-		}
-		if(!order.getOrderStatus().equals(OrderStatus.ORDER_PLACED)) {
-			throw new RuntimeException("Only order placed status to cooking");
-		}
-		DataAccessor.changeOrderStatus(user, order, OrderStatus.COOKING);
-		
+		updateOrderStatus(user, order, OrderStatus.COOKING);
 	}
 	public void setOrderToReadyForDelivery(User user, Order order) {
-		Permission permission = PermissionFactory.updateOrderPermission(user, order, OrderStatus.READY_FOR_DELIVERY);
+		updateOrderStatus(user, order, OrderStatus.READY_FOR_DELIVERY);
+	}
+	
+	// allowed moves live in OrderStateMachine; every change is stored, then published on the OrderEventLog
+	public Order updateOrderStatus(User user, Order order, OrderStatus orderStatus) {
+		Permission permission = PermissionFactory.updateOrderPermission(user, order, orderStatus);
 		if(!permission.isPermitted()) {
 			throw new RuntimeException("Permission Denied");
 		}
-		if(!order.getOrderStatus().equals(OrderStatus.COOKING)) {
-			throw new RuntimeException("Only order COOKING status to READY_FOR_DELIVERY");
+		// stored first, so the published event never runs ahead of storage
+		DataAccessor.changeOrderStatus(user, order, orderStatus);
+		Order updatedOrder;
+		try {
+			updatedOrder = orderStore.transition(order.getOrderId(), orderStatus);
+		}
+		catch(RuntimeException e) {
+			// refused, e.g. a concurrent update won; storage goes back to what the store holds
+			Order current = orderStore.getOrder(order.getOrderId());
+			DataAccessor.changeOrderStatus(order.getOrderId(), current == null ? order.getOrderStatus() : current.getOrderStatus());
+			throw e;
 		}
-		DataAccessor.changeOrderStatus(user, order, OrderStatus.READY_FOR_DELIVERY);
+		// update-order decisions depend on the current status
+		PermissionEngine.getInstance().invalidateResource(Operation.UPDATE_ORDER, order.getOrderId());
+		return updatedOrder;
 	}
 	
 
@@ -0,0 +1,94 @@
+package FoodDeliverySystem.Managers;
+
+import java.util.Collections;
+import java.util.List;
+
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.Data.StarRating;
+import FoodDeliverySystem.DataAccessor.DataAccessor;
+import FoodDeliverySystem.catalog.FoodItemCatalog;
+import FoodDeliverySystem.index.RestaurantAvailabilityIndex;
+import FoodDeliverySystem.index.StarRatingIndex;
+import FoodDeliverySystem.permission.Operation;
+import FoodDeliverySystem.permission.PermissionEngine;
+
+/**
+ * Onboards restaurants, their staff and their menus: stores them through DataAccessor and keeps
+ * the search indexes (availability, star rating, food item catalog) and permissions in step.
+ * After a BulkLoader run, which only writes storage, call reindex() once.
+ */
+public class RestaurantManager {
+
+	public void addRestaurants(List<Restaurant> restaurants) {
+		DataAccessor.addRestaurants(restaurants);
+		indexRestaurants(restaurants);
+	}
+
+	public void addRestaurant(Restaurant restaurant) {
+		addRestaurants(Collections.singletonList(restaurant));
+	}
+
+	// onboards the restaurant with its owner as the first staff member
+	public void addRestaurant(Restaurant restaurant, int ownerUserId) {
+		addRestaurant(restaurant);
+		PermissionEngine.getInstance().addRestaurantStaff(ownerUserId, restaurant.getRestaurantId());
+	}
+
+	// staff move the restaurant's orders to COOKING and READY_FOR_DELIVERY
+	public void addRestaurantStaff(int restaurantId, int userId) {
+		if(DataAccessor.getRestaurantWithId(restaurantId) == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		PermissionEngine.getInstance().addRestaurantStaff(userId, restaurantId);
+	}
+
+	public void removeRestaurantStaff(int userId) {
+		PermissionEngine.getInstance().removeRestaurantStaff(userId);
+	}
+
+	// drops cached add-to-cart decisions of replaced items
+	public void addFoodItems(List<FoodItem> foodItems) {
+		List<FoodItem> replaced = DataAccessor.addFoodItems(foodItems);
+		indexFoodItems(foodItems);
+		PermissionEngine permissionEngine = PermissionEngine.getInstance();
+		for(int i = 0; i < foodItems.size(); i++) {
+			if(replaced.get(i) != null) {
+				permissionEngine.invalidateResource(Operation.ADD_TO_CART, foodItems.get(i).getId());
+			}
+		}
+	}
+
+	public void addFoodItem(FoodItem foodItem) {
+		addFoodItems(Collections.singletonList(foodItem));
+	}
+
+	// rebuilds every index from storage in one batch each; cached decisions may refer to replaced rows
+	public void reindex() {
+		indexRestaurants(DataAccessor.getRestaurants());
+		indexFoodItems(DataAccessor.getFoodItems());
+		PermissionEngine.getInstance().invalidateAll();
+	}
+
+	private void indexRestaurants(List<Restaurant> restaurants) {
+		RestaurantAvailabilityIndex.getInstance().updateAll(restaurants);
+		int[] ids = new int[restaurants.size()];
+		StarRating[] starRatings = new StarRating[restaurants.size()];
+		for(int i = 0; i < ids.length; i++) {
+			ids[i] = restaurants.get(i).getRestaurantId();
+			starRatings[i] = restaurants.get(i).getStarRating();
+		}
+		StarRatingIndex.getRestaurantIndex().updateAll(ids, starRatings);
+	}
+
+	private void indexFoodItems(List<FoodItem> foodItems) {
+		FoodItemCatalog.getInstance().upsert(foodItems);
+		int[] ids = new int[foodItems.size()];
+		StarRating[] starRatings = new StarRating[foodItems.size()];
+		for(int i = 0; i < ids.length; i++) {
+			ids[i] = foodItems.get(i).getId();
+			starRatings[i] = foodItems.get(i).getStarRating();
+		}
+		StarRatingIndex.getFoodItemIndex().updateAll(ids, starRatings);
+	}
+}
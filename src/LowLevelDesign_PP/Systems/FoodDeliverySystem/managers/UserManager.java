@@ -14,7 +14,7 @@ public class UserManager {
 		return  DataAccessObjectConverter.convertToUser(dataAccessResult);
 	}
 	public User getUserByToken(String token) {
-		return null;
+		return DataAccessObjectConverter.convertToUser(DataAccessor.getUserWithToken(token));
 	}
 
 }
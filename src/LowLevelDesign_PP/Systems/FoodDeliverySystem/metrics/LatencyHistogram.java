@@ -0,0 +1,102 @@
+package FoodDeliverySystem.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free log-linear histogram of latencies in nanoseconds.
+ * Every power of two is split into 8 sub buckets, so a reported percentile
+ * is the upper bound of its bucket and at most ~12% above the true value.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public void record(long nanos) {
+		if(nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(bucketIndex(nanos));
+		totalCount.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	public double getMeanNanos() {
+		long count = totalCount.sum();
+		return count == 0 ? 0 : (double) totalNanos.sum() / count;
+	}
+
+	// percentile in [0, 100]
+	public long getPercentileNanos(double percentile) {
+		if(percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must be between 0 and 100");
+		}
+		long count = totalCount.sum();
+		if(count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if(seen >= rank) {
+				return Math.min(bucketUpperBound(i), maxNanos.get());
+			}
+		}
+		return maxNanos.get();
+	}
+
+	public void reset() {
+		for(int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		totalCount.reset();
+		totalNanos.reset();
+		maxNanos.set(0);
+	}
+
+	public String summary(TimeUnit unit) {
+		return String.format("count=%d mean=%.2f p50=%d p90=%d p99=%d max=%d (%s)", getCount(),
+				getMeanNanos() / unit.toNanos(1), unit.convert(getPercentileNanos(50), TimeUnit.NANOSECONDS),
+				unit.convert(getPercentileNanos(90), TimeUnit.NANOSECONDS),
+				unit.convert(getPercentileNanos(99), TimeUnit.NANOSECONDS),
+				unit.convert(getMaxNanos(), TimeUnit.NANOSECONDS), unit);
+	}
+
+	static int bucketIndex(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int mantissa = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + mantissa;
+	}
+
+	static long bucketUpperBound(int index) {
+		if(index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+		long mantissa = index & (SUB_BUCKETS - 1);
+		long lower = (1L << exponent) | (mantissa << (exponent - SUB_BUCKET_BITS));
+		return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+}
@@ -0,0 +1,60 @@
+package FoodDeliverySystem.orders;
+
+import FoodDeliverySystem.Data.OrderStatus;
+
+public class OrderEvent {
+
+	private final long offset;
+	private final int partition;
+	private final int orderId;
+	private final int userId;
+	// null for the event that creates the order
+	private final OrderStatus previousStatus;
+	private final OrderStatus orderStatus;
+	private final long timestampMillis;
+
+	public OrderEvent(long offset, int partition, int orderId, int userId, OrderStatus previousStatus,
+			OrderStatus orderStatus, long timestampMillis) {
+		super();
+		this.offset = offset;
+		this.partition = partition;
+		this.orderId = orderId;
+		this.userId = userId;
+		this.previousStatus = previousStatus;
+		this.orderStatus = orderStatus;
+		this.timestampMillis = timestampMillis;
+	}
+
+	public long getOffset() {
+		return offset;
+	}
+
+	public int getPartition() {
+		return partition;
+	}
+
+	public int getOrderId() {
+		return orderId;
+	}
+
+	public int getUserId() {
+		return userId;
+	}
+
+	public OrderStatus getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public OrderStatus getOrderStatus() {
+		return orderStatus;
+	}
+
+	public long getTimestampMillis() {
+		return timestampMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderEvent[" + partition + "@" + offset + " order=" + orderId + " " + previousStatus + "->" + orderStatus + "]";
+	}
+}
@@ -0,0 +1,55 @@
+package FoodDeliverySystem.orders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tails every partition of an {@link OrderEventLog} from its own offsets.
+ * One consumer per thread; delivery, notification and analytics each keep their own.
+ */
+public class OrderEventConsumer {
+
+	private final OrderEventLog orderEventLog;
+	private final long[] offsets;
+
+	OrderEventConsumer(OrderEventLog orderEventLog, long[] offsets) {
+		super();
+		this.orderEventLog = orderEventLog;
+		this.offsets = offsets;
+	}
+
+	public List<OrderEvent> poll(int maxEvents) {
+		List<OrderEvent> orderEvents = new ArrayList<>();
+		for(int partition = 0; partition < offsets.length && orderEvents.size() < maxEvents; partition++) {
+			List<OrderEvent> partitionEvents = orderEventLog.read(partition, offsets[partition], maxEvents - orderEvents.size());
+			if(!partitionEvents.isEmpty()) {
+				offsets[partition] = partitionEvents.get(partitionEvents.size() - 1).getOffset() + 1;
+				orderEvents.addAll(partitionEvents);
+			}
+		}
+		return orderEvents;
+	}
+
+	public List<OrderEvent> poll(int maxEvents, long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		List<OrderEvent> orderEvents = poll(maxEvents);
+		while(orderEvents.isEmpty()) {
+			long remaining = deadline - System.currentTimeMillis();
+			if(remaining <= 0) {
+				break;
+			}
+			// short waits cover an append that slipped in between poll and await
+			orderEventLog.awaitAppend(Math.min(remaining, 50));
+			orderEvents = poll(maxEvents);
+		}
+		return orderEvents;
+	}
+
+	public long getOffset(int partition) {
+		return offsets[partition];
+	}
+
+	public void seek(int partition, long offset) {
+		offsets[partition] = offset;
+	}
+}
@@ -0,0 +1,137 @@
+package FoodDeliverySystem.orders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import FoodDeliverySystem.Data.OrderStatus;
+
+/**
+ * Append-only log of order status changes, split into partitions by order id.
+ * All events of one order land in the same partition in the order they happened,
+ * and every partition hands out increasing offsets that consumers track themselves.
+ * Only the newest {@code retainedEventsPerPartition} events of a partition are kept.
+ */
+public class OrderEventLog {
+
+	private static final int DEFAULT_PARTITIONS = 16;
+	private static final int DEFAULT_RETAINED_EVENTS = 100_000;
+
+	private final Partition[] partitions;
+	private final int retainedEventsPerPartition;
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final Condition appended = appendLock.newCondition();
+	private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+	public OrderEventLog(int partitionCount, int retainedEventsPerPartition) {
+		super();
+		if(partitionCount <= 0 || retainedEventsPerPartition <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.partitions = new Partition[partitionCount];
+		for(int i = 0; i < partitionCount; i++) {
+			partitions[i] = new Partition(i);
+		}
+		this.retainedEventsPerPartition = retainedEventsPerPartition;
+	}
+
+	public static OrderEventLog getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public int getPartitionCount() {
+		return partitions.length;
+	}
+
+	public int partitionFor(int orderId) {
+		return Math.floorMod(orderId, partitions.length);
+	}
+
+	OrderEvent append(int orderId, int userId, OrderStatus previousStatus, OrderStatus orderStatus) {
+		Partition partition = partitions[partitionFor(orderId)];
+		OrderEvent orderEvent;
+		synchronized(partition) {
+			orderEvent = new OrderEvent(partition.endOffset(), partition.id, orderId, userId, previousStatus,
+					orderStatus, System.currentTimeMillis());
+			partition.events.add(orderEvent);
+			if(partition.events.size() >= 2 * retainedEventsPerPartition) {
+				int dropped = partition.events.size() - retainedEventsPerPartition;
+				partition.events.subList(0, dropped).clear();
+				partition.baseOffset += dropped;
+			}
+		}
+		if(waitingConsumers.get() > 0) {
+			appendLock.lock();
+			try {
+				appended.signalAll();
+			}
+			finally {
+				appendLock.unlock();
+			}
+		}
+		return orderEvent;
+	}
+
+	// events with offset >= fromOffset; starts at the oldest retained event if fromOffset was trimmed
+	public List<OrderEvent> read(int partitionId, long fromOffset, int maxEvents) {
+		Partition partition = partitions[partitionId];
+		synchronized(partition) {
+			int from = (int) Math.max(0, fromOffset - partition.baseOffset);
+			if(from >= partition.events.size() || maxEvents <= 0) {
+				return Collections.emptyList();
+			}
+			int to = Math.min(partition.events.size(), from + maxEvents);
+			return new ArrayList<>(partition.events.subList(from, to));
+		}
+	}
+
+	public long getEndOffset(int partitionId) {
+		Partition partition = partitions[partitionId];
+		synchronized(partition) {
+			return partition.endOffset();
+		}
+	}
+
+	public OrderEventConsumer newConsumer(boolean fromBeginning) {
+		long[] offsets = new long[partitions.length];
+		for(int i = 0; i < partitions.length; i++) {
+			offsets[i] = fromBeginning ? 0 : getEndOffset(i);
+		}
+		return new OrderEventConsumer(this, offsets);
+	}
+
+	// waits until an append happens or the timeout passes; callers re-read afterwards
+	boolean awaitAppend(long timeoutMillis) throws InterruptedException {
+		waitingConsumers.incrementAndGet();
+		appendLock.lock();
+		try {
+			return appended.await(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		finally {
+			appendLock.unlock();
+			waitingConsumers.decrementAndGet();
+		}
+	}
+
+	private static class Partition {
+		private final int id;
+		private final List<OrderEvent> events = new ArrayList<>();
+		private long baseOffset;
+
+		private Partition(int id) {
+			this.id = id;
+		}
+
+		private long endOffset() {
+			return baseOffset + events.size();
+		}
+	}
+
+	private static class Holder {
+		private static final OrderEventLog INSTANCE = new OrderEventLog(DEFAULT_PARTITIONS, DEFAULT_RETAINED_EVENTS);
+	}
+}
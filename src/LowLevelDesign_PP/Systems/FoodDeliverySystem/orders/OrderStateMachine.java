@@ -0,0 +1,34 @@
+package FoodDeliverySystem.orders;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import FoodDeliverySystem.Data.OrderStatus;
+
+public class OrderStateMachine {
+
+	private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+	static {
+		TRANSITIONS.put(OrderStatus.ORDER_PLACED, EnumSet.of(OrderStatus.COOKING, OrderStatus.CANCELED));
+		TRANSITIONS.put(OrderStatus.COOKING, EnumSet.of(OrderStatus.READY_FOR_DELIVERY, OrderStatus.CANCELED));
+		TRANSITIONS.put(OrderStatus.READY_FOR_DELIVERY, EnumSet.of(OrderStatus.OUT_FOR_DELIVERY));
+		TRANSITIONS.put(OrderStatus.OUT_FOR_DELIVERY, EnumSet.of(OrderStatus.DELIVERED));
+		TRANSITIONS.put(OrderStatus.DELIVERED, EnumSet.noneOf(OrderStatus.class));
+		TRANSITIONS.put(OrderStatus.CANCELED, EnumSet.noneOf(OrderStatus.class));
+	}
+
+	private OrderStateMachine() {
+
+	}
+
+	public static boolean canTransition(OrderStatus from, OrderStatus to) {
+		return from != null && to != null && TRANSITIONS.get(from).contains(to);
+	}
+
+	public static boolean isTerminal(OrderStatus orderStatus) {
+		return TRANSITIONS.get(orderStatus).isEmpty();
+	}
+}
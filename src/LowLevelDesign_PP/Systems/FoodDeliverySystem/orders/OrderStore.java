@@ -0,0 +1,117 @@
+package FoodDeliverySystem.orders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+
+/**
+ * In-memory orders keyed by order id. Status changes are compare-and-set on the
+ * order's current version and checked against {@link OrderStateMachine}.
+ *
+ * Each version carries the event that produced it. Before a version can be replaced
+ * its event is appended to the {@link OrderEventLog}, by whichever thread gets there
+ * first, so events of one order reach the log in transition order without a lock
+ * around the transition itself.
+ */
+public class OrderStore {
+
+	private final Map<Integer, AtomicReference<OrderVersion>> orders = new ConcurrentHashMap<>();
+	private final Map<Integer, Set<Integer>> orderIdsByUser = new ConcurrentHashMap<>();
+	private final OrderEventLog orderEventLog;
+
+	public OrderStore(OrderEventLog orderEventLog) {
+		super();
+		this.orderEventLog = orderEventLog;
+	}
+
+	public static OrderStore getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public void addOrder(Order order) {
+		if(order == null || order.getOrderStatus() == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		OrderVersion orderVersion = new OrderVersion(order, null);
+		if(orders.putIfAbsent(order.getOrderId(), new AtomicReference<>(orderVersion)) != null) {
+			throw new IllegalStateException("Order " + order.getOrderId() + " already exists");
+		}
+		orderIdsByUser.computeIfAbsent(order.getUserId(), userId -> ConcurrentHashMap.newKeySet()).add(order.getOrderId());
+		publish(orderVersion);
+	}
+
+	public Order getOrder(int orderId) {
+		AtomicReference<OrderVersion> reference = orders.get(orderId);
+		return reference == null ? null : reference.get().order;
+	}
+
+	public List<Order> getOrders(int userId) {
+		Set<Integer> orderIds = orderIdsByUser.get(userId);
+		if(orderIds == null) {
+			return Collections.emptyList();
+		}
+		List<Order> userOrders = new ArrayList<>(orderIds.size());
+		for(int orderId : orderIds) {
+			Order order = getOrder(orderId);
+			if(order != null) {
+				userOrders.add(order);
+			}
+		}
+		return userOrders;
+	}
+
+	public Order transition(int orderId, OrderStatus newStatus) {
+		AtomicReference<OrderVersion> reference = orders.get(orderId);
+		if(reference == null) {
+			throw new IllegalArgumentException("No order with id " + orderId);
+		}
+		while(true) {
+			OrderVersion current = reference.get();
+			OrderStatus currentStatus = current.order.getOrderStatus();
+			if(!OrderStateMachine.canTransition(currentStatus, newStatus)) {
+				throw new IllegalStateException("Order " + orderId + " can not move from " + currentStatus + " to " + newStatus);
+			}
+			publish(current);
+			OrderVersion next = new OrderVersion(current.order.withOrderStatus(newStatus), currentStatus);
+			if(reference.compareAndSet(current, next)) {
+				publish(next);
+				return next.order;
+			}
+		}
+	}
+
+	private void publish(OrderVersion orderVersion) {
+		if(orderVersion.published) {
+			return;
+		}
+		synchronized(orderVersion) {
+			if(!orderVersion.published) {
+				Order order = orderVersion.order;
+				orderEventLog.append(order.getOrderId(), order.getUserId(), orderVersion.previousStatus, order.getOrderStatus());
+				orderVersion.published = true;
+			}
+		}
+	}
+
+	private static class OrderVersion {
+		private final Order order;
+		private final OrderStatus previousStatus;
+		private volatile boolean published;
+
+		private OrderVersion(Order order, OrderStatus previousStatus) {
+			this.order = order;
+			this.previousStatus = previousStatus;
+		}
+	}
+
+	private static class Holder {
+		private static final OrderStore INSTANCE = new OrderStore(OrderEventLog.getInstance());
+	}
+}
@@ -0,0 +1,195 @@
+package FoodDeliverySystem.payment;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Data.PaymentResponse;
+import FoodDeliverySystem.Managers.PaymentManager;
+
+/**
+ * Runs the blocking {@link PaymentManager#executePayment()} off the caller's thread.
+ *
+ * Every PaymentMode gets its own bounded pool (bulkhead) and circuit breaker, so a slow or
+ * failing bank only uses up its own threads. Calls are cut off the policy timeout after the first
+ * attempt started with a {@link PaymentTimeoutException}: the attempt is interrupted to free its
+ * thread, but the charge may already have reached the bank, so the outcome is reported as unknown,
+ * not as a failure. A call still waiting in the bulkhead queue after the timeout never reached the
+ * bank and fails with a RejectedExecutionException instead. When hedging is enabled a second
+ * attempt is started if the first has not answered within the hedge delay; only enable it for
+ * gateways that dedupe charges.
+ */
+public class AsyncPaymentExecutor {
+
+	// how far an executePayment call got
+	private static final int QUEUED = 0;
+	private static final int STARTED = 1;
+	private static final int GAVE_UP = 2;
+
+	private final Map<PaymentMode, PaymentPolicy> policies = new EnumMap<>(PaymentMode.class);
+	private final Map<PaymentMode, ThreadPoolExecutor> bulkheads = new EnumMap<>(PaymentMode.class);
+	private final Map<PaymentMode, CircuitBreaker> circuitBreakers = new EnumMap<>(PaymentMode.class);
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	public AsyncPaymentExecutor(Map<PaymentMode, PaymentPolicy> paymentPolicies) {
+		super();
+		for(PaymentMode paymentMode : PaymentMode.values()) {
+			PaymentPolicy policy = paymentPolicies.getOrDefault(paymentMode, PaymentPolicy.defaultPolicy());
+			policies.put(paymentMode, policy);
+			bulkheads.put(paymentMode, newBulkhead(paymentMode, policy));
+			circuitBreakers.put(paymentMode, new CircuitBreaker(policy.getFailureThreshold(), policy.getCircuitOpenMillis()));
+		}
+		this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "payment-timer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	public AsyncPaymentExecutor() {
+		this(new EnumMap<>(PaymentMode.class));
+	}
+
+	public CompletableFuture<PaymentResponse> executePayment(PaymentMode paymentMode, PaymentManager paymentManager) {
+		if(paymentMode == null || paymentManager == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		CompletableFuture<PaymentResponse> result = new CompletableFuture<>();
+		CircuitBreaker circuitBreaker = circuitBreakers.get(paymentMode);
+		if(!circuitBreaker.tryAcquire()) {
+			result.completeExceptionally(new RejectedExecutionException("Payments via " + paymentMode + " are unavailable"));
+			return result;
+		}
+		PaymentPolicy policy = policies.get(paymentMode);
+		List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+		List<Future<?>> timers = new CopyOnWriteArrayList<>();
+		AtomicInteger state = new AtomicInteger(QUEUED);
+
+		// the timeout covers the call to the bank, not the wait for a bulkhead thread
+		Runnable onFirstStart = () -> {
+			schedule(timers, result, () -> result.completeExceptionally(
+					new PaymentTimeoutException("Payment via " + paymentMode + " timed out, outcome unknown")),
+					policy.getTimeoutMillis());
+			if(policy.isHedgingEnabled()) {
+				schedule(timers, result, () -> {
+					if(!result.isDone()) {
+						startAttempt(paymentMode, paymentManager, result, attempts, state, null);
+					}
+				}, policy.getHedgeDelayMillis());
+			}
+		};
+		startAttempt(paymentMode, paymentManager, result, attempts, state, onFirstStart);
+		// still queued after a whole timeout: give up before the bank is called
+		schedule(timers, result, () -> {
+			if(state.compareAndSet(QUEUED, GAVE_UP)) {
+				result.completeExceptionally(new RejectedExecutionException(
+						"Payment via " + paymentMode + " waited too long for a free slot"));
+			}
+		}, policy.getTimeoutMillis());
+
+		result.whenComplete((paymentResponse, throwable) -> {
+			for(Future<?> timer : timers) {
+				timer.cancel(false);
+			}
+			for(Future<?> attempt : attempts) {
+				attempt.cancel(true);
+			}
+			if(throwable instanceof RejectedExecutionException) {
+				// bulkhead full, the bank itself was not called
+				circuitBreaker.release();
+			}
+			else if(throwable != null || paymentResponse == null) {
+				circuitBreaker.onFailure();
+			}
+			else {
+				circuitBreaker.onSuccess();
+			}
+		});
+		return result;
+	}
+
+	public CircuitBreaker.State getCircuitState(PaymentMode paymentMode) {
+		return circuitBreakers.get(paymentMode).getState();
+	}
+
+	public int getActivePayments(PaymentMode paymentMode) {
+		return bulkheads.get(paymentMode).getActiveCount();
+	}
+
+	public void shutdown() {
+		for(ThreadPoolExecutor bulkhead : bulkheads.values()) {
+			bulkhead.shutdownNow();
+		}
+		scheduler.shutdownNow();
+	}
+
+	// onFirstStart runs when the first attempt leaves the bulkhead queue, null for hedges
+	private void startAttempt(PaymentMode paymentMode, PaymentManager paymentManager,
+			CompletableFuture<PaymentResponse> result, List<Future<?>> attempts, AtomicInteger state,
+			Runnable onFirstStart) {
+		try {
+			attempts.add(bulkheads.get(paymentMode).submit(() -> {
+				if(state.compareAndSet(QUEUED, STARTED)) {
+					onFirstStart.run();
+				}
+				if(state.get() == GAVE_UP || result.isDone()) {
+					return;
+				}
+				try {
+					PaymentResponse paymentResponse = paymentManager.executePayment();
+					if(paymentResponse == null || paymentResponse.getPaymentStatus() == null) {
+						result.completeExceptionally(new RuntimeException("No response from payment gateway"));
+					}
+					else {
+						result.complete(paymentResponse);
+					}
+				}
+				catch(RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			}));
+		}
+		catch(RejectedExecutionException e) {
+			if(!attempts.isEmpty()) {
+				// no room for the hedge, the first attempt is still running
+				return;
+			}
+			result.completeExceptionally(new RejectedExecutionException("Too many payments via " + paymentMode, e));
+		}
+	}
+
+	private void schedule(List<Future<?>> timers, CompletableFuture<PaymentResponse> result, Runnable task, long delayMillis) {
+		Future<?> timer = scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+		timers.add(timer);
+		if(result.isDone()) {
+			// the result completed before the timer was added and will not cancel it
+			timer.cancel(false);
+		}
+	}
+
+	private static ThreadPoolExecutor newBulkhead(PaymentMode paymentMode, PaymentPolicy policy) {
+		ThreadPoolExecutor bulkhead = new ThreadPoolExecutor(policy.getMaxConcurrentPayments(),
+				policy.getMaxConcurrentPayments(), 60, TimeUnit.SECONDS,
+				policy.getMaxQueuedPayments() == 0 ? new SynchronousQueue<>()
+						: new ArrayBlockingQueue<>(policy.getMaxQueuedPayments()),
+				runnable -> {
+					Thread thread = new Thread(runnable, "payment-" + paymentMode.name().toLowerCase());
+					thread.setDaemon(true);
+					return thread;
+				});
+		bulkhead.allowCoreThreadTimeOut(true);
+		return bulkhead;
+	}
+}
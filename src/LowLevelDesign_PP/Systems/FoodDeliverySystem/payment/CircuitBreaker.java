@@ -0,0 +1,69 @@
+package FoodDeliverySystem.payment;
+
+/**
+ * Opens after a run of consecutive failures and rejects calls until the open
+ * period has passed. Then a single trial call decides whether it closes again.
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openNanos;
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private boolean trialInFlight;
+
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		super();
+		if(failureThreshold <= 0 || openMillis < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openMillis * 1_000_000L;
+	}
+
+	public synchronized boolean tryAcquire() {
+		if(state == State.OPEN) {
+			if(System.nanoTime() - openedAt < openNanos) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			trialInFlight = false;
+		}
+		if(state == State.HALF_OPEN) {
+			if(trialInFlight) {
+				return false;
+			}
+			trialInFlight = true;
+		}
+		return true;
+	}
+
+	public synchronized void onSuccess() {
+		consecutiveFailures = 0;
+		trialInFlight = false;
+		state = State.CLOSED;
+	}
+
+	public synchronized void onFailure() {
+		trialInFlight = false;
+		consecutiveFailures++;
+		if(state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+	}
+
+	// call finished without reaching the bank, so it says nothing about its health
+	public synchronized void release() {
+		trialInFlight = false;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
@@ -0,0 +1,10 @@
+package FoodDeliverySystem.payment;
+
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Data.PaymentResponse;
+
+public interface PaymentGateway {
+
+	// blocking round trip to the bank; accountReference is the net banking user name or the card number
+	public PaymentResponse charge(PaymentMode paymentMode, String bankName, String accountReference, double amount);
+}
@@ -0,0 +1,60 @@
+package FoodDeliverySystem.payment;
+
+public class PaymentPolicy {
+
+	private final int maxConcurrentPayments;
+	private final int maxQueuedPayments;
+	private final long timeoutMillis;
+	// 0 disables hedging
+	private final long hedgeDelayMillis;
+	private final int failureThreshold;
+	private final long circuitOpenMillis;
+
+	public PaymentPolicy(int maxConcurrentPayments, int maxQueuedPayments, long timeoutMillis, long hedgeDelayMillis,
+			int failureThreshold, long circuitOpenMillis) {
+		super();
+		if(maxConcurrentPayments <= 0 || maxQueuedPayments < 0 || timeoutMillis <= 0 || hedgeDelayMillis < 0
+				|| failureThreshold <= 0 || circuitOpenMillis < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.maxConcurrentPayments = maxConcurrentPayments;
+		this.maxQueuedPayments = maxQueuedPayments;
+		this.timeoutMillis = timeoutMillis;
+		this.hedgeDelayMillis = hedgeDelayMillis;
+		this.failureThreshold = failureThreshold;
+		this.circuitOpenMillis = circuitOpenMillis;
+	}
+
+	public static PaymentPolicy defaultPolicy() {
+		return new PaymentPolicy(32, 64, 5_000, 0, 10, 30_000);
+	}
+
+	public int getMaxConcurrentPayments() {
+		return maxConcurrentPayments;
+	}
+
+	public int getMaxQueuedPayments() {
+		return maxQueuedPayments;
+	}
+
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	public long getHedgeDelayMillis() {
+		return hedgeDelayMillis;
+	}
+
+	public boolean isHedgingEnabled() {
+		return hedgeDelayMillis > 0;
+	}
+
+	public int getFailureThreshold() {
+		return failureThreshold;
+	}
+
+	public long getCircuitOpenMillis() {
+		return circuitOpenMillis;
+	}
+
+}
@@ -0,0 +1,16 @@
+package FoodDeliverySystem.payment;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The bank did not answer within the policy timeout. The outcome is unknown: the charge may
+ * still go through, so callers must not treat it as declined or retry it as a new payment.
+ */
+public class PaymentTimeoutException extends TimeoutException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PaymentTimeoutException(String message) {
+		super(message);
+	}
+}
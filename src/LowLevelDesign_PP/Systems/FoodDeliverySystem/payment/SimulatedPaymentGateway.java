@@ -0,0 +1,66 @@
+package FoodDeliverySystem.payment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Data.PaymentResponse;
+import FoodDeliverySystem.Data.PaymentStatus;
+
+/**
+ * In-process bank used by tests and load runs. Latency and failure rate can be set
+ * for all banks or per bank, which is enough to reproduce a single slow bank.
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+	private static final SimulatedPaymentGateway INSTANT = new SimulatedPaymentGateway(0, 0, 0);
+
+	private final long latencyMillis;
+	private final long jitterMillis;
+	private final double failureRate;
+	private final Map<String, Long> bankLatencyMillis = new ConcurrentHashMap<>();
+	private final AtomicInteger paymentIdGenerator = new AtomicInteger();
+
+	public SimulatedPaymentGateway(long latencyMillis, long jitterMillis, double failureRate) {
+		super();
+		if(latencyMillis < 0 || jitterMillis < 0 || failureRate < 0 || failureRate > 1) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.latencyMillis = latencyMillis;
+		this.jitterMillis = jitterMillis;
+		this.failureRate = failureRate;
+	}
+
+	// zero latency gateway that approves every payment
+	public static SimulatedPaymentGateway instant() {
+		return INSTANT;
+	}
+
+	public void setBankLatency(String bankName, long latencyMillis) {
+		bankLatencyMillis.put(bankName, latencyMillis);
+	}
+
+	@Override
+	public PaymentResponse charge(PaymentMode paymentMode, String bankName, String accountReference, double amount) {
+		long latency = bankName == null ? latencyMillis : bankLatencyMillis.getOrDefault(bankName, latencyMillis);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if(jitterMillis > 0) {
+			latency += random.nextLong(jitterMillis + 1);
+		}
+		if(latency > 0) {
+			try {
+				Thread.sleep(latency);
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Payment interrupted", e);
+			}
+		}
+		PaymentStatus paymentStatus = amount <= 0 || random.nextDouble() < failureRate ? PaymentStatus.FAILURE
+				: PaymentStatus.SUCCESS;
+		return new PaymentResponse(paymentIdGenerator.incrementAndGet(), amount, paymentStatus);
+	}
+
+}
@@ -15,8 +15,7 @@ public class CheckoutCartPermission implements Permission {
 
 	@Override
 	public boolean isPermitted() {
-		// TODO Auto-generated method stub
-		return false;
+		return PermissionEngine.getInstance().isPermitted(PermissionRequest.checkoutCart(user));
 	}
 
 }
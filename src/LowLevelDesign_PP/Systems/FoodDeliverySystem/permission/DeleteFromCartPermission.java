@@ -18,8 +18,7 @@ public class DeleteFromCartPermission implements Permission {
 
 	@Override
 	public boolean isPermitted() {
-		// TODO Auto-generated method stub
-		return false;
+		return PermissionEngine.getInstance().isPermitted(PermissionRequest.deleteFromCart(user, foodItem));
 	}
 
 }
@@ -0,0 +1,6 @@
+package FoodDeliverySystem.permission;
+
+public enum Operation {
+
+	ADD_TO_CART, DELETE_FROM_CART, CHECKOUT_CART, PLACE_ORDER, UPDATE_ORDER
+}
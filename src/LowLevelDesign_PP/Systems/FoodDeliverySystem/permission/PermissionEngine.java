@@ -0,0 +1,270 @@
+package FoodDeliverySystem.permission;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import FoodDeliverySystem.Data.CartItem;
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.Data.User;
+import FoodDeliverySystem.DataAccessor.DataAccessObjectConverter;
+import FoodDeliverySystem.DataAccessor.DataAccessor;
+import FoodDeliverySystem.Managers.DeliveryManager;
+import FoodDeliverySystem.orders.OrderStateMachine;
+import FoodDeliverySystem.searcher.RestaurantSearcher;
+
+/**
+ * Evaluates permissions with one rule per {@link Operation}, built once, and caches
+ * decisions by (userId, operation, resourceId, target order status) for a short time.
+ *
+ * Checking out and placing an order need a non-empty cart of the user's own, from a restaurant
+ * that delivers to them. An order may be moved only along {@link OrderStateMachine}, and only by
+ * its customer (to cancel it), by staff of its restaurant (cooking, ready, cancel) or by the rider
+ * it was handed to (out for delivery, delivered).
+ *
+ * Whoever changes the data a rule reads (item availability, carts, order status, staff and
+ * riders) must call one of the invalidate methods. A decision computed while an invalidation ran
+ * is returned but not kept in the cache.
+ */
+public class PermissionEngine {
+
+	private static final long DEFAULT_TTL_MILLIS = 30_000;
+	private static final int DEFAULT_MAX_DECISIONS = 100_000;
+
+	private final Map<Operation, PermissionRule> rules;
+	private final Map<DecisionKey, Decision> decisions = new ConcurrentHashMap<>();
+	private final AtomicLong invalidations = new AtomicLong();
+	private final Map<Integer, Integer> restaurantByStaff = new ConcurrentHashMap<>();
+	private final Map<Integer, Integer> riderByOrder = new ConcurrentHashMap<>();
+	private final RestaurantSearcher restaurantSearcher;
+	private final long ttlNanos;
+	private final int maxDecisions;
+
+	public PermissionEngine(RestaurantSearcher restaurantSearcher, DeliveryManager deliveryManager, long ttlMillis,
+			int maxDecisions) {
+		super();
+		if(restaurantSearcher == null || deliveryManager == null || ttlMillis < 0 || maxDecisions <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.restaurantSearcher = restaurantSearcher;
+		this.rules = compileRules(deliveryManager, restaurantByStaff, riderByOrder);
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.maxDecisions = maxDecisions;
+	}
+
+	public static PermissionEngine getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public boolean isPermitted(PermissionRequest permissionRequest) {
+		return isPermitted(permissionRequest, new RuleContext(restaurantSearcher));
+	}
+
+	// results are in the iteration order of the requests
+	public List<Boolean> isPermitted(Collection<PermissionRequest> permissionRequests) {
+		RuleContext ruleContext = new RuleContext(restaurantSearcher);
+		List<Boolean> results = new ArrayList<>(permissionRequests.size());
+		for(PermissionRequest permissionRequest : permissionRequests) {
+			results.add(isPermitted(permissionRequest, ruleContext));
+		}
+		return results;
+	}
+
+	// the user acts for the restaurant when updating its orders
+	public void addRestaurantStaff(int userId, int restaurantId) {
+		restaurantByStaff.put(userId, restaurantId);
+		invalidateUser(userId);
+	}
+
+	public void removeRestaurantStaff(int userId) {
+		restaurantByStaff.remove(userId);
+		invalidateUser(userId);
+	}
+
+	// the user delivers the order
+	public void assignRider(int orderId, int userId) {
+		riderByOrder.put(orderId, userId);
+		invalidateResource(Operation.UPDATE_ORDER, orderId);
+	}
+
+	// once the order is delivered or canceled
+	public void unassignRider(int orderId) {
+		riderByOrder.remove(orderId);
+		invalidateResource(Operation.UPDATE_ORDER, orderId);
+	}
+
+	// the cart decisions of one user, when their cart changes
+	public void invalidateCart(int userId) {
+		invalidations.incrementAndGet();
+		decisions.remove(new DecisionKey(userId, Operation.CHECKOUT_CART, PermissionRequest.CART_RESOURCE, null));
+		decisions.remove(new DecisionKey(userId, Operation.PLACE_ORDER, PermissionRequest.CART_RESOURCE, null));
+	}
+
+	public void invalidateUser(int userId) {
+		invalidations.incrementAndGet();
+		decisions.keySet().removeIf(decisionKey -> decisionKey.userId == userId);
+	}
+
+	public void invalidateResource(Operation operation, int resourceId) {
+		invalidations.incrementAndGet();
+		decisions.keySet().removeIf(decisionKey -> decisionKey.operation == operation && decisionKey.resourceId == resourceId);
+	}
+
+	public void invalidateAll() {
+		invalidations.incrementAndGet();
+		decisions.clear();
+	}
+
+	private boolean isPermitted(PermissionRequest permissionRequest, RuleContext ruleContext) {
+		if(permissionRequest == null || permissionRequest.getUser() == null) {
+			return false;
+		}
+		DecisionKey decisionKey = new DecisionKey(permissionRequest.getUser().getUserId(),
+				permissionRequest.getOperation(), permissionRequest.getResourceId(), permissionRequest.getOrderStatus());
+		long now = System.nanoTime();
+		Decision decision = decisions.get(decisionKey);
+		if(decision != null && now < decision.expiresAt) {
+			return decision.permitted;
+		}
+
+		long invalidationsBefore = invalidations.get();
+		boolean permitted = rules.get(permissionRequest.getOperation()).isPermitted(permissionRequest, ruleContext);
+		if(invalidations.get() != invalidationsBefore) {
+			return permitted;
+		}
+		if(decisions.size() >= maxDecisions) {
+			evictExpired(now);
+		}
+		Decision computed = new Decision(permitted, now + ttlNanos);
+		decisions.put(decisionKey, computed);
+		// an invalidation between the check and the put may have missed the new entry; every
+		// invalidation bumps the counter before removing, so seeing it unchanged here is enough
+		if(invalidations.get() != invalidationsBefore) {
+			decisions.remove(decisionKey, computed);
+		}
+		return permitted;
+	}
+
+	private void evictExpired(long now) {
+		decisions.values().removeIf(decision -> now >= decision.expiresAt);
+		if(decisions.size() >= maxDecisions) {
+			decisions.clear();
+		}
+	}
+
+	private static Map<Operation, PermissionRule> compileRules(DeliveryManager deliveryManager,
+			Map<Integer, Integer> restaurantByStaff, Map<Integer, Integer> riderByOrder) {
+		Map<Operation, PermissionRule> rules = new EnumMap<>(Operation.class);
+		rules.put(Operation.ADD_TO_CART, (permissionRequest, ruleContext) -> {
+			FoodItem foodItem = permissionRequest.getFoodItem();
+			if(!foodItem.isAvailable()) {
+				return false;
+			}
+			return canDeliver(deliveryManager, ruleContext, foodItem.getRestaurantId(), permissionRequest.getUser());
+		});
+		rules.put(Operation.DELETE_FROM_CART, (permissionRequest, ruleContext) -> permissionRequest.getFoodItem() != null);
+		PermissionRule ownCart = (permissionRequest, ruleContext) -> {
+			// carts are looked up by the caller's own id, so only their cart is ever checked
+			List<CartItem> cartItems = DataAccessObjectConverter.convertToCartItems(
+					DataAccessor.getCartForUser(permissionRequest.getUser()));
+			if(cartItems.isEmpty()) {
+				return false;
+			}
+			return canDeliver(deliveryManager, ruleContext, cartItems.get(0).getFoodItem().getRestaurantId(),
+					permissionRequest.getUser());
+		};
+		rules.put(Operation.CHECKOUT_CART, ownCart);
+		rules.put(Operation.PLACE_ORDER, ownCart);
+		rules.put(Operation.UPDATE_ORDER, (permissionRequest, ruleContext) -> {
+			Order order = permissionRequest.getOrder();
+			OrderStatus orderStatus = permissionRequest.getOrderStatus();
+			if(order == null || !OrderStateMachine.canTransition(order.getOrderStatus(), orderStatus)) {
+				return false;
+			}
+			int userId = permissionRequest.getUser().getUserId();
+			switch(orderStatus) {
+			case CANCELED:
+				return order.getUserId() == userId || isRestaurantStaff(restaurantByStaff, order, userId);
+			case COOKING:
+			case READY_FOR_DELIVERY:
+				return isRestaurantStaff(restaurantByStaff, order, userId);
+			case OUT_FOR_DELIVERY:
+			case DELIVERED:
+				Integer riderUserId = riderByOrder.get(order.getOrderId());
+				return riderUserId != null && riderUserId == userId;
+			default:
+				return false;
+			}
+		});
+		return rules;
+	}
+
+	private static boolean canDeliver(DeliveryManager deliveryManager, RuleContext ruleContext, int restaurantId,
+			User user) {
+		Restaurant restaurant = ruleContext.getRestaurant(restaurantId);
+		return restaurant != null && deliveryManager.isDeliveryPossible(restaurant.getAddress(), user.getUserAddress());
+	}
+
+	private static boolean isRestaurantStaff(Map<Integer, Integer> restaurantByStaff, Order order, int userId) {
+		Integer restaurantId = restaurantByStaff.get(userId);
+		List<CartItem> cartItems = order.getCartItems();
+		return restaurantId != null && cartItems != null && !cartItems.isEmpty()
+				&& cartItems.get(0).getFoodItem().getRestaurantId() == restaurantId;
+	}
+
+	private static class DecisionKey {
+		private final int userId;
+		private final Operation operation;
+		private final int resourceId;
+		private final OrderStatus orderStatus;
+
+		private DecisionKey(int userId, Operation operation, int resourceId, OrderStatus orderStatus) {
+			this.userId = userId;
+			this.operation = operation;
+			this.resourceId = resourceId;
+			this.orderStatus = orderStatus;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof DecisionKey)) {
+				return false;
+			}
+			DecisionKey other = (DecisionKey) obj;
+			return userId == other.userId && operation == other.operation && resourceId == other.resourceId
+					&& orderStatus == other.orderStatus;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = (userId * 31 + resourceId) * 31 + operation.ordinal();
+			return hash * 31 + (orderStatus == null ? -1 : orderStatus.ordinal());
+		}
+	}
+
+	private static class Decision {
+		private final boolean permitted;
+		private final long expiresAt;
+
+		private Decision(boolean permitted, long expiresAt) {
+			this.permitted = permitted;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private static class Holder {
+		private static final PermissionEngine INSTANCE = new PermissionEngine(new RestaurantSearcher(),
+				new DeliveryManager(), DEFAULT_TTL_MILLIS, DEFAULT_MAX_DECISIONS);
+	}
+}
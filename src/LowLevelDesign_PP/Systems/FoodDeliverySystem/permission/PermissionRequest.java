@@ -0,0 +1,75 @@
+package FoodDeliverySystem.permission;
+
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.User;
+
+public class PermissionRequest {
+
+	// resource id of operations on the user's own cart
+	static final int CART_RESOURCE = 0;
+
+	private final User user;
+	private final Operation operation;
+	private final int resourceId;
+	private final FoodItem foodItem;
+	private final Order order;
+	private final OrderStatus orderStatus;
+
+	private PermissionRequest(User user, Operation operation, int resourceId, FoodItem foodItem, Order order,
+			OrderStatus orderStatus) {
+		super();
+		this.user = user;
+		this.operation = operation;
+		this.resourceId = resourceId;
+		this.foodItem = foodItem;
+		this.order = order;
+		this.orderStatus = orderStatus;
+	}
+
+	public static PermissionRequest addToCart(User user, FoodItem foodItem) {
+		return new PermissionRequest(user, Operation.ADD_TO_CART, foodItem.getId(), foodItem, null, null);
+	}
+
+	public static PermissionRequest deleteFromCart(User user, FoodItem foodItem) {
+		return new PermissionRequest(user, Operation.DELETE_FROM_CART, foodItem.getId(), foodItem, null, null);
+	}
+
+	public static PermissionRequest checkoutCart(User user) {
+		return new PermissionRequest(user, Operation.CHECKOUT_CART, CART_RESOURCE, null, null, null);
+	}
+
+	public static PermissionRequest placeOrder(User user) {
+		return new PermissionRequest(user, Operation.PLACE_ORDER, CART_RESOURCE, null, null, null);
+	}
+
+	public static PermissionRequest updateOrder(User user, Order order, OrderStatus orderStatus) {
+		return new PermissionRequest(user, Operation.UPDATE_ORDER, order.getOrderId(), null, order, orderStatus);
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public int getResourceId() {
+		return resourceId;
+	}
+
+	public FoodItem getFoodItem() {
+		return foodItem;
+	}
+
+	public Order getOrder() {
+		return order;
+	}
+
+	public OrderStatus getOrderStatus() {
+		return orderStatus;
+	}
+
+}
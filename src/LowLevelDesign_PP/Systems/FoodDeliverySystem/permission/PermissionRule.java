@@ -0,0 +1,6 @@
+package FoodDeliverySystem.permission;
+
+public interface PermissionRule {
+
+	public boolean isPermitted(PermissionRequest permissionRequest, RuleContext ruleContext);
+}
@@ -17,8 +17,7 @@ public class PlaceOrderPermission implements Permission {
 
 	@Override
 	public boolean isPermitted() {
-		// TODO Auto-generated method stub
-		return false;
+		return PermissionEngine.getInstance().isPermitted(PermissionRequest.placeOrder(user));
 	}
 
 }
@@ -0,0 +1,31 @@
+package FoodDeliverySystem.permission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.searcher.RestaurantSearcher;
+
+/**
+ * Lookups shared by the rules of one evaluation, so a batch over many
+ * items of the same restaurant fetches that restaurant once.
+ */
+public class RuleContext {
+
+	private final RestaurantSearcher restaurantSearcher;
+	private final Map<Integer, Restaurant> restaurants = new HashMap<>();
+
+	RuleContext(RestaurantSearcher restaurantSearcher) {
+		super();
+		this.restaurantSearcher = restaurantSearcher;
+	}
+
+	public Restaurant getRestaurant(int restaurantId) {
+		if(restaurants.containsKey(restaurantId)) {
+			return restaurants.get(restaurantId);
+		}
+		Restaurant restaurant = restaurantSearcher.searchById(restaurantId);
+		restaurants.put(restaurantId, restaurant);
+		return restaurant;
+	}
+}
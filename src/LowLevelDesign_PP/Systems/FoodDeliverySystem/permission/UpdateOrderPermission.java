@@ -22,8 +22,7 @@ public class UpdateOrderPermission implements Permission {
 
 	@Override
 	public boolean isPermitted() {
-		// TODO Auto-generated method stub
-		return false;
+		return PermissionEngine.getInstance().isPermitted(PermissionRequest.updateOrder(user, order, orderStatus));
 	}
 
 }
@@ -0,0 +1,8 @@
+package FoodDeliverySystem.pipeline;
+
+import FoodDeliverySystem.Data.Order;
+
+public interface OrderListener {
+
+	public void onOrderPlaced(Order order);
+}
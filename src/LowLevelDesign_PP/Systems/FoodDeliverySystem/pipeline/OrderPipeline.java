@@ -0,0 +1,310 @@
+package FoodDeliverySystem.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import FoodDeliverySystem.Data.CartItem;
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.PaymentResponse;
+import FoodDeliverySystem.Data.PaymentStatus;
+import FoodDeliverySystem.Data.User;
+import FoodDeliverySystem.DataAccessor.DataAccessor;
+import FoodDeliverySystem.Factory.PaymentManagerFactory;
+import FoodDeliverySystem.Factory.PermissionFactory;
+import FoodDeliverySystem.Managers.CartManager;
+import FoodDeliverySystem.Managers.PaymentManager;
+import FoodDeliverySystem.concurrent.StripedLock;
+import FoodDeliverySystem.metrics.LatencyHistogram;
+import FoodDeliverySystem.orders.OrderStore;
+import FoodDeliverySystem.payment.AsyncPaymentExecutor;
+import FoodDeliverySystem.permission.Permission;
+
+/**
+ * Runs order placement as VALIDATE -> RESERVE -> PAY -> PERSIST -> NOTIFY on an executor.
+ *
+ * Requests carrying the same idempotency key share one result. A user has at most one checkout
+ * in flight, so two submissions can not pay for the same cart twice; the cart is read and checked
+ * out under a striped user lock, which is not held while the bank is called.
+ * NOTIFY runs after the caller's future is completed and outside the user lock.
+ */
+public class OrderPipeline {
+
+	private static final int DEFAULT_LOCK_STRIPES = 256;
+	private static final Duration DEFAULT_IDEMPOTENCY_RETENTION = Duration.ofHours(1);
+
+	// the shared pipeline when one was set, otherwise the default one from Holder
+	private static volatile OrderPipeline instance;
+
+	private final Executor executor;
+	private final AsyncPaymentExecutor asyncPaymentExecutor;
+	private final StripedLock userLocks;
+	private final long idempotencyRetentionNanos;
+	private final Map<String, CompletableFuture<Order>> ordersByIdempotencyKey = new ConcurrentHashMap<>();
+	private final Queue<CompletedKey> completedKeys = new ConcurrentLinkedQueue<>();
+	private final Map<OrderStage, LatencyHistogram> stageLatencies = new EnumMap<>(OrderStage.class);
+	private final List<OrderListener> orderListeners = new CopyOnWriteArrayList<>();
+	private final CartManager cartManager = new CartManager();
+	// users with a checkout between RESERVE and the end of PERSIST
+	private final Set<Integer> checkoutsInFlight = ConcurrentHashMap.newKeySet();
+
+	public OrderPipeline(Executor executor, AsyncPaymentExecutor asyncPaymentExecutor, int lockStripes,
+			Duration idempotencyRetention) {
+		super();
+		if(executor == null || asyncPaymentExecutor == null || idempotencyRetention == null
+				|| idempotencyRetention.isNegative()) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.executor = executor;
+		this.asyncPaymentExecutor = asyncPaymentExecutor;
+		this.userLocks = new StripedLock(lockStripes);
+		this.idempotencyRetentionNanos = idempotencyRetention.toNanos();
+		for(OrderStage orderStage : OrderStage.values()) {
+			stageLatencies.put(orderStage, new LatencyHistogram());
+		}
+	}
+
+	public OrderPipeline(Executor executor) {
+		this(executor, new AsyncPaymentExecutor(), DEFAULT_LOCK_STRIPES, DEFAULT_IDEMPOTENCY_RETENTION);
+	}
+
+	public static OrderPipeline getInstance() {
+		OrderPipeline pipeline = instance;
+		return pipeline != null ? pipeline : Holder.INSTANCE;
+	}
+
+	// runs the shared pipeline on the application's executor; the default pool is then never created
+	public static void setInstance(OrderPipeline orderPipeline) {
+		if(orderPipeline == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		instance = orderPipeline;
+	}
+
+	public CompletableFuture<Order> submit(OrderRequest orderRequest) {
+		if(orderRequest == null || orderRequest.getUser() == null || orderRequest.getIdempotencyKey() == null
+				|| orderRequest.getIdempotencyKey().length() == 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		expireCompletedKeys();
+
+		CompletableFuture<Order> future = new CompletableFuture<>();
+		CompletableFuture<Order> existing = ordersByIdempotencyKey.putIfAbsent(orderRequest.getIdempotencyKey(), future);
+		if(existing != null) {
+			return existing;
+		}
+		try {
+			executor.execute(() -> process(orderRequest, future));
+		}
+		catch(RejectedExecutionException e) {
+			ordersByIdempotencyKey.remove(orderRequest.getIdempotencyKey(), future);
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	public void addOrderListener(OrderListener orderListener) {
+		orderListeners.add(orderListener);
+	}
+
+	public void removeOrderListener(OrderListener orderListener) {
+		orderListeners.remove(orderListener);
+	}
+
+	public LatencyHistogram getStageLatency(OrderStage orderStage) {
+		return stageLatencies.get(orderStage);
+	}
+
+	private void process(OrderRequest orderRequest, CompletableFuture<Order> future) {
+		User user = orderRequest.getUser();
+		OrderStage currentStage = OrderStage.VALIDATE;
+		Order order;
+		boolean checkingOut = false;
+		ReentrantLock userLock = userLocks.getLock(user.getUserId());
+		try {
+			List<CartItem> cartItems;
+			long start = System.nanoTime();
+			userLock.lock();
+			try {
+				validate(orderRequest);
+				start = recordStage(OrderStage.VALIDATE, start);
+
+				currentStage = OrderStage.RESERVE;
+				if(!checkoutsInFlight.add(user.getUserId())) {
+					throw new IllegalStateException("A checkout is already in progress for user " + user.getUserId());
+				}
+				checkingOut = true;
+				cartItems = reserve(user);
+				start = recordStage(OrderStage.RESERVE, start);
+			}
+			finally {
+				userLock.unlock();
+			}
+
+			// the bank is called without the user lock; the in-flight checkout keeps a second
+			// submission from paying for the same cart meanwhile
+			currentStage = OrderStage.PAY;
+			pay(orderRequest);
+			start = recordStage(OrderStage.PAY, start);
+
+			currentStage = OrderStage.PERSIST;
+			userLock.lock();
+			try {
+				order = persist(user, cartItems);
+			}
+			finally {
+				userLock.unlock();
+			}
+			recordStage(OrderStage.PERSIST, start);
+		}
+		catch(Exception e) {
+			// ended before the caller hears of it, so an immediate retry is not refused
+			if(checkingOut) {
+				checkoutsInFlight.remove(user.getUserId());
+				checkingOut = false;
+			}
+			// Before PAY, or when the bank declined or was never called, nothing was charged and the
+			// key can be reused. A payment timeout or error has an unknown outcome, and any failure
+			// after PAY follows a charge, so those stick to the key and a retry does not charge twice.
+			if(currentStage.compareTo(OrderStage.PAY) < 0 || (currentStage == OrderStage.PAY && isNotCharged(e))) {
+				ordersByIdempotencyKey.remove(orderRequest.getIdempotencyKey(), future);
+			}
+			else {
+				completedKeys.add(new CompletedKey(orderRequest.getIdempotencyKey(), System.nanoTime()));
+			}
+			future.completeExceptionally(e);
+			return;
+		}
+		finally {
+			if(checkingOut) {
+				checkoutsInFlight.remove(user.getUserId());
+			}
+		}
+		completedKeys.add(new CompletedKey(orderRequest.getIdempotencyKey(), System.nanoTime()));
+		future.complete(order);
+
+		long start = System.nanoTime();
+		for(OrderListener orderListener : orderListeners) {
+			try {
+				orderListener.onOrderPlaced(order);
+			}
+			catch(RuntimeException e) {
+				// a failing listener must not affect other listeners or the placed order
+			}
+		}
+		recordStage(OrderStage.NOTIFY, start);
+	}
+
+	private void validate(OrderRequest orderRequest) {
+		if(orderRequest.getPaymentMode() == null || orderRequest.getPaymentInfo() == null) {
+			throw new IllegalArgumentException("Payment details missing");
+		}
+		Permission permission = PermissionFactory.getPlaceOrderPermission(orderRequest.getUser());
+		if(!permission.isPermitted()) {
+			throw new RuntimeException("Permission Denied");
+		}
+	}
+
+	private List<CartItem> reserve(User user) {
+		List<CartItem> cartItems = new ArrayList<>(cartManager.getUserCart(user));
+		for(CartItem cartItem : cartItems) {
+			if(!cartItem.getFoodItem().isAvailable()) {
+				throw new RuntimeException("Food item " + cartItem.getFoodItem().getId() + " is not available");
+			}
+		}
+		return cartItems;
+	}
+
+	private void pay(OrderRequest orderRequest) throws Exception {
+		PaymentManager paymentManager = PaymentManagerFactory.getPaymentManager(orderRequest.getPaymentInfo(),
+				orderRequest.getPaymentMode());
+		PaymentResponse paymentResponse;
+		try {
+			// bounded by the payment policy timeout, so a slow bank can not pin this thread
+			paymentResponse = asyncPaymentExecutor.executePayment(orderRequest.getPaymentMode(), paymentManager).join();
+		}
+		catch(CompletionException e) {
+			if(e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+		if(paymentResponse == null || paymentResponse.getPaymentStatus() == null) {
+			throw new RuntimeException("payment outcome unknown");
+		}
+		if(paymentResponse.getPaymentStatus().equals(PaymentStatus.FAILURE)) {
+			throw new PaymentDeclinedException("payment Failed");
+		}
+	}
+
+	// a definite decline, or a payment the bulkhead or circuit breaker never sent to the bank
+	private static boolean isNotCharged(Exception e) {
+		return e instanceof PaymentDeclinedException || e instanceof RejectedExecutionException;
+	}
+
+	private Order persist(User user, List<CartItem> cartItems) {
+		int orderId = DataAccessor.createOrder(user, cartItems);
+		cartManager.checkOutUsersCart(user);
+		Order order = new Order(orderId, user.getUserId(), OrderStatus.ORDER_PLACED, cartItems);
+		OrderStore.getInstance().addOrder(order);
+		return order;
+	}
+
+	private long recordStage(OrderStage orderStage, long start) {
+		long end = System.nanoTime();
+		stageLatencies.get(orderStage).record(end - start);
+		return end;
+	}
+
+	private void expireCompletedKeys() {
+		long now = System.nanoTime();
+		CompletedKey completedKey;
+		while((completedKey = completedKeys.peek()) != null
+				&& now - completedKey.completedAt > idempotencyRetentionNanos) {
+			if(completedKeys.remove(completedKey)) {
+				ordersByIdempotencyKey.remove(completedKey.idempotencyKey);
+			}
+		}
+	}
+
+	private static class PaymentDeclinedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		private PaymentDeclinedException(String message) {
+			super(message);
+		}
+	}
+
+	private static class CompletedKey {
+		private final String idempotencyKey;
+		private final long completedAt;
+
+		private CompletedKey(String idempotencyKey, long completedAt) {
+			this.idempotencyKey = idempotencyKey;
+			this.completedAt = completedAt;
+		}
+	}
+
+	private static class Holder {
+		private static final OrderPipeline INSTANCE = new OrderPipeline(
+				Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2, runnable -> {
+					Thread thread = new Thread(runnable, "order-pipeline");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+}
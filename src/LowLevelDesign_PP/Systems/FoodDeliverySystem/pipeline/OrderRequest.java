@@ -0,0 +1,39 @@
+package FoodDeliverySystem.pipeline;
+
+import java.util.Map;
+
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Data.User;
+
+public class OrderRequest {
+
+	private final User user;
+	private final Map<String, String> paymentInfo;
+	private final PaymentMode paymentMode;
+	private final String idempotencyKey;
+
+	public OrderRequest(User user, Map<String, String> paymentInfo, PaymentMode paymentMode, String idempotencyKey) {
+		super();
+		this.user = user;
+		this.paymentInfo = paymentInfo;
+		this.paymentMode = paymentMode;
+		this.idempotencyKey = idempotencyKey;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public Map<String, String> getPaymentInfo() {
+		return paymentInfo;
+	}
+
+	public PaymentMode getPaymentMode() {
+		return paymentMode;
+	}
+
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+}
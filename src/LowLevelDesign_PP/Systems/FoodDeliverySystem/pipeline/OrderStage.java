@@ -0,0 +1,6 @@
+package FoodDeliverySystem.pipeline;
+
+public enum OrderStage {
+
+	VALIDATE, RESERVE, PAY, PERSIST, NOTIFY
+}
@@ -0,0 +1,86 @@
+package FoodDeliverySystem.ranking;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.index.RestaurantAvailabilityIndex;
+import FoodDeliverySystem.index.StarRatingIndex;
+import FoodDeliverySystem.searcher.RestaurantSearcher;
+
+/**
+ * Same scoring as {@link RestaurantRanker}; an item is available when it is in stock
+ * and, if a time is given, its restaurant is open. Distance is that of the restaurant.
+ */
+public class FoodItemRanker {
+
+	private final RankingWeights rankingWeights;
+	private final RestaurantAvailabilityIndex availabilityIndex;
+	private final StarRatingIndex starRatingIndex;
+	private final RestaurantSearcher restaurantSearcher;
+
+	public FoodItemRanker(RankingWeights rankingWeights, RestaurantAvailabilityIndex availabilityIndex,
+			StarRatingIndex starRatingIndex, RestaurantSearcher restaurantSearcher) {
+		super();
+		this.rankingWeights = rankingWeights;
+		this.availabilityIndex = availabilityIndex;
+		this.starRatingIndex = starRatingIndex;
+		this.restaurantSearcher = restaurantSearcher;
+	}
+
+	public FoodItemRanker() {
+		this(RankingWeights.defaultWeights(), RestaurantAvailabilityIndex.getInstance(),
+				StarRatingIndex.getFoodItemIndex(), new RestaurantSearcher());
+	}
+
+	public List<FoodItem> topK(Collection<FoodItem> candidates, RankingQuery rankingQuery, int k) {
+		TopKSelector<FoodItem> topK = new TopKSelector<>(k);
+		BitSet minRatingIds = rankingQuery.getMinRating() == null ? null
+				: starRatingIndex.getAtLeast(rankingQuery.getMinRating());
+		BitSet openRestaurantIds = rankingQuery.getTime() == null ? null
+				: availabilityIndex.getOpenRestaurantIdBits(rankingQuery.getTime());
+		TextRelevance textRelevance = new TextRelevance(rankingQuery.getText());
+		Map<Integer, Location> restaurantLocations = new HashMap<>();
+
+		for(FoodItem foodItem : candidates) {
+			if(minRatingIds != null && (foodItem.getId() < 0 || !minRatingIds.get(foodItem.getId()))) {
+				continue;
+			}
+			double score = 0;
+			if(foodItem.getStarRating() != null) {
+				score += rankingWeights.getRating() * foodItem.getStarRating().getVal() / 5.0;
+			}
+			score += rankingWeights.getTextRelevance() * textRelevance.score(foodItem.getItemName());
+			int restaurantId = foodItem.getRestaurantId();
+			if(foodItem.isAvailable() && (openRestaurantIds == null || (restaurantId >= 0 && openRestaurantIds.get(restaurantId)))) {
+				score += rankingWeights.getAvailability();
+			}
+			if(rankingQuery.getUserLocation() != null) {
+				if(!restaurantLocations.containsKey(restaurantId)) {
+					restaurantLocations.put(restaurantId, getRestaurantLocation(restaurantId));
+				}
+				Location restaurantLocation = restaurantLocations.get(restaurantId);
+				if(restaurantLocation != null) {
+					double distanceKm = rankingQuery.getUserLocation().distanceKm(restaurantLocation);
+					score += rankingWeights.getDistance() * rankingWeights.getHalfScoreDistanceKm()
+							/ (rankingWeights.getHalfScoreDistanceKm() + distanceKm);
+				}
+			}
+			topK.offer(foodItem, score);
+		}
+		return topK.getTopK();
+	}
+
+	private Location getRestaurantLocation(int restaurantId) {
+		Restaurant restaurant = restaurantSearcher.searchById(restaurantId);
+		if(restaurant == null || restaurant.getAddress() == null) {
+			return null;
+		}
+		return restaurant.getAddress().getLocation();
+	}
+}
@@ -0,0 +1,42 @@
+package FoodDeliverySystem.ranking;
+
+import java.time.LocalDateTime;
+
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.StarRating;
+
+public class RankingQuery {
+
+	private final String text;
+	// null skips the distance score
+	private final Location userLocation;
+	// null skips the availability score
+	private final LocalDateTime time;
+	// null keeps every rating
+	private final StarRating minRating;
+
+	public RankingQuery(String text, Location userLocation, LocalDateTime time, StarRating minRating) {
+		super();
+		this.text = text;
+		this.userLocation = userLocation;
+		this.time = time;
+		this.minRating = minRating;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public Location getUserLocation() {
+		return userLocation;
+	}
+
+	public LocalDateTime getTime() {
+		return time;
+	}
+
+	public StarRating getMinRating() {
+		return minRating;
+	}
+
+}
@@ -0,0 +1,49 @@
+package FoodDeliverySystem.ranking;
+
+public class RankingWeights {
+
+	private final double rating;
+	private final double distance;
+	private final double textRelevance;
+	private final double availability;
+	// distance at which the distance score has dropped to one half
+	private final double halfScoreDistanceKm;
+
+	public RankingWeights(double rating, double distance, double textRelevance, double availability,
+			double halfScoreDistanceKm) {
+		super();
+		if(rating < 0 || distance < 0 || textRelevance < 0 || availability < 0 || halfScoreDistanceKm <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.rating = rating;
+		this.distance = distance;
+		this.textRelevance = textRelevance;
+		this.availability = availability;
+		this.halfScoreDistanceKm = halfScoreDistanceKm;
+	}
+
+	public static RankingWeights defaultWeights() {
+		return new RankingWeights(0.35, 0.25, 0.3, 0.1, 3.0);
+	}
+
+	public double getRating() {
+		return rating;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	public double getTextRelevance() {
+		return textRelevance;
+	}
+
+	public double getAvailability() {
+		return availability;
+	}
+
+	public double getHalfScoreDistanceKm() {
+		return halfScoreDistanceKm;
+	}
+
+}
@@ -0,0 +1,65 @@
+package FoodDeliverySystem.ranking;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.index.RestaurantAvailabilityIndex;
+import FoodDeliverySystem.index.StarRatingIndex;
+
+public class RestaurantRanker {
+
+	private final RankingWeights rankingWeights;
+	private final RestaurantAvailabilityIndex availabilityIndex;
+	private final StarRatingIndex starRatingIndex;
+
+	public RestaurantRanker(RankingWeights rankingWeights, RestaurantAvailabilityIndex availabilityIndex,
+			StarRatingIndex starRatingIndex) {
+		super();
+		this.rankingWeights = rankingWeights;
+		this.availabilityIndex = availabilityIndex;
+		this.starRatingIndex = starRatingIndex;
+	}
+
+	public RestaurantRanker() {
+		this(RankingWeights.defaultWeights(), RestaurantAvailabilityIndex.getInstance(),
+				StarRatingIndex.getRestaurantIndex());
+	}
+
+	public List<Restaurant> topK(Collection<Restaurant> candidates, RankingQuery rankingQuery, int k) {
+		TopKSelector<Restaurant> topK = new TopKSelector<>(k);
+		BitSet minRatingIds = rankingQuery.getMinRating() == null ? null
+				: starRatingIndex.getAtLeast(rankingQuery.getMinRating());
+		BitSet openIds = rankingQuery.getTime() == null ? null
+				: availabilityIndex.getOpenRestaurantIdBits(rankingQuery.getTime());
+		TextRelevance textRelevance = new TextRelevance(rankingQuery.getText());
+
+		for(Restaurant restaurant : candidates) {
+			int restaurantId = restaurant.getRestaurantId();
+			if(minRatingIds != null && (restaurantId < 0 || !minRatingIds.get(restaurantId))) {
+				continue;
+			}
+			double score = 0;
+			if(restaurant.getStarRating() != null) {
+				score += rankingWeights.getRating() * restaurant.getStarRating().getVal() / 5.0;
+			}
+			score += rankingWeights.getTextRelevance() * textRelevance.score(restaurant.getRestaurantName());
+			if(openIds != null && restaurantId >= 0 && openIds.get(restaurantId)) {
+				score += rankingWeights.getAvailability();
+			}
+			score += rankingWeights.getDistance() * distanceScore(rankingQuery.getUserLocation(), restaurant);
+			topK.offer(restaurant, score);
+		}
+		return topK.getTopK();
+	}
+
+	private double distanceScore(Location userLocation, Restaurant restaurant) {
+		if(userLocation == null || restaurant.getAddress() == null || restaurant.getAddress().getLocation() == null) {
+			return 0;
+		}
+		double distanceKm = userLocation.distanceKm(restaurant.getAddress().getLocation());
+		return rankingWeights.getHalfScoreDistanceKm() / (rankingWeights.getHalfScoreDistanceKm() + distanceKm);
+	}
+}
@@ -0,0 +1,45 @@
+package FoodDeliverySystem.ranking;
+
+import java.util.Locale;
+
+/**
+ * Share of query words that start a word of the text, with a bonus for an exact
+ * match of the whole text. Returns a value in [0, 1].
+ */
+public class TextRelevance {
+
+	private final String[] queryTokens;
+	private final String normalizedQuery;
+
+	public TextRelevance(String query) {
+		super();
+		this.normalizedQuery = query == null ? "" : normalize(query);
+		this.queryTokens = normalizedQuery.isEmpty() ? new String[0] : normalizedQuery.split(" ");
+	}
+
+	public double score(String text) {
+		if(queryTokens.length == 0 || text == null) {
+			return 0;
+		}
+		String normalizedText = normalize(text);
+		if(normalizedText.equals(normalizedQuery)) {
+			return 1;
+		}
+		String[] textTokens = normalizedText.split(" ");
+		int matched = 0;
+		for(String queryToken : queryTokens) {
+			for(String textToken : textTokens) {
+				if(textToken.startsWith(queryToken)) {
+					matched++;
+					break;
+				}
+			}
+		}
+		// a partial match never beats an exact one
+		return 0.9 * matched / queryTokens.length;
+	}
+
+	private static String normalize(String value) {
+		return value.toLowerCase(Locale.ROOT).replaceAll("[^\\p{Alnum}]+", " ").trim();
+	}
+}
@@ -0,0 +1,67 @@
+package FoodDeliverySystem.ranking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k best scored items in a min-heap of size k, so selecting from n
+ * candidates costs O(n log k) and never sorts the whole candidate list.
+ */
+public class TopKSelector<T> {
+
+	private final int k;
+	private final PriorityQueue<Scored<T>> heap;
+	private long sequence;
+
+	public TopKSelector(int k) {
+		super();
+		if(k <= 0) {
+			throw new IllegalArgumentException("k must be positive");
+		}
+		this.k = k;
+		this.heap = new PriorityQueue<>(k + 1);
+	}
+
+	public void offer(T item, double score) {
+		if(heap.size() < k) {
+			heap.add(new Scored<>(item, score, sequence++));
+			return;
+		}
+		Scored<T> worst = heap.peek();
+		if(score > worst.score) {
+			heap.poll();
+			heap.add(new Scored<>(item, score, sequence++));
+		}
+	}
+
+	// best first; equal scores keep the order in which they were offered
+	public List<T> getTopK() {
+		List<Scored<T>> sorted = new ArrayList<>(heap);
+		Collections.sort(sorted, Collections.reverseOrder());
+		List<T> items = new ArrayList<>(sorted.size());
+		for(Scored<T> scored : sorted) {
+			items.add(scored.item);
+		}
+		return items;
+	}
+
+	private static class Scored<T> implements Comparable<Scored<T>> {
+		private final T item;
+		private final double score;
+		private final long sequence;
+
+		private Scored(T item, double score, long sequence) {
+			this.item = item;
+			this.score = score;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Scored<T> other) {
+			int byScore = Double.compare(score, other.score);
+			return byScore != 0 ? byScore : Long.compare(other.sequence, sequence);
+		}
+	}
+}
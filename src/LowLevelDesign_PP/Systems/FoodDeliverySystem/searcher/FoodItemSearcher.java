@@ -1,40 +1,22 @@
 package FoodDeliverySystem.searcher;
-import java.util.ArrayList;
 import java.util.List;
 
 import FoodDeliverySystem.Data.*;
+import FoodDeliverySystem.catalog.FoodItemCatalog;
+import FoodDeliverySystem.catalog.FoodItemColumnFilter;
 import FoodDeliverySystem.DataAccessor.DataAccessObjectConverter;
 import FoodDeliverySystem.DataAccessor.DataAccessResult;
 import FoodDeliverySystem.DataAccessor.DataAccessor;
-import FoodDeliverySystem.Filter.FoodItemFilter;
 public class FoodItemSearcher {
 
-	public List<FoodItem> search(String foodItemName, List<FoodItemFilter> filters){
+	// scans the columnar catalog; only the returned items are materialized
+	public List<FoodItem> search(FoodItemColumnFilter filter){
 		
-		if(foodItemName == null || foodItemName.length() == 0 || filters == null) {
+		if(filter == null || filter.getItemName() == null || filter.getItemName().length() == 0) {
 			throw new IllegalArgumentException("Missing Params");
 		}
 		
-		DataAccessResult dataAccessResult = DataAccessor.getFoodItemWithName(foodItemName);
-		
-		List<FoodItem> foodItems = DataAccessObjectConverter.convertToFoodItems(dataAccessResult);
-		
-		List<FoodItem> filtedFoodItems = new ArrayList<>();
-		
-		for(FoodItem foodItem: foodItems) {
-			boolean filter = true;
-			for(FoodItemFilter foodItemFilter: filters) {
-				filter = filter & foodItemFilter.filter(foodItem);
-			}
-			
-			if(filter == true) {
-				filtedFoodItems.add(foodItem);
-			}
-		}
-		
-		
-		return filtedFoodItems;
-		
+		return FoodItemCatalog.getInstance().search(filter);
 	}
 	
 	public FoodItem searchById(int foodItemId) throws Exception {
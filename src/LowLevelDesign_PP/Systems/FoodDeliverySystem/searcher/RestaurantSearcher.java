@@ -1,15 +1,15 @@
 package FoodDeliverySystem.searcher;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 
-import FoodDeliverySystem.Data.FoodItem;
 import FoodDeliverySystem.Data.Restaurant;
 import FoodDeliverySystem.DataAccessor.DataAccessObjectConverter;
 import FoodDeliverySystem.DataAccessor.DataAccessResult;
 import FoodDeliverySystem.DataAccessor.DataAccessor;
-import FoodDeliverySystem.Filter.FoodItemFilter;
+import FoodDeliverySystem.Filter.FilterEngine;
 import FoodDeliverySystem.Filter.RestaurantFilter;
+import FoodDeliverySystem.index.RestaurantAvailabilityIndex;
 
 public class RestaurantSearcher {
 
@@ -21,20 +21,22 @@ public class RestaurantSearcher {
 		
 		List<Restaurant> restaurants = DataAccessObjectConverter.convertToRestaurant(dataAccessResult);
 		
-		List<Restaurant> filtedFoodItems = new ArrayList<>();
-		
-		for(RestaurantFilter restaurantFilter : filters) {
-			List<Restaurant> filtedRestaurant = new ArrayList<>();
-			for(Restaurant restaurant : restaurants ) {
-				if(restaurantFilter.filter(restaurant)) {
-					filtedRestaurant.add(restaurant);
-				}
-			}
-			restaurants = filtedRestaurant;
-		}
+		// one pass, filters ordered and short-circuited by the engine
+		restaurants = FilterEngine.forRestaurants().filter(restaurants, filters);
 		return restaurants;
 	}
 	
+	public List<Restaurant> searchOpenNow(String restaurantName, List<RestaurantFilter> filters){
+		return searchOpenAt(restaurantName, filters, LocalDateTime.now());
+	}
+	
+	public List<Restaurant> searchOpenAt(String restaurantName, List<RestaurantFilter> filters, LocalDateTime time){
+		if(time == null) {
+			throw new IllegalArgumentException("Invalid Params");
+		}
+		return RestaurantAvailabilityIndex.getInstance().filterOpen(search(restaurantName, filters), time);
+	}
+	
 	public Restaurant searchById(int restaurantId) {
 		DataAccessResult dataAccessResult = DataAccessor.getRestaurantWithId(restaurantId);
 		
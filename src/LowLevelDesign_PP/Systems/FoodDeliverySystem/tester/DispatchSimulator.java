@@ -0,0 +1,141 @@
+package FoodDeliverySystem.tester;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import FoodDeliverySystem.Data.CuisineType;
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.MealType;
+import FoodDeliverySystem.Data.Order;
+import FoodDeliverySystem.Data.OrderStatus;
+import FoodDeliverySystem.Data.StarRating;
+import FoodDeliverySystem.Data.User;
+import FoodDeliverySystem.DataAccessor.BulkLoader;
+import FoodDeliverySystem.DataAccessor.DataAccessor;
+import FoodDeliverySystem.Managers.OrderManager;
+import FoodDeliverySystem.Managers.RestaurantManager;
+import FoodDeliverySystem.Managers.UserManager;
+import FoodDeliverySystem.apis.AddToCartAPI;
+import FoodDeliverySystem.apis.UpdateOrderAPI;
+import FoodDeliverySystem.dispatch.Assignment;
+import FoodDeliverySystem.dispatch.DispatchEngine;
+
+/**
+ * Drives orders through their whole life over the APIs: the customer orders, the restaurant's
+ * staff cook it and mark it ready, dispatch assigns a rider, and that rider marks it delivered.
+ * Every round reuses the same riders, so a rider that is not freed on delivery shows up as an
+ * order left undispatched in the next round.
+ * Run with: java FoodDeliverySystem.tester.DispatchSimulator [riders] [rounds]
+ */
+public class DispatchSimulator {
+
+	private static final int RESTAURANT_ID = 1;
+	private static final int FOOD_ITEM_ID = 1;
+	private static final int OWNER_USER_ID = 1;
+	private static final int FIRST_CUSTOMER_ID = 1_000;
+	private static final int FIRST_RIDER_ID = 2_000;
+
+	private final AddToCartAPI addToCartAPI = new AddToCartAPI();
+	private final UpdateOrderAPI updateOrderAPI = new UpdateOrderAPI();
+	private final OrderManager orderManager = new OrderManager();
+	private final UserManager userManager = new UserManager();
+	private final DispatchEngine dispatchEngine = DispatchEngine.getInstance();
+	private final int riderCount;
+
+	public DispatchSimulator(int riderCount) {
+		this.riderCount = riderCount;
+	}
+
+	public static void main(String[] args) throws Exception {
+		int riders = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+		DispatchSimulator simulator = new DispatchSimulator(riders);
+		simulator.seed();
+		Map<Integer, Integer> deliveriesByRider = new HashMap<>();
+		for(int round = 0; round < rounds; round++) {
+			int delivered = simulator.runRound(deliveriesByRider);
+			System.out.printf("round %d: %d of %d orders delivered%n", round, delivered, riders);
+			if(delivered != riders) {
+				throw new IllegalStateException("round " + round + " left orders undelivered");
+			}
+		}
+		for(int riderId = FIRST_RIDER_ID; riderId < FIRST_RIDER_ID + riders; riderId++) {
+			if(deliveriesByRider.getOrDefault(riderId, 0) != rounds) {
+				throw new IllegalStateException("rider " + riderId + " delivered " + deliveriesByRider.get(riderId)
+						+ " orders, expected " + rounds);
+			}
+		}
+		System.out.printf("every rider delivered once per round (%d riders, %d rounds)%n", riders, rounds);
+		simulator.dispatchEngine.shutdown();
+	}
+
+	public void seed() {
+		Location restaurantLocation = new Location(12.97, 77.59);
+		new RestaurantManager().addRestaurant(BulkLoader.restaurant(RESTAURANT_ID, "dispatch kitchen", "", LocalTime.MIN,
+				LocalTime.MIN, MealType.values()[0], Arrays.asList(CuisineType.values()[0]), StarRating.values()[0],
+				restaurantLocation), OWNER_USER_ID);
+		new RestaurantManager().addFoodItem(BulkLoader.foodItem(FOOD_ITEM_ID, "thali", "", 150, CuisineType.values()[0],
+				MealType.values()[0], StarRating.values()[0], RESTAURANT_ID, true));
+
+		List<User> users = new ArrayList<>();
+		List<String> tokens = new ArrayList<>();
+		users.add(new User(OWNER_USER_ID, "owner", null, "1", "owner@mail.com"));
+		tokens.add(token(OWNER_USER_ID));
+		for(int i = 0; i < riderCount; i++) {
+			users.add(new User(FIRST_CUSTOMER_ID + i, "customer" + i, null, "2" + i, "customer" + i + "@mail.com"));
+			tokens.add(token(FIRST_CUSTOMER_ID + i));
+			users.add(new User(FIRST_RIDER_ID + i, "rider" + i, null, "3" + i, "rider" + i + "@mail.com"));
+			tokens.add(token(FIRST_RIDER_ID + i));
+			// riders wait within a few hundred meters of the kitchen
+			dispatchEngine.addRider(FIRST_RIDER_ID + i, new Location(12.97 + i * 0.0005, 77.59));
+		}
+		DataAccessor.addUsers(users, tokens);
+	}
+
+	// one order per customer, and every rider is needed to dispatch them all
+	public int runRound(Map<Integer, Integer> deliveriesByRider) throws Exception {
+		List<Integer> orderIds = new ArrayList<>();
+		for(int i = 0; i < riderCount; i++) {
+			int customerId = FIRST_CUSTOMER_ID + i;
+			addToCartAPI.addToCart(FOOD_ITEM_ID, token(customerId));
+			Order order = orderManager.placeOrder(userManager.getUserByToken(token(customerId)));
+			updateOrderAPI.updateOrder(order.getOrderId(), OrderStatus.COOKING, token(OWNER_USER_ID));
+			updateOrderAPI.updateOrder(order.getOrderId(), OrderStatus.READY_FOR_DELIVERY, token(OWNER_USER_ID));
+			orderIds.add(order.getOrderId());
+		}
+
+		// delivery events of the previous round free their riders in this batch
+		List<Assignment> assignments = dispatchEngine.dispatchNow();
+		int delivered = 0;
+		for(Assignment assignment : assignments) {
+			// only the assigned rider may do this
+			boolean staffDenied = false;
+			try {
+				updateOrderAPI.updateOrder(assignment.getOrderId(), OrderStatus.DELIVERED, token(OWNER_USER_ID));
+			} catch(RuntimeException e) {
+				staffDenied = true;
+			}
+			if(!staffDenied) {
+				throw new IllegalStateException("staff marked order " + assignment.getOrderId() + " delivered");
+			}
+			updateOrderAPI.updateOrder(assignment.getOrderId(), OrderStatus.DELIVERED, token(assignment.getRiderId()));
+			deliveriesByRider.merge(assignment.getRiderId(), 1, Integer::sum);
+			delivered++;
+		}
+		for(int orderId : orderIds) {
+			if(orderManager.getOrder(orderId).getOrderStatus() != OrderStatus.DELIVERED) {
+				System.out.println("order " + orderId + " is " + orderManager.getOrder(orderId).getOrderStatus());
+			}
+		}
+		return delivered;
+	}
+
+	private static String token(int userId) {
+		return "token-" + userId;
+	}
+}
@@ -0,0 +1,202 @@
+package FoodDeliverySystem.tester;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import FoodDeliverySystem.Data.CuisineType;
+import FoodDeliverySystem.Data.FoodItem;
+import FoodDeliverySystem.Data.Location;
+import FoodDeliverySystem.Data.MealType;
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Data.Restaurant;
+import FoodDeliverySystem.Data.StarRating;
+import FoodDeliverySystem.Data.User;
+import FoodDeliverySystem.DataAccessor.BulkLoader;
+import FoodDeliverySystem.DataAccessor.DataAccessor;
+import FoodDeliverySystem.Factory.PaymentManagerFactory;
+import FoodDeliverySystem.Managers.RestaurantManager;
+import FoodDeliverySystem.apis.AddToCartAPI;
+import FoodDeliverySystem.apis.FoodItemSearcherAPI;
+import FoodDeliverySystem.apis.PlaceOrderAPI;
+import FoodDeliverySystem.apis.RestaurantSearcherAPI;
+import FoodDeliverySystem.metrics.LatencyHistogram;
+import FoodDeliverySystem.payment.SimulatedPaymentGateway;
+
+/**
+ * Open loop load generator: seeds synthetic restaurants, food items and users, then issues
+ * requests at a fixed rate and reports latency percentiles per API. Latency is measured from the
+ * intended send time, so queueing behind a slow request is counted (no coordinated omission).
+ * Run with: java FoodDeliverySystem.tester.LoadGenerator [qps] [seconds] [threads] [restaurants] [itemsPerRestaurant] [users]
+ */
+public class LoadGenerator {
+
+	private enum Operation {
+		SEARCH_FOOD_ITEMS, SEARCH_RESTAURANTS, ADD_TO_CART, PLACE_ORDER
+	}
+
+	// out of every 10 requests: 4 food item searches, 3 restaurant searches, 2 adds to cart, 1 order
+	private static final Operation[] MIX = { Operation.SEARCH_FOOD_ITEMS, Operation.SEARCH_FOOD_ITEMS,
+			Operation.SEARCH_FOOD_ITEMS, Operation.SEARCH_FOOD_ITEMS, Operation.SEARCH_RESTAURANTS,
+			Operation.SEARCH_RESTAURANTS, Operation.SEARCH_RESTAURANTS, Operation.ADD_TO_CART,
+			Operation.ADD_TO_CART, Operation.PLACE_ORDER };
+	private static final String[] WORDS = { "paneer", "pizza", "pasta", "noodles", "burger", "biryani", "salad",
+			"tikka", "curry", "taco", "sushi", "wrap" };
+
+	private final AddToCartAPI addToCartAPI = new AddToCartAPI();
+	private final PlaceOrderAPI placeOrderAPI = new PlaceOrderAPI();
+	private final FoodItemSearcherAPI foodItemSearcherAPI = new FoodItemSearcherAPI();
+	private final RestaurantSearcherAPI restaurantSearcherAPI = new RestaurantSearcherAPI();
+	private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+	private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+	private final int restaurantCount;
+	private final int itemsPerRestaurant;
+	private final int userCount;
+
+	public LoadGenerator(int restaurantCount, int itemsPerRestaurant, int userCount) {
+		this.restaurantCount = restaurantCount;
+		this.itemsPerRestaurant = itemsPerRestaurant;
+		this.userCount = userCount;
+		for(Operation operation : Operation.values()) {
+			latencies.put(operation, new LatencyHistogram());
+			errors.put(operation, new AtomicLong());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int qps = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : 2 * Runtime.getRuntime().availableProcessors();
+		int restaurants = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+		int itemsPerRestaurant = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+		int users = args.length > 5 ? Integer.parseInt(args[5]) : 100_000;
+
+		// no bank behind the load test
+		PaymentManagerFactory.setPaymentGateway(SimulatedPaymentGateway.instant());
+		LoadGenerator loadGenerator = new LoadGenerator(restaurants, itemsPerRestaurant, users);
+		long seedStart = System.nanoTime();
+		loadGenerator.seed();
+		System.out.printf("seeded %d restaurants, %d food items, %d users in %d ms%n", restaurants,
+				restaurants * itemsPerRestaurant, users, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+		loadGenerator.run(qps, seconds, threads);
+		loadGenerator.report();
+		System.exit(0);
+	}
+
+	public void seed() {
+		CuisineType[] cuisineTypes = CuisineType.values();
+		MealType[] mealTypes = MealType.values();
+		StarRating[] starRatings = StarRating.values();
+
+		List<Restaurant> restaurants = new ArrayList<>(restaurantCount);
+		List<FoodItem> foodItems = new ArrayList<>(restaurantCount * itemsPerRestaurant);
+		for(int r = 0; r < restaurantCount; r++) {
+			CuisineType cuisineType = cuisineTypes[r % cuisineTypes.length];
+			restaurants.add(BulkLoader.restaurant(r, word(r) + " house " + r, "", LocalTime.MIN, LocalTime.MAX,
+					mealTypes[r % mealTypes.length], Arrays.asList(cuisineType), starRatings[r % starRatings.length],
+					new Location(12.9 + (r % 100) * 0.002, 77.5 + (r / 100 % 100) * 0.002)));
+			for(int i = 0; i < itemsPerRestaurant; i++) {
+				int id = foodItemId(r, i);
+				foodItems.add(BulkLoader.foodItem(id, word(id) + " " + word(id / WORDS.length), "", 100 + id % 400,
+						cuisineType, mealTypes[id % mealTypes.length], starRatings[id % starRatings.length], r, true));
+			}
+		}
+		// storage first, then every index in one batch, as after a bulk load
+		DataAccessor.addRestaurants(restaurants);
+		DataAccessor.addFoodItems(foodItems);
+		new RestaurantManager().reindex();
+
+		List<User> users = new ArrayList<>(userCount);
+		List<String> tokens = new ArrayList<>(userCount);
+		for(int u = 0; u < userCount; u++) {
+			users.add(new User(u, "user" + u, null, "9" + u, "user" + u + "@mail.com"));
+			tokens.add(token(u));
+		}
+		DataAccessor.addUsers(users, tokens);
+	}
+
+	public void run(int qps, int seconds, int threads) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long periodNanos = TimeUnit.SECONDS.toNanos(1) / qps;
+		long total = (long) qps * seconds;
+		long start = System.nanoTime();
+		for(long n = 0; n < total; n++) {
+			long intendedStart = start + n * periodNanos;
+			long wait = intendedStart - System.nanoTime();
+			if(wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			long sequence = n;
+			executor.execute(() -> execute(sequence, intendedStart));
+		}
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("sent %d requests in %.2f s (target %d qps, achieved %.0f qps)%n", total,
+				elapsed / 1e9, qps, total * 1e9 / elapsed);
+	}
+
+	public void report() {
+		for(Operation operation : Operation.values()) {
+			System.out.printf("%-18s errors=%d %s%n", operation, errors.get(operation).get(),
+					latencies.get(operation).summary(TimeUnit.MICROSECONDS));
+		}
+	}
+
+	private void execute(long sequence, long intendedStart) {
+		Operation operation = MIX[(int) (sequence % MIX.length)];
+		// each block of MIX requests belongs to one user, so its adds and order hit the same cart
+		int user = (int) (sequence / MIX.length % userCount);
+		try {
+			switch(operation) {
+			case SEARCH_FOOD_ITEMS:
+				foodItemSearcherAPI.searchFoodItems(word((int) sequence), null, null, null);
+				break;
+			case SEARCH_RESTAURANTS:
+				restaurantSearcherAPI.searchRestaurant(word((int) sequence), null, null, null);
+				break;
+			case ADD_TO_CART:
+				int restaurant = user % restaurantCount;
+				addToCartAPI.addToCart(foodItemId(restaurant, (int) (sequence % itemsPerRestaurant)), token(user));
+				break;
+			case PLACE_ORDER:
+				placeOrderAPI.placeOrder(token(user), paymentInfo(), PaymentMode.NETBANKING);
+				break;
+			}
+		} catch(Exception e) {
+			errors.get(operation).incrementAndGet();
+		}
+		latencies.get(operation).record(System.nanoTime() - intendedStart);
+	}
+
+	private int foodItemId(int restaurant, int item) {
+		return restaurant * itemsPerRestaurant + item;
+	}
+
+	private static String word(int i) {
+		return WORDS[Math.floorMod(i, WORDS.length)];
+	}
+
+	private static String token(int user) {
+		return "token-" + user;
+	}
+
+	private static Map<String, String> paymentInfo() {
+		Map<String, String> paymentInfo = new HashMap<>();
+		paymentInfo.put("amount", "499.50");
+		paymentInfo.put("bankName", "HDFC");
+		paymentInfo.put("userName", "loadgen");
+		paymentInfo.put("passWord", "secret");
+		return paymentInfo;
+	}
+}
@@ -0,0 +1,65 @@
+package FoodDeliverySystem.tester;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import FoodDeliverySystem.Data.PaymentMode;
+import FoodDeliverySystem.Factory.PaymentManagerFactory;
+import FoodDeliverySystem.Managers.PaymentManager;
+import FoodDeliverySystem.payment.SimulatedPaymentGateway;
+
+/**
+ * Measures time and heap allocation of PaymentManagerFactory.getPaymentManager per call,
+ * i.e. registry dispatch + parsing + manager construction on the place order path.
+ * Run with: java FoodDeliverySystem.tester.PaymentDispatchBenchmark [iterations]
+ */
+public class PaymentDispatchBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 2_000_000;
+
+	public static void main(String[] args) throws Exception {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+		PaymentManagerFactory.setPaymentGateway(SimulatedPaymentGateway.instant());
+
+		Map<PaymentMode, Map<String, String>> paymentInfos = new HashMap<>();
+		paymentInfos.put(PaymentMode.NETBANKING, paymentInfo("userName", "rishav", "passWord", "secret"));
+		paymentInfos.put(PaymentMode.DEBITCARD, paymentInfo("cardNumber", "4111111111111111", "pin", "1234"));
+		paymentInfos.put(PaymentMode.CREDITCARD, paymentInfo("cardNumber", "5500000000000004", "cvv", "123"));
+
+		com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		for(PaymentMode paymentMode : PaymentMode.values()) {
+			Map<String, String> paymentInfo = paymentInfos.get(paymentMode);
+			long sink = run(paymentInfo, paymentMode, WARMUP_ITERATIONS);
+
+			long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+			long start = System.nanoTime();
+			sink += run(paymentInfo, paymentMode, iterations);
+			long elapsed = System.nanoTime() - start;
+			long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+			System.out.printf("%-10s %8.1f ns/op %8.1f bytes/op (sink %d)%n", paymentMode,
+					(double) elapsed / iterations, (double) allocated / iterations, sink);
+		}
+	}
+
+	private static long run(Map<String, String> paymentInfo, PaymentMode paymentMode, int iterations) throws Exception {
+		long sink = 0;
+		for(int i = 0; i < iterations; i++) {
+			PaymentManager paymentManager = PaymentManagerFactory.getPaymentManager(paymentInfo, paymentMode);
+			sink += paymentManager.hashCode() & 1;
+		}
+		return sink;
+	}
+
+	private static Map<String, String> paymentInfo(String key1, String value1, String key2, String value2) {
+		Map<String, String> paymentInfo = new HashMap<>();
+		paymentInfo.put("bankName", "HDFC");
+		paymentInfo.put("amount", "499.50");
+		paymentInfo.put(key1, value1);
+		paymentInfo.put(key2, value2);
+		return paymentInfo;
+	}
+}
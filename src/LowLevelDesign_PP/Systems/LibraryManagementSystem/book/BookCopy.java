@@ -9,6 +9,12 @@ public class BookCopy {
 		this.bookId = bookId;
 		this.bookDetails = bookDetails;
 	}
+	public int getBookId() {
+		return bookId;
+	}
+	public BookDetails getBookDetails() {
+		return bookDetails;
+	}
 	
 	
 	
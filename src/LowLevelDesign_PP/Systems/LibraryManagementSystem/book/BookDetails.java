@@ -14,6 +14,15 @@ public class BookDetails {
 		this.publicationDate = publicationDate;
 		this.authors = authors;
 	}
+	public String getBookName() {
+		return bookName;
+	}
+	public Date getPublicationDate() {
+		return publicationDate;
+	}
+	public List<String> getAuthors() {
+		return authors;
+	}
 	
 	
 }
@@ -0,0 +1,58 @@
+package LibraryManagementSystem.catalog;
+
+/**
+ * Levenshtein distance with an upper bound. Only the diagonal band of width 2 * max + 1 can stay
+ * within the bound, so each row costs O(max) and the scan stops as soon as a whole row is over it.
+ */
+public class EditDistance {
+
+	private EditDistance() {
+
+	}
+
+	// the distance when it is at most max, otherwise max + 1
+	public static int bounded(CharSequence a, CharSequence b, int max) {
+		int n = a.length();
+		int m = b.length();
+		if(Math.abs(n - m) > max) {
+			return max + 1;
+		}
+		if(n == 0 || m == 0) {
+			return Math.max(n, m);
+		}
+		int over = max + 1;
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		for(int j = 0; j <= m; j++) {
+			previous[j] = j <= max ? j : over;
+		}
+		for(int i = 1; i <= n; i++) {
+			int from = Math.max(1, i - max);
+			int to = Math.min(m, i + max);
+			current[from - 1] = from == 1 && i <= max ? i : over;
+			int rowMin = current[from - 1];
+			char c = a.charAt(i - 1);
+			for(int j = from; j <= to; j++) {
+				int cost = c == b.charAt(j - 1) ? 0 : 1;
+				int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+				current[j] = Math.min(value, over);
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if(to < m) {
+				current[to + 1] = over;
+			}
+			if(rowMin > max) {
+				return over;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return Math.min(previous[m], over);
+	}
+
+	// unbounded distance, for ranking short strings such as author names
+	public static int distance(CharSequence a, CharSequence b) {
+		return bounded(a, b, Math.max(a.length(), b.length()));
+	}
+}
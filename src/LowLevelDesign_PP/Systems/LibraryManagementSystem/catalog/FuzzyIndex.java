@@ -0,0 +1,165 @@
+package LibraryManagementSystem.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo tolerant lookups over the catalog's normalized titles and author names.
+ *
+ * Titles are indexed by trigram of the padded normalized title. A title within k edits of the
+ * query shares at least (distinct query trigrams - 3k) of them, since one edit breaks at most three,
+ * so only titles found in the 3k + 1 shortest of the query's posting lists can qualify; those are
+ * counted against the rest, length filtered and verified with a bounded edit distance. Authors are
+ * grouped by the phonetic key of their surname, then filtered and ranked by edit distance to the query.
+ *
+ * Not thread safe, the catalog guards it.
+ */
+public class FuzzyIndex {
+
+	// ' ' and padding, a..z, 0..9, then anything else
+	private static final int ALPHABET = 38;
+	private static final int GRAM_COUNT = ALPHABET * ALPHABET * ALPHABET;
+
+	private final List<String> normalizedTitles;
+	private final PostingList[] titlesByGram = new PostingList[GRAM_COUNT];
+	private final Map<String, List<String>> authorsByKey = new HashMap<>();
+
+	// by title id, shared with the catalog
+	public FuzzyIndex(List<String> normalizedTitles) {
+		this.normalizedTitles = normalizedTitles;
+	}
+
+	public void addTitle(int titleId, String normalizedTitle) {
+		for(int gram : grams(normalizedTitle)) {
+			PostingList titleIds = titlesByGram[gram];
+			if(titleIds == null) {
+				titleIds = new PostingList();
+				titlesByGram[gram] = titleIds;
+			}
+			titleIds.add(titleId);
+		}
+	}
+
+	// called once per distinct author
+	public void addAuthor(String normalizedAuthor) {
+		authorsByKey.computeIfAbsent(PhoneticKey.ofAuthor(normalizedAuthor), key -> new ArrayList<>()).add(normalizedAuthor);
+	}
+
+	// title ids within maxEdits of the query, closest first, at most limit of them
+	public int[] matchTitles(String normalizedQuery, int maxEdits, int limit) {
+		int[] grams = grams(normalizedQuery);
+		// keep at least one trigram in common, otherwise every title is a candidate
+		int edits = Math.min(maxEdits, (grams.length - 1) / 3);
+		int threshold = grams.length - 3 * edits;
+		PostingList[] lists = new PostingList[grams.length];
+		for(int g = 0; g < grams.length; g++) {
+			lists[g] = titlesByGram[grams[g]] == null ? new PostingList() : titlesByGram[grams[g]];
+		}
+		Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+		PostingList candidates = PostingList.union(Arrays.asList(lists).subList(0, grams.length - threshold + 1));
+
+		int[] from = new int[lists.length];
+		// distance in the high bits, title id in the low ones, so sorting ranks them
+		long[] ranked = new long[Math.min(candidates.size(), 1024)];
+		int count = 0;
+		for(int i = 0; i < candidates.size(); i++) {
+			int titleId = candidates.get(i);
+			String title = normalizedTitles.get(titleId);
+			if(Math.abs(title.length() - normalizedQuery.length()) > edits
+					|| sharedGrams(lists, from, titleId, threshold) < threshold) {
+				continue;
+			}
+			int distance = EditDistance.bounded(normalizedQuery, title, edits);
+			if(distance > edits) {
+				continue;
+			}
+			if(count == ranked.length) {
+				ranked = Arrays.copyOf(ranked, count * 2);
+			}
+			ranked[count++] = ((long) distance << 32) | titleId;
+		}
+		Arrays.sort(ranked, 0, count);
+		int[] titleIds = new int[Math.min(count, limit)];
+		for(int i = 0; i < titleIds.length; i++) {
+			titleIds[i] = (int) ranked[i];
+		}
+		return titleIds;
+	}
+
+	// author names sounding like the query and spelled at most a third of it apart, closest first
+	public List<String> matchAuthors(String normalizedAuthor, int limit) {
+		List<String> authors = authorsByKey.get(PhoneticKey.ofAuthor(normalizedAuthor));
+		if(authors == null) {
+			return new ArrayList<>();
+		}
+		int maxEdits = Math.max(2, normalizedAuthor.length() / 3);
+		// distance in the high bits, position in authors in the low ones
+		long[] ranked = new long[authors.size()];
+		int count = 0;
+		for(int i = 0; i < authors.size(); i++) {
+			int distance = EditDistance.bounded(normalizedAuthor, authors.get(i), maxEdits);
+			if(distance <= maxEdits) {
+				ranked[count++] = ((long) distance << 32) | i;
+			}
+		}
+		Arrays.sort(ranked, 0, count);
+		List<String> matches = new ArrayList<>(Math.min(count, limit));
+		for(int i = 0; i < count && i < limit; i++) {
+			matches.add(authors.get((int) ranked[i]));
+		}
+		return matches;
+	}
+
+	// lists holding the title, stopping once the threshold is met or out of reach
+	private static int sharedGrams(PostingList[] lists, int[] from, int titleId, int threshold) {
+		int shared = 0;
+		for(int l = 0; l < lists.length; l++) {
+			if(shared >= threshold || shared + lists.length - l < threshold) {
+				break;
+			}
+			int index = lists[l].indexOf(titleId, from[l]);
+			if(index >= 0) {
+				from[l] = index + 1;
+				shared++;
+			} else {
+				from[l] = -index - 1;
+			}
+		}
+		return shared;
+	}
+
+	// distinct trigram codes of the text padded with two spaces either side, sorted
+	private static int[] grams(String text) {
+		int length = text.length() + 4;
+		int[] grams = new int[length - 2];
+		for(int i = 0; i < grams.length; i++) {
+			grams[i] = (symbol(text, i - 2) * ALPHABET + symbol(text, i - 1)) * ALPHABET + symbol(text, i);
+		}
+		Arrays.sort(grams);
+		int count = 0;
+		for(int i = 0; i < grams.length; i++) {
+			if(count == 0 || grams[count - 1] != grams[i]) {
+				grams[count++] = grams[i];
+			}
+		}
+		return Arrays.copyOf(grams, count);
+	}
+
+	private static int symbol(String text, int index) {
+		if(index < 0 || index >= text.length()) {
+			return 0;
+		}
+		char c = text.charAt(index);
+		if(c >= 'a' && c <= 'z') {
+			return 1 + c - 'a';
+		}
+		if(c >= '0' && c <= '9') {
+			return 27 + c - '0';
+		}
+		return c == ' ' ? 0 : ALPHABET - 1;
+	}
+}
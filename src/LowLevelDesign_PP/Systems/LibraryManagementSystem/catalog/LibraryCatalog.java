@@ -0,0 +1,370 @@
+package LibraryManagementSystem.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.book.BookDetails;
+import LibraryManagementSystem.user.Member;
+
+/**
+ * In-memory catalog of book copies and members with the indexes the searchers need.
+ *
+ * Copies sharing the same title, authors and publication date are one title, numbered in the
+ * order first seen. Titles are indexed by normalized title token and by normalized author name,
+ * each index mapping to a sorted {@link PostingList} of title ids, so a multi word title or a
+ * list of authors is a merge of posting lists; only the matching titles are expanded to copies.
+ * Copies and members are also hashed by id. A {@link FuzzyIndex} over the same titles and authors
+ * answers misspelled queries.
+ *
+ * Reads share a read lock, writes take the write lock; a bulk load takes it once for all rows.
+ */
+public class LibraryCatalog {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final IntObjectMap<BookCopy> copiesById = new IntObjectMap<>(INITIAL_CAPACITY);
+	// by title id
+	private final List<BookDetails> titles = new ArrayList<>();
+	private final List<String> normalizedTitles = new ArrayList<>();
+	private final List<PostingList> copiesByTitle = new ArrayList<>();
+	private final Map<String, Integer> titleIdsByKey = new HashMap<>();
+	// copies usually share their BookDetails object, which skips normalizing the key again
+	private final Map<BookDetails, Integer> titleIdsByDetails = new IdentityHashMap<>();
+	private final Map<String, PostingList> titlesByToken = new HashMap<>();
+	private final Map<String, PostingList> titlesByAuthor = new HashMap<>();
+	private final FuzzyIndex fuzzyIndex = new FuzzyIndex(normalizedTitles);
+
+	private final IntObjectMap<Member> membersById = new IntObjectMap<>(INITIAL_CAPACITY);
+	private final Map<String, PostingList> membersByName = new HashMap<>();
+
+	public void insertBookCopy(BookCopy bookCopy) {
+		insertBookCopies(Collections.singletonList(bookCopy));
+	}
+
+	// all or nothing: a duplicate copy id rejects the whole batch before anything is indexed
+	public void insertBookCopies(Collection<BookCopy> bookCopies) {
+		lock.writeLock().lock();
+		try {
+			IntObjectMap<BookCopy> batch = new IntObjectMap<>(bookCopies.size());
+			for(BookCopy bookCopy : bookCopies) {
+				if(bookCopy == null || bookCopy.getBookDetails() == null) {
+					throw new IllegalArgumentException("invalid params");
+				}
+				if(copiesById.get(bookCopy.getBookId()) != null || batch.put(bookCopy.getBookId(), bookCopy) != null) {
+					throw new IllegalStateException("Book copy " + bookCopy.getBookId() + " already exists");
+				}
+			}
+			copiesById.ensureCapacity(copiesById.size() + bookCopies.size());
+			for(BookCopy bookCopy : bookCopies) {
+				copiesById.put(bookCopy.getBookId(), bookCopy);
+				copiesByTitle.get(titleIdOf(bookCopy.getBookDetails())).add(bookCopy.getBookId());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// false when the copy is not in the catalog; the title stays indexed with no copies
+	public boolean deleteBookCopy(int copyId) {
+		lock.writeLock().lock();
+		try {
+			BookCopy bookCopy = copiesById.remove(copyId);
+			if(bookCopy == null) {
+				return false;
+			}
+			copiesByTitle.get(titleIdOf(bookCopy.getBookDetails())).remove(copyId);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public BookCopy getBookCopy(int copyId) {
+		lock.readLock().lock();
+		try {
+			return copiesById.get(copyId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int getBookCopyCount() {
+		lock.readLock().lock();
+		try {
+			return copiesById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int getTitleCount() {
+		lock.readLock().lock();
+		try {
+			return titles.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// id of the title the details belong to, -1 when no copy of it was ever added
+	public int getTitleId(BookDetails bookDetails) {
+		lock.readLock().lock();
+		try {
+			Integer titleId = titleIdsByDetails.get(bookDetails);
+			if(titleId == null) {
+				titleId = titleIdsByKey.get(titleKey(bookDetails));
+			}
+			return titleId == null ? -1 : titleId;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// ids of the title's copies still in the catalog, sorted
+	public int[] getCopyIds(int titleId) {
+		lock.readLock().lock();
+		try {
+			return titleId < 0 || titleId >= copiesByTitle.size() ? new int[0] : copiesByTitle.get(titleId).toArray();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// copies whose title matches the given one after normalization
+	public List<BookCopy> findByTitle(String bookName) {
+		List<String> tokens = TextNormalizer.tokens(bookName);
+		if(tokens.isEmpty()) {
+			return Collections.emptyList();
+		}
+		String normalized = TextNormalizer.normalize(bookName);
+		lock.readLock().lock();
+		try {
+			List<PostingList> lists = new ArrayList<>(tokens.size());
+			for(String token : tokens) {
+				PostingList list = titlesByToken.get(token);
+				if(list == null) {
+					return Collections.emptyList();
+				}
+				lists.add(list);
+			}
+			PostingList candidates = PostingList.intersect(lists);
+			PostingList matches = new PostingList();
+			for(int i = 0; i < candidates.size(); i++) {
+				if(normalizedTitles.get(candidates.get(i)).equals(normalized)) {
+					matches.add(candidates.get(i));
+				}
+			}
+			return expand(matches);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// copies of titles by any of the authors
+	public List<BookCopy> findByAnyAuthor(List<String> authors) {
+		return findByAuthors(authors, false);
+	}
+
+	// copies of titles written by all of the authors together
+	public List<BookCopy> findByAllAuthors(List<String> authors) {
+		return findByAuthors(authors, true);
+	}
+
+	// copies of the titles within maxEdits of the given one, closest title first, at most limit titles
+	public List<BookCopy> findBySimilarTitle(String bookName, int maxEdits, int limit) {
+		String normalized = TextNormalizer.normalize(bookName);
+		if(normalized.isEmpty() || maxEdits < 0 || limit <= 0) {
+			return Collections.emptyList();
+		}
+		lock.readLock().lock();
+		try {
+			return expand(fuzzyIndex.matchTitles(normalized, maxEdits, limit));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// copies of titles by authors whose names sound like any of the given ones, closest spelling first
+	public List<BookCopy> findBySimilarAuthor(List<String> authors, int limit) {
+		if(authors == null || authors.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		lock.readLock().lock();
+		try {
+			// the authors matching every query name, merged by distance; a title by two of them is listed once
+			List<String> matches = new ArrayList<>();
+			long[] ranked = new long[8];
+			for(String author : authors) {
+				String normalized = TextNormalizer.normalize(author);
+				if(normalized.isEmpty()) {
+					continue;
+				}
+				for(String match : fuzzyIndex.matchAuthors(normalized, limit)) {
+					if(matches.size() == ranked.length) {
+						ranked = Arrays.copyOf(ranked, ranked.length * 2);
+					}
+					ranked[matches.size()] = ((long) EditDistance.distance(normalized, match) << 32) | matches.size();
+					matches.add(match);
+				}
+			}
+			Arrays.sort(ranked, 0, matches.size());
+			PostingList seen = new PostingList();
+			int[] titleIds = new int[Math.min(limit, titles.size())];
+			int count = 0;
+			for(int r = 0; r < matches.size() && count < titleIds.length; r++) {
+				PostingList byAuthor = titlesByAuthor.get(matches.get((int) ranked[r]));
+				for(int i = 0; i < byAuthor.size() && count < titleIds.length; i++) {
+					if(!seen.contains(byAuthor.get(i))) {
+						seen.add(byAuthor.get(i));
+						titleIds[count++] = byAuthor.get(i);
+					}
+				}
+			}
+			return expand(Arrays.copyOf(titleIds, count));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void insertMember(Member member) {
+		if(member == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		lock.writeLock().lock();
+		try {
+			if(membersById.get(member.getId()) != null) {
+				throw new IllegalStateException("Member " + member.getId() + " already exists");
+			}
+			membersById.put(member.getId(), member);
+			membersByName.computeIfAbsent(TextNormalizer.normalize(member.getName()), name -> new PostingList()).add(member.getId());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public Member getMember(int memberId) {
+		lock.readLock().lock();
+		try {
+			return membersById.get(memberId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Member> findMembersByName(String memberName) {
+		lock.readLock().lock();
+		try {
+			PostingList memberIds = membersByName.get(TextNormalizer.normalize(memberName));
+			if(memberIds == null) {
+				return Collections.emptyList();
+			}
+			List<Member> members = new ArrayList<>(memberIds.size());
+			for(int i = 0; i < memberIds.size(); i++) {
+				members.add(membersById.get(memberIds.get(i)));
+			}
+			return members;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<BookCopy> findByAuthors(List<String> authors, boolean matchAll) {
+		if(authors == null || authors.isEmpty()) {
+			return Collections.emptyList();
+		}
+		lock.readLock().lock();
+		try {
+			List<PostingList> lists = new ArrayList<>(authors.size());
+			for(String author : authors) {
+				PostingList list = titlesByAuthor.get(TextNormalizer.normalize(author));
+				if(list != null) {
+					lists.add(list);
+				} else if(matchAll) {
+					return Collections.emptyList();
+				}
+			}
+			return expand(matchAll ? PostingList.intersect(lists) : PostingList.union(lists));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// copies of the titles, in title then copy id order; caller holds the read lock
+	private List<BookCopy> expand(PostingList titleIds) {
+		return expand(titleIds.toArray());
+	}
+
+	// copies of the titles in the given order; caller holds the read lock
+	private List<BookCopy> expand(int[] titleIds) {
+		List<BookCopy> bookCopies = new ArrayList<>();
+		for(int titleId : titleIds) {
+			PostingList copyIds = copiesByTitle.get(titleId);
+			for(int c = 0; c < copyIds.size(); c++) {
+				bookCopies.add(copiesById.get(copyIds.get(c)));
+			}
+		}
+		return bookCopies;
+	}
+
+	// existing title id, or a new one with its tokens and authors indexed; caller holds the write lock
+	private int titleIdOf(BookDetails bookDetails) {
+		Integer titleId = titleIdsByDetails.get(bookDetails);
+		if(titleId != null) {
+			return titleId;
+		}
+		String key = titleKey(bookDetails);
+		titleId = titleIdsByKey.get(key);
+		if(titleId != null) {
+			titleIdsByDetails.put(bookDetails, titleId);
+			return titleId;
+		}
+		int newTitleId = titles.size();
+		titleIdsByKey.put(key, newTitleId);
+		titleIdsByDetails.put(bookDetails, newTitleId);
+		titles.add(bookDetails);
+		normalizedTitles.add(TextNormalizer.normalize(bookDetails.getBookName()));
+		copiesByTitle.add(new PostingList());
+		for(String token : TextNormalizer.tokens(bookDetails.getBookName())) {
+			titlesByToken.computeIfAbsent(token, t -> new PostingList()).add(newTitleId);
+		}
+		fuzzyIndex.addTitle(newTitleId, normalizedTitles.get(newTitleId));
+		if(bookDetails.getAuthors() != null) {
+			for(String author : bookDetails.getAuthors()) {
+				String normalized = TextNormalizer.normalize(author);
+				PostingList byAuthor = titlesByAuthor.get(normalized);
+				if(byAuthor == null) {
+					byAuthor = new PostingList();
+					titlesByAuthor.put(normalized, byAuthor);
+					fuzzyIndex.addAuthor(normalized);
+				}
+				byAuthor.add(newTitleId);
+			}
+		}
+		return newTitleId;
+	}
+
+	private static String titleKey(BookDetails bookDetails) {
+		StringBuilder key = new StringBuilder(TextNormalizer.normalize(bookDetails.getBookName()));
+		key.append('\u0000');
+		if(bookDetails.getAuthors() != null) {
+			for(String author : bookDetails.getAuthors()) {
+				key.append(TextNormalizer.normalize(author)).append('\u0001');
+			}
+		}
+		key.append('\u0000');
+		if(bookDetails.getPublicationDate() != null) {
+			key.append(bookDetails.getPublicationDate().getTime());
+		}
+		return key.toString();
+	}
+}
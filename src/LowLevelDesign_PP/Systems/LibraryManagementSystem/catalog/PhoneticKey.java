@@ -0,0 +1,54 @@
+package LibraryManagementSystem.catalog;
+
+/**
+ * Soundex codes for author names, so "Stefen King" and "Stephen King" or "Tery Pratchet" and
+ * "Terry Pratchett" share a key. Works on normalized text.
+ */
+public class PhoneticKey {
+
+	// digit for each letter a..z, '0' for vowels and the letters soundex skips
+	private static final String CODES = "01230120022455012623010202";
+
+	private PhoneticKey() {
+
+	}
+
+	// first letter and three consonant digits, e.g. "pratchett" -> "p632"; digits are kept as they are
+	public static String soundex(String token) {
+		if(token.isEmpty() || !isLetter(token.charAt(0))) {
+			return token;
+		}
+		StringBuilder key = new StringBuilder(4);
+		char first = token.charAt(0);
+		key.append(first);
+		char last = CODES.charAt(first - 'a');
+		for(int i = 1; i < token.length() && key.length() < 4; i++) {
+			char c = token.charAt(i);
+			if(!isLetter(c)) {
+				continue;
+			}
+			char code = CODES.charAt(c - 'a');
+			if(code != '0' && code != last) {
+				key.append(code);
+			}
+			// h and w do not separate two equal codes, vowels do
+			if(c != 'h' && c != 'w') {
+				last = code;
+			}
+		}
+		while(key.length() < 4) {
+			key.append('0');
+		}
+		return key.toString();
+	}
+
+	// an author is keyed by the surname, the last word of the name
+	public static String ofAuthor(String normalizedAuthor) {
+		int space = normalizedAuthor.lastIndexOf(' ');
+		return soundex(normalizedAuthor.substring(space + 1));
+	}
+
+	private static boolean isLetter(char c) {
+		return c >= 'a' && c <= 'z';
+	}
+}
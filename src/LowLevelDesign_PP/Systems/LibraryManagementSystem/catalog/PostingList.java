@@ -0,0 +1,174 @@
+package LibraryManagementSystem.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted set of ints in a growable array. Catalog ids are handed out in increasing order, so
+ * adding to an index is an append; union and intersection are linear merges.
+ * Not thread safe, the catalog guards it.
+ */
+public class PostingList {
+
+	private static final int[] EMPTY = new int[0];
+
+	private int[] ids;
+	private int size;
+
+	public PostingList() {
+		this.ids = EMPTY;
+	}
+
+	private PostingList(int[] ids, int size) {
+		this.ids = ids;
+		this.size = size;
+	}
+
+	public void add(int id) {
+		if(size > 0 && ids[size - 1] >= id) {
+			int index = Arrays.binarySearch(ids, 0, size, id);
+			if(index >= 0) {
+				return;
+			}
+			insertAt(-index - 1, id);
+			return;
+		}
+		insertAt(size, id);
+	}
+
+	public boolean remove(int id) {
+		int index = Arrays.binarySearch(ids, 0, size, id);
+		if(index < 0) {
+			return false;
+		}
+		System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+		size--;
+		return true;
+	}
+
+	public boolean contains(int id) {
+		return Arrays.binarySearch(ids, 0, size, id) >= 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int get(int index) {
+		return ids[index];
+	}
+
+	// Arrays.binarySearch from the given index on, so a sorted run of probes can resume where the last one ended
+	public int indexOf(int id, int from) {
+		return Arrays.binarySearch(ids, from, size, id);
+	}
+
+	public int[] toArray() {
+		return Arrays.copyOf(ids, size);
+	}
+
+	// ids in any of the lists
+	public static PostingList union(List<PostingList> lists) {
+		if(lists.size() <= 2) {
+			PostingList result = new PostingList();
+			for(PostingList list : lists) {
+				result = merge(result, list);
+			}
+			return result;
+		}
+		// many lists: one sort beats merging them pairwise
+		int total = 0;
+		for(PostingList list : lists) {
+			total += list.size;
+		}
+		int[] all = new int[total];
+		int offset = 0;
+		for(PostingList list : lists) {
+			System.arraycopy(list.ids, 0, all, offset, list.size);
+			offset += list.size;
+		}
+		Arrays.sort(all);
+		int count = 0;
+		for(int i = 0; i < total; i++) {
+			if(count == 0 || all[count - 1] != all[i]) {
+				all[count++] = all[i];
+			}
+		}
+		return new PostingList(all, count);
+	}
+
+	// ids in every list; an empty input matches nothing
+	public static PostingList intersect(List<PostingList> lists) {
+		if(lists.isEmpty()) {
+			return new PostingList();
+		}
+		List<PostingList> bySize = new ArrayList<>(lists);
+		bySize.sort(Comparator.comparingInt(PostingList::size));
+		// walk the shortest list and probe the others, which binary searches far fewer ids
+		PostingList shortest = bySize.get(0);
+		int[] result = new int[shortest.size];
+		int count = 0;
+		int[] from = new int[bySize.size()];
+		for(int i = 0; i < shortest.size; i++) {
+			int id = shortest.ids[i];
+			boolean inAll = true;
+			for(int l = 1; l < bySize.size() && inAll; l++) {
+				PostingList other = bySize.get(l);
+				int index = Arrays.binarySearch(other.ids, from[l], other.size, id);
+				if(index >= 0) {
+					from[l] = index + 1;
+				} else {
+					from[l] = -index - 1;
+					inAll = false;
+				}
+			}
+			if(inAll) {
+				result[count++] = id;
+			}
+		}
+		return new PostingList(result, count);
+	}
+
+	private static PostingList merge(PostingList a, PostingList b) {
+		int[] result = new int[a.size + b.size];
+		int i = 0;
+		int j = 0;
+		int count = 0;
+		while(i < a.size && j < b.size) {
+			int x = a.ids[i];
+			int y = b.ids[j];
+			if(x <= y) {
+				result[count++] = x;
+				i++;
+				if(x == y) {
+					j++;
+				}
+			} else {
+				result[count++] = y;
+				j++;
+			}
+		}
+		while(i < a.size) {
+			result[count++] = a.ids[i++];
+		}
+		while(j < b.size) {
+			result[count++] = b.ids[j++];
+		}
+		return new PostingList(result, count);
+	}
+
+	private void insertAt(int index, int id) {
+		if(size == ids.length) {
+			ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1) + 1));
+		}
+		System.arraycopy(ids, index, ids, index + 1, size - index);
+		ids[index] = id;
+		size++;
+	}
+}
@@ -0,0 +1,57 @@
+package LibraryManagementSystem.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Case, accent and punctuation folding shared by every index, so an accented "Les Miserables",
+ * "les miserables" and "LES MISERABLES!" all index and query the same way.
+ */
+public class TextNormalizer {
+
+	private TextNormalizer() {
+		
+	}
+
+	// lower case letters and digits, single spaces between words
+	public static String normalize(String text) {
+		if(text == null) {
+			return "";
+		}
+		String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+		StringBuilder normalized = new StringBuilder(folded.length());
+		boolean pendingSpace = false;
+		for(int i = 0; i < folded.length(); i++) {
+			char c = folded.charAt(i);
+			if(Character.getType(c) == Character.NON_SPACING_MARK) {
+				continue;
+			}
+			if(Character.isLetterOrDigit(c)) {
+				if(pendingSpace && normalized.length() > 0) {
+					normalized.append(' ');
+				}
+				pendingSpace = false;
+				normalized.append(Character.toLowerCase(c));
+			} else {
+				pendingSpace = true;
+			}
+		}
+		return normalized.toString();
+	}
+
+	public static List<String> tokens(String text) {
+		List<String> tokens = new ArrayList<>();
+		String normalized = normalize(text);
+		int start = 0;
+		while(start < normalized.length()) {
+			int end = normalized.indexOf(' ', start);
+			if(end < 0) {
+				end = normalized.length();
+			}
+			tokens.add(normalized.substring(start, end));
+			start = end + 1;
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,122 @@
+package LibraryManagementSystem.circulation;
+
+/**
+ * Issue, return and delete of copies without a global lock.
+ *
+ * A copy moves between AVAILABLE, ISSUED and DELETED by compare and set on its slot in the
+ * {@link CopyStateTable}, so of two racing issues, or an issue racing a delete, exactly one wins.
+ * Issues and returns make that move under the member's stripe of the {@link MemberLoanIndex},
+ * which checks the loan limit and records the copy in the member's loans in the same step, so
+ * the borrower of a copy and the loans of a member always agree.
+ */
+public class CirculationEngine {
+
+	private final CopyStateTable copies = new CopyStateTable();
+	private final MemberLoanIndex loans;
+	private final CirculationPolicy policy;
+
+	public CirculationEngine(CirculationPolicy policy) {
+		super();
+		if(policy == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.loans = new MemberLoanIndex(policy);
+		this.policy = policy;
+	}
+
+	public CirculationEngine() {
+		this(CirculationPolicy.defaultPolicy());
+	}
+
+	public CirculationPolicy getPolicy() {
+		return policy;
+	}
+
+	// false when the copy is already in circulation
+	public boolean register(int copyId) {
+		return copies.register(copyId);
+	}
+
+	public CirculationStatus issue(int copyId, int memberId) {
+		CirculationStatus status = loans.issue(memberId, copyId, copies);
+		if(status != CirculationStatus.NOT_AVAILABLE) {
+			return status;
+		}
+		return isInCirculation(copyId) ? CirculationStatus.NOT_AVAILABLE : CirculationStatus.NOT_FOUND;
+	}
+
+	public CirculationStatus submit(int copyId, int memberId) {
+		return submit(copyId, memberId, CopyStateTable.NO_BORROWER);
+	}
+
+	// returns the copy and sets it aside for nextHolderId in the same step, see CopyStateTable.submit
+	public CirculationStatus submit(int copyId, int memberId, int nextHolderId) {
+		if(loans.submit(memberId, copyId, copies, nextHolderId)) {
+			return CirculationStatus.OK;
+		}
+		switch(copies.getState(copyId)) {
+		case CopyStateTable.ISSUED:
+			return CirculationStatus.NOT_BORROWER;
+		case CopyStateTable.AVAILABLE:
+		case CopyStateTable.ON_HOLD:
+			return CirculationStatus.NOT_ISSUED;
+		default:
+			return CirculationStatus.NOT_FOUND;
+		}
+	}
+
+	// sets a copy on the shelf aside for the member
+	public boolean hold(int copyId, int memberId) {
+		return copies.hold(copyId, memberId);
+	}
+
+	// the held copy goes to the next member waiting, or back to the shelf for CopyStateTable.NO_BORROWER
+	public boolean passHold(int copyId, int fromMemberId, int toMemberId) {
+		return copies.passHold(copyId, fromMemberId, toMemberId);
+	}
+
+	// takes the copy out of circulation only if it is on the shelf, in one step
+	public boolean delete(int copyId) {
+		return copies.delete(copyId);
+	}
+
+	public void blockMember(int memberId) {
+		loans.setBlocked(memberId, true);
+	}
+
+	public void unblockMember(int memberId) {
+		loans.setBlocked(memberId, false);
+	}
+
+	public boolean isBlocked(int memberId) {
+		return loans.isBlocked(memberId);
+	}
+
+	public boolean isAvailable(int copyId) {
+		return copies.getState(copyId) == CopyStateTable.AVAILABLE;
+	}
+
+	// CopyStateTable.NO_BORROWER unless the copy is issued
+	public int getBorrower(int copyId) {
+		return copies.getBorrower(copyId);
+	}
+
+	// CopyStateTable.NO_BORROWER unless the copy is on hold
+	public int getHolder(int copyId) {
+		return copies.getHolder(copyId);
+	}
+
+	public int getLoanCount(int memberId) {
+		return loans.getLoanCount(memberId);
+	}
+
+	// ids of the copies the member holds, sorted
+	public int[] getLoans(int memberId) {
+		return loans.getLoans(memberId);
+	}
+
+	private boolean isInCirculation(int copyId) {
+		int state = copies.getState(copyId);
+		return state == CopyStateTable.AVAILABLE || state == CopyStateTable.ISSUED || state == CopyStateTable.ON_HOLD;
+	}
+}
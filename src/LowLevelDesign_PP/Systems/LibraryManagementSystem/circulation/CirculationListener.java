@@ -0,0 +1,22 @@
+package LibraryManagementSystem.circulation;
+
+/**
+ * Notifications from the {@link LoanScheduler}, called on the thread that runs the scheduler,
+ * outside its locks.
+ */
+public interface CirculationListener {
+
+	public default void onOverdue(int copyId, int memberId, long dueAtMillis) {
+
+	}
+
+	// the copy is set aside for the member until expiresAtMillis
+	public default void onHoldReady(int copyId, int memberId, long expiresAtMillis) {
+
+	}
+
+	// the member did not pick the copy up in time
+	public default void onHoldExpired(int copyId, int memberId) {
+
+	}
+}
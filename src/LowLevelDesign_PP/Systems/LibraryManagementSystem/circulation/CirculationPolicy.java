@@ -0,0 +1,56 @@
+package LibraryManagementSystem.circulation;
+
+import java.util.concurrent.TimeUnit;
+
+public class CirculationPolicy {
+
+	// copies a member may hold at once
+	private final int maxLoansPerMember;
+	// locks guarding the per member loans, a power of two
+	private final int loanStripes;
+	// an issued copy is due back this long after the issue
+	private final long loanPeriodMillis;
+	// a copy set aside for a hold waits this long to be picked up
+	private final long holdPickupMillis;
+	// resolution of due dates and hold expiry
+	private final long tickMillis;
+
+	public CirculationPolicy(int maxLoansPerMember, int loanStripes, long loanPeriodMillis, long holdPickupMillis,
+			long tickMillis) {
+		super();
+		if(maxLoansPerMember <= 0 || loanStripes <= 0 || Integer.bitCount(loanStripes) != 1 || loanPeriodMillis <= 0
+				|| holdPickupMillis <= 0 || tickMillis <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.maxLoansPerMember = maxLoansPerMember;
+		this.loanStripes = loanStripes;
+		this.loanPeriodMillis = loanPeriodMillis;
+		this.holdPickupMillis = holdPickupMillis;
+		this.tickMillis = tickMillis;
+	}
+
+	public static CirculationPolicy defaultPolicy() {
+		return new CirculationPolicy(5, 64, TimeUnit.DAYS.toMillis(14), TimeUnit.DAYS.toMillis(3),
+				TimeUnit.MINUTES.toMillis(1));
+	}
+
+	public int getMaxLoansPerMember() {
+		return maxLoansPerMember;
+	}
+
+	public int getLoanStripes() {
+		return loanStripes;
+	}
+
+	public long getLoanPeriodMillis() {
+		return loanPeriodMillis;
+	}
+
+	public long getHoldPickupMillis() {
+		return holdPickupMillis;
+	}
+
+	public long getTickMillis() {
+		return tickMillis;
+	}
+}
@@ -0,0 +1,17 @@
+package LibraryManagementSystem.circulation;
+
+public enum CirculationStatus {
+	OK,
+	// the copy was never added or has been deleted
+	NOT_FOUND,
+	// issue of a copy someone else holds
+	NOT_AVAILABLE,
+	// return of a copy that is on the shelf
+	NOT_ISSUED,
+	// return by a member who does not hold the copy
+	NOT_BORROWER,
+	LIMIT_REACHED,
+	MEMBER_BLOCKED,
+	// hold by a member already waiting for the title
+	ALREADY_WAITING
+}
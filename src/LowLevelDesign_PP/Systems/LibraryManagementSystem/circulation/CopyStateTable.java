@@ -0,0 +1,138 @@
+package LibraryManagementSystem.circulation;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * State and borrower of every copy, one long per copy id: the state in the high word and the
+ * borrowing, or for a copy on hold the waiting, member id in the low word, so both change
+ * together in a single compare and set.
+ * Ids are split into fixed size chunks allocated on first use; the chunk directory is copied on
+ * write, so lookups never lock.
+ */
+public class CopyStateTable {
+
+	public static final int UNKNOWN = 0;
+	public static final int AVAILABLE = 1;
+	public static final int ISSUED = 2;
+	public static final int DELETED = 3;
+	// set aside for a member with a hold
+	public static final int ON_HOLD = 4;
+
+	public static final int NO_BORROWER = -1;
+
+	private static final int CHUNK_BITS = 12;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	private volatile AtomicLongArray[] chunks = new AtomicLongArray[16];
+
+	// a new copy, or a deleted one added back; false when it is already in circulation
+	public boolean register(int copyId) {
+		AtomicLongArray chunk = chunkOf(copyId, true);
+		int slot = copyId & (CHUNK_SIZE - 1);
+		while(true) {
+			long current = chunk.get(slot);
+			if(stateOf(current) != UNKNOWN && stateOf(current) != DELETED) {
+				return false;
+			}
+			if(chunk.compareAndSet(slot, current, word(AVAILABLE, NO_BORROWER))) {
+				return true;
+			}
+		}
+	}
+
+	// from the shelf, or the copy held for this member
+	public boolean issue(int copyId, int memberId) {
+		return transition(copyId, word(AVAILABLE, NO_BORROWER), word(ISSUED, memberId))
+				|| transition(copyId, word(ON_HOLD, memberId), word(ISSUED, memberId));
+	}
+
+	public boolean hold(int copyId, int memberId) {
+		return transition(copyId, word(AVAILABLE, NO_BORROWER), word(ON_HOLD, memberId));
+	}
+
+	// hands a held copy to the next member waiting, or back to the shelf for NO_BORROWER
+	public boolean passHold(int copyId, int fromMemberId, int toMemberId) {
+		long next = toMemberId == NO_BORROWER ? word(AVAILABLE, NO_BORROWER) : word(ON_HOLD, toMemberId);
+		return transition(copyId, word(ON_HOLD, fromMemberId), next);
+	}
+
+	public boolean submit(int copyId, int memberId) {
+		return submit(copyId, memberId, NO_BORROWER);
+	}
+
+	// straight from the borrower to a hold for the next member waiting, so the copy is never on
+	// the shelf in between; back to the shelf for NO_BORROWER
+	public boolean submit(int copyId, int memberId, int nextHolderId) {
+		long next = nextHolderId == NO_BORROWER ? word(AVAILABLE, NO_BORROWER) : word(ON_HOLD, nextHolderId);
+		return transition(copyId, word(ISSUED, memberId), next);
+	}
+
+	// only a copy on the shelf can be deleted
+	public boolean delete(int copyId) {
+		return transition(copyId, word(AVAILABLE, NO_BORROWER), word(DELETED, NO_BORROWER));
+	}
+
+	public int getState(int copyId) {
+		return stateOf(read(copyId));
+	}
+
+	// NO_BORROWER unless the copy is issued
+	public int getBorrower(int copyId) {
+		long current = read(copyId);
+		return stateOf(current) == ISSUED ? (int) current : NO_BORROWER;
+	}
+
+	// NO_BORROWER unless the copy is on hold
+	public int getHolder(int copyId) {
+		long current = read(copyId);
+		return stateOf(current) == ON_HOLD ? (int) current : NO_BORROWER;
+	}
+
+	private boolean transition(int copyId, long expected, long next) {
+		AtomicLongArray chunk = chunkOf(copyId, false);
+		return chunk != null && chunk.compareAndSet(copyId & (CHUNK_SIZE - 1), expected, next);
+	}
+
+	private long read(int copyId) {
+		AtomicLongArray chunk = chunkOf(copyId, false);
+		return chunk == null ? word(UNKNOWN, NO_BORROWER) : chunk.get(copyId & (CHUNK_SIZE - 1));
+	}
+
+	private AtomicLongArray chunkOf(int copyId, boolean create) {
+		if(copyId < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		int index = copyId >>> CHUNK_BITS;
+		AtomicLongArray[] directory = chunks;
+		if(index < directory.length && directory[index] != null) {
+			return directory[index];
+		}
+		if(!create) {
+			return null;
+		}
+		synchronized(this) {
+			directory = chunks;
+			if(index < directory.length && directory[index] != null) {
+				return directory[index];
+			}
+			AtomicLongArray[] grown = Arrays.copyOf(directory, Math.max(directory.length, Integer.highestOneBit(index) << 1));
+			AtomicLongArray chunk = new AtomicLongArray(CHUNK_SIZE);
+			// slots start as UNKNOWN with no borrower
+			for(int i = 0; i < CHUNK_SIZE; i++) {
+				chunk.lazySet(i, word(UNKNOWN, NO_BORROWER));
+			}
+			grown[index] = chunk;
+			chunks = grown;
+			return chunk;
+		}
+	}
+
+	private static long word(int state, int memberId) {
+		return ((long) state << 32) | (memberId & 0xffffffffL);
+	}
+
+	private static int stateOf(long word) {
+		return (int) (word >>> 32);
+	}
+}
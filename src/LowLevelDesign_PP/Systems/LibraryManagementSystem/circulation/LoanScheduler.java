@@ -0,0 +1,312 @@
+package LibraryManagementSystem.circulation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.book.BookDetails;
+import LibraryManagementSystem.catalog.IntObjectMap;
+import LibraryManagementSystem.catalog.LibraryCatalog;
+import LibraryManagementSystem.scheduler.LibraryClock;
+import LibraryManagementSystem.scheduler.TimingWheel;
+
+/**
+ * Due dates and holds on top of the {@link CirculationEngine}.
+ *
+ * Every copy has at most one timer on a {@link TimingWheel}: its due date while issued, its pickup
+ * expiry while on hold. Issues and returns replace or cancel it in O(1) and each expiry is handled
+ * on its own, so nothing scans all loans. Members waiting for a title queue on it first come first
+ * served. A returned copy moves from its borrower to a hold for the next member waiting in one
+ * compare and set, and an expired hold passes the same way, so a walk-in issue cannot take it in
+ * between; only a copy nobody waits for goes back to the shelf.
+ *
+ * Timers fire from {@link #runExpired()}, called by the scheduler thread after {@link #start()} or
+ * by hand with a {@link LibraryManagementSystem.scheduler.VirtualClock}.
+ */
+public class LoanScheduler {
+
+	private static class CopyTimer {
+		private final int copyId;
+		private final int memberId;
+		// pickup expiry of a hold, otherwise a due date
+		private final boolean hold;
+		private final long deadlineMillis;
+
+		private CopyTimer(int copyId, int memberId, boolean hold, long deadlineMillis) {
+			this.copyId = copyId;
+			this.memberId = memberId;
+			this.hold = hold;
+			this.deadlineMillis = deadlineMillis;
+		}
+	}
+
+	private final LibraryCatalog catalog;
+	private final CirculationEngine circulation;
+	private final LibraryClock clock;
+	private final long loanPeriodMillis;
+	private final long holdPickupMillis;
+	private final long tickMillis;
+	private final TimingWheel<CopyTimer> wheel;
+	// by copy id, guarded by itself
+	private final IntObjectMap<TimingWheel.Timeout<CopyTimer>> timers = new IntObjectMap<>(1024);
+	// member ids waiting, by title id; each queue is guarded by itself
+	private final Map<Integer, ArrayDeque<Integer>> holdQueues = new ConcurrentHashMap<>();
+	private final List<CirculationListener> listeners = new CopyOnWriteArrayList<>();
+
+	private ScheduledExecutorService executor;
+
+	public LoanScheduler(LibraryCatalog catalog, CirculationEngine circulation, LibraryClock clock) {
+		super();
+		if(catalog == null || circulation == null || clock == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		CirculationPolicy policy = circulation.getPolicy();
+		this.catalog = catalog;
+		this.circulation = circulation;
+		this.clock = clock;
+		this.loanPeriodMillis = policy.getLoanPeriodMillis();
+		this.holdPickupMillis = policy.getHoldPickupMillis();
+		this.tickMillis = policy.getTickMillis();
+		this.wheel = new TimingWheel<>(tickMillis, clock.millis());
+	}
+
+	public void addListener(CirculationListener listener) {
+		listeners.add(listener);
+	}
+
+	// issues the copy and starts its loan period
+	public CirculationStatus issue(int copyId, int memberId) {
+		CirculationStatus status = circulation.issue(copyId, memberId);
+		if(status == CirculationStatus.OK) {
+			replaceTimer(new CopyTimer(copyId, memberId, false, clock.millis() + loanPeriodMillis));
+		}
+		return status;
+	}
+
+	// takes the copy back and hands it to the first member waiting for the title, if any
+	public CirculationStatus submit(int copyId, int memberId) {
+		int titleId = titleIdOf(copyId);
+		ArrayDeque<Integer> queue = holdQueues.get(titleId);
+		List<CopyTimer> ready = new ArrayList<>(1);
+		CirculationStatus status;
+		if(queue == null) {
+			status = circulation.submit(copyId, memberId);
+			if(status != CirculationStatus.OK) {
+				return status;
+			}
+			cancelTimer(copyId);
+			// a member may have queued while the copy was still out; offer it from the shelf
+			queue = holdQueues.get(titleId);
+			if(queue != null) {
+				synchronized(queue) {
+					int next = nextWaiting(queue);
+					if(next != CopyStateTable.NO_BORROWER && circulation.hold(copyId, next)) {
+						queue.poll();
+						ready.add(startHold(copyId, next));
+					}
+				}
+			}
+		} else {
+			synchronized(queue) {
+				int next = nextWaiting(queue);
+				status = circulation.submit(copyId, memberId, next);
+				if(status != CirculationStatus.OK) {
+					return status;
+				}
+				cancelTimer(copyId);
+				if(next != CopyStateTable.NO_BORROWER) {
+					queue.poll();
+					ready.add(startHold(copyId, next));
+				}
+			}
+		}
+		notifyReady(ready);
+		return status;
+	}
+
+	// sets a copy of the title aside for the member, or queues them until one comes back
+	public CirculationStatus placeHold(int memberId, BookDetails bookDetails) {
+		if(circulation.isBlocked(memberId)) {
+			return CirculationStatus.MEMBER_BLOCKED;
+		}
+		int titleId = bookDetails == null ? -1 : catalog.getTitleId(bookDetails);
+		if(titleId < 0) {
+			return CirculationStatus.NOT_FOUND;
+		}
+		List<CopyTimer> ready = new ArrayList<>(1);
+		ArrayDeque<Integer> queue = holdQueues.computeIfAbsent(titleId, id -> new ArrayDeque<>());
+		synchronized(queue) {
+			if(queue.contains(memberId)) {
+				return CirculationStatus.ALREADY_WAITING;
+			}
+			int[] copyIds = catalog.getCopyIds(titleId);
+			for(int copyId : copyIds) {
+				if(circulation.getHolder(copyId) == memberId) {
+					return CirculationStatus.ALREADY_WAITING;
+				}
+			}
+			// copies on the shelf only while nobody is ahead in the queue
+			for(int i = 0; i < copyIds.length && queue.isEmpty() && ready.isEmpty(); i++) {
+				if(circulation.hold(copyIds[i], memberId)) {
+					ready.add(startHold(copyIds[i], memberId));
+				}
+			}
+			if(ready.isEmpty()) {
+				queue.add(memberId);
+			}
+		}
+		notifyReady(ready);
+		return CirculationStatus.OK;
+	}
+
+	// members waiting for the title, not counting one whose copy is already set aside
+	public int getWaitingCount(BookDetails bookDetails) {
+		ArrayDeque<Integer> queue = holdQueues.get(catalog.getTitleId(bookDetails));
+		if(queue == null) {
+			return 0;
+		}
+		synchronized(queue) {
+			return queue.size();
+		}
+	}
+
+	// due date of an issued copy, -1 when it is not issued
+	public long getDueAtMillis(int copyId) {
+		synchronized(timers) {
+			TimingWheel.Timeout<CopyTimer> timeout = timers.get(copyId);
+			return timeout == null || timeout.getTask().hold ? -1 : timeout.getTask().deadlineMillis;
+		}
+	}
+
+	// fires every timer due by now; returns how many fired
+	public int runExpired() {
+		List<CopyTimer> expired = new ArrayList<>();
+		wheel.advanceTo(clock.millis(), expired);
+		for(CopyTimer timer : expired) {
+			if(!claimTimer(timer)) {
+				continue;
+			}
+			if(timer.hold) {
+				expireHold(timer);
+			} else if(circulation.getBorrower(timer.copyId) == timer.memberId) {
+				for(CirculationListener listener : listeners) {
+					listener.onOverdue(timer.copyId, timer.memberId, timer.deadlineMillis);
+				}
+			}
+		}
+		return expired.size();
+	}
+
+	public synchronized void start() {
+		if(executor != null) {
+			return;
+		}
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "loan-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleAtFixedRate(this::runExpired, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public synchronized void stop() {
+		if(executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	// the copy was not picked up: on to the next member waiting, or back to the shelf
+	private void expireHold(CopyTimer timer) {
+		List<CopyTimer> ready = new ArrayList<>(1);
+		ArrayDeque<Integer> queue = holdQueues.get(titleIdOf(timer.copyId));
+		boolean passed;
+		if(queue == null) {
+			passed = circulation.passHold(timer.copyId, timer.memberId, CopyStateTable.NO_BORROWER);
+		} else {
+			synchronized(queue) {
+				int next = nextWaiting(queue);
+				passed = circulation.passHold(timer.copyId, timer.memberId, next);
+				if(passed && next != CopyStateTable.NO_BORROWER) {
+					queue.poll();
+					ready.add(startHold(timer.copyId, next));
+				}
+			}
+		}
+		// the member picked it up, or the copy was deleted, after the timer fired
+		if(!passed) {
+			return;
+		}
+		for(CirculationListener listener : listeners) {
+			listener.onHoldExpired(timer.copyId, timer.memberId);
+		}
+		notifyReady(ready);
+	}
+
+	// first member waiting who is not blocked, dropping blocked ones; caller holds the queue
+	private int nextWaiting(ArrayDeque<Integer> queue) {
+		while(!queue.isEmpty() && circulation.isBlocked(queue.peek())) {
+			queue.poll();
+		}
+		return queue.isEmpty() ? CopyStateTable.NO_BORROWER : queue.peek();
+	}
+
+	private CopyTimer startHold(int copyId, int memberId) {
+		CopyTimer timer = new CopyTimer(copyId, memberId, true, clock.millis() + holdPickupMillis);
+		replaceTimer(timer);
+		return timer;
+	}
+
+	private void notifyReady(List<CopyTimer> ready) {
+		for(CopyTimer timer : ready) {
+			for(CirculationListener listener : listeners) {
+				listener.onHoldReady(timer.copyId, timer.memberId, timer.deadlineMillis);
+			}
+		}
+	}
+
+	private void replaceTimer(CopyTimer timer) {
+		synchronized(timers) {
+			TimingWheel.Timeout<CopyTimer> previous = timers.put(timer.copyId, wheel.schedule(timer.deadlineMillis, timer));
+			if(previous != null) {
+				wheel.cancel(previous);
+			}
+		}
+	}
+
+	private void cancelTimer(int copyId) {
+		synchronized(timers) {
+			TimingWheel.Timeout<CopyTimer> previous = timers.remove(copyId);
+			if(previous != null) {
+				wheel.cancel(previous);
+			}
+		}
+	}
+
+	// false for a timer replaced or cancelled after the wheel handed it out; a due date stays
+	// readable until the copy comes back
+	private boolean claimTimer(CopyTimer timer) {
+		synchronized(timers) {
+			TimingWheel.Timeout<CopyTimer> current = timers.get(timer.copyId);
+			if(current == null || current.getTask() != timer) {
+				return false;
+			}
+			if(timer.hold) {
+				timers.remove(timer.copyId);
+			}
+			return true;
+		}
+	}
+
+	private int titleIdOf(int copyId) {
+		BookCopy bookCopy = catalog.getBookCopy(copyId);
+		return bookCopy == null ? -1 : catalog.getTitleId(bookCopy.getBookDetails());
+	}
+}
@@ -0,0 +1,128 @@
+package LibraryManagementSystem.circulation;
+
+import LibraryManagementSystem.catalog.IntObjectMap;
+import LibraryManagementSystem.catalog.PostingList;
+
+/**
+ * The copies each member holds, and their block, spread over lock stripes by member id so members
+ * on different stripes never wait on each other. The copy's compare and set in the
+ * {@link CopyStateTable} happens under the member's stripe lock, so the copy to member and the
+ * member to copies views change together. A member with no loans and no block has no entry.
+ */
+public class MemberLoanIndex {
+
+	private static class MemberLoans {
+		// copy ids, sorted
+		private final PostingList copyIds = new PostingList();
+		private boolean blocked;
+	}
+
+	private static final int[] NO_LOANS = new int[0];
+
+	private final int maxLoansPerMember;
+	private final IntObjectMap<MemberLoans>[] stripes;
+
+	@SuppressWarnings("unchecked")
+	public MemberLoanIndex(CirculationPolicy policy) {
+		this.maxLoansPerMember = policy.getMaxLoansPerMember();
+		this.stripes = (IntObjectMap<MemberLoans>[]) new IntObjectMap<?>[policy.getLoanStripes()];
+		for(int i = 0; i < stripes.length; i++) {
+			stripes[i] = new IntObjectMap<>(16);
+		}
+	}
+
+	// NOT_AVAILABLE when the copy could not be moved from the shelf to the member
+	public CirculationStatus issue(int memberId, int copyId, CopyStateTable copies) {
+		IntObjectMap<MemberLoans> stripe = stripeOf(memberId);
+		synchronized(stripe) {
+			MemberLoans memberLoans = stripe.get(memberId);
+			if(memberLoans != null && memberLoans.blocked) {
+				return CirculationStatus.MEMBER_BLOCKED;
+			}
+			if(memberLoans != null && memberLoans.copyIds.size() >= maxLoansPerMember) {
+				return CirculationStatus.LIMIT_REACHED;
+			}
+			if(!copies.issue(copyId, memberId)) {
+				return CirculationStatus.NOT_AVAILABLE;
+			}
+			if(memberLoans == null) {
+				memberLoans = new MemberLoans();
+				stripe.put(memberId, memberLoans);
+			}
+			memberLoans.copyIds.add(copyId);
+			return CirculationStatus.OK;
+		}
+	}
+
+	// false when the member does not hold the copy
+	public boolean submit(int memberId, int copyId, CopyStateTable copies) {
+		return submit(memberId, copyId, copies, CopyStateTable.NO_BORROWER);
+	}
+
+	// the copy goes on hold for nextHolderId, or to the shelf for CopyStateTable.NO_BORROWER
+	public boolean submit(int memberId, int copyId, CopyStateTable copies, int nextHolderId) {
+		IntObjectMap<MemberLoans> stripe = stripeOf(memberId);
+		synchronized(stripe) {
+			if(!copies.submit(copyId, memberId, nextHolderId)) {
+				return false;
+			}
+			MemberLoans memberLoans = stripe.get(memberId);
+			memberLoans.copyIds.remove(copyId);
+			removeIfIdle(stripe, memberId, memberLoans);
+			return true;
+		}
+	}
+
+	// a blocked member can still return what they hold
+	public void setBlocked(int memberId, boolean blocked) {
+		IntObjectMap<MemberLoans> stripe = stripeOf(memberId);
+		synchronized(stripe) {
+			MemberLoans memberLoans = stripe.get(memberId);
+			if(memberLoans == null) {
+				if(!blocked) {
+					return;
+				}
+				memberLoans = new MemberLoans();
+				stripe.put(memberId, memberLoans);
+			}
+			memberLoans.blocked = blocked;
+			removeIfIdle(stripe, memberId, memberLoans);
+		}
+	}
+
+	public boolean isBlocked(int memberId) {
+		IntObjectMap<MemberLoans> stripe = stripeOf(memberId);
+		synchronized(stripe) {
+			MemberLoans memberLoans = stripe.get(memberId);
+			return memberLoans != null && memberLoans.blocked;
+		}
+	}
+
+	public int getLoanCount(int memberId) {
+		IntObjectMap<MemberLoans> stripe = stripeOf(memberId);
+		synchronized(stripe) {
+			MemberLoans memberLoans = stripe.get(memberId);
+			return memberLoans == null ? 0 : memberLoans.copyIds.size();
+		}
+	}
+
+	// ids of the copies the member holds, sorted
+	public int[] getLoans(int memberId) {
+		IntObjectMap<MemberLoans> stripe = stripeOf(memberId);
+		synchronized(stripe) {
+			MemberLoans memberLoans = stripe.get(memberId);
+			return memberLoans == null ? NO_LOANS : memberLoans.copyIds.toArray();
+		}
+	}
+
+	private static void removeIfIdle(IntObjectMap<MemberLoans> stripe, int memberId, MemberLoans memberLoans) {
+		if(memberLoans.copyIds.isEmpty() && !memberLoans.blocked) {
+			stripe.remove(memberId);
+		}
+	}
+
+	private IntObjectMap<MemberLoans> stripeOf(int memberId) {
+		// spread sequential ids over all stripes
+		return stripes[(memberId * 0x9E3779B9) >>> 16 & (stripes.length - 1)];
+	}
+}
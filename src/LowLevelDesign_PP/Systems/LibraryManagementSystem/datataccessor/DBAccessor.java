@@ -1,55 +1,175 @@
 package LibraryManagementSystem.datataccessor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.book.BookDetails;
+import LibraryManagementSystem.catalog.LibraryCatalog;
+import LibraryManagementSystem.circulation.CirculationEngine;
+import LibraryManagementSystem.circulation.CirculationListener;
+import LibraryManagementSystem.circulation.CirculationStatus;
+import LibraryManagementSystem.circulation.CopyStateTable;
+import LibraryManagementSystem.circulation.LoanScheduler;
+import LibraryManagementSystem.scheduler.LibraryClock;
 import LibraryManagementSystem.user.Member;
 
 public class DBAccessor {
 
+	private final LibraryCatalog catalog;
+	private final CirculationEngine circulation;
+	private final LoanScheduler loanScheduler;
+
+	public DBAccessor(LibraryCatalog catalog, CirculationEngine circulation, LibraryClock clock) {
+		super();
+		if(catalog == null || circulation == null || clock == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.catalog = catalog;
+		this.circulation = circulation;
+		this.loanScheduler = new LoanScheduler(catalog, circulation, clock);
+	}
+
+	// on the system clock the scheduler runs on its own thread until shutdown(); on any other clock
+	// the caller drives it through getLoanScheduler().runExpired()
+	public DBAccessor(LibraryCatalog catalog, CirculationEngine circulation) {
+		this(catalog, circulation, LibraryClock.system());
+		loanScheduler.start();
+	}
+
+	public DBAccessor(LibraryCatalog catalog) {
+		this(catalog, new CirculationEngine());
+	}
+
+	public DBAccessor() {
+		this(new LibraryCatalog());
+	}
+
+	public LibraryCatalog getCatalog() {
+		return catalog;
+	}
+
+	public CirculationEngine getCirculation() {
+		return circulation;
+	}
+
+	public LoanScheduler getLoanScheduler() {
+		return loanScheduler;
+	}
+
+	// overdue loans and holds ready or expired
+	public void addCirculationListener(CirculationListener listener) {
+		if(listener == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		loanScheduler.addListener(listener);
+	}
+
+	public void shutdown() {
+		loanScheduler.stop();
+	}
+
 	public Results getBooksWithName(String bookName) {
-		return null;
+		return Results.ofBookCopies(catalog.findByTitle(bookName));
 		
 	}
+	// copies by any of the authors
 	public Results getBooksWithAuthorName(List<String> authors) {
-		return null;
+		return Results.ofBookCopies(catalog.findByAnyAuthor(authors));
+	}
+	
+	// copies written by all of the authors together
+	public Results getBooksWithAllAuthorNames(List<String> authors) {
+		return Results.ofBookCopies(catalog.findByAllAuthors(authors));
+	}
+	
+	// copies of titles spelled within maxEdits of the name, closest first
+	public Results getBooksWithSimilarName(String bookName, int maxEdits, int limit) {
+		return Results.ofBookCopies(catalog.findBySimilarTitle(bookName, maxEdits, limit));
+	}
+	
+	// copies by authors whose names sound like any of the given ones, closest first
+	public Results getBooksWithSimilarAuthorNames(List<String> authors, int limit) {
+		return Results.ofBookCopies(catalog.findBySimilarAuthor(authors, limit));
 	}
 	
 	public Results getBooksWithBookID(int bookId) {
-		return null;
+		BookCopy bookCopy = catalog.getBookCopy(bookId);
+		return Results.ofBookCopies(bookCopy == null ? Collections.emptyList() : Collections.singletonList(bookCopy));
 		
 	}
 	public Results getMembersWithName(String memberName) {
-		return null;
+		return Results.ofMembers(catalog.findMembersByName(memberName));
 		
 	}
 	
 	public Results getMembersWithID(int memberId) {
-		return null;
+		Member member = catalog.getMember(memberId);
+		return Results.ofMembers(member == null ? Collections.emptyList() : Collections.singletonList(member));
 		
 	}
+	public void insertMember(Member member) {
+		catalog.insertMember(member);
+	}
 	public void insertBookCopy(BookCopy bookCopy) {
-		
+		catalog.insertBookCopy(bookCopy);
+		circulation.register(bookCopy.getBookId());
 	}
-	public void deleteBookCopy(BookCopy bookCopy) {
-		
+	// one pass over the rows under a single catalog write
+	public void insertBookCopies(Collection<BookCopy> bookCopies) {
+		catalog.insertBookCopies(bookCopies);
+		for(BookCopy bookCopy : bookCopies) {
+			circulation.register(bookCopy.getBookId());
+		}
+	}
+	// false when the copy is issued or already gone; once taken out of circulation it cannot be issued
+	public boolean deleteBookCopy(BookCopy bookCopy) {
+		if(!circulation.delete(bookCopy.getBookId())) {
+			return false;
+		}
+		catalog.deleteBookCopy(bookCopy.getBookId());
+		return true;
 	}
 	public void markAsBlocked(Member member) {
-		
+		circulation.blockMember(member.getId());
 	}
-	public void issueBookCopyToMember(BookCopy bookCopy, Member member) {
-		
+	// issues, returns and holds go through the scheduler, which keeps due dates and hold queues
+	public CirculationStatus issueBookCopyToMember(BookCopy bookCopy, Member member) {
+		return loanScheduler.issue(bookCopy.getBookId(), member.getId());
 	}
-	public void submitBookCopyFromMember(BookCopy bookCopy, Member member) {
-		
+	public CirculationStatus submitBookCopyFromMember(BookCopy bookCopy, Member member) {
+		return loanScheduler.submit(bookCopy.getBookId(), member.getId());
+	}
+	public CirculationStatus placeHold(BookDetails bookDetails, Member member) {
+		return loanScheduler.placeHold(member.getId(), bookDetails);
+	}
+	public long getDueAtMillis(BookCopy bookCopy) {
+		return loanScheduler.getDueAtMillis(bookCopy.getBookId());
 	}
 	
 	public boolean isCopyAvailable(BookCopy bookCopy) {
-		return false;
+		return circulation.isAvailable(bookCopy.getBookId());
 		
 	}
+	// copies the member holds, from the member's loan index
+	public Results getBorrowedBooks(Member member) {
+		int[] copyIds = circulation.getLoans(member.getId());
+		List<BookCopy> bookCopies = new ArrayList<>(copyIds.length);
+		for(int copyId : copyIds) {
+			BookCopy bookCopy = catalog.getBookCopy(copyId);
+			if(bookCopy != null) {
+				bookCopies.add(bookCopy);
+			}
+		}
+		return Results.ofBookCopies(bookCopies);
+	}
+	// borrower of an issued copy, from the copy's state slot
 	public Results getBoorower(BookCopy bookCopy) {
-		return null;
+		int memberId = circulation.getBorrower(bookCopy.getBookId());
+		Member member = memberId == CopyStateTable.NO_BORROWER ? null : catalog.getMember(memberId);
+		return Results.ofMembers(member == null ? Collections.emptyList() : Collections.singletonList(member));
 		
 	}
 	
@@ -1,5 +1,6 @@
 package LibraryManagementSystem.datataccessor;
 
+import java.util.Collections;
 import java.util.List;
 
 import LibraryManagementSystem.book.BookCopy;
@@ -7,19 +8,24 @@ import LibraryManagementSystem.user.Member;
 
 public class ResultConverter {
 
-	private void ResultsConverter() {}
+	private ResultConverter() {}
 	 public static List<Member> convertToMembers(Results results){
-		 return null;
+		 return results == null ? Collections.emptyList() : results.getMembers();
 	 }
 	 
 	 public static List<BookCopy> convertToBookCopies(Results results){
-		return null;
+		return results == null ? Collections.emptyList() : results.getBookCopies();
 		 
 	 }
+	 // first member, null when there is none
 	 public static Member convertToMember(Results results) {
-		return null;}
+		List<Member> members = convertToMembers(results);
+		return members.isEmpty() ? null : members.get(0);
+	 }
 	 
 
 	 public static BookCopy convertToBookCopy(Results results) {
-		return null;}
+		List<BookCopy> bookCopies = convertToBookCopies(results);
+		return bookCopies.isEmpty() ? null : bookCopies.get(0);
+	 }
 }
@@ -1,5 +1,34 @@
 package LibraryManagementSystem.datataccessor;
 
+import java.util.Collections;
+import java.util.List;
+
+import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.user.Member;
+
 public class Results {
 
+	private final List<BookCopy> bookCopies;
+	private final List<Member> members;
+
+	private Results(List<BookCopy> bookCopies, List<Member> members) {
+		this.bookCopies = bookCopies;
+		this.members = members;
+	}
+
+	public static Results ofBookCopies(List<BookCopy> bookCopies) {
+		return new Results(bookCopies, Collections.emptyList());
+	}
+
+	public static Results ofMembers(List<Member> members) {
+		return new Results(Collections.emptyList(), members);
+	}
+
+	public List<BookCopy> getBookCopies() {
+		return bookCopies;
+	}
+
+	public List<Member> getMembers() {
+		return members;
+	}
 }
@@ -1,8 +1,12 @@
 package LibraryManagementSystem.library;
 
+import java.util.Date;
 import java.util.List;
 
 import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.book.BookDetails;
+import LibraryManagementSystem.circulation.CirculationListener;
+import LibraryManagementSystem.circulation.CirculationStatus;
 import LibraryManagementSystem.datataccessor.DBAccessor;
 import LibraryManagementSystem.datataccessor.ResultConverter;
 import LibraryManagementSystem.datataccessor.Results;
@@ -19,40 +23,91 @@ public class Library {
 		super();
 		this.dbAccessor = dbAccessor;
 	}
+	// members are told about overdue loans and holds through these
+	public void addCirculationListener(CirculationListener listener) {
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener can't be null");
+		}
+		dbAccessor.addCirculationListener(listener);
+	}
 	public void addBookCopy(BookCopy bookCopy) {
 		if(bookCopy == null) {
-			//..
+			throw new IllegalArgumentException("Book copy can't be null");
 		}
 		dbAccessor.insertBookCopy(bookCopy);
 		
 	}
-	public  void deleteBookCopy(BookCopy bookCopy) {
-		//
-		//check if bookCopy is available
-		//deletion
-		if(dbAccessor.isCopyAvailable(bookCopy)) {
-			dbAccessor.deleteBookCopy(bookCopy);
+	// deletes the copy only if it is on the shelf; the check and the delete are one atomic step
+	public boolean deleteBookCopy(BookCopy bookCopy) {
+		if(bookCopy == null) {
+			throw new IllegalArgumentException("Book copy can't be null");
 		}
+		return dbAccessor.deleteBookCopy(bookCopy);
 	}
 	
 	public void blockMember(Member member) {
-		
+		if(member == null) {
+			throw new IllegalArgumentException("Member can't be null");
+		}
+		dbAccessor.markAsBlocked(member);
 	}
 	public void issueBook(BookCopy bookCopy, Member member) {
-		
+		if(bookCopy == null || member == null) {
+			throw new IllegalArgumentException("Book copy and member can't be null");
+		}
+		CirculationStatus status = dbAccessor.issueBookCopyToMember(bookCopy, member);
+		if(status != CirculationStatus.OK) {
+			throw new IllegalStateException("Can't issue book copy " + bookCopy.getBookId() + " to member "
+					+ member.getId() + ": " + status);
+		}
 	}
 	
 	public void submitBook(BookCopy bookCopy, Member member) {
-		
+		if(bookCopy == null || member == null) {
+			throw new IllegalArgumentException("Book copy and member can't be null");
+		}
+		CirculationStatus status = dbAccessor.submitBookCopyFromMember(bookCopy, member);
+		if(status != CirculationStatus.OK) {
+			throw new IllegalStateException("Can't return book copy " + bookCopy.getBookId() + " from member "
+					+ member.getId() + ": " + status);
+		}
+	}
+	
+	// sets a copy aside for the member now, or queues them for the next copy returned
+	public void placeHold(BookDetails bookDetails, Member member) {
+		if(bookDetails == null || member == null) {
+			throw new IllegalArgumentException("Book details and member can't be null");
+		}
+		CirculationStatus status = dbAccessor.placeHold(bookDetails, member);
+		if(status != CirculationStatus.OK) {
+			throw new IllegalStateException("Can't place hold on " + bookDetails.getBookName() + " for member "
+					+ member.getId() + ": " + status);
+		}
+	}
+	
+	// null when the copy is not issued
+	public Date getDueDate(BookCopy bookCopy) {
+		if(bookCopy == null) {
+			throw new IllegalArgumentException("Book copy can't be null");
+		}
+		long dueAtMillis = dbAccessor.getDueAtMillis(bookCopy);
+		return dueAtMillis < 0 ? null : new Date(dueAtMillis);
 	}
 	
 	public Member getBorrower(BookCopy bookCopy) {
+		if(bookCopy == null) {
+			throw new IllegalArgumentException("Book copy can't be null");
+		}
 		Results results = dbAccessor.getBoorower(bookCopy);
 		Member member = ResultConverter.convertToMember(results);
 		return member;
 	}
 	public List<BookCopy> getBorrowerBooks(Member member){
-		return null;
+		if(member == null) {
+			throw new IllegalArgumentException("Member can't be null");
+		}
+		Results results = dbAccessor.getBorrowedBooks(member);
+		return ResultConverter.convertToBookCopies(results);
 	}
 
 }
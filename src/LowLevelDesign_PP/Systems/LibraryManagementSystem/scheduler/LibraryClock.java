@@ -0,0 +1,14 @@
+package LibraryManagementSystem.scheduler;
+
+/**
+ * Source of the current time for due dates and holds, so tests can drive time by hand with a
+ * {@link VirtualClock}.
+ */
+public interface LibraryClock {
+
+	public long millis();
+
+	public static LibraryClock system() {
+		return System::currentTimeMillis;
+	}
+}
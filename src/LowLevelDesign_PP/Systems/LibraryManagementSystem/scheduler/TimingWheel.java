@@ -0,0 +1,160 @@
+package LibraryManagementSystem.scheduler;
+
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: four levels of 64 slots, level n holding timers due within 64^(n+1)
+ * ticks. Scheduling and cancelling are O(1) on a slot's linked list; each tick expires one level 0
+ * slot, and when level n wraps the next slot of level n + 1 is spread back down, so a timer is
+ * moved at most once per level before it fires. With one minute ticks the wheel spans 31 years;
+ * timers further out wait in the top level and are re-spread until they come in range.
+ *
+ * Thread safe; timers fire through {@link #advanceTo}, which hands them to the caller instead of
+ * running anything under the lock.
+ */
+public class TimingWheel<T> {
+
+	public static class Timeout<T> {
+		private final T task;
+		private final long deadlineMillis;
+		private long expiryTick;
+		private Timeout<T> previous;
+		private Timeout<T> next;
+		// null once fired or cancelled
+		private Timeout<T>[] slots;
+		private int slot;
+
+		private Timeout(T task, long deadlineMillis) {
+			this.task = task;
+			this.deadlineMillis = deadlineMillis;
+		}
+
+		public T getTask() {
+			return task;
+		}
+
+		public long getDeadlineMillis() {
+			return deadlineMillis;
+		}
+	}
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int LEVELS = 4;
+
+	private final long tickMillis;
+	private final Timeout<T>[][] levels;
+	private long currentTick;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	public TimingWheel(long tickMillis, long startMillis) {
+		if(tickMillis <= 0 || startMillis < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.tickMillis = tickMillis;
+		this.levels = (Timeout<T>[][]) new Timeout<?>[LEVELS][SLOTS];
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	// fires on the first tick at or after the deadline, or on the next tick if it has passed
+	public synchronized Timeout<T> schedule(long deadlineMillis, T task) {
+		Timeout<T> timeout = new Timeout<>(task, deadlineMillis);
+		timeout.expiryTick = Math.max(currentTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+		place(timeout);
+		size++;
+		return timeout;
+	}
+
+	// false when the timer already fired or was cancelled
+	public synchronized boolean cancel(Timeout<T> timeout) {
+		if(timeout.slots == null) {
+			return false;
+		}
+		unlink(timeout);
+		size--;
+		return true;
+	}
+
+	// moves time forward and adds the tasks of every timer that came due to expired, in deadline tick order
+	public synchronized int advanceTo(long nowMillis, List<T> expired) {
+		long targetTick = nowMillis / tickMillis;
+		int fired = 0;
+		while(currentTick < targetTick) {
+			if(size == 0) {
+				currentTick = targetTick;
+				break;
+			}
+			currentTick++;
+			cascade();
+			Timeout<T>[] slots = levels[0];
+			int slot = (int) (currentTick & (SLOTS - 1));
+			while(slots[slot] != null) {
+				Timeout<T> timeout = slots[slot];
+				unlink(timeout);
+				size--;
+				expired.add(timeout.task);
+				fired++;
+			}
+		}
+		return fired;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	// re-spreads the slot of each level whose turn it is; level n turns once every 64^n ticks
+	private void cascade() {
+		for(int level = 1; level < LEVELS; level++) {
+			if((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+				return;
+			}
+			Timeout<T>[] slots = levels[level];
+			int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+			Timeout<T> timeout = slots[slot];
+			slots[slot] = null;
+			while(timeout != null) {
+				Timeout<T> next = timeout.next;
+				timeout.previous = null;
+				timeout.next = null;
+				place(timeout);
+				timeout = next;
+			}
+		}
+	}
+
+	private void place(Timeout<T> timeout) {
+		long delta = timeout.expiryTick - currentTick;
+		int level = 0;
+		while(level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		// beyond the top level: park in the slot the top level turns last, it gets placed again from there
+		long tick = delta >= 1L << (SLOT_BITS * LEVELS) ? currentTick - 1 : timeout.expiryTick;
+		int slot = (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+		Timeout<T>[] slots = levels[level];
+		timeout.slots = slots;
+		timeout.slot = slot;
+		timeout.previous = null;
+		timeout.next = slots[slot];
+		if(slots[slot] != null) {
+			slots[slot].previous = timeout;
+		}
+		slots[slot] = timeout;
+	}
+
+	private void unlink(Timeout<T> timeout) {
+		if(timeout.previous != null) {
+			timeout.previous.next = timeout.next;
+		} else {
+			timeout.slots[timeout.slot] = timeout.next;
+		}
+		if(timeout.next != null) {
+			timeout.next.previous = timeout.previous;
+		}
+		timeout.previous = null;
+		timeout.next = null;
+		timeout.slots = null;
+	}
+}
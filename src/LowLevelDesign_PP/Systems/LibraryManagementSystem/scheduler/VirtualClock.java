@@ -0,0 +1,28 @@
+package LibraryManagementSystem.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that only moves when told to.
+ */
+public class VirtualClock implements LibraryClock {
+
+	private final AtomicLong now;
+
+	public VirtualClock(long startMillis) {
+		this.now = new AtomicLong(startMillis);
+	}
+
+	@Override
+	public long millis() {
+		return now.get();
+	}
+
+	public long advance(long duration, TimeUnit unit) {
+		if(duration < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		return now.addAndGet(unit.toMillis(duration));
+	}
+}
@@ -11,12 +11,19 @@ public class AuthorBaseBookSearcher  implements BookSearcher{
 	
 	
 	private List<String> authorNames;
+	// books written by all of the authors together instead of by any of them
+	private final boolean matchAllAuthors;
 	
 	private final DBAccessor dbAccessor;
 
 	public AuthorBaseBookSearcher(List<String> authorNames, DBAccessor dbAccessor) {
+		this(authorNames, false, dbAccessor);
+	}
+
+	public AuthorBaseBookSearcher(List<String> authorNames, boolean matchAllAuthors, DBAccessor dbAccessor) {
 		super();
 		this.authorNames = authorNames;
+		this.matchAllAuthors = matchAllAuthors;
 		this.dbAccessor = dbAccessor;
 	}
 
@@ -24,9 +31,8 @@ public class AuthorBaseBookSearcher  implements BookSearcher{
 
 	@Override
 	public List<BookCopy> search() {
-		// TODO Auto-generated method stub
-		Results results = dbAccessor.getBooksWithAuthorName(authorNames);
-		//ResultConverter resultConverter = new ResultConverter();
+		Results results = matchAllAuthors ? dbAccessor.getBooksWithAllAuthorNames(authorNames)
+				: dbAccessor.getBooksWithAuthorName(authorNames);
 		return ResultConverter.convertToBookCopies(results);
 		
 
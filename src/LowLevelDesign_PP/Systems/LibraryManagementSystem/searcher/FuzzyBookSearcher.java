@@ -0,0 +1,63 @@
+package LibraryManagementSystem.searcher;
+
+import java.util.List;
+
+import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.datataccessor.DBAccessor;
+import LibraryManagementSystem.datataccessor.ResultConverter;
+import LibraryManagementSystem.datataccessor.Results;
+
+/**
+ * Typo tolerant search, by a misspelled title or by author names that sound alike.
+ * Copies come back ranked, closest title or author first.
+ */
+public class FuzzyBookSearcher implements BookSearcher {
+
+	public static final int DEFAULT_LIMIT = 20;
+	
+	private String bookName;
+	private List<String> authorNames;
+	private final int maxEdits;
+	private final int limit;
+	private final DBAccessor dbAccessor;
+
+	// edits allowed grow with the length of the name
+	public FuzzyBookSearcher(String bookName, DBAccessor dbAccessor) {
+		this(bookName, defaultMaxEdits(bookName), DEFAULT_LIMIT, dbAccessor);
+	}
+
+	public FuzzyBookSearcher(String bookName, int maxEdits, int limit, DBAccessor dbAccessor) {
+		super();
+		this.bookName = bookName;
+		this.maxEdits = maxEdits;
+		this.limit = limit;
+		this.dbAccessor = dbAccessor;
+	}
+
+	public FuzzyBookSearcher(List<String> authorNames, DBAccessor dbAccessor) {
+		this(authorNames, DEFAULT_LIMIT, dbAccessor);
+	}
+
+	public FuzzyBookSearcher(List<String> authorNames, int limit, DBAccessor dbAccessor) {
+		super();
+		this.authorNames = authorNames;
+		this.maxEdits = 0;
+		this.limit = limit;
+		this.dbAccessor = dbAccessor;
+	}
+
+	@Override
+	public List<BookCopy> search() {
+		Results results = authorNames != null ? dbAccessor.getBooksWithSimilarAuthorNames(authorNames, limit)
+				: dbAccessor.getBooksWithSimilarName(bookName, maxEdits, limit);
+		return ResultConverter.convertToBookCopies(results);
+	}
+
+	private static int defaultMaxEdits(String bookName) {
+		int length = bookName == null ? 0 : bookName.length();
+		if(length <= 4) {
+			return 1;
+		}
+		return length <= 12 ? 2 : 3;
+	}
+}
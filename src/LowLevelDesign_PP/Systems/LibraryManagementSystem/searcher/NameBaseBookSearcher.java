@@ -17,9 +17,7 @@ public class NameBaseBookSearcher implements BookSearcher {
 	
 	public List<BookCopy> search(){
 		Results results = dbAccessor.getBooksWithName(bookName);
-		ResultConverter resultConverter = new ResultConverter();
-		List<BookCopy> bookCopies = resultConverter.convertToBookCopies(results);
-		return bookCopies;
+		return ResultConverter.convertToBookCopies(results);
 	}
 
 }
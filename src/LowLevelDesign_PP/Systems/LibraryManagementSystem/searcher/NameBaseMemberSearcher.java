@@ -23,9 +23,7 @@ public class NameBaseMemberSearcher implements MemberSearcher{
 	public List<Member> search() {
 		// TODO Auto-generated method stub
 		Results result = dbAccessor.getMembersWithName(memberName);
-		ResultConverter resultconverter = new ResultConverter();
-		List<Member> members = resultconverter.convertToMembers(result);
-		return members;
+		return ResultConverter.convertToMembers(result);
 	}
 	
 	
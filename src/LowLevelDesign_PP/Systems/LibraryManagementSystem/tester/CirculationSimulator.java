@@ -0,0 +1,143 @@
+package LibraryManagementSystem.tester;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.book.BookDetails;
+import LibraryManagementSystem.circulation.CirculationEngine;
+import LibraryManagementSystem.circulation.CirculationPolicy;
+import LibraryManagementSystem.circulation.CirculationStatus;
+import LibraryManagementSystem.circulation.CopyStateTable;
+import LibraryManagementSystem.datataccessor.DBAccessor;
+import LibraryManagementSystem.user.Member;
+
+/**
+ * Desks issuing random copies to random members and taking them back, while one desk keeps
+ * trying to delete copies and another keeps reading members' loans. At the end every copy's borrower
+ * must agree with the members' loans, no member may be over the limit and no deleted copy may
+ * be on loan.
+ * Run with: java LibraryManagementSystem.tester.CirculationSimulator [copies] [members] [desks] [seconds]
+ */
+public class CirculationSimulator {
+
+	public static void main(String[] args) throws Exception {
+		int copies = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int members = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+		int desks = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+		int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+		DBAccessor dbAccessor = new DBAccessor();
+		List<BookCopy> bookCopies = new ArrayList<>(copies);
+		for(int i = 0; i < copies; i++) {
+			BookDetails bookDetails = new BookDetails("Title " + (i / 4), new Date(0), Collections.singletonList("Author " + (i % 997)));
+			bookCopies.add(new BookCopy(bookDetails, i));
+		}
+		dbAccessor.insertBookCopies(bookCopies);
+		for(int m = 0; m < members; m++) {
+			dbAccessor.insertMember(new Member(m, "Member " + m));
+		}
+		CirculationEngine circulation = dbAccessor.getCirculation();
+
+		LongAdder issues = new LongAdder();
+		LongAdder returns = new LongAdder();
+		LongAdder refused = new LongAdder();
+		LongAdder deletes = new LongAdder();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		LongAdder loanReads = new LongAdder();
+		LongAdder overLimitReads = new LongAdder();
+		ExecutorService executor = Executors.newFixedThreadPool(desks + 2);
+		List<Future<?>> futures = new ArrayList<>();
+		for(int d = 0; d < desks; d++) {
+			int desk = d;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(desk);
+				while(System.nanoTime() < deadline) {
+					int copyId = random.nextInt(copies);
+					int borrower = circulation.getBorrower(copyId);
+					if(borrower != CopyStateTable.NO_BORROWER) {
+						CirculationStatus status = circulation.submit(copyId, borrower);
+						if(status == CirculationStatus.OK) {
+							returns.increment();
+						}
+						continue;
+					}
+					if(circulation.issue(copyId, random.nextInt(members)) == CirculationStatus.OK) {
+						issues.increment();
+					} else {
+						refused.increment();
+					}
+				}
+				return null;
+			}));
+		}
+		futures.add(executor.submit(() -> {
+			Random random = new Random(-1);
+			while(System.nanoTime() < deadline) {
+				if(dbAccessor.deleteBookCopy(bookCopies.get(random.nextInt(copies)))) {
+					deletes.increment();
+				}
+				Thread.sleep(1);
+			}
+			return null;
+		}));
+		futures.add(executor.submit(() -> {
+			Random random = new Random(-2);
+			while(System.nanoTime() < deadline) {
+				int memberId = random.nextInt(members);
+				if(circulation.getLoans(memberId).length > CirculationPolicy.defaultPolicy().getMaxLoansPerMember()) {
+					overLimitReads.increment();
+				}
+				loanReads.increment();
+			}
+			return null;
+		}));
+		for(Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		int[] loans = new int[members];
+		int deletedOnLoan = 0;
+		for(int copyId = 0; copyId < copies; copyId++) {
+			int borrower = circulation.getBorrower(copyId);
+			if(borrower != CopyStateTable.NO_BORROWER) {
+				loans[borrower]++;
+				if(dbAccessor.getCatalog().getBookCopy(copyId) == null) {
+					deletedOnLoan++;
+				}
+			}
+		}
+		int mismatches = 0;
+		int overLimit = 0;
+		for(int m = 0; m < members; m++) {
+			int[] held = circulation.getLoans(m);
+			if(loans[m] != circulation.getLoanCount(m) || loans[m] != held.length) {
+				mismatches++;
+			}
+			for(int copyId : held) {
+				if(circulation.getBorrower(copyId) != m) {
+					mismatches++;
+				}
+			}
+			if(loans[m] > CirculationPolicy.defaultPolicy().getMaxLoansPerMember()) {
+				overLimit++;
+			}
+		}
+		long operations = issues.sum() + returns.sum() + refused.sum();
+		System.out.println("issues " + issues.sum() + ", returns " + returns.sum() + ", refused " + refused.sum()
+				+ ", deletes " + deletes.sum() + ", loan reads " + loanReads.sum());
+		System.out.println("throughput " + operations / seconds + " ops/s over " + desks + " desks");
+		System.out.println("loan count mismatches " + mismatches + ", members over limit " + overLimit
+				+ ", deleted copies on loan " + deletedOnLoan + ", over limit reads " + overLimitReads.sum());
+	}
+}
@@ -0,0 +1,155 @@
+package LibraryManagementSystem.tester;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import LibraryManagementSystem.book.BookCopy;
+import LibraryManagementSystem.book.BookDetails;
+import LibraryManagementSystem.catalog.LibraryCatalog;
+import LibraryManagementSystem.circulation.CirculationEngine;
+import LibraryManagementSystem.circulation.CirculationListener;
+import LibraryManagementSystem.circulation.CirculationStatus;
+import LibraryManagementSystem.circulation.LoanScheduler;
+import LibraryManagementSystem.datataccessor.DBAccessor;
+import LibraryManagementSystem.scheduler.VirtualClock;
+
+/**
+ * Two months of a library on a virtual clock, one minute at a time: members borrow copies through
+ * the day and most return them within 21 days, so some run late. Every loan still out on its due
+ * date must be reported overdue exactly once, and nothing returned in time may be. Then one title
+ * with a single copy and three members shows a hold passing down the queue when it is not picked up.
+ * Run with: java LibraryManagementSystem.tester.LoanSchedulerSimulator [copies] [members] [days]
+ */
+public class LoanSchedulerSimulator {
+
+	private static final long START = TimeUnit.DAYS.toMillis(20_000);
+
+	public static void main(String[] args) {
+		int copies = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int members = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+		int days = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+		VirtualClock clock = new VirtualClock(START);
+		DBAccessor dbAccessor = new DBAccessor(new LibraryCatalog(), new CirculationEngine(), clock);
+		List<BookCopy> bookCopies = new ArrayList<>(copies);
+		for(int i = 0; i < copies; i++) {
+			BookDetails bookDetails = new BookDetails("Title " + (i / 4), new Date(0), Collections.singletonList("Author " + (i % 997)));
+			bookCopies.add(new BookCopy(bookDetails, i));
+		}
+		dbAccessor.insertBookCopies(bookCopies);
+		LoanScheduler loanScheduler = dbAccessor.getLoanScheduler();
+		long loanPeriod = dbAccessor.getCirculation().getPolicy().getLoanPeriodMillis();
+
+		LongAdder overdue = new LongAdder();
+		LongAdder wrongOverdue = new LongAdder();
+		// planned return time by copy id, 0 when on the shelf
+		long[] returnAt = new long[copies];
+		long[] dueAt = new long[copies];
+		int[] borrower = new int[copies];
+		loanScheduler.addListener(new CirculationListener() {
+			@Override
+			public void onOverdue(int copyId, int memberId, long dueAtMillis) {
+				overdue.increment();
+				if(dueAtMillis != dueAt[copyId] || returnAt[copyId] <= dueAtMillis || clock.millis() < dueAtMillis) {
+					wrongOverdue.increment();
+				}
+			}
+		});
+
+		Random random = new Random(7);
+		long issues = 0;
+		long expectedOverdue = 0;
+		long fired = 0;
+		long firingNanos = 0;
+		List<List<Integer>> returnsByMinute = new ArrayList<>();
+		int minutes = (int) TimeUnit.DAYS.toMinutes(days);
+		for(int m = 0; m <= minutes; m++) {
+			returnsByMinute.add(null);
+		}
+		for(int minute = 0; minute < minutes; minute++) {
+			long now = clock.advance(1, TimeUnit.MINUTES);
+			List<Integer> returning = returnsByMinute.get(minute);
+			if(returning != null) {
+				for(int copyId : returning) {
+					loanScheduler.submit(copyId, borrower[copyId]);
+					returnAt[copyId] = 0;
+				}
+			}
+			for(int i = 0; i < 3; i++) {
+				int copyId = random.nextInt(copies);
+				int memberId = random.nextInt(members);
+				if(loanScheduler.issue(copyId, memberId) != CirculationStatus.OK) {
+					continue;
+				}
+				issues++;
+				int returnMinute = minute + 1 + random.nextInt((int) TimeUnit.DAYS.toMinutes(21));
+				borrower[copyId] = memberId;
+				dueAt[copyId] = now + loanPeriod;
+				returnAt[copyId] = START + TimeUnit.MINUTES.toMillis(returnMinute + 1L);
+				if(returnAt[copyId] > dueAt[copyId] && dueAt[copyId] <= START + TimeUnit.MINUTES.toMillis(minutes)) {
+					expectedOverdue++;
+				}
+				if(returnMinute < minutes) {
+					if(returnsByMinute.get(returnMinute) == null) {
+						returnsByMinute.set(returnMinute, new ArrayList<>());
+					}
+					returnsByMinute.get(returnMinute).add(copyId);
+				}
+			}
+			long begin = System.nanoTime();
+			fired += loanScheduler.runExpired();
+			firingNanos += System.nanoTime() - begin;
+		}
+		System.out.println(days + " days, " + issues + " issues, " + fired + " timers fired over " + minutes
+				+ " ticks in " + firingNanos / 1_000_000 + " ms, " + firingNanos / minutes + " ns per tick");
+		System.out.println("overdue " + overdue.sum() + " expected " + expectedOverdue + ", wrong " + wrongOverdue.sum());
+
+		holdQueue();
+	}
+
+	private static void holdQueue() {
+		VirtualClock clock = new VirtualClock(START);
+		DBAccessor dbAccessor = new DBAccessor(new LibraryCatalog(), new CirculationEngine(), clock);
+		BookDetails bookDetails = new BookDetails("Good Omens", new Date(0), Collections.singletonList("Terry Pratchett"));
+		dbAccessor.insertBookCopy(new BookCopy(bookDetails, 1));
+		LoanScheduler loanScheduler = dbAccessor.getLoanScheduler();
+		loanScheduler.addListener(new CirculationListener() {
+			@Override
+			public void onHoldReady(int copyId, int memberId, long expiresAtMillis) {
+				System.out.println("day " + day(clock) + ": copy " + copyId + " ready for member " + memberId);
+			}
+
+			@Override
+			public void onHoldExpired(int copyId, int memberId) {
+				System.out.println("day " + day(clock) + ": hold of member " + memberId + " expired");
+			}
+
+			@Override
+			public void onOverdue(int copyId, int memberId, long dueAtMillis) {
+				System.out.println("day " + day(clock) + ": copy " + copyId + " overdue from member " + memberId);
+			}
+		});
+		System.out.println("issue to 1: " + loanScheduler.issue(1, 1));
+		System.out.println("hold for 2: " + loanScheduler.placeHold(2, bookDetails) + ", hold for 3: "
+				+ loanScheduler.placeHold(3, bookDetails) + ", again for 3: " + loanScheduler.placeHold(3, bookDetails));
+		clock.advance(10, TimeUnit.DAYS);
+		loanScheduler.runExpired();
+		System.out.println("day " + day(clock) + ": 1 returns: " + loanScheduler.submit(1, 1) + ", walk-in issue to 4: "
+				+ loanScheduler.issue(1, 4));
+		clock.advance(4, TimeUnit.DAYS);
+		loanScheduler.runExpired();
+		System.out.println("day " + day(clock) + ": 2 tries to pick up: " + loanScheduler.issue(1, 2) + ", 3 picks up: "
+				+ loanScheduler.issue(1, 3));
+		clock.advance(15, TimeUnit.DAYS);
+		loanScheduler.runExpired();
+	}
+
+	private static long day(VirtualClock clock) {
+		return TimeUnit.MILLISECONDS.toDays(clock.millis() - START);
+	}
+}
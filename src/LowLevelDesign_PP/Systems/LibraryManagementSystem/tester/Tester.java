@@ -73,7 +73,7 @@ public class Tester {
 			throw new IllegalAccessException("Operation Forbidden");
 		}
 		List<Member> member = new IDBaseMemberSearcher(memberId, dbAccessor).search();
-		new Library().blockMember(member.get(0));
+		new Library(dbAccessor).blockMember(member.get(0));
 	}
 	
 	public void addBook(String bookName, Date publicationDate, List<String> authorNames, String adminToken) throws IllegalAccessException {
@@ -91,50 +91,50 @@ public class Tester {
 		
 		BookSearcher bookSearcher = new IDBaseBookSearcher(bookCopyId, dbAccessor);
 		List<BookCopy> bookCopies = bookSearcher.search();
-		new Library().deleteBookCopy(bookCopies.get(0));
+		new Library(dbAccessor).deleteBookCopy(bookCopies.get(0));
 	}
 	
 	public void issueBook(int bookCopyId, int memberId, String adminToken) throws IllegalAccessException {
 		if(bookCopyId <= 0 || memberId <= 0 ||  !UserAuthenticator.isAdmin(adminToken)) {
 			throw new IllegalAccessException("Operation forbidden");
 		}
-		BookSearcher bookSearcher = new IDBaseBookSearcher(bookCopyId);
+		BookSearcher bookSearcher = new IDBaseBookSearcher(bookCopyId, dbAccessor);
 		List<BookCopy> bookCopy = bookSearcher.search();
 		
 		if(bookCopy == null || bookCopy.size() == 0) {
 			throw new RuntimeException("No book copies retrieved for given Id");
 		}
-		MemberSearcher memberSearcher = new IDBaseMemberSearcher(memberId);
+		MemberSearcher memberSearcher = new IDBaseMemberSearcher(memberId, dbAccessor);
 		List<Member> members = memberSearcher.search();
 		if(members == null || members.size() == 0) {
 			throw new RuntimeException("No member retrieved for given Id");
 		}
-		new Library().issueBook(bookCopy.get(0), members.get(0));
+		new Library(dbAccessor).issueBook(bookCopy.get(0), members.get(0));
 		
 	}
 	public void returnBook(int bookCopyId, int memberId, String adminToken) throws IllegalAccessException {
 		if(bookCopyId <= 0 || memberId <= 0 ||  !UserAuthenticator.isAdmin(adminToken)) {
 			throw new IllegalAccessException("Operation forbidden");
 		}
-		BookSearcher bookSearcher = new IDBaseBookSearcher(bookCopyId);
+		BookSearcher bookSearcher = new IDBaseBookSearcher(bookCopyId, dbAccessor);
 		List<BookCopy> bookCopy = bookSearcher.search();
 		if(bookCopy == null || bookCopy.size() == 0) {
 			throw new RuntimeException("No book copies retrieved for given Id");
 		}
-		MemberSearcher memberSearcher = new IDBaseMemberSearcher(memberId);
+		MemberSearcher memberSearcher = new IDBaseMemberSearcher(memberId, dbAccessor);
 		List<Member> members = memberSearcher.search();
 		if(members == null || members.size() == 0) {
 			throw new RuntimeException("No member retrieved for given Id");
 		}
-			new Library().submitBook(bookCopy.get(0), members.get(0));
+			new Library(dbAccessor).submitBook(bookCopy.get(0), members.get(0));
 	}
 	public Member getBorrowerOfBooks(int bookCopyId, String adminToken) throws IllegalAccessException {
 		if(bookCopyId <= 0 || !UserAuthenticator.isAdmin(adminToken)) {
 			throw new IllegalAccessException("Operation Forbidden");
 		}
-		List<BookCopy> bookCopies = new IDBaseBookSearcher(bookCopyId).search();
+		List<BookCopy> bookCopies = new IDBaseBookSearcher(bookCopyId, dbAccessor).search();
 		BookCopy bookCopy = bookCopies.get(0);
-		return new Library().getBorrower(bookCopy);
+		return new Library(dbAccessor).getBorrower(bookCopy);
 		
 	}
 	
@@ -142,8 +142,8 @@ public class Tester {
 		if(memberId <= 0 || !UserAuthenticator.isAdmin(adminToken)) {
 			throw new IllegalAccessException("Operation Forbidden");
 		}
-		List<Member> member = new IDBaseMemberSearcher(memberId).search();
-		List<BookCopy> bookCopies = new Library().getBorrowerBooks(member.get(0));
+		List<Member> member = new IDBaseMemberSearcher(memberId, dbAccessor).search();
+		List<BookCopy> bookCopies = new Library(dbAccessor).getBorrowerBooks(member.get(0));
 		return bookCopies;
 	}
 	
@@ -9,6 +9,12 @@ public abstract class User {
 		this.id = id;
 		this.name = name;
 	}
+	public int getId() {
+		return id;
+	}
+	public String getName() {
+		return name;
+	}
 	
 	
 }
@@ -6,8 +6,13 @@ import ParkingLot.Data.SpotSelection;
 import ParkingLot.Data.VehicleType;
 import ParkingLot.Factory.ParkingSpotManagerFactory;
 import ParkingLot.Factory.SpotSelectionManagerFactory;
+import ParkingLot.Index.ClosestSpotIndex;
+import ParkingLot.Index.OccupancyIndex;
 import ParkingLot.Manager.ParkingSpotManager;
+import ParkingLot.Manager.ReservationManager;
 import ParkingLot.Manager.SpotSelectionManager;
+import ParkingLot.Shard.AllocationService;
+import ParkingLot.Shard.LotAllocation;
 import ParkingLot.finder.ParkingSpotFinder;
 
 public class FindParkingSpotAPI {
@@ -17,6 +22,32 @@ public class FindParkingSpotAPI {
 		ParkingSpotManager parkingSpotManager = ParkingSpotManagerFactory.getParkingSpotManager(vehicleType);
 		
 		SpotSelectionManager spotSelectionManager = SpotSelectionManagerFactory.getSpotSelectionManager(spotSelection, entryPoint);
-		return new ParkingSpotFinder(parkingSpotManager, spotSelectionManager).findParkingSpot();
+		ParkingSpot parkingSpot = new ParkingSpotFinder(parkingSpotManager, spotSelectionManager).findParkingSpot();
+		if(parkingSpot != null) {
+			// held until GetTicketAPI commits it or the reservation expires
+			try {
+				ReservationManager.getInstance().reserve(parkingSpot);
+			} catch(RuntimeException e) {
+				// nothing holds the claim, so give the spot back before failing
+				OccupancyIndex.getInstance().release(parkingSpot);
+				ClosestSpotIndex.getInstance().onVacated(parkingSpot);
+				throw e;
+			}
+		}
+		return parkingSpot;
+	}
+	
+	// the driver turned away; false when the spot was already ticketed or released
+	public boolean releaseParkingSpot(ParkingSpot parkingSpot) {
+		return ReservationManager.getInstance().release(parkingSpot);
+	}
+
+	// a spot in this lot or, when it is full, in a neighbouring one; null when all of them are full
+	public LotAllocation findParkingSpot(String lotId, VehicleType vehicleType) {
+		return AllocationService.getInstance().allocateNow(lotId, vehicleType);
+	}
+
+	public boolean releaseParkingSpot(LotAllocation allocation) {
+		return AllocationService.getInstance().vacate(allocation).join();
 	}
 }
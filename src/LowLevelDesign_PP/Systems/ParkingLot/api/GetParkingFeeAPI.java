@@ -1,9 +1,12 @@
 package ParkingLot.API;
 
+import ParkingLot.Data.Ticket;
+import ParkingLot.Ticket.FeeCalculator;
+
 public class GetParkingFeeAPI {
 
 	public double getParkingFee(Ticket ticket) {
 		
-		return FeeCalculator.claculateFee(ticket);
+		return new FeeCalculator().calculateFee(ticket);
 	}
 }
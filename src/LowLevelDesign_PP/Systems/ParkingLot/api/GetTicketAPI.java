@@ -3,15 +3,28 @@ package ParkingLot.API;
 import ParkingLot.Data.ParkingSpot;
 import ParkingLot.Data.Ticket;
 import ParkingLot.Data.Vehicle;
-import ParkingLot.Ticket.TicketGenerator;
+import ParkingLot.Manager.ReservationManager;
+import ParkingLot.Shard.AllocationService;
+import ParkingLot.Shard.LotAllocation;
 
 public class GetTicketAPI {
 	
 	
+	// commits the reservation made by FindParkingSpotAPI for this spot
 	public Ticket getTicket(Vehicle vehicle, ParkingSpot parkingSpot) {
+		if(vehicle == null || parkingSpot == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		return ReservationManager.getInstance().commit(parkingSpot, vehicle);
 		
-		return  TicketGenerator.generateTicket(vehicle, parkingSpot);
-		
+	}
+
+	// commits an allocation made by FindParkingSpotAPI.findParkingSpot(lotId, vehicleType), in the lot that took the car
+	public Ticket getTicket(Vehicle vehicle, LotAllocation allocation) {
+		if(vehicle == null || allocation == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		return AllocationService.getInstance().commit(allocation, vehicle);
 	}
 
 }
@@ -1,10 +1,13 @@
 package ParkingLot.API;
 
 import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Manager.ParkingSpotVacatorManager;
 
 public class ParkingSpotVacatorAPI {
 
+	private final ParkingSpotVacatorManager parkingSpotVacatorManager = new ParkingSpotVacatorManager();
+
 	public void vacateParkingSpot(ParkingSpot parkingSpot) {
-		
+		parkingSpotVacatorManager.vacateParkingSpot(parkingSpot);
 	}
 }
@@ -1,15 +1,65 @@
 package ParkingLot.API;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import ParkingLot.Data.CardDetail;
+import ParkingLot.Data.PaymentMode;
+import ParkingLot.Data.PaymentResponse;
 import ParkingLot.Data.Ticket;
+import ParkingLot.Factory.PaymentProcessorFactory;
+import ParkingLot.Payment.PaymentProcessor;
+import ParkingLot.Shard.AllocationService;
+import ParkingLot.Ticket.FeeCalculator;
 
 public class PayParkingFeesAPI {
 
 	
 	public boolean payParkingFee(Ticket ticket, Map<String, String> paymentInfo, PaymentMode paymentMode) {
-		
+		return payParkingFeeAsync(ticket, paymentInfo, paymentMode).join();
 	}
 	
+	// card and net banking payments are settled in batches, so the gate can move on and wait on the future
+	public CompletableFuture<Boolean> payParkingFeeAsync(Ticket ticket, Map<String, String> paymentInfo, PaymentMode paymentMode) {
+		if(ticket == null || paymentMode == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		double amount = new FeeCalculator().calculateFee(ticket);
+		if(amount <= 0) {
+			// left within the grace period
+			return CompletableFuture.completedFuture(true);
+		}
+		PaymentProcessor paymentProcessor = getPaymentProcessor(amount, paymentInfo, paymentMode);
+		return paymentProcessor.submitPayment().thenApply(paymentResponse -> {
+			if(paymentResponse != PaymentResponse.SUCCESS) {
+				return false;
+			}
+			// a ticket from a lot shard is journaled by that lot
+			AllocationService.getInstance().getParkingJournal(ticket.getParkingSpot()).logPayment(ticket, amount);
+			return true;
+		});
 	}
-
+	
+	private PaymentProcessor getPaymentProcessor(double amount, Map<String, String> paymentInfo, PaymentMode paymentMode) {
+		if(paymentMode == PaymentMode.CASH) {
+			return PaymentProcessorFactory.getCashBasePaymentProcessor(amount);
+		}
+		if(paymentInfo == null) {
+			throw new IllegalArgumentException("Payment details are required for " + paymentMode);
+		}
+		if(paymentMode == PaymentMode.CARD) {
+			CardDetail cardDetail = new CardDetail(required(paymentInfo, "cardNumber"), required(paymentInfo, "nameOnCard"),
+					Integer.parseInt(required(paymentInfo, "pin")));
+			return PaymentProcessorFactory.getCardBasePaymentProcessor(amount, cardDetail);
+		}
+		return PaymentProcessorFactory.getNetBankingPaymentProcessor(amount, required(paymentInfo, "userName"));
+	}
+	
+	private static String required(Map<String, String> paymentInfo, String key) {
+		String value = paymentInfo.get(key);
+		if(value == null) {
+			throw new IllegalArgumentException("Missing payment detail " + key);
+		}
+		return value;
+	}
+}
@@ -6,11 +6,16 @@ public class Ticket {
 	private final String ticketNumber;
 	private final Vehicle vehicle;
 	private final ParkingSpot parkingSpot;
+	private final long issuedAtEpochSecond;
 	public Ticket(String ticketNumber, Vehicle vehicle, ParkingSpot parkingSpot) {
+		this(ticketNumber, vehicle, parkingSpot, System.currentTimeMillis() / 1000);
+	}
+	public Ticket(String ticketNumber, Vehicle vehicle, ParkingSpot parkingSpot, long issuedAtEpochSecond) {
 		super();
 		this.ticketNumber = ticketNumber;
 		this.vehicle = vehicle;
 		this.parkingSpot = parkingSpot;
+		this.issuedAtEpochSecond = issuedAtEpochSecond;
 	}
 	public String getTicketNumber() {
 		return ticketNumber;
@@ -21,6 +26,9 @@ public class Ticket {
 	public ParkingSpot getParkingSpot() {
 		return parkingSpot;
 	}
+	public long getIssuedAtEpochSecond() {
+		return issuedAtEpochSecond;
+	}
 	
 	
 }
@@ -0,0 +1,111 @@
+package ParkingLot.Display;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import ParkingLot.Index.OccupancyIndex;
+
+/**
+ * Pushes free spot counts to the entry displays at a fixed rate. Each tick reads the striped
+ * occupancy counters once and builds one snapshot; if nothing changed since the last push, the
+ * tick is dropped, so any number of reserves and vacates between ticks coalesce into a single
+ * update. Gates never touch the displays, the allocation path only bumps its counters.
+ */
+public class AvailabilityBroadcaster {
+
+	private static final long DEFAULT_PERIOD_MILLIS = 500;
+
+	private final OccupancyIndex occupancyIndex;
+	private final List<AvailabilitySubscriber> subscribers = new CopyOnWriteArrayList<>();
+	private volatile AvailabilitySnapshot latest;
+	private long version;
+	private ScheduledExecutorService scheduler;
+
+	public AvailabilityBroadcaster(OccupancyIndex occupancyIndex) {
+		if(occupancyIndex == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.occupancyIndex = occupancyIndex;
+	}
+
+	private static class Holder {
+		private static final AvailabilityBroadcaster INSTANCE = new AvailabilityBroadcaster(OccupancyIndex.getInstance());
+		static {
+			INSTANCE.start(DEFAULT_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public static AvailabilityBroadcaster getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	// a new subscriber gets the latest snapshot right away, then every change
+	public void subscribe(AvailabilitySubscriber subscriber) {
+		if(subscriber == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		subscribers.add(subscriber);
+		AvailabilitySnapshot snapshot = latest;
+		if(snapshot != null) {
+			deliver(subscriber, snapshot);
+		}
+	}
+
+	public void unsubscribe(AvailabilitySubscriber subscriber) {
+		subscribers.remove(subscriber);
+	}
+
+	// for displays that poll instead of subscribing, null before the first tick
+	public AvailabilitySnapshot getLatest() {
+		return latest;
+	}
+
+	public synchronized void start(long period, TimeUnit unit) {
+		if(scheduler != null) {
+			throw new IllegalStateException("Broadcaster already started");
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "availability-broadcaster");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(this::broadcast, 0, period, unit);
+	}
+
+	public synchronized void stop() {
+		if(scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	// one tick, returns false when the counts had not changed and nothing was pushed
+	public boolean broadcast() {
+		AvailabilitySnapshot snapshot;
+		synchronized(this) {
+			AvailabilitySnapshot previous = latest;
+			snapshot = AvailabilitySnapshot.take(occupancyIndex, version + 1);
+			if(previous != null && previous.sameCounts(snapshot)) {
+				return false;
+			}
+			version++;
+			latest = snapshot;
+		}
+		for(AvailabilitySubscriber subscriber : subscribers) {
+			deliver(subscriber, snapshot);
+		}
+		return true;
+	}
+
+	private void deliver(AvailabilitySubscriber subscriber, AvailabilitySnapshot snapshot) {
+		try {
+			subscriber.onAvailability(snapshot);
+		} catch (RuntimeException e) {
+			// one broken display must not stop the others
+			System.out.println("Availability push failed: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package ParkingLot.Display;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Index.SpotGroup;
+
+/**
+ * Free spot counts per VehicleType and floor at one moment, read from the occupancy counters.
+ * Immutable, so one snapshot is shared by every display it is pushed to.
+ */
+public class AvailabilitySnapshot {
+
+	private final long version;
+	private final long takenAtMillis;
+	private final Map<VehicleType, String[]> floorsByType = new EnumMap<>(VehicleType.class);
+	private final Map<VehicleType, int[]> freeCountsByType = new EnumMap<>(VehicleType.class);
+	private final Map<VehicleType, int[]> capacitiesByType = new EnumMap<>(VehicleType.class);
+
+	private AvailabilitySnapshot(long version, long takenAtMillis) {
+		this.version = version;
+		this.takenAtMillis = takenAtMillis;
+	}
+
+	static AvailabilitySnapshot take(OccupancyIndex occupancyIndex, long version) {
+		AvailabilitySnapshot snapshot = new AvailabilitySnapshot(version, System.currentTimeMillis());
+		for(VehicleType vehicleType : VehicleType.values()) {
+			List<SpotGroup> spotGroups = occupancyIndex.getSpotGroups(vehicleType);
+			String[] floors = new String[spotGroups.size()];
+			int[] freeCounts = new int[spotGroups.size()];
+			int[] capacities = new int[spotGroups.size()];
+			for(int i = 0; i < floors.length; i++) {
+				SpotGroup spotGroup = spotGroups.get(i);
+				floors[i] = spotGroup.getFloorNum();
+				capacities[i] = spotGroup.getCapacity();
+				freeCounts[i] = Math.max(0, capacities[i] - spotGroup.getOccupancy().countedOccupied());
+			}
+			snapshot.floorsByType.put(vehicleType, floors);
+			snapshot.freeCountsByType.put(vehicleType, freeCounts);
+			snapshot.capacitiesByType.put(vehicleType, capacities);
+		}
+		return snapshot;
+	}
+
+	// same floors and counts, ignoring version and time
+	boolean sameCounts(AvailabilitySnapshot other) {
+		for(VehicleType vehicleType : VehicleType.values()) {
+			if(!Arrays.equals(floorsByType.get(vehicleType), other.floorsByType.get(vehicleType))
+					|| !Arrays.equals(freeCountsByType.get(vehicleType), other.freeCountsByType.get(vehicleType))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public long getTakenAtMillis() {
+		return takenAtMillis;
+	}
+
+	public List<String> getFloors(VehicleType vehicleType) {
+		return Collections.unmodifiableList(Arrays.asList(floorsByType.get(vehicleType)));
+	}
+
+	// -1 when the floor has no spots of this type
+	public int getFreeCount(VehicleType vehicleType, String floorNum) {
+		String[] floors = floorsByType.get(vehicleType);
+		for(int i = 0; i < floors.length; i++) {
+			if(floors[i].equals(floorNum)) {
+				return freeCountsByType.get(vehicleType)[i];
+			}
+		}
+		return -1;
+	}
+
+	public int getFreeCount(VehicleType vehicleType) {
+		int freeCount = 0;
+		for(int count : freeCountsByType.get(vehicleType)) {
+			freeCount += count;
+		}
+		return freeCount;
+	}
+
+	public int getCapacity(VehicleType vehicleType) {
+		int capacity = 0;
+		for(int count : capacitiesByType.get(vehicleType)) {
+			capacity += count;
+		}
+		return capacity;
+	}
+}
@@ -0,0 +1,7 @@
+package ParkingLot.Display;
+
+public interface AvailabilitySubscriber {
+
+	// called on the broadcaster's thread, keep it short
+	void onAvailability(AvailabilitySnapshot snapshot);
+}
@@ -2,6 +2,8 @@ package ParkingLot.Factory;
 
 import ParkingLot.Data.CardDetail;
 import ParkingLot.Payment.CardPaymentProcessor;
+import ParkingLot.Payment.CashPaymentProcessor;
+import ParkingLot.Payment.NetBankingPaymentProcessor;
 import ParkingLot.Payment.PaymentProcessor;
 
 public class PaymentProcessorFactory {
@@ -11,6 +13,9 @@ public class PaymentProcessorFactory {
 		return new CardPaymentProcessor(amount,cardDetails);
 	}
 	public static PaymentProcessor getCashBasePaymentProcessor(double amount) {
-		return new CashBasePaymentProcessor(amount);
+		return new CashPaymentProcessor(amount);
+	}
+	public static PaymentProcessor getNetBankingPaymentProcessor(double amount, String userName) {
+		return new NetBankingPaymentProcessor(amount, userName);
 	}
 }
@@ -1,7 +1,5 @@
 package ParkingLot.finder;
 
-import java.util.List;
-
 import ParkingLot.Data.ParkingSpot;
 import ParkingLot.Manager.ParkingSpotManager;
 import ParkingLot.Manager.SpotSelectionManager;
@@ -15,10 +13,10 @@ public class ParkingSpotFinder {
 		this.parkingSpotManager = parkingSpotManager;
 		this.spotSelectionManager = spotSelectionManager;
 	}
+	// the returned spot is already held for the caller, null when the lot is full for this vehicle type
 	public ParkingSpot findParkingSpot() {
 		
-		List<ParkingSpot> parkingSpots = parkingSpotManager.getParkingSpots();
-		ParkingSpot parkingSpot = spotSelectionManager.selectParkingSpot(parkingSpots);
+		ParkingSpot parkingSpot = spotSelectionManager.reserveParkingSpot(parkingSpotManager.getVehicleType());
 		
 		return parkingSpot;
 	}
@@ -0,0 +1,169 @@
+package ParkingLot.Index;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import ParkingLot.Data.EntryPoint;
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
+
+/**
+ * Nearest free spot per EntryPoint. When an entry point is registered its spots are sorted by
+ * distance once, and a {@link FreeRankSet} holds the distance ranks of the free ones: a two level
+ * bitmap, so the closest free spot is found in O(log64 n) word reads.
+ *
+ * Taking a spot only removes it from the entry point that took it; the other entry points drop
+ * it lazily when they reach it and the claim in {@link OccupancyIndex} fails. Vacating adds it
+ * back everywhere. Every free spot is therefore in every queue, and the CAS in the occupancy
+ * bitmap stays the only arbiter of who gets it.
+ *
+ * Entry points must be registered again after OccupancyIndex loads a new layout.
+ */
+public class ClosestSpotIndex {
+
+	private final OccupancyIndex occupancyIndex;
+	private final Map<String, Map<VehicleType, SpotQueue>> queuesByEntryPoint = new ConcurrentHashMap<>();
+
+	private static class Holder {
+		private static final ClosestSpotIndex INSTANCE = new ClosestSpotIndex(OccupancyIndex.getInstance());
+	}
+
+	public static ClosestSpotIndex getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public ClosestSpotIndex(OccupancyIndex occupancyIndex) {
+		this.occupancyIndex = occupancyIndex;
+	}
+
+	public void registerEntryPoint(EntryPoint entryPoint, ToDoubleFunction<ParkingSpot> distance) {
+		if(entryPoint == null || distance == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		Map<VehicleType, SpotQueue> queues = new EnumMap<>(VehicleType.class);
+		for(VehicleType vehicleType : VehicleType.values()) {
+			queues.put(vehicleType, new SpotQueue(occupancyIndex.getSpotGroups(vehicleType), distance));
+		}
+		queuesByEntryPoint.put(entryPoint.getName(), queues);
+	}
+
+	public void unregisterEntryPoint(EntryPoint entryPoint) {
+		queuesByEntryPoint.remove(entryPoint.getName());
+	}
+
+	public boolean isRegistered(EntryPoint entryPoint) {
+		return queuesByEntryPoint.containsKey(entryPoint.getName());
+	}
+
+	// claims the closest free spot, null when none is free; unregistered entry points get the lowest free spot
+	public ParkingSpot reserve(EntryPoint entryPoint, VehicleType vehicleType) {
+		Map<VehicleType, SpotQueue> queues = queuesByEntryPoint.get(entryPoint.getName());
+		if(queues == null) {
+			return occupancyIndex.reserve(vehicleType);
+		}
+		SpotQueue spotQueue = queues.get(vehicleType);
+		int rank;
+		while((rank = spotQueue.freeRanks.first()) >= 0) {
+			spotQueue.freeRanks.remove(rank);
+			if(spotQueue.bitmapByRank[rank].claim(spotQueue.positionByRank[rank])) {
+				return spotQueue.spotsByRank[rank];
+			}
+			// taken through another entry point, dropped here now
+		}
+		return null;
+	}
+
+	// closest of the given spots, in distance order of the entry point
+	public ParkingSpot closest(EntryPoint entryPoint, List<ParkingSpot> parkingSpots) {
+		Map<VehicleType, SpotQueue> queues = queuesByEntryPoint.get(entryPoint.getName());
+		ParkingSpot closest = null;
+		int closestRank = Integer.MAX_VALUE;
+		for(ParkingSpot parkingSpot : parkingSpots) {
+			int rank = queues == null ? -1 : queues.get(parkingSpot.getVehicleType()).rankOf(occupancyIndex.locate(parkingSpot));
+			int value = rank < 0 ? Integer.MAX_VALUE - 1 : rank;
+			if(closest == null || value < closestRank) {
+				closest = parkingSpot;
+				closestRank = value;
+			}
+		}
+		return closest;
+	}
+
+	// called after the spot was released in the OccupancyIndex
+	public void onVacated(ParkingSpot parkingSpot) {
+		OccupancyIndex.SpotRef spotRef = occupancyIndex.locate(parkingSpot);
+		if(spotRef == null) {
+			return;
+		}
+		for(Map<VehicleType, SpotQueue> queues : queuesByEntryPoint.values()) {
+			SpotQueue spotQueue = queues.get(parkingSpot.getVehicleType());
+			int rank = spotQueue.rankOf(spotRef);
+			if(rank >= 0) {
+				spotQueue.freeRanks.add(rank);
+			}
+		}
+	}
+
+	private static class SpotQueue {
+		private final ParkingSpot[] spotsByRank;
+		private final OccupancyBitmap[] bitmapByRank;
+		private final int[] positionByRank;
+		// rank of each spot, by its group's offset plus its position in the group
+		private final Map<SpotGroup, Integer> groupOffsets = new IdentityHashMap<>();
+		private final int[] rankBySpot;
+		private final FreeRankSet freeRanks;
+
+		private SpotQueue(List<SpotGroup> spotGroups, ToDoubleFunction<ParkingSpot> distance) {
+			int size = 0;
+			for(SpotGroup spotGroup : spotGroups) {
+				groupOffsets.put(spotGroup, size);
+				size += spotGroup.getCapacity();
+			}
+			SpotGroup[] groups = new SpotGroup[size];
+			int[] positions = new int[size];
+			// distance as float bits in the high half, spot in the low half: one primitive sort
+			long[] order = new long[size];
+			int spot = 0;
+			for(SpotGroup spotGroup : spotGroups) {
+				for(int position = 0; position < spotGroup.getCapacity(); position++) {
+					double spotDistance = distance.applyAsDouble(spotGroup.getParkingSpot(position));
+					if(!(spotDistance >= 0)) {
+						throw new IllegalArgumentException("Distances must be non-negative");
+					}
+					groups[spot] = spotGroup;
+					positions[spot] = position;
+					order[spot] = ((long) Float.floatToIntBits((float) spotDistance) << 32) | spot;
+					spot++;
+				}
+			}
+			Arrays.sort(order);
+
+			spotsByRank = new ParkingSpot[size];
+			bitmapByRank = new OccupancyBitmap[size];
+			positionByRank = new int[size];
+			freeRanks = new FreeRankSet(size);
+			rankBySpot = new int[size];
+			for(int rank = 0; rank < size; rank++) {
+				int i = (int) order[rank];
+				spotsByRank[rank] = groups[i].getParkingSpot(positions[i]);
+				bitmapByRank[rank] = groups[i].getOccupancy();
+				positionByRank[rank] = positions[i];
+				rankBySpot[i] = rank;
+				if(!bitmapByRank[rank].isOccupied(positions[i])) {
+					freeRanks.add(rank);
+				}
+			}
+		}
+
+		// -1 when the spot is not in this queue
+		private int rankOf(OccupancyIndex.SpotRef spotRef) {
+			Integer offset = spotRef == null ? null : groupOffsets.get(spotRef.spotGroup);
+			return offset == null ? -1 : rankBySpot[offset + spotRef.position];
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package ParkingLot.Index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent set of small ints with lowest-first lookup: a bit per int plus a summary bit per
+ * 64 bit word that may be non-empty, so finding the lowest member reads one summary word per
+ * 4096 ints and then a single leaf word. Adds and removes are CAS on one or two words.
+ *
+ * A summary bit can be stale-set (its word emptied meanwhile), never stale-clear once the
+ * operations touching that word have returned: whoever clears it re-checks the word afterwards.
+ */
+class FreeRankSet {
+
+	private final AtomicLongArray leaves;
+	private final AtomicLongArray summary;
+
+	FreeRankSet(int size) {
+		int leafWords = Math.max(1, (size + 63) >>> 6);
+		this.leaves = new AtomicLongArray(leafWords);
+		this.summary = new AtomicLongArray((leafWords + 63) >>> 6);
+	}
+
+	void add(int rank) {
+		int leaf = rank >>> 6;
+		setBit(leaves, leaf, 1L << rank);
+		setBit(summary, leaf >>> 6, 1L << leaf);
+	}
+
+	void remove(int rank) {
+		int leaf = rank >>> 6;
+		if(clearBit(leaves, leaf, 1L << rank) == 0) {
+			clearSummary(leaf);
+		}
+	}
+
+	// lowest member at the time of the read, -1 when empty
+	int first() {
+		for(int s = 0; s < summary.length(); s++) {
+			long summaryWord = summary.get(s);
+			while(summaryWord != 0) {
+				int leaf = (s << 6) + Long.numberOfTrailingZeros(summaryWord);
+				long leafWord = leaves.get(leaf);
+				if(leafWord != 0) {
+					return (leaf << 6) + Long.numberOfTrailingZeros(leafWord);
+				}
+				clearSummary(leaf);
+				summaryWord &= summaryWord - 1;
+			}
+		}
+		return -1;
+	}
+
+	private void clearSummary(int leaf) {
+		clearBit(summary, leaf >>> 6, 1L << leaf);
+		// an add may have landed between emptying the word and clearing its summary bit
+		if(leaves.get(leaf) != 0) {
+			setBit(summary, leaf >>> 6, 1L << leaf);
+		}
+	}
+
+	private static void setBit(AtomicLongArray words, int index, long bit) {
+		long word;
+		do {
+			word = words.get(index);
+			if((word & bit) != 0) {
+				return;
+			}
+		} while(!words.compareAndSet(index, word, word | bit));
+	}
+
+	// the word after clearing
+	private static long clearBit(AtomicLongArray words, int index, long bit) {
+		long word;
+		do {
+			word = words.get(index);
+			if((word & bit) == 0) {
+				return word;
+			}
+		} while(!words.compareAndSet(index, word, word & ~bit));
+		return word & ~bit;
+	}
+}
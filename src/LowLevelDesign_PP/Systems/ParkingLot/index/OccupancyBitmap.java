@@ -0,0 +1,146 @@
+package ParkingLot.Index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One bit per spot, set while the spot is taken. Claims are a compare-and-set on the 64 bit word
+ * holding the spot, so gates never block each other; finding a free spot is a scan for the
+ * first word that is not all ones. Every successful claim and release also bumps a striped
+ * counter, so readers such as the entry displays get the count without scanning the words.
+ */
+public class OccupancyBitmap {
+
+	private final AtomicLongArray words;
+	private final int size;
+	private final LongAdder occupied = new LongAdder();
+
+	public OccupancyBitmap(int size) {
+		if(size <= 0) {
+			throw new IllegalArgumentException("size must be positive");
+		}
+		this.size = size;
+		this.words = new AtomicLongArray((size + 63) >>> 6);
+		// bits past the last spot stay set so they are never handed out
+		int tail = size & 63;
+		if(tail != 0) {
+			words.set(words.length() - 1, -1L << tail);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// lowest free spot, -1 when full
+	public int claimFirstFree() {
+		return claimFreeFrom(0);
+	}
+
+	// first free spot at or after startBit's word, wrapping around; -1 when full
+	public int claimFreeFrom(int startBit) {
+		int wordCount = words.length();
+		int startWord = (startBit >>> 6) % wordCount;
+		for(int i = 0; i < wordCount; i++) {
+			int index = startWord + i < wordCount ? startWord + i : startWord + i - wordCount;
+			long word = words.get(index);
+			while(word != -1L) {
+				long bit = Long.lowestOneBit(~word);
+				if(words.compareAndSet(index, word, word | bit)) {
+					occupied.increment();
+					return (index << 6) + Long.numberOfTrailingZeros(bit);
+				}
+				word = words.get(index);
+			}
+		}
+		return -1;
+	}
+
+	// false when the spot was already taken
+	public boolean claim(int spot) {
+		checkSpot(spot);
+		int index = spot >>> 6;
+		long bit = 1L << spot;
+		while(true) {
+			long word = words.get(index);
+			if((word & bit) != 0) {
+				return false;
+			}
+			if(words.compareAndSet(index, word, word | bit)) {
+				occupied.increment();
+				return true;
+			}
+		}
+	}
+
+	// false when the spot was already free
+	public boolean release(int spot) {
+		checkSpot(spot);
+		int index = spot >>> 6;
+		long bit = 1L << spot;
+		while(true) {
+			long word = words.get(index);
+			if((word & bit) == 0) {
+				return false;
+			}
+			if(words.compareAndSet(index, word, word & ~bit)) {
+				occupied.decrement();
+				return true;
+			}
+		}
+	}
+
+	public boolean isOccupied(int spot) {
+		checkSpot(spot);
+		return (words.get(spot >>> 6) & (1L << spot)) != 0;
+	}
+
+	// a moving count while gates are claiming, exact when quiet
+	public int occupiedCount() {
+		int count = 0;
+		for(int i = 0; i < words.length(); i++) {
+			count += Long.bitCount(words.get(i));
+		}
+		return count - (words.length() * 64 - size);
+	}
+
+	public int freeCount() {
+		return size - occupiedCount();
+	}
+
+	// from the striped counter, cheap to poll; may briefly disagree with the words under contention
+	public int countedOccupied() {
+		return (int) occupied.sum();
+	}
+
+	// copy of the words, tail bits included; moving while gates are claiming
+	public long[] toWords() {
+		long[] copy = new long[words.length()];
+		for(int i = 0; i < copy.length; i++) {
+			copy[i] = words.get(i);
+		}
+		return copy;
+	}
+
+	// overwrites every bit, only while no gate is using the bitmap
+	public void restore(long[] snapshot) {
+		if(snapshot.length != words.length()) {
+			throw new IllegalArgumentException("Snapshot has " + snapshot.length + " words, bitmap has " + words.length());
+		}
+		int tail = size & 63;
+		for(int i = 0; i < snapshot.length; i++) {
+			words.set(i, snapshot[i]);
+		}
+		if(tail != 0) {
+			words.set(words.length() - 1, snapshot[snapshot.length - 1] | (-1L << tail));
+		}
+		occupied.reset();
+		occupied.add(occupiedCount());
+	}
+
+	private void checkSpot(int spot) {
+		if(spot < 0 || spot >= size) {
+			throw new IndexOutOfBoundsException("spot " + spot + " of " + size);
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package ParkingLot.Index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
+
+/**
+ * Which spots of the lot are taken, as one {@link OccupancyBitmap} per VehicleType and floor.
+ * Reserving a spot is a find-first-free over the bitmap words plus a CAS, with no list of spots
+ * built or scanned. Floors are searched in the order they first appear in the loaded spots.
+ *
+ * Loading a layout replaces the previous one, and with it every reservation. Each spot also gets
+ * a spot id, its position in the loaded list, for compact references such as journal records.
+ */
+public class OccupancyIndex {
+
+	private volatile Layout layout = new Layout(Collections.emptyList());
+
+	private static class Holder {
+		private static final OccupancyIndex INSTANCE = new OccupancyIndex();
+	}
+
+	public static OccupancyIndex getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public void load(List<ParkingSpot> parkingSpots) {
+		if(parkingSpots == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		layout = new Layout(parkingSpots);
+	}
+
+	// lowest free spot on the first floor that has one, null when the lot is full for this type
+	public ParkingSpot reserve(VehicleType vehicleType) {
+		for(SpotGroup spotGroup : layout.groups(vehicleType)) {
+			int position = spotGroup.getOccupancy().claimFirstFree();
+			if(position >= 0) {
+				return spotGroup.getParkingSpot(position);
+			}
+		}
+		return null;
+	}
+
+	// starts at a random floor and word so concurrent gates spread over the bitmaps
+	public ParkingSpot reserveAny(VehicleType vehicleType, int seed) {
+		List<SpotGroup> spotGroups = layout.groups(vehicleType);
+		int groupCount = spotGroups.size();
+		for(int i = 0; i < groupCount; i++) {
+			SpotGroup spotGroup = spotGroups.get(Math.floorMod(seed + i, groupCount));
+			int position = spotGroup.getOccupancy().claimFreeFrom(Math.floorMod(seed, spotGroup.getCapacity()));
+			if(position >= 0) {
+				return spotGroup.getParkingSpot(position);
+			}
+		}
+		return null;
+	}
+
+	public ParkingSpot reserve(VehicleType vehicleType, String floorNum) {
+		SpotGroup spotGroup = getSpotGroup(vehicleType, floorNum);
+		if(spotGroup == null) {
+			return null;
+		}
+		int position = spotGroup.getOccupancy().claimFirstFree();
+		return position < 0 ? null : spotGroup.getParkingSpot(position);
+	}
+
+	// claims this particular spot, false when it is taken or unknown
+	public boolean claim(ParkingSpot parkingSpot) {
+		SpotRef spotRef = layout.find(parkingSpot);
+		return spotRef != null && spotRef.spotGroup.getOccupancy().claim(spotRef.position);
+	}
+
+	// false when the spot was already free or unknown
+	public boolean release(ParkingSpot parkingSpot) {
+		SpotRef spotRef = layout.find(parkingSpot);
+		return spotRef != null && spotRef.spotGroup.getOccupancy().release(spotRef.position);
+	}
+
+	public boolean isFree(ParkingSpot parkingSpot) {
+		SpotRef spotRef = layout.find(parkingSpot);
+		return spotRef != null && !spotRef.spotGroup.getOccupancy().isOccupied(spotRef.position);
+	}
+
+	public List<ParkingSpot> getFreeSpots(VehicleType vehicleType) {
+		List<ParkingSpot> freeSpots = new ArrayList<>();
+		for(SpotGroup spotGroup : layout.groups(vehicleType)) {
+			OccupancyBitmap occupancy = spotGroup.getOccupancy();
+			for(int position = 0; position < spotGroup.getCapacity(); position++) {
+				if(!occupancy.isOccupied(position)) {
+					freeSpots.add(spotGroup.getParkingSpot(position));
+				}
+			}
+		}
+		return freeSpots;
+	}
+
+	public int getFreeCount(VehicleType vehicleType) {
+		int freeCount = 0;
+		for(SpotGroup spotGroup : layout.groups(vehicleType)) {
+			freeCount += spotGroup.getOccupancy().freeCount();
+		}
+		return freeCount;
+	}
+
+	public List<SpotGroup> getSpotGroups(VehicleType vehicleType) {
+		return layout.groups(vehicleType);
+	}
+
+	public SpotGroup getSpotGroup(VehicleType vehicleType, String floorNum) {
+		for(SpotGroup spotGroup : layout.groups(vehicleType)) {
+			if(spotGroup.getFloorNum().equals(floorNum)) {
+				return spotGroup;
+			}
+		}
+		return null;
+	}
+
+	// -1 when the spot is not in the current layout
+	public int getSpotId(ParkingSpot parkingSpot) {
+		SpotRef spotRef = layout.find(parkingSpot);
+		return spotRef == null ? -1 : spotRef.spotId;
+	}
+
+	public ParkingSpot getParkingSpot(int spotId) {
+		return layout.parkingSpots[spotId];
+	}
+
+	public int getSpotCount() {
+		return layout.parkingSpots.length;
+	}
+
+	// identifies the loaded layout: spot names, types and floors in load order
+	public long getLayoutFingerprint() {
+		return layout.fingerprint;
+	}
+
+	// where the spot sits in the current layout, null when unknown
+	SpotRef locate(ParkingSpot parkingSpot) {
+		return layout.find(parkingSpot);
+	}
+
+	static class SpotRef {
+		final SpotGroup spotGroup;
+		final int position;
+		final int spotId;
+
+		private SpotRef(SpotGroup spotGroup, int position, int spotId) {
+			this.spotGroup = spotGroup;
+			this.position = position;
+			this.spotId = spotId;
+		}
+	}
+
+	private static class Layout {
+		private final Map<VehicleType, List<SpotGroup>> groupsByType = new EnumMap<>(VehicleType.class);
+		// spot names are unique across the lot
+		private final Map<String, SpotRef> spotsByName = new HashMap<>();
+		// by spot id
+		private final ParkingSpot[] parkingSpots;
+		private final long fingerprint;
+
+		private Layout(List<ParkingSpot> parkingSpots) {
+			this.parkingSpots = parkingSpots.toArray(new ParkingSpot[0]);
+			Map<String, Integer> spotIds = new HashMap<>();
+			long hash = 1125899906842597L;
+			for(int spotId = 0; spotId < this.parkingSpots.length; spotId++) {
+				ParkingSpot parkingSpot = this.parkingSpots[spotId];
+				spotIds.put(parkingSpot.getParkingSpotName(), spotId);
+				hash = 31 * hash + parkingSpot.getParkingSpotName().hashCode();
+				hash = 31 * hash + parkingSpot.getVehicleType().ordinal();
+				hash = 31 * hash + parkingSpot.getFloorNum().hashCode();
+			}
+			this.fingerprint = hash;
+			Map<VehicleType, Map<String, List<ParkingSpot>>> spotsByTypeAndFloor = new EnumMap<>(VehicleType.class);
+			for(ParkingSpot parkingSpot : parkingSpots) {
+				spotsByTypeAndFloor.computeIfAbsent(parkingSpot.getVehicleType(), type -> new LinkedHashMap<>())
+						.computeIfAbsent(parkingSpot.getFloorNum(), floor -> new ArrayList<>()).add(parkingSpot);
+			}
+			for(VehicleType vehicleType : VehicleType.values()) {
+				List<SpotGroup> spotGroups = new ArrayList<>();
+				Map<String, List<ParkingSpot>> spotsByFloor = spotsByTypeAndFloor.get(vehicleType);
+				if(spotsByFloor != null) {
+					for(Map.Entry<String, List<ParkingSpot>> floor : spotsByFloor.entrySet()) {
+						SpotGroup spotGroup = new SpotGroup(vehicleType, floor.getKey(), floor.getValue());
+						spotGroups.add(spotGroup);
+						for(int position = 0; position < spotGroup.getCapacity(); position++) {
+							ParkingSpot parkingSpot = spotGroup.getParkingSpot(position);
+							SpotRef spotRef = new SpotRef(spotGroup, position, spotIds.get(parkingSpot.getParkingSpotName()));
+							if(spotsByName.put(parkingSpot.getParkingSpotName(), spotRef) != null) {
+								throw new IllegalArgumentException("Duplicate parking spot " + parkingSpot.getParkingSpotName());
+							}
+						}
+					}
+				}
+				groupsByType.put(vehicleType, Collections.unmodifiableList(spotGroups));
+			}
+		}
+
+		private List<SpotGroup> groups(VehicleType vehicleType) {
+			return groupsByType.get(vehicleType);
+		}
+
+		private SpotRef find(ParkingSpot parkingSpot) {
+			return parkingSpot == null ? null : spotsByName.get(parkingSpot.getParkingSpotName());
+		}
+	}
+}
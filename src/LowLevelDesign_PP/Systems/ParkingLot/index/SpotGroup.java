@@ -0,0 +1,50 @@
+package ParkingLot.Index;
+
+import java.util.Arrays;
+import java.util.List;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
+
+/**
+ * The spots of one VehicleType on one floor and the bitmap tracking which of them are taken.
+ * A spot's position in the group is its bit in the bitmap.
+ */
+public class SpotGroup {
+
+	private final VehicleType vehicleType;
+	private final String floorNum;
+	private final ParkingSpot[] parkingSpots;
+	private final OccupancyBitmap occupancy;
+
+	SpotGroup(VehicleType vehicleType, String floorNum, List<ParkingSpot> parkingSpots) {
+		this.vehicleType = vehicleType;
+		this.floorNum = floorNum;
+		this.parkingSpots = parkingSpots.toArray(new ParkingSpot[0]);
+		this.occupancy = new OccupancyBitmap(this.parkingSpots.length);
+	}
+
+	public VehicleType getVehicleType() {
+		return vehicleType;
+	}
+
+	public String getFloorNum() {
+		return floorNum;
+	}
+
+	public int getCapacity() {
+		return parkingSpots.length;
+	}
+
+	public ParkingSpot getParkingSpot(int position) {
+		return parkingSpots[position];
+	}
+
+	public List<ParkingSpot> getParkingSpots() {
+		return Arrays.asList(parkingSpots.clone());
+	}
+
+	public OccupancyBitmap getOccupancy() {
+		return occupancy;
+	}
+}
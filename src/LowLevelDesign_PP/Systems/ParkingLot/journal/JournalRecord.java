@@ -0,0 +1,101 @@
+package ParkingLot.Journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import ParkingLot.Data.VehicleType;
+
+/**
+ * One fixed size journal record. Layout, 64 bytes big endian:
+ * type(1) vehicleType(1) vehicleNumberLength(1) unused(1) spotId(4) ticketId(8) epochSecond(8)
+ * amount(8) vehicleNumber(28, UTF-8, cut to fit) crc32(4) of the first 60 bytes.
+ *
+ * Instances are reusable holders, so replaying millions of records allocates nothing per record.
+ * Buffers must be heap buffers.
+ */
+public class JournalRecord {
+
+	public static final int SIZE = 64;
+
+	public static final byte RESERVE = 1;
+	public static final byte TICKET = 2;
+	public static final byte VACATE = 3;
+	public static final byte PAY = 4;
+
+	private static final int VEHICLE_NUMBER_OFFSET = 32;
+	private static final int VEHICLE_NUMBER_BYTES = 28;
+	private static final int CRC_OFFSET = 60;
+	private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+	private final CRC32 crc = new CRC32();
+	private final byte[] vehicleNumberBytes = new byte[VEHICLE_NUMBER_BYTES];
+
+	byte type;
+	VehicleType vehicleType;
+	int spotId;
+	long ticketId;
+	long epochSecond;
+	double amount;
+	private int vehicleNumberLength;
+
+	// writes one record at the buffer's position and advances it by SIZE
+	void write(ByteBuffer buffer, byte type, VehicleType vehicleType, int spotId, long ticketId, long epochSecond,
+			double amount, String vehicleNumber) {
+		int start = buffer.position();
+		int length = 0;
+		if(vehicleNumber != null) {
+			byte[] bytes = vehicleNumber.getBytes(StandardCharsets.UTF_8);
+			length = Math.min(bytes.length, VEHICLE_NUMBER_BYTES);
+			System.arraycopy(bytes, 0, vehicleNumberBytes, 0, length);
+		}
+		buffer.put(type);
+		buffer.put(vehicleType == null ? (byte) -1 : (byte) vehicleType.ordinal());
+		buffer.put((byte) length);
+		buffer.put((byte) 0);
+		buffer.putInt(spotId);
+		buffer.putLong(ticketId);
+		buffer.putLong(epochSecond);
+		buffer.putDouble(amount);
+		buffer.put(vehicleNumberBytes, 0, length);
+		for(int i = length; i < VEHICLE_NUMBER_BYTES; i++) {
+			buffer.put((byte) 0);
+		}
+		buffer.putInt(start + CRC_OFFSET, checksum(buffer, start));
+		buffer.position(start + SIZE);
+	}
+
+	// reads the record at the buffer's position; false, without advancing, when it is torn or corrupt
+	boolean read(ByteBuffer buffer) {
+		int start = buffer.position();
+		if(buffer.remaining() < SIZE || buffer.getInt(start + CRC_OFFSET) != checksum(buffer, start)) {
+			return false;
+		}
+		type = buffer.get(start);
+		if(type < RESERVE || type > PAY) {
+			return false;
+		}
+		byte vehicleTypeOrdinal = buffer.get(start + 1);
+		vehicleType = vehicleTypeOrdinal < 0 ? null : VEHICLE_TYPES[vehicleTypeOrdinal];
+		vehicleNumberLength = buffer.get(start + 2);
+		spotId = buffer.getInt(start + 4);
+		ticketId = buffer.getLong(start + 8);
+		epochSecond = buffer.getLong(start + 16);
+		amount = buffer.getDouble(start + 24);
+		for(int i = 0; i < vehicleNumberLength; i++) {
+			vehicleNumberBytes[i] = buffer.get(start + VEHICLE_NUMBER_OFFSET + i);
+		}
+		buffer.position(start + SIZE);
+		return true;
+	}
+
+	String vehicleNumber() {
+		return new String(vehicleNumberBytes, 0, vehicleNumberLength, StandardCharsets.UTF_8);
+	}
+
+	private int checksum(ByteBuffer buffer, int start) {
+		crc.reset();
+		crc.update(buffer.array(), buffer.arrayOffset() + start, CRC_OFFSET);
+		return (int) crc.getValue();
+	}
+}
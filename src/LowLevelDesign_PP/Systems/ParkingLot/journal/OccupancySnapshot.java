@@ -0,0 +1,167 @@
+package ParkingLot.Journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Index.SpotGroup;
+
+/**
+ * The occupancy bitmaps and open tickets as of a log position, written to
+ * snapshot-[position].bin. Layout: magic, layout fingerprint, log position, then per spot group
+ * (VehicleType order, then floor order) its word count and words, then the ticket count and one
+ * TICKET {@link JournalRecord} per open ticket. Files are written to a temp name and moved into
+ * place, so a snapshot on disk is always complete.
+ */
+public class OccupancySnapshot {
+
+	private static final int MAGIC = 0x504C5331;
+	private static final String PREFIX = "snapshot-";
+	private static final String SUFFIX = ".bin";
+
+	private final long position;
+	private final long layoutFingerprint;
+	private final List<long[]> groupWords;
+	private final ByteBuffer ticketRecords;
+	private final int ticketCount;
+
+	private OccupancySnapshot(long position, long layoutFingerprint, List<long[]> groupWords, ByteBuffer ticketRecords,
+			int ticketCount) {
+		this.position = position;
+		this.layoutFingerprint = layoutFingerprint;
+		this.groupWords = groupWords;
+		this.ticketRecords = ticketRecords;
+		this.ticketCount = ticketCount;
+	}
+
+	static void write(Path directory, long position, OccupancyIndex occupancyIndex, List<Ticket> openTickets) {
+		List<long[]> groupWords = new ArrayList<>();
+		int wordCount = 0;
+		for(VehicleType vehicleType : VehicleType.values()) {
+			for(SpotGroup spotGroup : occupancyIndex.getSpotGroups(vehicleType)) {
+				long[] words = spotGroup.getOccupancy().toWords();
+				groupWords.add(words);
+				wordCount += words.length;
+			}
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(24 + groupWords.size() * 4 + wordCount * 8 + 4
+				+ openTickets.size() * JournalRecord.SIZE);
+		buffer.putInt(MAGIC);
+		buffer.putLong(occupancyIndex.getLayoutFingerprint());
+		buffer.putLong(position);
+		buffer.putInt(groupWords.size());
+		for(long[] words : groupWords) {
+			buffer.putInt(words.length);
+			for(long word : words) {
+				buffer.putLong(word);
+			}
+		}
+		buffer.putInt(openTickets.size());
+		JournalRecord record = new JournalRecord();
+		for(Ticket ticket : openTickets) {
+			ParkingJournal.writeTicket(record, buffer, occupancyIndex, ticket);
+		}
+		buffer.flip();
+		Path target = path(directory, position);
+		Path temp = directory.resolve(target.getFileName() + ".tmp");
+		try {
+			try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				while(buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			}
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// the newest snapshot in the directory, null when there is none
+	static OccupancySnapshot readLatest(Path directory) {
+		long latest = -1;
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+			for(Path file : files) {
+				String name = file.getFileName().toString();
+				latest = Math.max(latest, Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return latest < 0 ? null : read(path(directory, latest));
+	}
+
+	static void deleteSnapshotsBefore(Path directory, long position) {
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+			for(Path file : files) {
+				String name = file.getFileName().toString();
+				if(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())) < position) {
+					Files.deleteIfExists(file);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static OccupancySnapshot read(Path file) {
+		ByteBuffer buffer;
+		try {
+			buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if(buffer.getInt() != MAGIC) {
+			throw new IllegalStateException("Not a parking lot snapshot: " + file);
+		}
+		long layoutFingerprint = buffer.getLong();
+		long position = buffer.getLong();
+		int groupCount = buffer.getInt();
+		List<long[]> groupWords = new ArrayList<>(groupCount);
+		for(int i = 0; i < groupCount; i++) {
+			long[] words = new long[buffer.getInt()];
+			buffer.asLongBuffer().get(words);
+			buffer.position(buffer.position() + words.length * 8);
+			groupWords.add(words);
+		}
+		int ticketCount = buffer.getInt();
+		return new OccupancySnapshot(position, layoutFingerprint, groupWords, buffer.slice(), ticketCount);
+	}
+
+	private static Path path(Path directory, long position) {
+		return directory.resolve(String.format("%s%020d%s", PREFIX, position, SUFFIX));
+	}
+
+	long getPosition() {
+		return position;
+	}
+
+	long getLayoutFingerprint() {
+		return layoutFingerprint;
+	}
+
+	List<long[]> getGroupWords() {
+		return groupWords;
+	}
+
+	// TICKET records, one per open ticket
+	ByteBuffer getTicketRecords() {
+		return ticketRecords.duplicate();
+	}
+
+	int getTicketCount() {
+		return ticketCount;
+	}
+}
@@ -0,0 +1,315 @@
+package ParkingLot.Journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Index.SpotGroup;
+import ParkingLot.Ticket.TicketIdGenerator;
+import ParkingLot.Ticket.TicketStore;
+
+/**
+ * Makes tickets and spot state survive a restart. Reserve, ticket, vacate and pay events are
+ * appended to a {@link WriteAheadLog}, and every snapshot interval the occupancy bitmaps and open
+ * tickets are written as an {@link OccupancySnapshot}. Recovery loads the latest snapshot and
+ * replays only the log written after it.
+ *
+ * A ticket is logged after it is stored and a vacate before the spot is released, so records of
+ * one spot are in the log in the order they happened, and replaying a record the snapshot already
+ * holds changes nothing. Reservations not ticketed before the crash are released on recovery.
+ * Owner names are not journaled; recovered vehicles carry an empty name.
+ *
+ * Until {@link #open} is called the log methods do nothing. Open it after the layout is loaded
+ * and before the gates start.
+ */
+public class ParkingJournal {
+
+	private static final long DEFAULT_FLUSH_MILLIS = 10;
+	private static final long DEFAULT_SNAPSHOT_MILLIS = 60_000;
+
+	private final OccupancyIndex occupancyIndex;
+	private final TicketStore ticketStore;
+	private final Object snapshotLock = new Object();
+	private volatile WriteAheadLog log;
+	private Path directory;
+	private ScheduledExecutorService scheduler;
+
+	public ParkingJournal(OccupancyIndex occupancyIndex, TicketStore ticketStore) {
+		if(occupancyIndex == null || ticketStore == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.occupancyIndex = occupancyIndex;
+		this.ticketStore = ticketStore;
+	}
+
+	private static class Holder {
+		private static final ParkingJournal INSTANCE = new ParkingJournal(OccupancyIndex.getInstance(), TicketStore.getInstance());
+	}
+
+	public static ParkingJournal getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public RecoveryReport open(Path directory) {
+		return open(directory, DEFAULT_FLUSH_MILLIS, DEFAULT_SNAPSHOT_MILLIS);
+	}
+
+	// recovers whatever the directory holds into the index and the empty ticket store, then starts logging
+	public synchronized RecoveryReport open(Path directory, long flushMillis, long snapshotMillis) {
+		if(log != null) {
+			throw new IllegalStateException("Journal already open");
+		}
+		if(directory == null || flushMillis <= 0 || snapshotMillis <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.directory = directory;
+		Recovery recovery = new Recovery();
+		RecoveryReport report = recovery.run(directory);
+		// the recovered state becomes the new base, so torn or replayed segments are never read again
+		OccupancySnapshot.write(directory, recovery.endPosition, occupancyIndex, ticketStore.getOpenTickets());
+		OccupancySnapshot.deleteSnapshotsBefore(directory, recovery.endPosition);
+		WriteAheadLog.deleteSegmentsBefore(directory, Long.MAX_VALUE);
+		log = new WriteAheadLog(directory, recovery.endPosition);
+
+		scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+			Thread thread = new Thread(runnable, "parking-journal");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+		scheduler.scheduleWithFixedDelay(this::snapshot, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+		return report;
+	}
+
+	public synchronized void close() {
+		if(log == null) {
+			return;
+		}
+		scheduler.shutdownNow();
+		synchronized(snapshotLock) {
+			log.close();
+			log = null;
+		}
+	}
+
+	public void logReserve(ParkingSpot parkingSpot) {
+		WriteAheadLog wal = log;
+		if(wal != null) {
+			wal.append(JournalRecord.RESERVE, parkingSpot.getVehicleType(), spotId(parkingSpot), 0,
+					System.currentTimeMillis() / 1000, 0, null);
+		}
+	}
+
+	// after the ticket is in the TicketStore
+	public void logTicket(Ticket ticket) {
+		WriteAheadLog wal = log;
+		if(wal != null) {
+			Vehicle vehicle = ticket.getVehicle();
+			wal.append(JournalRecord.TICKET, vehicle.getVehicleType(), spotId(ticket.getParkingSpot()),
+					Long.parseLong(ticket.getTicketNumber()), ticket.getIssuedAtEpochSecond(), 0, vehicle.getNumber());
+		}
+	}
+
+	// after the ticket is closed and before the spot is released; ticket is null for an unticketed hold
+	public void logVacate(ParkingSpot parkingSpot, Ticket ticket) {
+		WriteAheadLog wal = log;
+		if(wal != null) {
+			wal.append(JournalRecord.VACATE, parkingSpot.getVehicleType(), spotId(parkingSpot),
+					ticket == null ? 0 : Long.parseLong(ticket.getTicketNumber()), System.currentTimeMillis() / 1000, 0, null);
+		}
+	}
+
+	public void logPayment(Ticket ticket, double amount) {
+		WriteAheadLog wal = log;
+		if(wal != null) {
+			wal.append(JournalRecord.PAY, ticket.getVehicle().getVehicleType(), spotId(ticket.getParkingSpot()),
+					Long.parseLong(ticket.getTicketNumber()), System.currentTimeMillis() / 1000, amount, null);
+		}
+	}
+
+	public void flush() {
+		WriteAheadLog wal = log;
+		if(wal != null) {
+			wal.flush();
+		}
+	}
+
+	// snapshot as of a fresh segment; older segments and snapshots are deleted once it is on disk
+	public void snapshot() {
+		synchronized(snapshotLock) {
+			WriteAheadLog wal = log;
+			if(wal == null) {
+				throw new IllegalStateException("Journal is not open");
+			}
+			long position = wal.rotate();
+			OccupancySnapshot.write(directory, position, occupancyIndex, ticketStore.getOpenTickets());
+			OccupancySnapshot.deleteSnapshotsBefore(directory, position);
+			WriteAheadLog.deleteSegmentsBefore(directory, position);
+		}
+	}
+
+	static void writeTicket(JournalRecord record, ByteBuffer buffer, OccupancyIndex occupancyIndex, Ticket ticket) {
+		Vehicle vehicle = ticket.getVehicle();
+		int spotId = occupancyIndex.getSpotId(ticket.getParkingSpot());
+		if(spotId < 0) {
+			throw new IllegalStateException("Ticket " + ticket.getTicketNumber() + " is for a spot outside the layout");
+		}
+		record.write(buffer, JournalRecord.TICKET, vehicle.getVehicleType(), spotId, Long.parseLong(ticket.getTicketNumber()),
+				ticket.getIssuedAtEpochSecond(), 0, vehicle.getNumber());
+	}
+
+	private int spotId(ParkingSpot parkingSpot) {
+		int spotId = occupancyIndex.getSpotId(parkingSpot);
+		if(spotId < 0) {
+			throw new IllegalArgumentException("Unknown parking spot " + parkingSpot.getParkingSpotName());
+		}
+		return spotId;
+	}
+
+	// rebuilds the open ticket of every spot id in plain arrays; Tickets are only built for the survivors
+	private class Recovery {
+
+		private final JournalRecord record = new JournalRecord();
+		private final ZoneOffset zoneOffset = ZoneId.systemDefault().getRules().getOffset(Instant.now());
+		// 0 when the spot has no open ticket
+		private final long[] ticketIdBySpot = new long[occupancyIndex.getSpotCount()];
+		private final long[] issuedAtBySpot = new long[ticketIdBySpot.length];
+		private final VehicleType[] vehicleTypeBySpot = new VehicleType[ticketIdBySpot.length];
+		private final String[] vehicleNumberBySpot = new String[ticketIdBySpot.length];
+		private long replayedRecords;
+		private long endPosition;
+
+		private RecoveryReport run(Path directory) {
+			long start = System.nanoTime();
+			OccupancySnapshot snapshot = OccupancySnapshot.readLatest(directory);
+			if(snapshot != null) {
+				restore(snapshot);
+				endPosition = snapshot.getPosition();
+			}
+			for(long segmentStart : WriteAheadLog.listSegments(directory, endPosition)) {
+				if(segmentStart != endPosition || !replay(WriteAheadLog.segmentPath(directory, segmentStart), segmentStart)) {
+					// a gap or a torn record ends the usable log
+					break;
+				}
+			}
+			int openTickets = 0;
+			int releasedReservations = 0;
+			// replay leaves the bitmaps alone: once holds are dropped, a spot is taken exactly when it has a ticket
+			for(int spotId = 0; spotId < ticketIdBySpot.length; spotId++) {
+				ParkingSpot parkingSpot = occupancyIndex.getParkingSpot(spotId);
+				if(ticketIdBySpot[spotId] != 0) {
+					occupancyIndex.claim(parkingSpot);
+					ticketStore.addTicket(toTicket(spotId, parkingSpot));
+					openTickets++;
+				} else if(!occupancyIndex.isFree(parkingSpot)) {
+					occupancyIndex.release(parkingSpot);
+					releasedReservations++;
+				}
+			}
+			return new RecoveryReport(snapshot != null, replayedRecords, openTickets, releasedReservations,
+					(System.nanoTime() - start) / 1_000_000);
+		}
+
+		private void restore(OccupancySnapshot snapshot) {
+			if(snapshot.getLayoutFingerprint() != occupancyIndex.getLayoutFingerprint()) {
+				throw new IllegalStateException("Journal was written for a different parking lot layout");
+			}
+			List<long[]> groupWords = snapshot.getGroupWords();
+			int group = 0;
+			for(VehicleType vehicleType : VehicleType.values()) {
+				for(SpotGroup spotGroup : occupancyIndex.getSpotGroups(vehicleType)) {
+					spotGroup.getOccupancy().restore(groupWords.get(group++));
+				}
+			}
+			ByteBuffer ticketRecords = snapshot.getTicketRecords();
+			for(int i = 0; i < snapshot.getTicketCount(); i++) {
+				if(!record.read(ticketRecords)) {
+					throw new IllegalStateException("Corrupt ticket in snapshot " + snapshot.getPosition());
+				}
+				open(checkedSpotId());
+			}
+		}
+
+		// false when the segment ends in a torn record; the segment is cut back to its last whole record
+		private boolean replay(Path segment, long segmentStart) {
+			ByteBuffer buffer;
+			try {
+				buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			while(record.read(buffer)) {
+				apply();
+				replayedRecords++;
+			}
+			endPosition = segmentStart + buffer.position();
+			if(buffer.hasRemaining()) {
+				try(FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+					channel.truncate(buffer.position());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return false;
+			}
+			return true;
+		}
+
+		private void apply() {
+			int spotId = checkedSpotId();
+			switch(record.type) {
+			case JournalRecord.TICKET:
+				open(spotId);
+				break;
+			case JournalRecord.VACATE:
+				ticketIdBySpot[spotId] = 0;
+				vehicleNumberBySpot[spotId] = null;
+				break;
+			default:
+				// reservations are dropped anyway and payments do not change spot or ticket state
+				break;
+			}
+		}
+
+		private int checkedSpotId() {
+			if(record.spotId < 0 || record.spotId >= ticketIdBySpot.length) {
+				throw new IllegalStateException("Journal refers to spot " + record.spotId + " outside the layout");
+			}
+			return record.spotId;
+		}
+
+		private void open(int spotId) {
+			ticketIdBySpot[spotId] = record.ticketId;
+			issuedAtBySpot[spotId] = record.epochSecond;
+			vehicleTypeBySpot[spotId] = record.vehicleType;
+			vehicleNumberBySpot[spotId] = record.vehicleNumber();
+		}
+
+		private Ticket toTicket(int spotId, ParkingSpot parkingSpot) {
+			Vehicle vehicle = new Vehicle("", vehicleTypeBySpot[spotId], vehicleNumberBySpot[spotId],
+					LocalDateTime.ofEpochSecond(issuedAtBySpot[spotId], 0, zoneOffset));
+			return new Ticket(TicketIdGenerator.format(ticketIdBySpot[spotId]), vehicle, parkingSpot, issuedAtBySpot[spotId]);
+		}
+	}
+}
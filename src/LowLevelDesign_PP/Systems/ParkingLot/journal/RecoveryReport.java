@@ -0,0 +1,42 @@
+package ParkingLot.Journal;
+
+public class RecoveryReport {
+
+	private final boolean fromSnapshot;
+	private final long replayedRecords;
+	private final int openTickets;
+	private final int releasedReservations;
+	private final long elapsedMillis;
+
+	RecoveryReport(boolean fromSnapshot, long replayedRecords, int openTickets, int releasedReservations,
+			long elapsedMillis) {
+		this.fromSnapshot = fromSnapshot;
+		this.replayedRecords = replayedRecords;
+		this.openTickets = openTickets;
+		this.releasedReservations = releasedReservations;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public boolean isFromSnapshot() {
+		return fromSnapshot;
+	}
+
+	// journal records after the snapshot
+	public long getReplayedRecords() {
+		return replayedRecords;
+	}
+
+	public int getOpenTickets() {
+		return openTickets;
+	}
+
+	// spots held by a reservation that was never ticketed; holds do not survive a restart
+	public int getReleasedReservations() {
+		return releasedReservations;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+}
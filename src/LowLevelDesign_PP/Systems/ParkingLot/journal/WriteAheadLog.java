@@ -0,0 +1,185 @@
+package ParkingLot.Journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ParkingLot.Data.VehicleType;
+
+/**
+ * Append only log of {@link JournalRecord}s, split into segment files named after the log
+ * position (byte offset over all segments) of their first record. Appends go to an in-memory
+ * buffer under a lock; {@link #flush()} writes the buffer out and forces it to disk, so one
+ * fsync covers every record appended since the last flush (group commit). A crash loses at most
+ * the records appended after the last flush.
+ */
+public class WriteAheadLog {
+
+	private static final String SEGMENT_PREFIX = "wal-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final int BUFFER_RECORDS = 4096;
+
+	private final Path directory;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * JournalRecord.SIZE);
+	private final JournalRecord record = new JournalRecord();
+	private FileChannel channel;
+	// log position of the next record appended
+	private long position;
+
+	// starts a new segment at startPosition, replacing any segment of that name
+	public WriteAheadLog(Path directory, long startPosition) {
+		this.directory = directory;
+		this.position = startPosition;
+		this.channel = openSegment(startPosition);
+	}
+
+	public void append(byte type, VehicleType vehicleType, int spotId, long ticketId, long epochSecond, double amount,
+			String vehicleNumber) {
+		lock.lock();
+		try {
+			if(!buffer.hasRemaining()) {
+				writeBuffer();
+			}
+			record.write(buffer, type, vehicleType, spotId, ticketId, epochSecond, amount, vehicleNumber);
+			position += JournalRecord.SIZE;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void flush() {
+		FileChannel flushed;
+		lock.lock();
+		try {
+			writeBuffer();
+			flushed = channel;
+		} finally {
+			lock.unlock();
+		}
+		try {
+			flushed.force(false);
+		} catch (ClosedChannelException e) {
+			// rotated meanwhile, and rotating forces the segment it closes
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// flushes and continues in a new segment; every record before the returned position is on disk
+	public long rotate() {
+		lock.lock();
+		try {
+			writeBuffer();
+			force(channel);
+			close(channel);
+			channel = openSegment(position);
+			return position;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getPosition() {
+		lock.lock();
+		try {
+			return position;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void close() {
+		lock.lock();
+		try {
+			writeBuffer();
+			force(channel);
+			close(channel);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// segments whose first record is at or after fromPosition, oldest first
+	static List<Long> listSegments(Path directory, long fromPosition) {
+		List<Long> segments = new ArrayList<>();
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for(Path file : files) {
+				String name = file.getFileName().toString();
+				long start = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+				if(start >= fromPosition) {
+					segments.add(start);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		Collections.sort(segments);
+		return segments;
+	}
+
+	static Path segmentPath(Path directory, long startPosition) {
+		return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, startPosition, SEGMENT_SUFFIX));
+	}
+
+	// drops segments wholly before position, which a snapshot has made redundant
+	static void deleteSegmentsBefore(Path directory, long position) {
+		for(long start : listSegments(directory, 0)) {
+			if(start < position) {
+				try {
+					Files.deleteIfExists(segmentPath(directory, start));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+
+	private FileChannel openSegment(long startPosition) {
+		try {
+			return FileChannel.open(segmentPath(directory, startPosition), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeBuffer() {
+		buffer.flip();
+		try {
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			buffer.clear();
+		}
+	}
+
+	private static void force(FileChannel channel) {
+		try {
+			channel.force(false);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void close(FileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
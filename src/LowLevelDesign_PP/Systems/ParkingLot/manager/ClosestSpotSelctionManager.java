@@ -5,6 +5,8 @@ import java.util.List;
 import ParkingLot.Data.EntryPoint;
 import ParkingLot.Data.ParkingSpot;
 import ParkingLot.Data.SpotSelection;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.ClosestSpotIndex;
 
 public class ClosestSpotSelctionManager implements SpotSelectionManager {
 
@@ -18,8 +20,16 @@ public class ClosestSpotSelctionManager implements SpotSelectionManager {
 
 	@Override
 	public ParkingSpot selectParkingSpot(List<ParkingSpot> parkingSpots) {
-		// TODO Auto-generated method stub
-		return null;
+		if(parkingSpots == null || parkingSpots.isEmpty()) {
+			return null;
+		}
+		return ClosestSpotIndex.getInstance().closest(entryPoint, parkingSpots);
+	}
+
+	// nearest free spot from this entry point's precomputed distance order
+	@Override
+	public ParkingSpot reserveParkingSpot(VehicleType vehicleType) {
+		return ClosestSpotIndex.getInstance().reserve(entryPoint, vehicleType);
 	}
 
 	
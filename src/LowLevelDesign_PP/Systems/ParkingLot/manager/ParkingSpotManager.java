@@ -3,10 +3,18 @@ package ParkingLot.Manager;
 import java.util.List;
 
 import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
 
 public interface ParkingSpotManager {
 
+	// free spots of this manager's vehicle type
 	List<ParkingSpot> getParkingSpots();
 	
+	// fee of a stay of duration seconds starting now, at the current surge price averaged over the floors
 	double getParkingFees(double duration);
+	
+	// the same stay on one floor, at that floor's surge price as charged by FeeCalculator
+	double getParkingFees(double duration, String floorNum);
+	
+	VehicleType getVehicleType();
 }
@@ -1,10 +1,38 @@
 package ParkingLot.Manager;
 
 import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Index.ClosestSpotIndex;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Journal.ParkingJournal;
+import ParkingLot.Ticket.TicketStore;
 
 public class ParkingSpotVacatorManager {
 
+	// closes the spot's ticket, if any, and frees the spot; a reserved spot is released with its hold
 	public void vacateParkingSpot(ParkingSpot parkingSpot) {
-		
+		if(parkingSpot == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		ReservationManager reservationManager = ReservationManager.getInstance();
+		if(reservationManager.isReserved(parkingSpot)) {
+			// the release frees the spot through freeParkingSpot; losing the race means a ticket is being issued
+			if(!reservationManager.release(parkingSpot)) {
+				throw new RuntimeException("Parking spot is being ticketed");
+			}
+			return;
+		}
+		freeParkingSpot(parkingSpot);
+	}
+
+	// the reservation, if any, is already settled by the caller
+	public void freeParkingSpot(ParkingSpot parkingSpot) {
+		Ticket ticket = TicketStore.getInstance().closeTicket(parkingSpot);
+		// logged before the release, so the spot's next ticket is always journaled after this
+		ParkingJournal.getInstance().logVacate(parkingSpot, ticket);
+		if(!OccupancyIndex.getInstance().release(parkingSpot)) {
+			throw new RuntimeException("Parking spot is not occupied");
+		}
+		ClosestSpotIndex.getInstance().onVacated(parkingSpot);
 	}
 }
@@ -1,18 +1,25 @@
 package ParkingLot.Manager;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import ParkingLot.Data.ParkingSpot;
-import ParkingLot.Data.SpotSelection;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
 
 public class RandomSpotSelectionManager implements SpotSelectionManager {
 
 	@Override
 	public ParkingSpot selectParkingSpot(List<ParkingSpot> parkingSpots) {
-		// TODO Auto-generated method stub
-		return null;
+		if(parkingSpots == null || parkingSpots.isEmpty()) {
+			return null;
+		}
+		return parkingSpots.get(ThreadLocalRandom.current().nextInt(parkingSpots.size()));
 	}
 
-	
+	@Override
+	public ParkingSpot reserveParkingSpot(VehicleType vehicleType) {
+		return OccupancyIndex.getInstance().reserveAny(vehicleType, ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+	}
 
 }
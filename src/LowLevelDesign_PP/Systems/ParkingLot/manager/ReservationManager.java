@@ -0,0 +1,144 @@
+package ParkingLot.Manager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Journal.ParkingJournal;
+import ParkingLot.Ticket.TicketGenerator;
+import ParkingLot.Ticket.TicketStore;
+
+/**
+ * Reserve / commit / release for parking spots. Finding a spot claims it in the occupancy index
+ * and records a reservation; the ticket is issued only by committing that reservation, and a
+ * reservation not committed in time is released back to the lot. Commit and release race through
+ * a CAS on the reservation, so a spot is never both ticketed and handed to another gate.
+ *
+ * The shared instance works on the lot's singletons; a {@link ParkingLot.Shard.LotShard} builds
+ * its own over its index, ticket store and journal, freeing spots through its writer.
+ */
+public class ReservationManager {
+
+	private static final long DEFAULT_HOLD_MILLIS = 120_000;
+
+	private final long holdMillis;
+	private final TicketStore ticketStore;
+	private final OccupancyIndex occupancyIndex;
+	private final ParkingJournal parkingJournal;
+	// closes any ticket, journals the vacate and frees the spot in the index
+	private final Consumer<ParkingSpot> vacator;
+	private final Map<String, SpotReservation> reservationsBySpot = new ConcurrentHashMap<>();
+
+	public ReservationManager(long holdMillis, TicketStore ticketStore) {
+		this(holdMillis, ticketStore, OccupancyIndex.getInstance(), ParkingJournal.getInstance(),
+				new ParkingSpotVacatorManager()::freeParkingSpot);
+	}
+
+	public ReservationManager(long holdMillis, TicketStore ticketStore, OccupancyIndex occupancyIndex,
+			ParkingJournal parkingJournal, Consumer<ParkingSpot> vacator) {
+		if(holdMillis <= 0 || ticketStore == null || occupancyIndex == null || parkingJournal == null || vacator == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.holdMillis = holdMillis;
+		this.ticketStore = ticketStore;
+		this.occupancyIndex = occupancyIndex;
+		this.parkingJournal = parkingJournal;
+		this.vacator = vacator;
+	}
+
+	private static class Holder {
+		private static final ReservationManager INSTANCE = new ReservationManager(DEFAULT_HOLD_MILLIS, TicketStore.getInstance());
+		static {
+			INSTANCE.startExpirySweeper(1, TimeUnit.SECONDS);
+		}
+	}
+
+	public static ReservationManager getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	// records the hold on a spot the caller has already claimed in the OccupancyIndex
+	public SpotReservation reserve(ParkingSpot parkingSpot) {
+		SpotReservation reservation = new SpotReservation(parkingSpot, System.currentTimeMillis() + holdMillis);
+		if(reservationsBySpot.putIfAbsent(parkingSpot.getParkingSpotName(), reservation) != null) {
+			throw new IllegalStateException("Parking spot " + parkingSpot.getParkingSpotName() + " is already reserved");
+		}
+		try {
+			parkingJournal.logReserve(parkingSpot);
+		} catch(RuntimeException e) {
+			reservationsBySpot.remove(parkingSpot.getParkingSpotName(), reservation);
+			throw e;
+		}
+		return reservation;
+	}
+
+	public Ticket commit(ParkingSpot parkingSpot, Vehicle vehicle) {
+		SpotReservation reservation = reservationsBySpot.get(parkingSpot.getParkingSpotName());
+		if(reservation == null) {
+			throw new RuntimeException("Parking spot is not reserved");
+		}
+		if(!reservation.tryCommit(System.currentTimeMillis())) {
+			release(reservation);
+			throw new RuntimeException("Reservation expired or released");
+		}
+		// removed only once the ticket is open, so a vacate sees either the hold or the ticket
+		try {
+			Ticket ticket = TicketGenerator.generateTicket(vehicle, parkingSpot, occupancyIndex);
+			ticketStore.addTicket(ticket);
+			parkingJournal.logTicket(ticket);
+			return ticket;
+		} finally {
+			reservationsBySpot.remove(parkingSpot.getParkingSpotName(), reservation);
+		}
+	}
+
+	// gives a reserved spot back, false when it was already committed or released
+	public boolean release(ParkingSpot parkingSpot) {
+		SpotReservation reservation = reservationsBySpot.get(parkingSpot.getParkingSpotName());
+		return reservation != null && release(reservation);
+	}
+
+	public boolean isReserved(ParkingSpot parkingSpot) {
+		return reservationsBySpot.containsKey(parkingSpot.getParkingSpotName());
+	}
+
+	public int releaseExpired() {
+		long now = System.currentTimeMillis();
+		int released = 0;
+		for(SpotReservation reservation : reservationsBySpot.values()) {
+			if(reservation.isExpired(now) && release(reservation)) {
+				released++;
+			}
+		}
+		return released;
+	}
+
+	public int getActiveReservationCount() {
+		return reservationsBySpot.size();
+	}
+
+	public void startExpirySweeper(long period, TimeUnit unit) {
+		ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "reservation-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		sweeper.scheduleWithFixedDelay(this::releaseExpired, period, period, unit);
+	}
+
+	private boolean release(SpotReservation reservation) {
+		if(!reservation.tryRelease()) {
+			return false;
+		}
+		reservationsBySpot.remove(reservation.getParkingSpot().getParkingSpotName(), reservation);
+		vacator.accept(reservation.getParkingSpot());
+		return true;
+	}
+}
@@ -0,0 +1,49 @@
+package ParkingLot.Manager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ParkingLot.Data.ParkingSpot;
+
+/**
+ * A spot held between FindParkingSpotAPI and GetTicketAPI. It ends exactly once, either
+ * committed into a ticket or released, decided by a CAS on its state.
+ */
+public class SpotReservation {
+
+	private static final int RESERVED = 0;
+	private static final int COMMITTED = 1;
+	private static final int RELEASED = 2;
+
+	private final ParkingSpot parkingSpot;
+	private final long expiresAtMillis;
+	private final AtomicInteger state = new AtomicInteger(RESERVED);
+
+	SpotReservation(ParkingSpot parkingSpot, long expiresAtMillis) {
+		this.parkingSpot = parkingSpot;
+		this.expiresAtMillis = expiresAtMillis;
+	}
+
+	public ParkingSpot getParkingSpot() {
+		return parkingSpot;
+	}
+
+	public long getExpiresAtMillis() {
+		return expiresAtMillis;
+	}
+
+	public boolean isActive() {
+		return state.get() == RESERVED;
+	}
+
+	public boolean isExpired(long nowMillis) {
+		return nowMillis > expiresAtMillis;
+	}
+
+	boolean tryCommit(long nowMillis) {
+		return !isExpired(nowMillis) && state.compareAndSet(RESERVED, COMMITTED);
+	}
+
+	boolean tryRelease() {
+		return state.compareAndSet(RESERVED, RELEASED);
+	}
+}
@@ -3,8 +3,12 @@ package ParkingLot.Manager;
 import java.util.List;
 
 import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
 
 public interface SpotSelectionManager {
 
 	public ParkingSpot selectParkingSpot(List<ParkingSpot> parkingSpots);
+	
+	// picks and claims a free spot in the OccupancyIndex in one step, null when none is free
+	public ParkingSpot reserveParkingSpot(VehicleType vehicleType);
 }
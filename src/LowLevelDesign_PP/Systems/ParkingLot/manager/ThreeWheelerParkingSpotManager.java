@@ -3,19 +3,30 @@ package ParkingLot.Manager;
 import java.util.List;
 
 import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Ticket.FeeCalculator;
 
 public class ThreeWheelerParkingSpotManager implements ParkingSpotManager {
 
 	@Override
 	public List<ParkingSpot> getParkingSpots() {
-		// TODO Auto-generated method stub
-		return null;
+		return OccupancyIndex.getInstance().getFreeSpots(VehicleType.THREEWHEELER);
 	}
 
 	@Override
 	public double getParkingFees(double duration) {
-		// TODO Auto-generated method stub
-		return 0;
+		return new FeeCalculator().quoteFee(VehicleType.THREEWHEELER, duration);
+	}
+
+	@Override
+	public double getParkingFees(double duration, String floorNum) {
+		return new FeeCalculator().quoteFee(VehicleType.THREEWHEELER, floorNum, duration);
+	}
+
+	@Override
+	public VehicleType getVehicleType() {
+		return VehicleType.THREEWHEELER;
 	}
 
 }
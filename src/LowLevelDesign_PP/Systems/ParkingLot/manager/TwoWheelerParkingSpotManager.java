@@ -3,19 +3,30 @@ package ParkingLot.Manager;
 import java.util.List;
 
 import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Ticket.FeeCalculator;
 
 public class TwoWheelerParkingSpotManager implements ParkingSpotManager {
 
 	@Override
 	public double getParkingFees(double duration) {
-		// TODO Auto-generated method stub
-		return 0;
+		return new FeeCalculator().quoteFee(VehicleType.TWOWHEELER, duration);
+	}
+
+	@Override
+	public double getParkingFees(double duration, String floorNum) {
+		return new FeeCalculator().quoteFee(VehicleType.TWOWHEELER, floorNum, duration);
 	}
 
 	@Override
 	public List<ParkingSpot> getParkingSpots() {
-		// TODO Auto-generated method stub
-		return null;
+		return OccupancyIndex.getInstance().getFreeSpots(VehicleType.TWOWHEELER);
+	}
+
+	@Override
+	public VehicleType getVehicleType() {
+		return VehicleType.TWOWHEELER;
 	}
 
 }
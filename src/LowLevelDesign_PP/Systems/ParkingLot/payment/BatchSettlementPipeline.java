@@ -0,0 +1,203 @@
+package ParkingLot.Payment;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import ParkingLot.Data.PaymentMode;
+import ParkingLot.Data.PaymentResponse;
+
+/**
+ * Settles card and net banking payments in micro-batches, so an exit gate does not wait on one
+ * bank round trip per car. Each batched PaymentMode has its own lane: a bounded queue and a thread
+ * that closes a batch once it holds maxBatchSize payments or its oldest payment has waited
+ * maxBatchDelayMillis, then hands it to the {@link SettlementGateway}. Up to maxInFlightBatches
+ * batches per lane are at the gateway at once. Every payment completes through its own future.
+ */
+public class BatchSettlementPipeline {
+
+	private static final PaymentMode[] BATCHED_MODES = {PaymentMode.CARD, PaymentMode.NETBANKING};
+
+	private volatile SettlementGateway gateway;
+	private final SettlementPolicy policy;
+	private final Map<PaymentMode, Lane> lanes = new EnumMap<>(PaymentMode.class);
+
+	public BatchSettlementPipeline(SettlementGateway gateway, SettlementPolicy policy) {
+		this(policy);
+		if(gateway == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.gateway = gateway;
+	}
+
+	// payments are refused until setSettlementGateway plugs in a bank integration
+	public BatchSettlementPipeline(SettlementPolicy policy) {
+		if(policy == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.policy = policy;
+		for(PaymentMode paymentMode : BATCHED_MODES) {
+			lanes.put(paymentMode, new Lane(paymentMode));
+		}
+	}
+
+	private static class Holder {
+		private static final BatchSettlementPipeline INSTANCE = new BatchSettlementPipeline(SettlementPolicy.defaultPolicy());
+	}
+
+	public static BatchSettlementPipeline getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	// batches sent from now on go to the new gateway, those already out finish on the old one
+	public void setSettlementGateway(SettlementGateway gateway) {
+		if(gateway == null) {
+			throw new IllegalArgumentException("Settlement gateway missing");
+		}
+		this.gateway = gateway;
+	}
+
+	public CompletableFuture<PaymentResponse> submit(SettlementRequest request) {
+		if(gateway == null) {
+			throw new IllegalStateException("Settlement gateway not set");
+		}
+		Lane lane = lanes.get(request.getPaymentMode());
+		if(lane == null) {
+			throw new IllegalArgumentException(request.getPaymentMode() + " payments are not settled in batches");
+		}
+		if(!lane.queue.offer(request)) {
+			request.getResult().completeExceptionally(
+					new RejectedExecutionException("Too many " + request.getPaymentMode() + " payments waiting"));
+		}
+		return request.getResult();
+	}
+
+	public SettlementMetrics getMetrics(PaymentMode paymentMode) {
+		Lane lane = lanes.get(paymentMode);
+		if(lane == null) {
+			throw new IllegalArgumentException(paymentMode + " payments are not settled in batches");
+		}
+		return lane.metrics;
+	}
+
+	// payments still queued or being batched fail; batches already at the gateway are left to finish
+	public void shutdown() {
+		for(Lane lane : lanes.values()) {
+			lane.batcher.interrupt();
+			lane.senders.shutdown();
+			List<SettlementRequest> pending = new ArrayList<>();
+			lane.queue.drainTo(pending);
+			for(SettlementRequest request : pending) {
+				request.getResult().completeExceptionally(new RejectedExecutionException("Settlement shut down"));
+			}
+		}
+	}
+
+	private class Lane {
+		private final PaymentMode paymentMode;
+		private final BlockingQueue<SettlementRequest> queue = new ArrayBlockingQueue<>(policy.getMaxQueuedPayments());
+		private final Semaphore inFlight = new Semaphore(policy.getMaxInFlightBatches());
+		private final SettlementMetrics metrics = new SettlementMetrics();
+		private final ExecutorService senders;
+		private final Thread batcher;
+
+		private Lane(PaymentMode paymentMode) {
+			this.paymentMode = paymentMode;
+			String name = "settlement-" + paymentMode.name().toLowerCase();
+			this.senders = Executors.newFixedThreadPool(policy.getMaxInFlightBatches(), runnable -> {
+				Thread thread = new Thread(runnable, name);
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.batcher = new Thread(this::run, name + "-batcher");
+			this.batcher.setDaemon(true);
+			this.batcher.start();
+		}
+
+		private void run() {
+			int maxBatchSize = policy.getMaxBatchSize();
+			long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(policy.getMaxBatchDelayMillis());
+			// taken off the queue but not yet handed to a sender
+			List<SettlementRequest> batch = null;
+			try {
+				while(true) {
+					batch = new ArrayList<>(maxBatchSize);
+					SettlementRequest first = queue.take();
+					batch.add(first);
+					long deadline = first.getEnqueuedAtNanos() + maxDelayNanos;
+					while(batch.size() < maxBatchSize) {
+						queue.drainTo(batch, maxBatchSize - batch.size());
+						long remaining = deadline - System.nanoTime();
+						if(batch.size() >= maxBatchSize || remaining <= 0) {
+							break;
+						}
+						SettlementRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+						if(next == null) {
+							break;
+						}
+						batch.add(next);
+					}
+					// waits while every sender is busy; the queue keeps filling the next batch meanwhile
+					inFlight.acquire();
+					List<SettlementRequest> sending = batch;
+					try {
+						senders.execute(() -> send(sending));
+					} catch (RejectedExecutionException e) {
+						inFlight.release();
+						fail(batch, e);
+						return;
+					}
+					batch = null;
+				}
+			} catch (InterruptedException e) {
+				// shut down; nobody else would complete these futures
+				if(batch != null) {
+					fail(batch, new RejectedExecutionException("Settlement shut down"));
+				}
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void send(List<SettlementRequest> batch) {
+			long sentAt = System.nanoTime();
+			long oldestQueueNanos = sentAt - batch.get(0).getEnqueuedAtNanos();
+			long totalQueueNanos = 0;
+			for(SettlementRequest request : batch) {
+				totalQueueNanos += sentAt - request.getEnqueuedAtNanos();
+			}
+			boolean failed = false;
+			try {
+				List<PaymentResponse> responses = gateway.settle(paymentMode, batch);
+				if(responses == null || responses.size() != batch.size()) {
+					throw new IllegalStateException("Gateway answered " + (responses == null ? 0 : responses.size())
+							+ " of " + batch.size() + " payments");
+				}
+				for(int i = 0; i < batch.size(); i++) {
+					batch.get(i).getResult().complete(responses.get(i));
+				}
+			} catch (RuntimeException e) {
+				failed = true;
+				fail(batch, e);
+			} finally {
+				inFlight.release();
+				metrics.recordBatch(batch.size(), batch.size() == policy.getMaxBatchSize(), System.nanoTime() - sentAt,
+						oldestQueueNanos, totalQueueNanos, failed);
+			}
+		}
+
+		private void fail(List<SettlementRequest> batch, Throwable cause) {
+			for(SettlementRequest request : batch) {
+				request.getResult().completeExceptionally(cause);
+			}
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package ParkingLot.Payment;
 
+import java.util.concurrent.CompletableFuture;
+
 import ParkingLot.Data.CardDetail;
+import ParkingLot.Data.PaymentMode;
 import ParkingLot.Data.PaymentResponse;
 
 public class CardPaymentProcessor implements PaymentProcessor {
@@ -18,11 +21,14 @@ public class CardPaymentProcessor implements PaymentProcessor {
 
 	@Override
 	public PaymentResponse executePayment() {
-		// TODO Auto-generated method stub
-		return null;
+		return submitPayment().join();
 	}
 
 
-	
+	@Override
+	public CompletableFuture<PaymentResponse> submitPayment() {
+		return BatchSettlementPipeline.getInstance()
+				.submit(new SettlementRequest(PaymentMode.CARD, cardDetails.getCardNumber(), amount));
+	}
 
 }
@@ -4,10 +4,17 @@ import ParkingLot.Data.PaymentResponse;
 
 public class CashPaymentProcessor implements PaymentProcessor {
 
+	private final double amount;
+
+	public CashPaymentProcessor(double amount) {
+		super();
+		this.amount = amount;
+	}
+
+	// collected at the booth, nothing to settle with a bank
 	@Override
 	public PaymentResponse executePayment() {
-		// TODO Auto-generated method stub
-		return null;
+		return amount < 0 ? PaymentResponse.FAILURE : PaymentResponse.SUCCESS;
 	}
 
 }
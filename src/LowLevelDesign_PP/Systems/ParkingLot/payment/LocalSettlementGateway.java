@@ -0,0 +1,50 @@
+package ParkingLot.Payment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import ParkingLot.Data.PaymentMode;
+import ParkingLot.Data.PaymentResponse;
+
+/**
+ * In-process stand-in for the bank, used by tests and simulations. Every batch costs a fixed
+ * round trip plus a little per payment; payments of zero or less are refused, others fail at
+ * the given rate.
+ */
+public class LocalSettlementGateway implements SettlementGateway {
+
+	private final long roundTripMillis;
+	private final long perPaymentMicros;
+	private final double failureRate;
+
+	public LocalSettlementGateway(long roundTripMillis, long perPaymentMicros, double failureRate) {
+		super();
+		if(roundTripMillis < 0 || perPaymentMicros < 0 || failureRate < 0 || failureRate > 1) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.roundTripMillis = roundTripMillis;
+		this.perPaymentMicros = perPaymentMicros;
+		this.failureRate = failureRate;
+	}
+
+	@Override
+	public List<PaymentResponse> settle(PaymentMode paymentMode, List<SettlementRequest> batch) {
+		long latencyMicros = roundTripMillis * 1000 + perPaymentMicros * batch.size();
+		if(latencyMicros > 0) {
+			try {
+				Thread.sleep(latencyMicros / 1000, (int) (latencyMicros % 1000) * 1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Settlement interrupted", e);
+			}
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<PaymentResponse> responses = new ArrayList<>(batch.size());
+		for(SettlementRequest request : batch) {
+			responses.add(request.getAmount() <= 0 || random.nextDouble() < failureRate ? PaymentResponse.FAILURE
+					: PaymentResponse.SUCCESS);
+		}
+		return responses;
+	}
+}
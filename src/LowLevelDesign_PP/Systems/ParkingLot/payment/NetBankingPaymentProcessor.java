@@ -1,13 +1,30 @@
 package ParkingLot.Payment;
 
+import java.util.concurrent.CompletableFuture;
+
+import ParkingLot.Data.PaymentMode;
 import ParkingLot.Data.PaymentResponse;
 
 public class NetBankingPaymentProcessor implements PaymentProcessor {
 
+	private final double amount;
+	private final String userName;
+	
+	public NetBankingPaymentProcessor(double amount, String userName) {
+		super();
+		this.amount = amount;
+		this.userName = userName;
+	}
+
 	@Override
 	public PaymentResponse executePayment() {
-		// TODO Auto-generated method stub
-		return null;
+		return submitPayment().join();
+	}
+
+	@Override
+	public CompletableFuture<PaymentResponse> submitPayment() {
+		return BatchSettlementPipeline.getInstance()
+				.submit(new SettlementRequest(PaymentMode.NETBANKING, userName, amount));
 	}
 
 }
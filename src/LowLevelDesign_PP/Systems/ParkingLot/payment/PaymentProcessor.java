@@ -1,10 +1,16 @@
 package ParkingLot.Payment;
 
+import java.util.concurrent.CompletableFuture;
+
 import ParkingLot.Data.PaymentResponse;
 
 public interface PaymentProcessor {
 	
 	PaymentResponse executePayment();
 	
+	// completes when the payment is settled; processors that settle in batches do not block here
+	default CompletableFuture<PaymentResponse> submitPayment() {
+		return CompletableFuture.completedFuture(executePayment());
+	}
 
 }
@@ -0,0 +1,12 @@
+package ParkingLot.Payment;
+
+import java.util.List;
+
+import ParkingLot.Data.PaymentMode;
+import ParkingLot.Data.PaymentResponse;
+
+public interface SettlementGateway {
+
+	// one blocking round trip for the whole batch, one response per request in the same order
+	List<PaymentResponse> settle(PaymentMode paymentMode, List<SettlementRequest> batch);
+}
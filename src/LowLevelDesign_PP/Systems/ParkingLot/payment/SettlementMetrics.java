@@ -0,0 +1,77 @@
+package ParkingLot.Payment;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per batch numbers of one settlement lane: how batches closed, how big they were, how long
+ * the gateway took for each, and how long payments queued before their batch went out.
+ */
+public class SettlementMetrics {
+
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder closedBySize = new LongAdder();
+	private final LongAdder payments = new LongAdder();
+	private final LongAdder failedBatches = new LongAdder();
+	private final LongAdder gatewayNanos = new LongAdder();
+	private final AtomicLong maxGatewayNanos = new AtomicLong();
+	private final LongAdder queueNanos = new LongAdder();
+	private final AtomicLong maxQueueNanos = new AtomicLong();
+
+	void recordBatch(int size, boolean full, long gatewayLatencyNanos, long oldestQueueNanos, long totalQueueNanos,
+			boolean failed) {
+		batches.increment();
+		if(full) {
+			closedBySize.increment();
+		}
+		if(failed) {
+			failedBatches.increment();
+		}
+		payments.add(size);
+		gatewayNanos.add(gatewayLatencyNanos);
+		maxGatewayNanos.accumulateAndGet(gatewayLatencyNanos, Math::max);
+		queueNanos.add(totalQueueNanos);
+		maxQueueNanos.accumulateAndGet(oldestQueueNanos, Math::max);
+	}
+
+	public long getBatchCount() {
+		return batches.sum();
+	}
+
+	// the rest closed on time
+	public long getBatchesClosedBySize() {
+		return closedBySize.sum();
+	}
+
+	// the gateway threw and every payment in the batch failed
+	public long getFailedBatchCount() {
+		return failedBatches.sum();
+	}
+
+	public long getPaymentCount() {
+		return payments.sum();
+	}
+
+	public double getMeanBatchSize() {
+		long count = batches.sum();
+		return count == 0 ? 0 : (double) payments.sum() / count;
+	}
+
+	public double getMeanGatewayMillis() {
+		long count = batches.sum();
+		return count == 0 ? 0 : gatewayNanos.sum() / 1e6 / count;
+	}
+
+	public double getMaxGatewayMillis() {
+		return maxGatewayNanos.get() / 1e6;
+	}
+
+	public double getMeanQueueMillis() {
+		long count = payments.sum();
+		return count == 0 ? 0 : queueNanos.sum() / 1e6 / count;
+	}
+
+	public double getMaxQueueMillis() {
+		return maxQueueNanos.get() / 1e6;
+	}
+}
@@ -0,0 +1,44 @@
+package ParkingLot.Payment;
+
+public class SettlementPolicy {
+
+	// a batch is sent as soon as it holds this many payments
+	private final int maxBatchSize;
+	// or once its oldest payment has waited this long
+	private final long maxBatchDelayMillis;
+	// payments waiting beyond this are refused instead of queued
+	private final int maxQueuedPayments;
+	// batches at the gateway at once per payment mode; while all are out the next batch keeps filling
+	private final int maxInFlightBatches;
+
+	public SettlementPolicy(int maxBatchSize, long maxBatchDelayMillis, int maxQueuedPayments, int maxInFlightBatches) {
+		super();
+		if(maxBatchSize <= 0 || maxBatchDelayMillis < 0 || maxQueuedPayments < maxBatchSize || maxInFlightBatches <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchDelayMillis = maxBatchDelayMillis;
+		this.maxQueuedPayments = maxQueuedPayments;
+		this.maxInFlightBatches = maxInFlightBatches;
+	}
+
+	public static SettlementPolicy defaultPolicy() {
+		return new SettlementPolicy(64, 20, 10_000, 4);
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public long getMaxBatchDelayMillis() {
+		return maxBatchDelayMillis;
+	}
+
+	public int getMaxQueuedPayments() {
+		return maxQueuedPayments;
+	}
+
+	public int getMaxInFlightBatches() {
+		return maxInFlightBatches;
+	}
+}
@@ -0,0 +1,46 @@
+package ParkingLot.Payment;
+
+import java.util.concurrent.CompletableFuture;
+
+import ParkingLot.Data.PaymentMode;
+import ParkingLot.Data.PaymentResponse;
+
+public class SettlementRequest {
+
+	private final PaymentMode paymentMode;
+	// card number or net banking user name
+	private final String accountReference;
+	private final double amount;
+	private final long enqueuedAtNanos = System.nanoTime();
+	private final CompletableFuture<PaymentResponse> result = new CompletableFuture<>();
+
+	public SettlementRequest(PaymentMode paymentMode, String accountReference, double amount) {
+		super();
+		if(paymentMode == null || accountReference == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.paymentMode = paymentMode;
+		this.accountReference = accountReference;
+		this.amount = amount;
+	}
+
+	public PaymentMode getPaymentMode() {
+		return paymentMode;
+	}
+
+	public String getAccountReference() {
+		return accountReference;
+	}
+
+	public double getAmount() {
+		return amount;
+	}
+
+	long getEnqueuedAtNanos() {
+		return enqueuedAtNanos;
+	}
+
+	CompletableFuture<PaymentResponse> getResult() {
+		return result;
+	}
+}
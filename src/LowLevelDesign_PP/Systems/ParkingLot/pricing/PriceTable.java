@@ -0,0 +1,53 @@
+package ParkingLot.Pricing;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import ParkingLot.Data.VehicleType;
+
+/**
+ * Surge multipliers per VehicleType and floor as of one recompute. Immutable; a new table is
+ * published as a whole, so readers never see half an update.
+ */
+public class PriceTable {
+
+	private final long computedAtMillis;
+	private final double[] multiplierByType;
+	private final Map<VehicleType, Map<String, Double>> multiplierByTypeAndFloor;
+
+	PriceTable(long computedAtMillis, double[] multiplierByType, Map<VehicleType, Map<String, Double>> multiplierByTypeAndFloor) {
+		this.computedAtMillis = computedAtMillis;
+		this.multiplierByType = multiplierByType;
+		this.multiplierByTypeAndFloor = multiplierByTypeAndFloor;
+	}
+
+	static PriceTable flat() {
+		double[] multiplierByType = new double[VehicleType.values().length];
+		Map<VehicleType, Map<String, Double>> multiplierByTypeAndFloor = new EnumMap<>(VehicleType.class);
+		for(VehicleType vehicleType : VehicleType.values()) {
+			multiplierByType[vehicleType.ordinal()] = 1.0;
+			multiplierByTypeAndFloor.put(vehicleType, new HashMap<>());
+		}
+		return new PriceTable(0, multiplierByType, multiplierByTypeAndFloor);
+	}
+
+	public long getComputedAtMillis() {
+		return computedAtMillis;
+	}
+
+	// capacity weighted over the floors
+	public double getMultiplier(VehicleType vehicleType) {
+		return multiplierByType[vehicleType.ordinal()];
+	}
+
+	// 1.0 for a floor without spots of this type
+	public double getMultiplier(VehicleType vehicleType, String floorNum) {
+		return multiplierByTypeAndFloor.get(vehicleType).getOrDefault(floorNum, 1.0);
+	}
+
+	public Map<String, Double> getFloorMultipliers(VehicleType vehicleType) {
+		return Collections.unmodifiableMap(multiplierByTypeAndFloor.get(vehicleType));
+	}
+}
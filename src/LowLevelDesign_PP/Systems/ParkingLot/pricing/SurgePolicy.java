@@ -0,0 +1,60 @@
+package ParkingLot.Pricing;
+
+public class SurgePolicy {
+
+	private final long samplePeriodMillis;
+	// samples averaged per floor, the sliding window is windowSamples * samplePeriodMillis long
+	private final int windowSamples;
+	// average occupancy at which surge starts, rising linearly to maxMultiplier at full
+	private final double surgeStartOccupancy;
+	private final double maxMultiplier;
+	// multipliers are rounded down to this step so prices do not flicker with every car
+	private final double multiplierStep;
+
+	public SurgePolicy(long samplePeriodMillis, int windowSamples, double surgeStartOccupancy, double maxMultiplier,
+			double multiplierStep) {
+		super();
+		if(samplePeriodMillis <= 0 || windowSamples <= 0 || surgeStartOccupancy < 0 || surgeStartOccupancy >= 1
+				|| maxMultiplier < 1 || multiplierStep <= 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.samplePeriodMillis = samplePeriodMillis;
+		this.windowSamples = windowSamples;
+		this.surgeStartOccupancy = surgeStartOccupancy;
+		this.maxMultiplier = maxMultiplier;
+		this.multiplierStep = multiplierStep;
+	}
+
+	public static SurgePolicy defaultPolicy() {
+		return new SurgePolicy(5_000, 60, 0.7, 2.0, 0.25);
+	}
+
+	public double multiplierFor(double averageOccupancy) {
+		if(averageOccupancy <= surgeStartOccupancy) {
+			return 1.0;
+		}
+		double surge = (Math.min(averageOccupancy, 1.0) - surgeStartOccupancy) / (1.0 - surgeStartOccupancy)
+				* (maxMultiplier - 1.0);
+		return 1.0 + Math.floor(surge / multiplierStep + 1e-9) * multiplierStep;
+	}
+
+	public long getSamplePeriodMillis() {
+		return samplePeriodMillis;
+	}
+
+	public int getWindowSamples() {
+		return windowSamples;
+	}
+
+	public double getSurgeStartOccupancy() {
+		return surgeStartOccupancy;
+	}
+
+	public double getMaxMultiplier() {
+		return maxMultiplier;
+	}
+
+	public double getMultiplierStep() {
+		return multiplierStep;
+	}
+}
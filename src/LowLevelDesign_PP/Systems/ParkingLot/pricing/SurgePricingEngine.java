@@ -0,0 +1,138 @@
+package ParkingLot.Pricing;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Index.SpotGroup;
+
+/**
+ * Occupancy driven surge pricing. A background thread samples the occupancy counter of every
+ * floor and VehicleType each sample period, averages the last window of samples, turns the average
+ * into a multiplier through the {@link SurgePolicy} and publishes a new {@link PriceTable}.
+ * Fee lookups only read the current table, so they never lock or wait on a recompute.
+ */
+public class SurgePricingEngine {
+
+	private final OccupancyIndex occupancyIndex;
+	private final SurgePolicy policy;
+	private final AtomicReference<PriceTable> priceTable = new AtomicReference<>(PriceTable.flat());
+	// only touched by the recompute thread; a reloaded layout brings new groups and fresh windows
+	private Map<SpotGroup, SampleWindow> windows = new IdentityHashMap<>();
+	private ScheduledExecutorService scheduler;
+
+	public SurgePricingEngine(OccupancyIndex occupancyIndex, SurgePolicy policy) {
+		if(occupancyIndex == null || policy == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.occupancyIndex = occupancyIndex;
+		this.policy = policy;
+	}
+
+	private static class Holder {
+		private static final SurgePricingEngine INSTANCE = new SurgePricingEngine(OccupancyIndex.getInstance(),
+				SurgePolicy.defaultPolicy());
+		static {
+			INSTANCE.start();
+		}
+	}
+
+	public static SurgePricingEngine getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public PriceTable getPriceTable() {
+		return priceTable.get();
+	}
+
+	public double getMultiplier(VehicleType vehicleType) {
+		return priceTable.get().getMultiplier(vehicleType);
+	}
+
+	public double getMultiplier(VehicleType vehicleType, String floorNum) {
+		return priceTable.get().getMultiplier(vehicleType, floorNum);
+	}
+
+	public synchronized void start() {
+		if(scheduler != null) {
+			throw new IllegalStateException("Surge pricing already started");
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "surge-pricing");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(this::recompute, 0, policy.getSamplePeriodMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	public synchronized void stop() {
+		if(scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	// one sample and publish; called by the scheduler, or directly when driving the engine by hand
+	public synchronized void recompute() {
+		Map<SpotGroup, SampleWindow> nextWindows = new IdentityHashMap<>();
+		double[] multiplierByType = new double[VehicleType.values().length];
+		Map<VehicleType, Map<String, Double>> multiplierByTypeAndFloor = new EnumMap<>(VehicleType.class);
+		for(VehicleType vehicleType : VehicleType.values()) {
+			List<SpotGroup> spotGroups = occupancyIndex.getSpotGroups(vehicleType);
+			Map<String, Double> floorMultipliers = new HashMap<>();
+			double weighted = 0;
+			int capacity = 0;
+			for(SpotGroup spotGroup : spotGroups) {
+				SampleWindow window = windows.get(spotGroup);
+				if(window == null) {
+					window = new SampleWindow(policy.getWindowSamples());
+				}
+				nextWindows.put(spotGroup, window);
+				window.add((double) spotGroup.getOccupancy().countedOccupied() / spotGroup.getCapacity());
+				double multiplier = policy.multiplierFor(window.average());
+				floorMultipliers.put(spotGroup.getFloorNum(), multiplier);
+				weighted += multiplier * spotGroup.getCapacity();
+				capacity += spotGroup.getCapacity();
+			}
+			multiplierByType[vehicleType.ordinal()] = capacity == 0 ? 1.0 : weighted / capacity;
+			multiplierByTypeAndFloor.put(vehicleType, floorMultipliers);
+		}
+		windows = nextWindows;
+		priceTable.set(new PriceTable(System.currentTimeMillis(), multiplierByType, multiplierByTypeAndFloor));
+	}
+
+	// ring of the last samples with a running sum
+	private static class SampleWindow {
+		private final double[] samples;
+		private int next;
+		private int count;
+		private double sum;
+
+		private SampleWindow(int size) {
+			this.samples = new double[size];
+		}
+
+		private void add(double sample) {
+			if(count == samples.length) {
+				sum -= samples[next];
+			} else {
+				count++;
+			}
+			samples[next] = sample;
+			sum += sample;
+			next = (next + 1) % samples.length;
+		}
+
+		private double average() {
+			return sum / count;
+		}
+	}
+}
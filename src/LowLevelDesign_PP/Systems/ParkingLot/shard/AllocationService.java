@@ -0,0 +1,198 @@
+package ParkingLot.Shard;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Journal.ParkingJournal;
+import ParkingLot.Pricing.SurgePricingEngine;
+
+/**
+ * Allocation across many lots, one {@link LotShard} per lot. A request goes to its lot's writer;
+ * when that lot is full it is routed on to the lot's neighbours in the order they were given,
+ * skipping any neighbour whose counters already say it is full. Shards share no locks: totals
+ * across lots are sums of each shard's single-writer counters, read without stopping anyone.
+ *
+ * An allocation, overflowed or not, is a reservation in the lot that took the car; {@link #commit}
+ * tickets it there and {@link #vacate} releases the hold or closes the ticket.
+ */
+public class AllocationService {
+
+	private final Map<String, LotShard> shards = new ConcurrentHashMap<>();
+	private final Map<String, List<String>> neighboursByLot = new ConcurrentHashMap<>();
+	private final LongAdder overflows = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+
+	private static class Holder {
+		private static final AllocationService INSTANCE = new AllocationService();
+		static {
+			INSTANCE.startExpirySweeper(1, TimeUnit.SECONDS);
+		}
+	}
+
+	public static AllocationService getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	// neighbours closest first; they may be added later than this lot
+	public void addLot(String lotId, List<ParkingSpot> parkingSpots, List<String> neighbours) {
+		if(lotId == null || parkingSpots == null || neighbours == null || neighbours.contains(lotId)) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		LotShard shard = new LotShard(lotId, parkingSpots);
+		if(shards.putIfAbsent(lotId, shard) != null) {
+			shard.shutdown();
+			throw new IllegalStateException("Lot " + lotId + " already exists");
+		}
+		neighboursByLot.put(lotId, Collections.unmodifiableList(new ArrayList<>(neighbours)));
+		shard.start();
+	}
+
+	// each lot recovers from and journals to its own subdirectory; call before the gates start
+	public void openJournals(Path directory) {
+		for(LotShard shard : shards.values()) {
+			shard.openJournal(directory.resolve(shard.getLotId()));
+		}
+	}
+
+	public void removeLot(String lotId) {
+		LotShard shard = shards.remove(lotId);
+		neighboursByLot.remove(lotId);
+		if(shard != null) {
+			shard.shutdown();
+		}
+	}
+
+	// completes with null when the lot and all its neighbours are full
+	public CompletableFuture<LotAllocation> allocate(String lotId, VehicleType vehicleType) {
+		LotShard shard = getShard(lotId);
+		return shard.allocate(vehicleType).thenCompose(parkingSpot -> {
+			if(parkingSpot != null) {
+				return CompletableFuture.completedFuture(new LotAllocation(lotId, parkingSpot, false));
+			}
+			return overflow(neighboursByLot.get(lotId), 0, vehicleType);
+		});
+	}
+
+	public LotAllocation allocateNow(String lotId, VehicleType vehicleType) {
+		return allocate(lotId, vehicleType).join();
+	}
+
+	// issues the ticket in the lot that holds the spot
+	public Ticket commit(LotAllocation allocation, Vehicle vehicle) {
+		return getShard(allocation.getLotId()).commit(allocation.getParkingSpot(), vehicle);
+	}
+
+	public CompletableFuture<Boolean> vacate(LotAllocation allocation) {
+		return getShard(allocation.getLotId()).vacate(allocation.getParkingSpot());
+	}
+
+	public LotShard getLot(String lotId) {
+		return getShard(lotId);
+	}
+
+	// the journal of the lot holding the spot; spots outside every lot belong to the shared journal
+	public ParkingJournal getParkingJournal(ParkingSpot parkingSpot) {
+		LotShard shard = getLotHolding(parkingSpot);
+		return shard == null ? ParkingJournal.getInstance() : shard.getParkingJournal();
+	}
+
+	// the surge prices of the lot holding the spot, else the shared engine
+	public SurgePricingEngine getSurgePricingEngine(ParkingSpot parkingSpot) {
+		LotShard shard = getLotHolding(parkingSpot);
+		return shard == null ? SurgePricingEngine.getInstance() : shard.getSurgePricingEngine();
+	}
+
+	private LotShard getLotHolding(ParkingSpot parkingSpot) {
+		for(LotShard shard : shards.values()) {
+			if(shard.holds(parkingSpot)) {
+				return shard;
+			}
+		}
+		return null;
+	}
+
+	public int releaseExpired() {
+		int released = 0;
+		for(LotShard shard : shards.values()) {
+			released += shard.releaseExpired();
+		}
+		return released;
+	}
+
+	public void startExpirySweeper(long period, TimeUnit unit) {
+		ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "lot-reservation-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		sweeper.scheduleWithFixedDelay(this::releaseExpired, period, period, unit);
+	}
+
+	public long getOccupiedCount(VehicleType vehicleType) {
+		long occupied = 0;
+		for(LotShard shard : shards.values()) {
+			occupied += shard.getOccupiedCount(vehicleType);
+		}
+		return occupied;
+	}
+
+	public long getCapacity(VehicleType vehicleType) {
+		long capacity = 0;
+		for(LotShard shard : shards.values()) {
+			capacity += shard.getCapacity(vehicleType);
+		}
+		return capacity;
+	}
+
+	public long getOccupiedCount(String lotId, VehicleType vehicleType) {
+		return getShard(lotId).getOccupiedCount(vehicleType);
+	}
+
+	public long getOverflowCount() {
+		return overflows.sum();
+	}
+
+	public long getRejectionCount() {
+		return rejections.sum();
+	}
+
+	private CompletableFuture<LotAllocation> overflow(List<String> neighbours, int next, VehicleType vehicleType) {
+		for(int i = next; i < neighbours.size(); i++) {
+			LotShard neighbour = shards.get(neighbours.get(i));
+			if(neighbour == null || neighbour.looksFull(vehicleType)) {
+				continue;
+			}
+			int tried = i;
+			return neighbour.allocate(vehicleType).thenCompose(parkingSpot -> {
+				if(parkingSpot != null) {
+					overflows.increment();
+					return CompletableFuture.completedFuture(new LotAllocation(neighbour.getLotId(), parkingSpot, true));
+				}
+				return overflow(neighbours, tried + 1, vehicleType);
+			});
+		}
+		rejections.increment();
+		return CompletableFuture.completedFuture(null);
+	}
+
+	private LotShard getShard(String lotId) {
+		LotShard shard = shards.get(lotId);
+		if(shard == null) {
+			throw new IllegalArgumentException("Unknown lot " + lotId);
+		}
+		return shard;
+	}
+}
@@ -0,0 +1,29 @@
+package ParkingLot.Shard;
+
+import ParkingLot.Data.ParkingSpot;
+
+public class LotAllocation {
+
+	private final String lotId;
+	private final ParkingSpot parkingSpot;
+	// true when the requested lot was full and a neighbour took the car
+	private final boolean overflow;
+
+	LotAllocation(String lotId, ParkingSpot parkingSpot, boolean overflow) {
+		this.lotId = lotId;
+		this.parkingSpot = parkingSpot;
+		this.overflow = overflow;
+	}
+
+	public String getLotId() {
+		return lotId;
+	}
+
+	public ParkingSpot getParkingSpot() {
+		return parkingSpot;
+	}
+
+	public boolean isOverflow() {
+		return overflow;
+	}
+}
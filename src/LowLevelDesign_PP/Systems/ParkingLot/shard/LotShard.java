@@ -0,0 +1,176 @@
+package ParkingLot.Shard;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Display.AvailabilityBroadcaster;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Journal.ParkingJournal;
+import ParkingLot.Journal.RecoveryReport;
+import ParkingLot.Manager.ReservationManager;
+import ParkingLot.Pricing.SurgePolicy;
+import ParkingLot.Pricing.SurgePricingEngine;
+import ParkingLot.Ticket.TicketStore;
+
+/**
+ * One parking lot with its own {@link OccupancyIndex} and a single writer thread. Every allocate
+ * and vacate for the lot runs on that thread in arrival order, so nothing inside the lot is ever
+ * contended. The occupied count per VehicleType is written only by that thread and read by anyone
+ * with a plain volatile read.
+ *
+ * The lot has the same reserve / commit / release flow as the main one, over its own
+ * {@link ReservationManager}, {@link TicketStore} and {@link ParkingJournal}: an allocated spot is
+ * a reservation until {@link #commit} tickets it or it expires. Its surge pricing and availability
+ * displays run on its own index too.
+ */
+public class LotShard {
+
+	private static final long HOLD_MILLIS = 120_000;
+	private static final long BROADCAST_PERIOD_MILLIS = 500;
+
+	private final String lotId;
+	private final OccupancyIndex occupancyIndex = new OccupancyIndex();
+	private final TicketStore ticketStore = new TicketStore();
+	private final ParkingJournal parkingJournal = new ParkingJournal(occupancyIndex, ticketStore);
+	private final ReservationManager reservationManager;
+	private final SurgePricingEngine surgePricingEngine = new SurgePricingEngine(occupancyIndex, SurgePolicy.defaultPolicy());
+	private final AvailabilityBroadcaster availabilityBroadcaster = new AvailabilityBroadcaster(occupancyIndex);
+	private final ExecutorService writer;
+	private final int[] capacityByType = new int[VehicleType.values().length];
+	private final AtomicLongArray occupiedByType = new AtomicLongArray(VehicleType.values().length);
+
+	public LotShard(String lotId, List<ParkingSpot> parkingSpots) {
+		if(lotId == null || parkingSpots == null) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.lotId = lotId;
+		occupancyIndex.load(parkingSpots);
+		for(ParkingSpot parkingSpot : parkingSpots) {
+			capacityByType[parkingSpot.getVehicleType().ordinal()]++;
+		}
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "lot-shard-" + lotId);
+			thread.setDaemon(true);
+			return thread;
+		});
+		// expired or released holds are freed on the writer like any other vacate
+		this.reservationManager = new ReservationManager(HOLD_MILLIS, ticketStore, occupancyIndex, parkingJournal,
+				parkingSpot -> free(parkingSpot).join());
+	}
+
+	public void start() {
+		surgePricingEngine.start();
+		availabilityBroadcaster.start(BROADCAST_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	// recovers the lot from the directory, then journals it; call before the first allocate
+	public RecoveryReport openJournal(Path directory) {
+		return CompletableFuture.supplyAsync(() -> {
+			RecoveryReport report = parkingJournal.open(directory);
+			for(VehicleType vehicleType : VehicleType.values()) {
+				occupiedByType.set(vehicleType.ordinal(), capacityByType[vehicleType.ordinal()] - occupancyIndex.getFreeCount(vehicleType));
+			}
+			return report;
+		}, writer).join();
+	}
+
+	// completes with null when the lot is full for this type; the spot is held until commit or expiry
+	public CompletableFuture<ParkingSpot> allocate(VehicleType vehicleType) {
+		return CompletableFuture.supplyAsync(() -> {
+			ParkingSpot parkingSpot = occupancyIndex.reserve(vehicleType);
+			if(parkingSpot != null) {
+				int type = vehicleType.ordinal();
+				occupiedByType.lazySet(type, occupiedByType.get(type) + 1);
+				reservationManager.reserve(parkingSpot);
+			}
+			return parkingSpot;
+		}, writer);
+	}
+
+	// tickets a spot allocate handed out
+	public Ticket commit(ParkingSpot parkingSpot, Vehicle vehicle) {
+		return reservationManager.commit(parkingSpot, vehicle);
+	}
+
+	// releases the hold, or closes the ticket; completes with false when the spot was not taken in this lot
+	public CompletableFuture<Boolean> vacate(ParkingSpot parkingSpot) {
+		if(reservationManager.release(parkingSpot)) {
+			return CompletableFuture.completedFuture(true);
+		}
+		return free(parkingSpot);
+	}
+
+	public int releaseExpired() {
+		return reservationManager.releaseExpired();
+	}
+
+	public String getLotId() {
+		return lotId;
+	}
+
+	// by identity, since lots may reuse spot names
+	public boolean holds(ParkingSpot parkingSpot) {
+		int spotId = occupancyIndex.getSpotId(parkingSpot);
+		return spotId >= 0 && occupancyIndex.getParkingSpot(spotId) == parkingSpot;
+	}
+
+	public ParkingJournal getParkingJournal() {
+		return parkingJournal;
+	}
+
+	public TicketStore getTicketStore() {
+		return ticketStore;
+	}
+
+	public SurgePricingEngine getSurgePricingEngine() {
+		return surgePricingEngine;
+	}
+
+	public AvailabilityBroadcaster getAvailabilityBroadcaster() {
+		return availabilityBroadcaster;
+	}
+
+	public long getOccupiedCount(VehicleType vehicleType) {
+		return occupiedByType.get(vehicleType.ordinal());
+	}
+
+	public int getCapacity(VehicleType vehicleType) {
+		return capacityByType[vehicleType.ordinal()];
+	}
+
+	// a hint, the lot may have freed a spot since
+	public boolean looksFull(VehicleType vehicleType) {
+		return getOccupiedCount(vehicleType) >= getCapacity(vehicleType);
+	}
+
+	public void shutdown() {
+		surgePricingEngine.stop();
+		availabilityBroadcaster.stop();
+		parkingJournal.close();
+		writer.shutdown();
+	}
+
+	// the same steps as ParkingSpotVacatorManager, on the writer
+	private CompletableFuture<Boolean> free(ParkingSpot parkingSpot) {
+		return CompletableFuture.supplyAsync(() -> {
+			if(occupancyIndex.getSpotId(parkingSpot) < 0 || occupancyIndex.isFree(parkingSpot)) {
+				return false;
+			}
+			Ticket ticket = ticketStore.closeTicket(parkingSpot);
+			parkingJournal.logVacate(parkingSpot, ticket);
+			occupancyIndex.release(parkingSpot);
+			int type = parkingSpot.getVehicleType().ordinal();
+			occupiedByType.lazySet(type, occupiedByType.get(type) - 1);
+			return true;
+		}, writer);
+	}
+}
@@ -0,0 +1,118 @@
+package ParkingLot.tester;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ParkingLot.Data.EntryPoint;
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.ClosestSpotIndex;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Manager.ClosestSpotSelctionManager;
+import ParkingLot.Manager.ParkingSpotVacatorManager;
+
+/**
+ * Closest spot allocation under random arrival/departure churn: gate threads park at random
+ * entry points and leave again, keeping the lot around the target occupancy. Reports operations
+ * per second and checks that no spot is ever held twice.
+ * Run with: java ParkingLot.tester.ClosestSpotBenchmark [floors] [spotsPerFloor] [entryPoints] [threads] [seconds]
+ */
+public class ClosestSpotBenchmark {
+
+	private static final int ROW_LENGTH = 100;
+	private static final double FLOOR_DISTANCE = 50;
+	private static final double TARGET_OCCUPANCY = 0.9;
+
+	public static void main(String[] args) throws Exception {
+		int floors = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+		int entryPointCount = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+		int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+		List<ParkingSpot> parkingSpots = new ArrayList<>();
+		Map<String, int[]> positions = new HashMap<>();
+		for(int floor = 0; floor < floors; floor++) {
+			for(int i = 0; i < spotsPerFloor; i++) {
+				String name = "F" + floor + "-" + i;
+				parkingSpots.add(new ParkingSpot(name, VehicleType.FOURWHEELER, "F" + floor, true));
+				positions.put(name, new int[] { floor, i % ROW_LENGTH, i / ROW_LENGTH });
+			}
+		}
+		OccupancyIndex.getInstance().load(parkingSpots);
+
+		int rows = (spotsPerFloor + ROW_LENGTH - 1) / ROW_LENGTH;
+		List<EntryPoint> entryPoints = new ArrayList<>();
+		long registerStart = System.nanoTime();
+		for(int e = 0; e < entryPointCount; e++) {
+			EntryPoint entryPoint = new EntryPoint("E" + e, true);
+			// entry points spread along the ground floor's edges
+			int x = e % 2 == 0 ? (e * 37) % ROW_LENGTH : (e % 4 == 1 ? 0 : ROW_LENGTH - 1);
+			int y = e % 2 == 0 ? (e % 4 == 0 ? 0 : rows - 1) : (e * 13) % rows;
+			ClosestSpotIndex.getInstance().registerEntryPoint(entryPoint, parkingSpot -> {
+				int[] position = positions.get(parkingSpot.getParkingSpotName());
+				return position[0] * FLOOR_DISTANCE + Math.abs(position[1] - x) + Math.abs(position[2] - y);
+			});
+			entryPoints.add(entryPoint);
+		}
+		System.out.printf("registered %d entry points over %d spots in %d ms%n", entryPointCount, parkingSpots.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - registerStart));
+
+		int targetHeldPerThread = (int) (parkingSpots.size() * TARGET_OCCUPANCY / threads);
+		Map<String, Boolean> held = new ConcurrentHashMap<>();
+		LongAdder parks = new LongAdder();
+		LongAdder departures = new LongAdder();
+		LongAdder full = new LongAdder();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> gates = new ArrayList<>();
+		for(int t = 0; t < threads; t++) {
+			long seed = t;
+			gates.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				ParkingSpotVacatorManager vacator = new ParkingSpotVacatorManager();
+				List<ParkingSpot> mine = new ArrayList<>();
+				while(System.nanoTime() < deadline) {
+					boolean leave = !mine.isEmpty() && (mine.size() >= targetHeldPerThread || random.nextInt(4) == 0);
+					if(leave) {
+						ParkingSpot parkingSpot = mine.remove(mine.size() - 1 - random.nextInt(Math.min(mine.size(), 16)));
+						held.remove(parkingSpot.getParkingSpotName());
+						vacator.vacateParkingSpot(parkingSpot);
+						departures.increment();
+					} else {
+						EntryPoint entryPoint = entryPoints.get(random.nextInt(entryPoints.size()));
+						ParkingSpot parkingSpot = new ClosestSpotSelctionManager(entryPoint).reserveParkingSpot(VehicleType.FOURWHEELER);
+						if(parkingSpot == null) {
+							full.increment();
+							continue;
+						}
+						if(held.put(parkingSpot.getParkingSpotName(), Boolean.TRUE) != null) {
+							throw new IllegalStateException("Spot handed out twice: " + parkingSpot.getParkingSpotName());
+						}
+						mine.add(parkingSpot);
+						parks.increment();
+					}
+				}
+				return null;
+			}));
+		}
+		for(Future<?> gate : gates) {
+			gate.get();
+		}
+		executor.shutdown();
+
+		long operations = parks.sum() + departures.sum();
+		System.out.printf("%d parks, %d departures, %d full in %d s: %.0f ops/s, %d spots held, %d free in index%n",
+				parks.sum(), departures.sum(), full.sum(), seconds, (double) operations / seconds, held.size(),
+				OccupancyIndex.getInstance().getFreeCount(VehicleType.FOURWHEELER));
+	}
+}
@@ -0,0 +1,144 @@
+package ParkingLot.tester;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ParkingLot.API.FindParkingSpotAPI;
+import ParkingLot.API.GetTicketAPI;
+import ParkingLot.API.ParkingSpotVacatorAPI;
+import ParkingLot.Data.EntryPoint;
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.SpotSelection;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Ticket.TicketStore;
+
+/**
+ * Many gates running find -> ticket -> vacate against one lot. Some drivers turn away after
+ * finding a spot, and some reserved spots are also handed to a rival gate that tries to ticket
+ * them at the same time, so exactly one of the two commits must win. Every ticket is checked
+ * against the set of occupied spots; a spot ticketed twice fails the run.
+ * Run with: java ParkingLot.tester.GateSimulator [gates] [spots] [seconds]
+ */
+public class GateSimulator {
+
+	private static final double TARGET_OCCUPANCY = 0.85;
+
+	public static void main(String[] args) throws Exception {
+		int gates = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int spotCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		List<ParkingSpot> parkingSpots = new ArrayList<>();
+		for(int i = 0; i < spotCount; i++) {
+			parkingSpots.add(new ParkingSpot("S" + i, VehicleType.FOURWHEELER, "F" + (i % 4), true));
+		}
+		OccupancyIndex.getInstance().load(parkingSpots);
+
+		FindParkingSpotAPI findParkingSpotAPI = new FindParkingSpotAPI();
+		GetTicketAPI getTicketAPI = new GetTicketAPI();
+		ParkingSpotVacatorAPI parkingSpotVacatorAPI = new ParkingSpotVacatorAPI();
+		Map<String, String> occupied = new ConcurrentHashMap<>();
+		ConcurrentLinkedQueue<ParkingSpot> contested = new ConcurrentLinkedQueue<>();
+		LongAdder tickets = new LongAdder();
+		LongAdder departures = new LongAdder();
+		LongAdder abandoned = new LongAdder();
+		LongAdder full = new LongAdder();
+		LongAdder rivalWins = new LongAdder();
+		LongAdder rivalLosses = new LongAdder();
+		LongAdder doubleAllocations = new LongAdder();
+		int targetHeldPerGate = Math.max(1, (int) (spotCount * TARGET_OCCUPANCY / gates));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		ExecutorService executor = Executors.newFixedThreadPool(gates);
+		List<Future<?>> futures = new ArrayList<>();
+		for(int g = 0; g < gates; g++) {
+			int gate = g;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(gate);
+				EntryPoint entryPoint = new EntryPoint("G" + gate, true);
+				SpotSelection spotSelection = gate % 2 == 0 ? SpotSelection.RANDOM : SpotSelection.CLOSEST;
+				List<Ticket> mine = new ArrayList<>();
+				while(System.nanoTime() < deadline) {
+					// a rival commit on a spot another gate reserved
+					ParkingSpot rivalSpot = contested.poll();
+					if(rivalSpot != null) {
+						if(tryTicket(getTicketAPI, rivalSpot, gate, occupied, doubleAllocations, mine)) {
+							rivalWins.increment();
+							tickets.increment();
+						} else {
+							rivalLosses.increment();
+						}
+					}
+					if(!mine.isEmpty() && (mine.size() >= targetHeldPerGate || random.nextInt(3) == 0)) {
+						Ticket ticket = mine.remove(random.nextInt(mine.size()));
+						occupied.remove(ticket.getParkingSpot().getParkingSpotName());
+						parkingSpotVacatorAPI.vacateParkingSpot(ticket.getParkingSpot());
+						departures.increment();
+						continue;
+					}
+					ParkingSpot parkingSpot = findParkingSpotAPI.findParkingSpot(entryPoint, VehicleType.FOURWHEELER, spotSelection);
+					if(parkingSpot == null) {
+						full.increment();
+						continue;
+					}
+					int roll = random.nextInt(100);
+					if(roll < 5) {
+						findParkingSpotAPI.releaseParkingSpot(parkingSpot);
+						abandoned.increment();
+						continue;
+					}
+					if(roll < 10) {
+						contested.add(parkingSpot);
+					}
+					if(tryTicket(getTicketAPI, parkingSpot, gate, occupied, doubleAllocations, mine)) {
+						tickets.increment();
+					}
+				}
+				return null;
+			}));
+		}
+		for(Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		long operations = tickets.sum() + departures.sum() + abandoned.sum();
+		System.out.printf("%d gates, %d spots, %d s: %d tickets, %d departures, %d turned away, %d full%n", gates,
+				spotCount, seconds, tickets.sum(), departures.sum(), abandoned.sum(), full.sum());
+		System.out.printf("contested commits: %d won by rival, %d rejected%n", rivalWins.sum(), rivalLosses.sum());
+		System.out.printf("throughput %.0f ops/s, open tickets %d, occupied %d, double allocations %d%n",
+				(double) operations / seconds, TicketStore.getInstance().getOpenTicketCount(), occupied.size(),
+				doubleAllocations.sum());
+		if(doubleAllocations.sum() != 0 || TicketStore.getInstance().getOpenTicketCount() != occupied.size()) {
+			throw new IllegalStateException("Parking spot allocated twice");
+		}
+	}
+
+	private static boolean tryTicket(GetTicketAPI getTicketAPI, ParkingSpot parkingSpot, int gate,
+			Map<String, String> occupied, LongAdder doubleAllocations, List<Ticket> mine) {
+		Ticket ticket;
+		try {
+			ticket = getTicketAPI.getTicket(new Vehicle("car", VehicleType.FOURWHEELER, "KA-" + gate, LocalDateTime.now()), parkingSpot);
+		} catch(RuntimeException e) {
+			return false;
+		}
+		if(occupied.putIfAbsent(parkingSpot.getParkingSpotName(), ticket.getTicketNumber()) != null) {
+			doubleAllocations.increment();
+		}
+		mine.add(ticket);
+		return true;
+	}
+}
@@ -0,0 +1,104 @@
+package ParkingLot.tester;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ParkingLot.API.FindParkingSpotAPI;
+import ParkingLot.API.GetTicketAPI;
+import ParkingLot.API.ParkingSpotVacatorAPI;
+import ParkingLot.Data.EntryPoint;
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.SpotSelection;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Index.OccupancyIndex;
+import ParkingLot.Journal.ParkingJournal;
+import ParkingLot.Journal.RecoveryReport;
+import ParkingLot.Ticket.TicketStore;
+
+/**
+ * Issues tickets through the gate APIs with the journal open, leaves some spots only reserved,
+ * then recovers the journal into a fresh index and ticket store twice: once replaying the whole
+ * log tail, once from a snapshot. Every recovered ticket must match the one issued.
+ * Run with: java ParkingLot.tester.JournalRecoveryBenchmark [openTickets] [directory]
+ */
+public class JournalRecoveryBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		int openTickets = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		Path directory = args.length > 1 ? Paths.get(args[1]) : Files.createTempDirectory("parking-journal");
+		int spotCount = openTickets * 3 / 2;
+
+		List<ParkingSpot> parkingSpots = new ArrayList<>();
+		for(int i = 0; i < spotCount; i++) {
+			parkingSpots.add(new ParkingSpot("S" + i, VehicleType.values()[i % 3], "F" + (i % 8), true));
+		}
+		OccupancyIndex.getInstance().load(parkingSpots);
+		ParkingJournal.getInstance().open(directory);
+
+		FindParkingSpotAPI findParkingSpotAPI = new FindParkingSpotAPI();
+		GetTicketAPI getTicketAPI = new GetTicketAPI();
+		ParkingSpotVacatorAPI parkingSpotVacatorAPI = new ParkingSpotVacatorAPI();
+		EntryPoint entryPoint = new EntryPoint("E0", true);
+		long start = System.nanoTime();
+		int issued = 0;
+		for(int i = 0; issued < openTickets; i++) {
+			VehicleType vehicleType = VehicleType.values()[i % 3];
+			ParkingSpot parkingSpot = findParkingSpotAPI.findParkingSpot(entryPoint, vehicleType, SpotSelection.RANDOM);
+			Ticket ticket = getTicketAPI.getTicket(new Vehicle("owner", vehicleType, "KA-" + i, LocalDateTime.now()), parkingSpot);
+			// every fifth car leaves again, so the log also holds vacates
+			if(i % 5 == 4) {
+				parkingSpotVacatorAPI.vacateParkingSpot(ticket.getParkingSpot());
+			} else {
+				issued++;
+			}
+		}
+		// held but never ticketed, dropped by recovery
+		for(int i = 0; i < 100; i++) {
+			findParkingSpotAPI.findParkingSpot(entryPoint, VehicleType.TWOWHEELER, SpotSelection.RANDOM);
+		}
+		ParkingJournal.getInstance().flush();
+		System.out.printf("journaled %d open tickets in %d ms%n", issued, (System.nanoTime() - start) / 1_000_000);
+
+		// a crash leaves the log as it is; recovering it writes a snapshot of its own
+		recover(parkingSpots, directory, "from log tail");
+		recover(parkingSpots, directory, "from snapshot");
+	}
+
+	private static void recover(List<ParkingSpot> parkingSpots, Path directory, String label) {
+		OccupancyIndex occupancyIndex = new OccupancyIndex();
+		occupancyIndex.load(parkingSpots);
+		TicketStore ticketStore = new TicketStore();
+		ParkingJournal journal = new ParkingJournal(occupancyIndex, ticketStore);
+		RecoveryReport report = journal.open(directory);
+		journal.close();
+
+		TicketStore original = TicketStore.getInstance();
+		int mismatches = 0;
+		for(Ticket ticket : original.getOpenTickets()) {
+			Ticket recovered = ticketStore.getTicket(ticket.getTicketNumber());
+			if(recovered == null || recovered.getParkingSpot() != ticket.getParkingSpot()
+					|| recovered.getIssuedAtEpochSecond() != ticket.getIssuedAtEpochSecond()
+					|| !recovered.getVehicle().getNumber().equals(ticket.getVehicle().getNumber())
+					|| occupancyIndex.isFree(ticket.getParkingSpot())) {
+				mismatches++;
+			}
+		}
+		int occupied = 0;
+		for(VehicleType vehicleType : VehicleType.values()) {
+			occupied += parkingSpots.size() / 3 - occupancyIndex.getFreeCount(vehicleType);
+		}
+		System.out.printf("%s: %d ms, %d records replayed, %d open tickets, %d reservations released, %d occupied, %d mismatches%n",
+				label, report.getElapsedMillis(), report.getReplayedRecords(), report.getOpenTickets(),
+				report.getReleasedReservations(), occupied, mismatches);
+		if(mismatches != 0 || report.getOpenTickets() != original.getOpenTicketCount() || occupied != report.getOpenTickets()) {
+			throw new IllegalStateException("Recovered state differs from the journaled one");
+		}
+	}
+}
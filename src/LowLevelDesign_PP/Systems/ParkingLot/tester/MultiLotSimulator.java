@@ -0,0 +1,163 @@
+package ParkingLot.tester;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ParkingLot.API.FindParkingSpotAPI;
+import ParkingLot.API.GetTicketAPI;
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.Vehicle;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Shard.AllocationService;
+import ParkingLot.Shard.LotAllocation;
+
+/**
+ * Lots on a ring, each listing the next two as neighbours, with gates arriving and leaving at
+ * every lot. Lot L0 gets a third of all arrivals so it fills up and overflows into L1 and L2.
+ * Every allocation is checked against the set of held spots, and at the end the lock-free totals
+ * must match what the gates hold. Last, the gates drive out, L0 is filled until a car overflows,
+ * and that car is ticketed through GetTicketAPI in the lot that took it.
+ * Run with: java ParkingLot.tester.MultiLotSimulator [lots] [spotsPerLot] [gates] [seconds]
+ */
+public class MultiLotSimulator {
+
+	private static final double TARGET_OCCUPANCY = 0.9;
+
+	public static void main(String[] args) throws Exception {
+		int lots = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		int spotsPerLot = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+		int gates = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+		int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+		// the shared service, so the ticket step goes through the same APIs as a gate
+		AllocationService allocationService = AllocationService.getInstance();
+		for(int l = 0; l < lots; l++) {
+			List<ParkingSpot> parkingSpots = new ArrayList<>();
+			for(int i = 0; i < spotsPerLot; i++) {
+				parkingSpots.add(new ParkingSpot("L" + l + "-S" + i, VehicleType.FOURWHEELER, "F" + (i % 4), true));
+			}
+			List<String> neighbours = lots > 2 ? Arrays.asList("L" + (l + 1) % lots, "L" + (l + 2) % lots)
+					: Arrays.asList("L" + (l + 1) % lots);
+			allocationService.addLot("L" + l, parkingSpots, neighbours);
+		}
+
+		Map<String, String> held = new ConcurrentHashMap<>();
+		LongAdder allocations = new LongAdder();
+		LongAdder departures = new LongAdder();
+		LongAdder doubleAllocations = new LongAdder();
+		int targetHeldPerGate = Math.max(1, (int) (lots * spotsPerLot * TARGET_OCCUPANCY / gates));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		ExecutorService executor = Executors.newFixedThreadPool(gates);
+		List<Future<List<LotAllocation>>> futures = new ArrayList<>();
+		for(int g = 0; g < gates; g++) {
+			int gate = g;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(gate);
+				List<LotAllocation> mine = new ArrayList<>();
+				while(System.nanoTime() < deadline) {
+					if(!mine.isEmpty() && (mine.size() >= targetHeldPerGate || random.nextInt(3) == 0)) {
+						LotAllocation allocation = mine.remove(random.nextInt(mine.size()));
+						held.remove(allocation.getParkingSpot().getParkingSpotName());
+						if(!allocationService.vacate(allocation).join()) {
+							throw new IllegalStateException("Vacated a spot that was not taken");
+						}
+						departures.increment();
+						continue;
+					}
+					String lotId = "L" + (random.nextInt(3) == 0 ? 0 : random.nextInt(lots));
+					LotAllocation allocation = allocationService.allocateNow(lotId, VehicleType.FOURWHEELER);
+					if(allocation == null) {
+						continue;
+					}
+					if(held.putIfAbsent(allocation.getParkingSpot().getParkingSpotName(), allocation.getLotId()) != null) {
+						doubleAllocations.increment();
+					}
+					mine.add(allocation);
+					allocations.increment();
+				}
+				return mine;
+			}));
+		}
+		List<LotAllocation> parked = new ArrayList<>();
+		for(Future<List<LotAllocation>> future : futures) {
+			parked.addAll(future.get());
+		}
+		int stillHeld = parked.size();
+		executor.shutdown();
+
+		long occupied = allocationService.getOccupiedCount(VehicleType.FOURWHEELER);
+		System.out.printf("%d lots x %d spots, %d gates, %d s: %d allocations, %d departures, %.0f ops/s%n", lots,
+				spotsPerLot, gates, seconds, allocations.sum(), departures.sum(),
+				(double) (allocations.sum() + departures.sum()) / seconds);
+		System.out.printf("overflowed to a neighbour %d, turned away %d%n", allocationService.getOverflowCount(),
+				allocationService.getRejectionCount());
+		StringBuilder perLot = new StringBuilder("occupied per lot:");
+		for(int l = 0; l < lots; l++) {
+			perLot.append(' ').append(allocationService.getOccupiedCount("L" + l, VehicleType.FOURWHEELER));
+		}
+		System.out.println(perLot);
+		System.out.printf("held %d, occupied across lots %d, double allocations %d%n", stillHeld, occupied,
+				doubleAllocations.sum());
+		if(doubleAllocations.sum() != 0 || occupied != stillHeld || held.size() != stillHeld) {
+			throw new IllegalStateException("Lot occupancy out of step with the gates");
+		}
+		// the neighbours may be full too, so empty every lot before filling L0
+		for(LotAllocation allocation : parked) {
+			if(!allocationService.vacate(allocation).join()) {
+				throw new IllegalStateException("Vacated a spot that was not taken");
+			}
+		}
+		ticketOverflow(allocationService, lots * spotsPerLot);
+		for(int l = 0; l < lots; l++) {
+			allocationService.removeLot("L" + l);
+		}
+	}
+
+	private static void ticketOverflow(AllocationService allocationService, int spots) {
+		FindParkingSpotAPI findParkingSpotAPI = new FindParkingSpotAPI();
+		List<LotAllocation> filler = new ArrayList<>();
+		LotAllocation overflowed = null;
+		while(overflowed == null && filler.size() < spots) {
+			LotAllocation allocation = findParkingSpotAPI.findParkingSpot("L0", VehicleType.FOURWHEELER);
+			if(allocation == null) {
+				break;
+			}
+			filler.add(allocation);
+			if(allocation.isOverflow()) {
+				overflowed = allocation;
+			}
+		}
+		if(overflowed == null) {
+			throw new IllegalStateException("L0 never overflowed");
+		}
+		Vehicle vehicle = new Vehicle("overflow", VehicleType.FOURWHEELER, "KA-01-0001", LocalDateTime.now());
+		Ticket ticket = new GetTicketAPI().getTicket(vehicle, overflowed);
+		String lotId = overflowed.getLotId();
+		if(ticket.getParkingSpot() != overflowed.getParkingSpot()
+				|| allocationService.getLot(lotId).getTicketStore().getTicket(ticket.getTicketNumber()) == null) {
+			throw new IllegalStateException("Overflowed car was not ticketed in " + lotId);
+		}
+		for(LotAllocation allocation : filler) {
+			if(!findParkingSpotAPI.releaseParkingSpot(allocation)) {
+				throw new IllegalStateException("Released a spot that was not taken");
+			}
+		}
+		if(allocationService.getLot(lotId).getTicketStore().getTicket(ticket.getTicketNumber()) != null) {
+			throw new IllegalStateException("Vacating the overflowed car left its ticket open");
+		}
+		System.out.printf("filled L0 with %d cars, overflow to %s ticketed as %s and closed on exit%n", filler.size(),
+				lotId, ticket.getTicketNumber());
+	}
+}
@@ -0,0 +1,60 @@
+package ParkingLot.tester;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import ParkingLot.Data.PaymentMode;
+import ParkingLot.Data.PaymentResponse;
+import ParkingLot.Payment.BatchSettlementPipeline;
+import ParkingLot.Payment.LocalSettlementGateway;
+import ParkingLot.Payment.SettlementMetrics;
+import ParkingLot.Payment.SettlementPolicy;
+import ParkingLot.Payment.SettlementRequest;
+
+/**
+ * Exit gates paying by card and net banking at a fixed arrival rate against a gateway with a
+ * 50 ms round trip. Prints the per batch metrics of both lanes; every payment must complete.
+ * Run with: java ParkingLot.tester.SettlementSimulator [paymentsPerSecond] [seconds]
+ */
+public class SettlementSimulator {
+
+	public static void main(String[] args) throws Exception {
+		int paymentsPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		BatchSettlementPipeline pipeline = new BatchSettlementPipeline(new LocalSettlementGateway(50, 20, 0.01),
+				SettlementPolicy.defaultPolicy());
+		List<CompletableFuture<PaymentResponse>> results = new ArrayList<>();
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / paymentsPerSecond;
+		long start = System.nanoTime();
+		long next = start;
+		for(int i = 0; i < paymentsPerSecond * seconds; i++) {
+			while(System.nanoTime() < next) {
+				Thread.onSpinWait();
+			}
+			next += intervalNanos;
+			PaymentMode paymentMode = i % 3 == 0 ? PaymentMode.NETBANKING : PaymentMode.CARD;
+			results.add(pipeline.submit(new SettlementRequest(paymentMode, "ACC-" + i, 10 + i % 300)));
+		}
+		CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		int approved = 0;
+		for(CompletableFuture<PaymentResponse> result : results) {
+			if(result.join() == PaymentResponse.SUCCESS) {
+				approved++;
+			}
+		}
+		System.out.printf("%d payments in %d ms, %d approved%n", results.size(), elapsedMillis, approved);
+		for(PaymentMode paymentMode : new PaymentMode[] {PaymentMode.CARD, PaymentMode.NETBANKING}) {
+			SettlementMetrics metrics = pipeline.getMetrics(paymentMode);
+			System.out.printf("%s: %d batches (%d full), mean size %.1f, gateway mean %.1f ms max %.1f ms, queued mean %.1f ms max %.1f ms%n",
+					paymentMode, metrics.getBatchCount(), metrics.getBatchesClosedBySize(), metrics.getMeanBatchSize(),
+					metrics.getMeanGatewayMillis(), metrics.getMaxGatewayMillis(), metrics.getMeanQueueMillis(),
+					metrics.getMaxQueueMillis());
+		}
+		pipeline.shutdown();
+	}
+}
@@ -1,20 +1,38 @@
 package ParkingLot.Ticket;
 
-import java.time.LocalDateTime;
-
+import ParkingLot.Data.ParkingSpot;
 import ParkingLot.Data.Ticket;
-import ParkingLot.Data.Vehicle;
-import ParkingLot.Factory.ParkingSpotManagerFactory;
+import ParkingLot.Data.VehicleType;
+import ParkingLot.Pricing.SurgePricingEngine;
+import ParkingLot.Shard.AllocationService;
 
+/**
+ * Tariff fee times the surge multiplier of the floor the car is parked on, in the lot that holds
+ * the spot. The multiplier is read when the fee is calculated, so the surge is fixed at exit: a car
+ * pays the price of its floor as of payment, not as of entry.
+ */
 public class FeeCalculator {
 
 	
 	public double calculateFee(Ticket ticket) {
-		Vehicle vehicle = ticket.getVehicle();
-		LocalDateTime entryTime = vehicle.getEntryTime();
-		LocalDateTime exitTime = LocalDateTime .now();
-		ParkingSpotManagerFactory.getParkingSpotManager(vehicle.getVehicleType());
-		//double duration = (double) new LocalDateTime();
-		return 0;
+		ParkingSpot parkingSpot = ticket.getParkingSpot();
+		double baseFee = TariffEngine.getInstance().calculateFee(ticket, System.currentTimeMillis() / 1000);
+		return baseFee * AllocationService.getInstance().getSurgePricingEngine(parkingSpot)
+				.getMultiplier(parkingSpot.getVehicleType(), parkingSpot.getFloorNum());
+	}
+
+	// fee of a stay of duration seconds starting now on the floor, at its current surge price
+	public double quoteFee(VehicleType vehicleType, String floorNum, double duration) {
+		return baseFee(vehicleType, duration) * SurgePricingEngine.getInstance().getMultiplier(vehicleType, floorNum);
+	}
+
+	// before a floor is picked, at the surge price averaged over the floors
+	public double quoteFee(VehicleType vehicleType, double duration) {
+		return baseFee(vehicleType, duration) * SurgePricingEngine.getInstance().getMultiplier(vehicleType);
+	}
+
+	private double baseFee(VehicleType vehicleType, double duration) {
+		long now = System.currentTimeMillis() / 1000;
+		return TariffEngine.getInstance().calculateFee(vehicleType, now, now + (long) Math.ceil(duration));
 	}
 }
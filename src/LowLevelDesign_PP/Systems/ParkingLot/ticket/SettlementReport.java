@@ -0,0 +1,53 @@
+package ParkingLot.Ticket;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import ParkingLot.Data.VehicleType;
+
+public class SettlementReport {
+
+	private final long asOfEpochSecond;
+	private final String[] ticketNumbers;
+	private final double[] fees;
+	private final double[] totalsByVehicleType;
+
+	SettlementReport(long asOfEpochSecond, String[] ticketNumbers, double[] fees, double[] totalsByVehicleType) {
+		this.asOfEpochSecond = asOfEpochSecond;
+		this.ticketNumbers = ticketNumbers;
+		this.fees = fees;
+		this.totalsByVehicleType = totalsByVehicleType;
+	}
+
+	public long getAsOfEpochSecond() {
+		return asOfEpochSecond;
+	}
+
+	public int getTicketCount() {
+		return ticketNumbers.length;
+	}
+
+	public String getTicketNumber(int index) {
+		return ticketNumbers[index];
+	}
+
+	public double getFee(int index) {
+		return fees[index];
+	}
+
+	public double getTotal() {
+		double total = 0;
+		for(double vehicleTypeTotal : totalsByVehicleType) {
+			total += vehicleTypeTotal;
+		}
+		return total;
+	}
+
+	public Map<VehicleType, Double> getTotalsByVehicleType() {
+		Map<VehicleType, Double> totals = new EnumMap<>(VehicleType.class);
+		for(VehicleType vehicleType : VehicleType.values()) {
+			totals.put(vehicleType, totalsByVehicleType[vehicleType.ordinal()]);
+		}
+		return totals;
+	}
+}
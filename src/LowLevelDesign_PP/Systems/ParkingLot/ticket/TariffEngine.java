@@ -0,0 +1,135 @@
+package ParkingLot.Ticket;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import ParkingLot.Data.Ticket;
+import ParkingLot.Data.VehicleType;
+
+/**
+ * Computes parking fees from epoch seconds against tariff tables compiled per vehicle type.
+ * For every hour of day a stay can start in, the cumulative fee of its first 24 started hours is
+ * precomputed, once for the first day and once for any later day, so a fee is a few array reads
+ * however long the stay. Hours of day use the zone offset captured at compile time.
+ */
+public class TariffEngine {
+
+	private static final int HOURS_PER_DAY = 24;
+	private static final int ROW = HOURS_PER_DAY + 1;
+	private static final long SECONDS_PER_HOUR = 3600;
+	private static final long SECONDS_PER_DAY = 86400;
+
+	private final int zoneOffsetSeconds;
+	// indexed by VehicleType ordinal, then startHourOfDay * ROW + startedHours
+	private final double[][] firstDayFees;
+	private final double[][] laterDayFees;
+	private final double[] dailyCaps;
+	private final int[] graceSeconds;
+
+	public TariffEngine(Map<VehicleType, TariffPlan> tariffPlans, ZoneOffset zoneOffset) {
+		super();
+		VehicleType[] vehicleTypes = VehicleType.values();
+		this.zoneOffsetSeconds = zoneOffset.getTotalSeconds();
+		this.firstDayFees = new double[vehicleTypes.length][];
+		this.laterDayFees = new double[vehicleTypes.length][];
+		this.dailyCaps = new double[vehicleTypes.length];
+		this.graceSeconds = new int[vehicleTypes.length];
+		for(VehicleType vehicleType : vehicleTypes) {
+			TariffPlan tariffPlan = tariffPlans.get(vehicleType);
+			if(tariffPlan == null) {
+				throw new IllegalArgumentException("No tariff plan for " + vehicleType);
+			}
+			int type = vehicleType.ordinal();
+			firstDayFees[type] = compile(tariffPlan, 0);
+			laterDayFees[type] = compile(tariffPlan, HOURS_PER_DAY);
+			dailyCaps[type] = tariffPlan.getDailyCap() > 0 ? tariffPlan.getDailyCap() : Double.MAX_VALUE;
+			graceSeconds[type] = tariffPlan.getGraceSeconds();
+		}
+	}
+
+	private static class Holder {
+		private static final TariffEngine INSTANCE = new TariffEngine(defaultTariffPlans(),
+				ZoneId.systemDefault().getRules().getOffset(Instant.now()));
+	}
+
+	public static TariffEngine getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public static Map<VehicleType, TariffPlan> defaultTariffPlans() {
+		Map<VehicleType, TariffPlan> tariffPlans = new EnumMap<>(VehicleType.class);
+		int graceSeconds = 10 * 60;
+		tariffPlans.put(VehicleType.TWOWHEELER,
+				new TariffPlan(new int[] {0, 1}, new double[] {10, 15}, 5, 22, 6, 100, graceSeconds));
+		tariffPlans.put(VehicleType.THREEWHEELER,
+				new TariffPlan(new int[] {0, 1}, new double[] {15, 20}, 8, 22, 6, 150, graceSeconds));
+		tariffPlans.put(VehicleType.FOURWHEELER,
+				new TariffPlan(new int[] {0, 1, 3}, new double[] {20, 30, 40}, 10, 22, 6, 300, graceSeconds));
+		return tariffPlans;
+	}
+
+	// cumulative fee of the first k started hours of a day beginning at hourOffset of the stay
+	private static double[] compile(TariffPlan tariffPlan, int hourOffset) {
+		double[] fees = new double[HOURS_PER_DAY * ROW];
+		for(int startHourOfDay = 0; startHourOfDay < HOURS_PER_DAY; startHourOfDay++) {
+			int base = startHourOfDay * ROW;
+			for(int hour = 0; hour < HOURS_PER_DAY; hour++) {
+				double rate = tariffPlan.isNightHour((startHourOfDay + hour) % HOURS_PER_DAY)
+						? tariffPlan.getNightRatePerHour()
+						: tariffPlan.getRatePerHour(hourOffset + hour);
+				fees[base + hour + 1] = fees[base + hour] + rate;
+			}
+		}
+		return fees;
+	}
+
+	public double calculateFee(VehicleType vehicleType, long entryEpochSecond, long exitEpochSecond) {
+		int type = vehicleType.ordinal();
+		long duration = exitEpochSecond - entryEpochSecond;
+		if(duration <= graceSeconds[type]) {
+			return 0;
+		}
+		long startedHours = (duration + SECONDS_PER_HOUR - 1) / SECONDS_PER_HOUR;
+		int base = (int) (Math.floorMod(entryEpochSecond + zoneOffsetSeconds, SECONDS_PER_DAY) / SECONDS_PER_HOUR) * ROW;
+		double cap = dailyCaps[type];
+		if(startedHours <= HOURS_PER_DAY) {
+			return Math.min(cap, firstDayFees[type][base + (int) startedHours]);
+		}
+		// every later day starts at the same hour of day as the entry
+		long laterHours = startedHours - HOURS_PER_DAY;
+		long fullLaterDays = laterHours / HOURS_PER_DAY;
+		int remainingHours = (int) (laterHours % HOURS_PER_DAY);
+		double[] laterDay = laterDayFees[type];
+		return Math.min(cap, firstDayFees[type][base + HOURS_PER_DAY])
+				+ fullLaterDays * Math.min(cap, laterDay[base + HOURS_PER_DAY])
+				+ Math.min(cap, laterDay[base + remainingHours]);
+	}
+
+	public double calculateFee(Ticket ticket, long nowEpochSecond) {
+		return calculateFee(ticket.getVehicle().getVehicleType(), ticket.getIssuedAtEpochSecond(), nowEpochSecond);
+	}
+
+	// end-of-day settlement of every ticket still open, without closing them
+	public SettlementReport settleOpenTickets(long asOfEpochSecond) {
+		return settle(TicketStore.getInstance().getOpenTickets(), asOfEpochSecond);
+	}
+
+	public SettlementReport settle(List<Ticket> tickets, long asOfEpochSecond) {
+		String[] ticketNumbers = new String[tickets.size()];
+		double[] fees = new double[tickets.size()];
+		double[] totalsByVehicleType = new double[VehicleType.values().length];
+		int i = 0;
+		for(Ticket ticket : tickets) {
+			int type = ticket.getVehicle().getVehicleType().ordinal();
+			ticketNumbers[i] = ticket.getTicketNumber();
+			fees[i] = calculateFee(ticket, asOfEpochSecond);
+			totalsByVehicleType[type] += fees[i];
+			i++;
+		}
+		return new SettlementReport(asOfEpochSecond, ticketNumbers, fees, totalsByVehicleType);
+	}
+}
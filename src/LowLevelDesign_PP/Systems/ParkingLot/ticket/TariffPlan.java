@@ -0,0 +1,75 @@
+package ParkingLot.Ticket;
+
+/**
+ * Tariff of one vehicle type. Stays are billed per started hour after a free grace period.
+ * Hour i of the stay costs the rate of the last tier starting at or before i, unless the hour
+ * starts in the night window, which bills nightRatePerHour instead. Every 24 hours from entry
+ * are capped at dailyCap (0 for no cap). Tiers start within the first day, hours after the
+ * first day bill the last tier.
+ */
+public class TariffPlan {
+
+	private final int[] tierStartHours;
+	private final double[] tierRatesPerHour;
+	private final double nightRatePerHour;
+	// hours of day, the window may wrap past midnight
+	private final int nightStartHour;
+	private final int nightEndHour;
+	private final double dailyCap;
+	private final int graceSeconds;
+
+	public TariffPlan(int[] tierStartHours, double[] tierRatesPerHour, double nightRatePerHour, int nightStartHour,
+			int nightEndHour, double dailyCap, int graceSeconds) {
+		super();
+		if(tierStartHours == null || tierRatesPerHour == null || tierStartHours.length == 0
+				|| tierStartHours.length != tierRatesPerHour.length || tierStartHours[0] != 0
+				|| tierStartHours[tierStartHours.length - 1] > 23) {
+			throw new IllegalArgumentException("Tiers must start at hour 0 and within the first day");
+		}
+		for(int i = 0; i < tierStartHours.length; i++) {
+			if(tierRatesPerHour[i] < 0 || (i > 0 && tierStartHours[i] <= tierStartHours[i - 1])) {
+				throw new IllegalArgumentException("Tiers must be increasing with non-negative rates");
+			}
+		}
+		if(nightRatePerHour < 0 || nightStartHour < 0 || nightStartHour > 23 || nightEndHour < 0 || nightEndHour > 23
+				|| dailyCap < 0 || graceSeconds < 0) {
+			throw new IllegalArgumentException("invalid params");
+		}
+		this.tierStartHours = tierStartHours.clone();
+		this.tierRatesPerHour = tierRatesPerHour.clone();
+		this.nightRatePerHour = nightRatePerHour;
+		this.nightStartHour = nightStartHour;
+		this.nightEndHour = nightEndHour;
+		this.dailyCap = dailyCap;
+		this.graceSeconds = graceSeconds;
+	}
+
+	// rate of the hour-th started hour of the stay, ignoring the night window
+	public double getRatePerHour(int hour) {
+		double rate = tierRatesPerHour[0];
+		for(int i = 0; i < tierStartHours.length && tierStartHours[i] <= hour; i++) {
+			rate = tierRatesPerHour[i];
+		}
+		return rate;
+	}
+
+	public boolean isNightHour(int hourOfDay) {
+		if(nightStartHour == nightEndHour) {
+			return false;
+		}
+		return nightStartHour < nightEndHour ? hourOfDay >= nightStartHour && hourOfDay < nightEndHour
+				: hourOfDay >= nightStartHour || hourOfDay < nightEndHour;
+	}
+
+	public double getNightRatePerHour() {
+		return nightRatePerHour;
+	}
+
+	public double getDailyCap() {
+		return dailyCap;
+	}
+
+	public int getGraceSeconds() {
+		return graceSeconds;
+	}
+}
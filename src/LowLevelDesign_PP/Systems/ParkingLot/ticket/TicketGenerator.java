@@ -3,6 +3,7 @@ package ParkingLot.Ticket;
 import ParkingLot.Data.ParkingSpot;
 import ParkingLot.Data.Ticket;
 import ParkingLot.Data.Vehicle;
+import ParkingLot.Index.OccupancyIndex;
 
 public class TicketGenerator {
 
@@ -10,16 +11,21 @@ public class TicketGenerator {
 		
 	}
 	
+	// the spot must already be held in the OccupancyIndex, see ReservationManager
 	public static Ticket generateTicket(Vehicle vehicle, ParkingSpot parkingSpot) {
-		String ticketNumber = getUniqueTickeNumber();
-		//logic to check if isFree then park & persist in DB
-		if(!parkingSpot.isFree()) {
-			throw new RuntimeException("Parking spot is not free");
+		return generateTicket(vehicle, parkingSpot, OccupancyIndex.getInstance());
+	}
+
+	// for spots of a lot with its own index, such as a LotShard
+	public static Ticket generateTicket(Vehicle vehicle, ParkingSpot parkingSpot, OccupancyIndex occupancyIndex) {
+		if(occupancyIndex.isFree(parkingSpot)) {
+			throw new RuntimeException("Parking spot is not reserved");
 		}
+		String ticketNumber = getUniqueTickeNumber();
 		return new Ticket(ticketNumber, vehicle, parkingSpot);
 	}
 	
 	private static String getUniqueTickeNumber() {
-		return "";
+		return TicketIdGenerator.getInstance().nextTicketNumber();
 	}
 }
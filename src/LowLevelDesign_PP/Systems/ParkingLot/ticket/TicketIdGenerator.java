@@ -0,0 +1,72 @@
+package ParkingLot.Ticket;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unique, time-ordered ticket ids without a lock: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of node id (one per lot or gate controller) and 12 bits of sequence.
+ * The last issued value is advanced by CAS; when a millisecond's 4096 sequence numbers run out
+ * the next ids borrow from the following millisecond, so ids keep increasing even if the clock
+ * steps back.
+ */
+public class TicketIdGenerator {
+
+	private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+	private static final int SEQUENCE_BITS = 12;
+	private static final int NODE_BITS = 10;
+	private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+	private final long nodeId;
+	// millis since EPOCH_MILLIS << SEQUENCE_BITS | sequence
+	private final AtomicLong last = new AtomicLong();
+
+	public TicketIdGenerator(int nodeId) {
+		if(nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+		}
+		this.nodeId = nodeId;
+	}
+
+	private static class Holder {
+		private static final TicketIdGenerator INSTANCE = new TicketIdGenerator(0);
+	}
+
+	public static TicketIdGenerator getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public long nextId() {
+		long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+		long previous;
+		long next;
+		do {
+			previous = last.get();
+			next = Math.max(now, previous + 1);
+		} while(!last.compareAndSet(previous, next));
+		long millis = next >>> SEQUENCE_BITS;
+		long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+		return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+	}
+
+	public String nextTicketNumber() {
+		return format(nextId());
+	}
+
+	// fixed width, so ticket numbers also sort by issue time as strings
+	public static String format(long id) {
+		String digits = Long.toString(id);
+		StringBuilder ticketNumber = new StringBuilder(19);
+		for(int i = digits.length(); i < 19; i++) {
+			ticketNumber.append('0');
+		}
+		return ticketNumber.append(digits).toString();
+	}
+
+	public static long issuedAtMillis(long id) {
+		return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+	}
+
+	public static int nodeIdOf(long id) {
+		return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+	}
+}
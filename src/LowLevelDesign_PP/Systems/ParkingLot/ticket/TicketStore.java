@@ -0,0 +1,61 @@
+package ParkingLot.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ParkingLot.Data.ParkingSpot;
+import ParkingLot.Data.Ticket;
+
+/**
+ * Open tickets, by ticket number and by parking spot. A spot can carry one open ticket at a time;
+ * a second one is refused, which is the last line of defence against double allocation.
+ */
+public class TicketStore {
+
+	private final Map<String, Ticket> ticketsByNumber = new ConcurrentHashMap<>();
+	private final Map<String, Ticket> ticketsBySpot = new ConcurrentHashMap<>();
+
+	private static class Holder {
+		private static final TicketStore INSTANCE = new TicketStore();
+	}
+
+	public static TicketStore getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	public void addTicket(Ticket ticket) {
+		String spotName = ticket.getParkingSpot().getParkingSpotName();
+		Ticket existing = ticketsBySpot.putIfAbsent(spotName, ticket);
+		if(existing != null) {
+			throw new IllegalStateException("Parking spot " + spotName + " already has ticket " + existing.getTicketNumber());
+		}
+		ticketsByNumber.put(ticket.getTicketNumber(), ticket);
+	}
+
+	public Ticket getTicket(String ticketNumber) {
+		return ticketsByNumber.get(ticketNumber);
+	}
+
+	public Ticket getTicket(ParkingSpot parkingSpot) {
+		return ticketsBySpot.get(parkingSpot.getParkingSpotName());
+	}
+
+	// the closed ticket, null when the spot had none
+	public Ticket closeTicket(ParkingSpot parkingSpot) {
+		Ticket ticket = ticketsBySpot.remove(parkingSpot.getParkingSpotName());
+		if(ticket != null) {
+			ticketsByNumber.remove(ticket.getTicketNumber());
+		}
+		return ticket;
+	}
+
+	public List<Ticket> getOpenTickets() {
+		return new ArrayList<>(ticketsByNumber.values());
+	}
+
+	public int getOpenTicketCount() {
+		return ticketsByNumber.size();
+	}
+}